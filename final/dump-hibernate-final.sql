@@ -117,6 +117,31 @@ LOCK TABLES `country_language` WRITE;
 INSERT  IGNORE INTO `country_language` VALUES (1,1,'Dutch',1,5.3),(2,1,'English',0,9.5),(3,1,'Papiamento',0,76.7),(4,1,'Spanish',0,7.4),(5,2,'Balochi',0,0.9),(6,2,'Dari',1,32.1),(7,2,'Pashto',1,52.4),(8,2,'Turkmenian',0,1.9),(9,2,'Uzbek',0,8.8),(10,3,'Ambo',0,2.4),(11,3,'Chokwe',0,4.2),(12,3,'Kongo',0,13.2),(13,3,'Luchazi',0,2.4),(14,3,'Luimbe-nganguela',0,5.4),(15,3,'Luvale',0,3.6),(16,3,'Mbundu',0,21.6),(17,3,'Nyaneka-nkhumbi',0,5.4),(18,3,'Ovimbundu',0,37.2),(19,4,'English',1,0.0),(20,5,'Albaniana',1,97.9),(21,5,'Greek',0,1.8),(22,5,'Macedonian',0,0.1),(23,6,'Catalan',1,32.3),(24,6,'French',0,6.2),(25,6,'Portuguese',0,10.8),(26,6,'Spanish',0,44.6),(27,7,'Dutch',1,0.0),(28,7,'English',0,7.8),(29,7,'Papiamento',1,86.2),(30,8,'Arabic',1,42.0),(31,8,'Hindi',0,0.0),(32,9,'Indian Languages',0,0.3),(33,9,'Italian',0,1.7),(34,9,'Spanish',1,96.8),(35,10,'Armenian',1,93.4),(36,10,'Azerbaijani',0,2.6),(37,11,'English',1,3.1),(38,11,'Samoan',1,90.6),(39,11,'Tongan',0,3.1),(40,14,'Creole English',0,95.7),(41,14,'English',1,0.0),(42,15,'Arabic',0,1.0),(43,15,'Canton Chinese',0,1.1),(44,15,'English',1,81.2),(45,15,'German',0,0.6),(46,15,'Greek',0,1.6),(47,15,'Italian',0,2.2),(48,15,'Serbo-Croatian',0,0.6),(49,15,'Vietnamese',0,0.8),(50,16,'Czech',0,0.2),(51,16,'German',1,92.0),(52,16,'Hungarian',0,0.4),(53,16,'Polish',0,0.2),(54,16,'Romanian',0,0.2),(55,16,'Serbo-Croatian',0,2.2),(56,16,'Slovene',0,0.4),(57,16,'Turkish',0,1.5),(58,17,'Armenian',0,2.0),(59,17,'Azerbaijani',1,89.0),(60,17,'Lezgian',0,2.3),(61,17,'Russian',0,3.0),(62,18,'French',1,0.0),(63,18,'Kirundi',1,98.1),(64,18,'Swahili',0,0.0),(65,19,'Arabic',0,1.6),(66,19,'Dutch',1,59.2),(67,19,'French',1,32.6),(68,19,'German',1,1.0),(69,19,'Italian',0,2.4),(70,19,'Turkish',0,0.9),(71,20,'Adja',0,11.1),(72,20,'Aizo',0,8.7),(73,20,'Bariba',0,8.7),(74,20,'Fon',0,39.8),(75,20,'Ful',0,5.6),(76,20,'Joruba',0,12.2),(77,20,'Somba',0,6.7),(78,21,'Busansi',0,3.5),(79,21,'Dagara',0,3.1),(80,21,'Dyula',0,2.6),(81,21,'Ful',0,9.7),(82,21,'Gurma',0,5.7),(83,21,'Mossi',0,50.2),(84,22,'Bengali',1,97.7),(85,22,'Chakma',0,0.4),(86,22,'Garo',0,0.1),(87,22,'Khasi',0,0.1),(88,22,'Marma',0,0.2),(89,22,'Santhali',0,0.1),(90,22,'Tripuri',0,0.1),(91,23,'Bulgariana',1,83.2),(92,23,'Macedonian',0,2.6),(93,23,'Romani',0,3.7),(94,23,'Turkish',0,9.4),(95,24,'Arabic',1,67.7),(96,24,'English',0,0.0),(97,25,'Creole English',0,89.7),(98,25,'Creole French',0,10.3),(99,26,'Serbo-Croatian',1,99.2),(100,27,'Belorussian',1,65.6),(101,27,'Polish',0,0.6),(102,27,'Russian',1,32.0),(103,27,'Ukrainian',0,1.3),(104,28,'English',1,50.8),(105,28,'Garifuna',0,6.8),(106,28,'Maya Languages',0,9.6),(107,28,'Spanish',0,31.6),(108,29,'English',1,100.0),(109,30,'Aimará',1,3.2),(110,30,'Guaraní',0,0.1),(111,30,'Ketšua',1,8.1),(112,30,'Spanish',1,87.7),(113,31,'German',0,0.5),(114,31,'Indian Languages',0,0.2),(115,31,'Italian',0,0.4),(116,31,'Japanese',0,0.4),(117,31,'Portuguese',1,97.5),(118,32,'Bajan',0,95.1),(119,32,'English',1,0.0),(120,33,'Chinese',0,9.3),(121,33,'English',0,3.1),(122,33,'Malay',1,45.5),(123,33,'Malay-English',0,28.8),(124,34,'Asami',0,15.2),(125,34,'Dzongkha',1,50.0),(126,34,'Nepali',0,34.8),(127,36,'Khoekhoe',0,2.5),(128,36,'Ndebele',0,1.3),(129,36,'San',0,3.5),(130,36,'Shona',0,12.3),(131,36,'Tswana',0,75.5),(132,37,'Banda',0,23.5),(133,37,'Gbaya',0,23.8),(134,37,'Mandjia',0,14.8),(135,37,'Mbum',0,6.4),(136,37,'Ngbaka',0,7.5),(137,37,'Sara',0,6.4),(138,38,'Chinese',0,2.5),(139,38,'Dutch',0,0.5),(140,38,'English',1,60.4),(141,38,'Eskimo Languages',0,0.1),(142,38,'French',1,23.4),(143,38,'German',0,1.6),(144,38,'Italian',0,1.7),(145,38,'Polish',0,0.7),(146,38,'Portuguese',0,0.7),(147,38,'Punjabi',0,0.7),(148,38,'Spanish',0,0.7),(149,38,'Ukrainian',0,0.6),(150,39,'English',1,0.0),(151,39,'Malay',0,0.0),(152,40,'French',1,19.2),(153,40,'German',1,63.6),(154,40,'Italian',1,7.7),(155,40,'Romansh',1,0.6),(156,41,'Aimará',0,0.5),(157,41,'Araucan',0,9.6),(158,41,'Rapa nui',0,0.2),(159,41,'Spanish',1,89.7),(160,42,'Chinese',1,92.0),(161,42,'Dong',0,0.2),(162,42,'Hui',0,0.8),(163,42,'Mantšu',0,0.9),(164,42,'Miao',0,0.7),(165,42,'Mongolian',0,0.4),(166,42,'Puyi',0,0.2),(167,42,'Tibetan',0,0.4),(168,42,'Tujia',0,0.5),(169,42,'Uighur',0,0.6),(170,42,'Yi',0,0.6),(171,42,'Zhuang',0,1.4),(172,43,'[South]Mande',0,7.7),(173,43,'Akan',0,30.0),(174,43,'Gur',0,11.7),(175,43,'Kru',0,10.5),(176,43,'Malinke',0,11.4),(177,44,'Bamileke-bamum',0,18.6),(178,44,'Duala',0,10.9),(179,44,'Fang',0,19.7),(180,44,'Ful',0,9.6),(181,44,'Maka',0,4.9),(182,44,'Mandara',0,5.7),(183,44,'Masana',0,3.9),(184,44,'Tikar',0,7.4),(185,45,'Boa',0,2.3),(186,45,'Chokwe',0,1.8),(187,45,'Kongo',0,16.0),(188,45,'Luba',0,18.0),(189,45,'Mongo',0,13.5),(190,45,'Ngala and Bangi',0,5.8),(191,45,'Rundi',0,3.8),(192,45,'Rwanda',0,10.3),(193,45,'Teke',0,2.7),(194,45,'Zande',0,6.1),(195,46,'Kongo',0,51.5),(196,46,'Mbete',0,4.8),(197,46,'Mboshi',0,11.4),(198,46,'Punu',0,2.9),(199,46,'Sango',0,2.6),(200,46,'Teke',0,17.3),(201,47,'English',0,0.0),(202,47,'Maori',1,0.0),(203,48,'Arawakan',0,0.1),(204,48,'Caribbean',0,0.1),(205,48,'Chibcha',0,0.4),(206,48,'Creole English',0,0.1),(207,48,'Spanish',1,99.0),(208,49,'Comorian',1,75.0),(209,49,'Comorian-Arabic',0,1.6),(210,49,'Comorian-French',0,12.9),(211,49,'Comorian-madagassi',0,5.5),(212,49,'Comorian-Swahili',0,0.5),(213,50,'Crioulo',0,100.0),(214,50,'Portuguese',1,0.0),(215,51,'Chibcha',0,0.3),(216,51,'Chinese',0,0.2),(217,51,'Creole English',0,2.0),(218,51,'Spanish',1,97.5),(219,52,'Spanish',1,100.0),(220,53,'Chinese',0,0.0),(221,53,'English',1,0.0),(222,54,'English',1,0.0),(223,55,'Greek',1,74.1),(224,55,'Turkish',1,22.4),(225,56,'Czech',1,81.2),(226,56,'German',0,0.5),(227,56,'Hungarian',0,0.2),(228,56,'Moravian',0,12.9),(229,56,'Polish',0,0.6),(230,56,'Romani',0,0.3),(231,56,'Silesiana',0,0.4),(232,56,'Slovak',0,3.1),(233,57,'German',1,91.3),(234,57,'Greek',0,0.4),(235,57,'Italian',0,0.7),(236,57,'Polish',0,0.3),(237,57,'Southern Slavic Languages',0,1.4),(238,57,'Turkish',0,2.6),(239,58,'Afar',0,34.8),(240,58,'Arabic',1,10.6),(241,58,'Somali',0,43.9),(242,59,'Creole English',0,100.0),(243,59,'Creole French',0,0.0),(244,60,'Arabic',0,0.7),(245,60,'Danish',1,93.5),(246,60,'English',0,0.3),(247,60,'German',0,0.5),(248,60,'Norwegian',0,0.3),(249,60,'Swedish',0,0.3),(250,60,'Turkish',0,0.8),(251,61,'Creole French',0,2.0),(252,61,'Spanish',1,98.0),(253,62,'Arabic',1,86.0),(254,62,'Berberi',0,14.0),(255,63,'Ketšua',0,7.0),(256,63,'Spanish',1,93.0),(257,64,'Arabic',1,98.8),(258,64,'Sinaberberi',0,0.0),(259,65,'Afar',0,4.3),(260,65,'Bilin',0,3.0),(261,65,'Hadareb',0,3.8),(262,65,'Saho',0,3.0),(263,65,'Tigre',0,31.7),(264,65,'Tigrinja',1,49.1),(265,66,'Arabic',1,100.0),(266,67,'Basque',0,1.6),(267,67,'Catalan',0,16.9),(268,67,'Galecian',0,6.4),(269,67,'Spanish',1,74.4),(270,68,'Belorussian',0,1.4),(271,68,'Estonian',1,65.3),(272,68,'Finnish',0,0.7),(273,68,'Russian',0,27.8),(274,68,'Ukrainian',0,2.8),(275,69,'Amhara',0,30.0),(276,69,'Gurage',0,4.7),(277,69,'Oromo',0,31.0),(278,69,'Sidamo',0,3.2),(279,69,'Somali',0,4.1),(280,69,'Tigrinja',0,7.2),(281,69,'Walaita',0,2.8),(282,70,'Estonian',0,0.2),(283,70,'Finnish',1,92.7),(284,70,'Russian',0,0.4),(285,70,'Saame',0,0.0),(286,70,'Swedish',1,5.7),(287,71,'Fijian',1,50.8),(288,71,'Hindi',0,43.7),(289,72,'English',1,0.0),(290,73,'Arabic',0,2.5),(291,73,'French',1,93.6),(292,73,'Italian',0,0.4),(293,73,'Portuguese',0,1.2),(294,73,'Spanish',0,0.4),(295,73,'Turkish',0,0.4),(296,74,'Danish',1,0.0),(297,74,'Faroese',1,100.0),(298,75,'Kosrean',0,7.3),(299,75,'Mortlock',0,7.6),(300,75,'Pohnpei',0,23.8),(301,75,'Trukese',0,41.6),(302,75,'Wolea',0,3.7),(303,75,'Yap',0,5.8),(304,76,'Fang',0,35.8),(305,76,'Mbete',0,13.8),(306,76,'Mpongwe',0,14.6),(307,76,'Punu-sira-nzebi',0,17.1),(308,77,'English',1,97.3),(309,77,'Gaeli',0,0.1),(310,77,'Kymri',0,0.9),(311,78,'Abhyasi',0,1.7),(312,78,'Armenian',0,6.8),(313,78,'Azerbaijani',0,5.5),(314,78,'Georgiana',1,71.7),(315,78,'Osseetti',0,2.4),(316,78,'Russian',0,8.8),(317,79,'Akan',0,52.4),(318,79,'Ewe',0,11.9),(319,79,'Ga-adangme',0,7.8),(320,79,'Gurma',0,3.3),(321,79,'Joruba',0,1.3),(322,79,'Mossi',0,15.8),(323,80,'Arabic',0,7.4),(324,80,'English',1,88.9),(325,81,'Ful',0,38.6),(326,81,'Kissi',0,6.0),(327,81,'Kpelle',0,4.6),(328,81,'Loma',0,2.3),(329,81,'Malinke',0,23.2),(330,81,'Susu',0,11.0),(331,81,'Yalunka',0,2.9),(332,82,'Creole French',0,95.0),(333,82,'French',1,0.0),(334,83,'Diola',0,9.2),(335,83,'Ful',0,16.2),(336,83,'Malinke',0,34.1),(337,83,'Soninke',0,7.6),(338,83,'Wolof',0,12.6),(339,84,'Balante',0,14.6),(340,84,'Crioulo',0,36.4),(341,84,'Ful',0,16.6),(342,84,'Malinke',0,6.9),(343,84,'Mandyako',0,4.9),(344,84,'Portuguese',1,8.1),(345,85,'Bubi',0,8.7),(346,85,'Fang',0,84.8),(347,86,'Greek',1,98.5),(348,86,'Turkish',0,0.9),(349,87,'Creole English',0,100.0),(350,88,'Danish',1,12.5),(351,88,'Greenlandic',1,87.5),(352,89,'Cakchiquel',0,8.9),(353,89,'Kekchí',0,4.9),(354,89,'Mam',0,2.7),(355,89,'Quiché',0,10.1),(356,89,'Spanish',1,64.7),(357,90,'Creole French',0,94.3),(358,90,'Indian Languages',0,1.9),(359,91,'Chamorro',1,29.6),(360,91,'English',1,37.5),(361,91,'Japanese',0,2.0),(362,91,'Korean',0,3.3),(363,91,'Philippene Languages',0,19.7),(364,92,'Arawakan',0,1.4),(365,92,'Caribbean',0,2.2),(366,92,'Creole English',0,96.4),(367,93,'Canton Chinese',0,88.7),(368,93,'Chiu chau',0,1.4),(369,93,'English',1,2.2),(370,93,'Fukien',0,1.9),(371,93,'Hakka',0,1.6),(372,95,'Creole English',0,0.2),(373,95,'Garifuna',0,1.3),(374,95,'Miskito',0,0.2),(375,95,'Spanish',1,97.2),(376,96,'Serbo-Croatian',1,95.9),(377,96,'Slovene',0,0.0),(378,97,'French',1,0.0),(379,97,'Haiti Creole',0,100.0),(380,98,'German',0,0.4),(381,98,'Hungarian',1,98.5),(382,98,'Romani',0,0.5),(383,98,'Romanian',0,0.1),(384,98,'Serbo-Croatian',0,0.2),(385,98,'Slovak',0,0.1),(386,99,'Bali',0,1.7),(387,99,'Banja',0,1.8),(388,99,'Batakki',0,2.2),(389,99,'Bugi',0,2.2),(390,99,'Javanese',0,39.4),(391,99,'Madura',0,4.3),(392,99,'Malay',1,12.1),(393,99,'Minangkabau',0,2.4),(394,99,'Sunda',0,15.8),(395,100,'Asami',0,1.5),(396,100,'Bengali',0,8.2),(397,100,'Gujarati',0,4.8),(398,100,'Hindi',1,39.9),(399,100,'Kannada',0,3.9),(400,100,'Malajalam',0,3.6),(401,100,'Marathi',0,7.4),(402,100,'Orija',0,3.3),(403,100,'Punjabi',0,2.8),(404,100,'Tamil',0,6.3),(405,100,'Telugu',0,7.8),(406,100,'Urdu',0,5.1),(407,102,'English',1,98.4),(408,102,'Irish',1,1.6),(409,103,'Arabic',0,2.2),(410,103,'Azerbaijani',0,16.8),(411,103,'Bakhtyari',0,1.7),(412,103,'Balochi',0,2.3),(413,103,'Gilaki',0,5.3),(414,103,'Kurdish',0,9.1),(415,103,'Luri',0,4.3),(416,103,'Mazandarani',0,3.6),(417,103,'Persian',1,45.7),(418,103,'Turkmenian',0,1.6),(419,104,'Arabic',1,77.2),(420,104,'Assyrian',0,0.8),(421,104,'Azerbaijani',0,1.7),(422,104,'Kurdish',0,19.0),(423,104,'Persian',0,0.8),(424,105,'English',0,0.0),(425,105,'Icelandic',1,95.7),(426,106,'Arabic',1,18.0),(427,106,'Hebrew',1,63.1),(428,106,'Russian',0,8.9),(429,107,'Albaniana',0,0.2),(430,107,'French',0,0.5),(431,107,'Friuli',0,1.2),(432,107,'German',0,0.5),(433,107,'Italian',1,94.1),(434,107,'Romani',0,0.2),(435,107,'Sardinian',0,2.7),(436,107,'Slovene',0,0.2),(437,108,'Creole English',0,94.2),(438,108,'Hindi',0,1.9),(439,109,'Arabic',1,97.9),(440,109,'Armenian',0,1.0),(441,109,'Circassian',0,1.0),(442,110,'Ainu',0,0.0),(443,110,'Chinese',0,0.2),(444,110,'English',0,0.1),(445,110,'Japanese',1,99.1),(446,110,'Korean',0,0.5),(447,110,'Philippene Languages',0,0.1),(448,111,'German',0,3.1),(449,111,'Kazakh',1,46.0),(450,111,'Russian',0,34.7),(451,111,'Tatar',0,2.0),(452,111,'Ukrainian',0,5.0),(453,111,'Uzbek',0,2.3),(454,112,'Gusii',0,6.1),(455,112,'Kalenjin',0,10.8),(456,112,'Kamba',0,11.2),(457,112,'Kikuyu',0,20.9),(458,112,'Luhya',0,13.8),(459,112,'Luo',0,12.8),(460,112,'Masai',0,1.6),(461,112,'Meru',0,5.5),(462,112,'Nyika',0,4.8),(463,112,'Turkana',0,1.4),(464,113,'Kazakh',0,0.8),(465,113,'Kirgiz',1,59.7),(466,113,'Russian',1,16.2),(467,113,'Tadzhik',0,0.8),(468,113,'Tatar',0,1.3),(469,113,'Ukrainian',0,1.7),(470,113,'Uzbek',0,14.1),(471,114,'Chinese',0,3.1),(472,114,'Khmer',1,88.6),(473,114,'Tšam',0,2.4),(474,114,'Vietnamese',0,5.5),(475,115,'Kiribati',1,98.9),(476,115,'Tuvalu',0,0.5),(477,116,'Creole English',0,100.0),(478,116,'English',1,0.0),(479,117,'Chinese',0,0.1),(480,117,'Korean',1,99.9),(481,118,'Arabic',1,78.1),(482,118,'English',0,0.0),(483,119,'Lao',1,67.2),(484,119,'Lao-Soung',0,5.2),(485,119,'Mon-khmer',0,16.5),(486,119,'Thai',0,7.8),(487,120,'Arabic',1,93.0),(488,120,'Armenian',0,5.9),(489,120,'French',0,0.0),(490,121,'Bassa',0,13.7),(491,121,'Gio',0,7.9),(492,121,'Grebo',0,8.9),(493,121,'Kpelle',0,19.5),(494,121,'Kru',0,7.2),(495,121,'Loma',0,5.8),(496,121,'Malinke',0,5.1),(497,121,'Mano',0,7.2),(498,122,'Arabic',1,96.0),(499,122,'Berberi',0,1.0),(500,123,'Creole French',0,80.0),(501,123,'English',1,20.0),(502,124,'German',1,89.0),(503,124,'Italian',0,2.5),(504,124,'Turkish',0,2.5),(505,125,'Mixed Languages',0,19.6),(506,125,'Singali',1,60.3),(507,125,'Tamil',1,19.6),(508,126,'English',1,0.0),(509,126,'Sotho',1,85.0),(510,126,'Zulu',0,15.0),(511,127,'Belorussian',0,1.4),(512,127,'Lithuanian',1,81.6),(513,127,'Polish',0,7.0),(514,127,'Russian',0,8.1),(515,127,'Ukrainian',0,1.1),(516,128,'French',1,4.2),(517,128,'German',1,2.3),(518,128,'Italian',0,4.6),(519,128,'Luxembourgish',1,64.4),(520,128,'Portuguese',0,13.0),(521,129,'Belorussian',0,4.1),(522,129,'Latvian',1,55.1),(523,129,'Lithuanian',0,1.2),(524,129,'Polish',0,2.1),(525,129,'Russian',0,32.5),(526,129,'Ukrainian',0,2.9),(527,130,'Canton Chinese',0,85.6),(528,130,'English',0,0.5),(529,130,'Mandarin Chinese',0,1.2),(530,130,'Portuguese',1,2.3),(531,131,'Arabic',1,65.0),(532,131,'Berberi',0,33.0),(533,132,'English',0,6.5),(534,132,'French',1,41.9),(535,132,'Italian',0,16.1),(536,132,'Monegasque',0,16.1),(537,133,'Bulgariana',0,1.6),(538,133,'Gagauzi',0,3.2),(539,133,'Romanian',1,61.9),(540,133,'Russian',0,23.2),(541,133,'Ukrainian',0,8.6),(542,134,'French',1,0.0),(543,134,'Malagasy',1,98.9),(544,135,'Dhivehi',1,100.0),(545,135,'English',0,0.0),(546,136,'Mixtec',0,0.6),(547,136,'Náhuatl',0,1.8),(548,136,'Otomí',0,0.4),(549,136,'Spanish',1,92.1),(550,136,'Yucatec',0,1.1),(551,136,'Zapotec',0,0.6),(552,137,'English',1,0.0),(553,137,'Marshallese',1,96.8),(554,138,'Albaniana',0,22.9),(555,138,'Macedonian',1,66.5),(556,138,'Romani',0,2.3),(557,138,'Serbo-Croatian',0,2.0),(558,138,'Turkish',0,4.0),(559,139,'Bambara',0,31.8),(560,139,'Ful',0,13.9),(561,139,'Senufo and Minianka',0,12.0),(562,139,'Songhai',0,6.9),(563,139,'Soninke',0,8.7),(564,139,'Tamashek',0,7.3),(565,140,'English',1,2.1),(566,140,'Maltese',1,95.8),(567,141,'Burmese',1,69.0),(568,141,'Chin',0,2.2),(569,141,'Kachin',0,1.4),(570,141,'Karen',0,6.2),(571,141,'Kayah',0,0.4),(572,141,'Mon',0,2.4),(573,141,'Rakhine',0,4.5),(574,141,'Shan',0,8.5),(575,142,'Bajad',0,1.9),(576,142,'Buryat',0,1.7),(577,142,'Dariganga',0,1.4),(578,142,'Dorbet',0,2.7),(579,142,'Kazakh',0,5.9),(580,142,'Mongolian',1,78.8),(581,143,'Carolinian',0,4.8),(582,143,'Chamorro',0,30.0),(583,143,'Chinese',0,7.1),(584,143,'English',1,4.8),(585,143,'Korean',0,6.5),(586,143,'Philippene Languages',0,34.1),(587,144,'Chuabo',0,5.7),(588,144,'Lomwe',0,7.8),(589,144,'Makua',0,27.8),(590,144,'Marendje',0,3.5),(591,144,'Nyanja',0,3.3),(592,144,'Ronga',0,3.7),(593,144,'Sena',0,9.4),(594,144,'Shona',0,6.5),(595,144,'Tsonga',0,12.4),(596,144,'Tswa',0,6.0),(597,145,'Ful',0,1.2),(598,145,'Hassaniya',0,81.7),(599,145,'Soninke',0,2.7),(600,145,'Tukulor',0,5.4),(601,145,'Wolof',0,6.6),(602,145,'Zenaga',0,1.2),(603,146,'English',1,0.0),(604,147,'Creole French',0,96.6),(605,147,'French',1,0.0),(606,148,'Bhojpuri',0,21.1),(607,148,'Creole French',0,70.6),(608,148,'French',0,3.4),(609,148,'Hindi',0,1.2),(610,148,'Marathi',0,0.7),(611,148,'Tamil',0,0.8),(612,149,'Chichewa',1,58.3),(613,149,'Lomwe',0,18.4),(614,149,'Ngoni',0,6.7),(615,149,'Yao',0,13.2),(616,150,'Chinese',0,9.0),(617,150,'Dusun',0,1.1),(618,150,'English',0,1.6),(619,150,'Iban',0,2.8),(620,150,'Malay',1,58.4),(621,150,'Tamil',0,3.9),(622,151,'French',1,20.3),(623,151,'Mahoré',0,41.9),(624,151,'Malagasy',0,16.1),(625,152,'Afrikaans',0,9.5),(626,152,'Caprivi',0,4.7),(627,152,'German',0,0.9),(628,152,'Herero',0,8.0),(629,152,'Kavango',0,9.7),(630,152,'Nama',0,12.4),(631,152,'Ovambo',0,50.7),(632,152,'San',0,1.9),(633,153,'French',1,34.3),(634,153,'Malenasian Languages',0,45.4),(635,153,'Polynesian Languages',0,11.6),(636,154,'Ful',0,9.7),(637,154,'Hausa',0,53.1),(638,154,'Kanuri',0,4.4),(639,154,'Songhai-zerma',0,21.2),(640,154,'Tamashek',0,10.4),(641,155,'English',1,0.0),(642,156,'Bura',0,1.6),(643,156,'Edo',0,3.3),(644,156,'Ful',0,11.3),(645,156,'Hausa',0,21.1),(646,156,'Ibibio',0,5.6),(647,156,'Ibo',0,18.1),(648,156,'Ijo',0,1.8),(649,156,'Joruba',0,21.4),(650,156,'Kanuri',0,4.1),(651,156,'Tiv',0,2.3),(652,157,'Creole English',0,0.5),(653,157,'Miskito',0,1.6),(654,157,'Spanish',1,97.6),(655,157,'Sumo',0,0.2),(656,158,'English',1,0.0),(657,158,'Niue',0,0.0),(658,159,'Arabic',0,0.9),(659,159,'Dutch',1,95.6),(660,159,'Fries',0,3.7),(661,159,'Turkish',0,0.8),(662,160,'Danish',0,0.4),(663,160,'English',0,0.5),(664,160,'Norwegian',1,96.6),(665,160,'Saame',0,0.0),(666,160,'Swedish',0,0.3),(667,161,'Bhojpuri',0,7.5),(668,161,'Hindi',0,3.0),(669,161,'Maithili',0,11.9),(670,161,'Nepali',1,50.4),(671,161,'Newari',0,3.7),(672,161,'Tamang',0,4.9),(673,161,'Tharu',0,5.4),(674,162,'Chinese',0,8.5),(675,162,'English',1,7.5),(676,162,'Kiribati',0,17.9),(677,162,'Nauru',1,57.5),(678,162,'Tuvalu',0,8.5),(679,163,'English',1,87.0),(680,163,'Maori',0,4.3),(681,164,'Arabic',1,76.7),(682,164,'Balochi',0,0.0),(683,165,'Balochi',0,3.0),(684,165,'Brahui',0,1.2),(685,165,'Hindko',0,2.4),(686,165,'Pashto',0,13.1),(687,165,'Punjabi',0,48.2),(688,165,'Saraiki',0,9.8),(689,165,'Sindhi',0,11.8),(690,165,'Urdu',1,7.6),(691,166,'Arabic',0,0.6),(692,166,'Creole English',0,14.0),(693,166,'Cuna',0,2.0),(694,166,'Embera',0,0.6),(695,166,'Guaymí',0,5.3),(696,166,'Spanish',1,76.8),(697,167,'Pitcairnese',0,0.0),(698,168,'Aimará',1,2.3),(699,168,'Ketšua',1,16.4),(700,168,'Spanish',1,79.8),(701,169,'Bicol',0,5.7),(702,169,'Cebuano',0,23.3),(703,169,'Hiligaynon',0,9.1),(704,169,'Ilocano',0,9.3),(705,169,'Maguindanao',0,1.4),(706,169,'Maranao',0,1.3),(707,169,'Pampango',0,3.0),(708,169,'Pangasinan',0,1.8),(709,169,'Pilipino',1,29.3),(710,169,'Waray-waray',0,3.8),(711,170,'Chinese',0,1.6),(712,170,'English',1,3.2),(713,170,'Palau',1,82.2),(714,170,'Philippene Languages',0,9.2),(715,171,'Malenasian Languages',0,20.0),(716,171,'Papuan Languages',0,78.1),(717,172,'Belorussian',0,0.5),(718,172,'German',0,1.3),(719,172,'Polish',1,97.6),(720,172,'Ukrainian',0,0.6),(721,173,'English',0,47.4),(722,173,'Spanish',1,51.3),(723,174,'Chinese',0,0.1),(724,174,'Korean',1,99.9),(725,175,'Portuguese',1,99.0),(726,176,'German',0,0.9),(727,176,'Guaraní',1,40.1),(728,176,'Portuguese',0,3.2),(729,176,'Spanish',1,55.1),(730,177,'Arabic',0,95.9),(731,177,'Hebrew',0,4.1),(732,178,'Chinese',0,2.9),(733,178,'French',1,40.8),(734,178,'Tahitian',0,46.4),(735,179,'Arabic',1,40.7),(736,179,'Urdu',0,0.0),(737,180,'Chinese',0,2.8),(738,180,'Comorian',0,2.8),(739,180,'Creole French',0,91.5),(740,180,'Malagasy',0,1.4),(741,180,'Tamil',0,0.0),(742,181,'German',0,0.4),(743,181,'Hungarian',0,7.2),(744,181,'Romani',1,0.7),(745,181,'Romanian',1,90.7),(746,181,'Serbo-Croatian',0,0.1),(747,181,'Ukrainian',0,0.3),(748,182,'Avarian',0,0.4),(749,182,'Bashkir',0,0.7),(750,182,'Belorussian',0,0.3),(751,182,'Chechen',0,0.6),(752,182,'Chuvash',0,0.9),(753,182,'Kazakh',0,0.4),(754,182,'Mari',0,0.4),(755,182,'Mordva',0,0.5),(756,182,'Russian',1,86.6),(757,182,'Tatar',0,3.2),(758,182,'Udmur',0,0.3),(759,182,'Ukrainian',0,1.3),(760,183,'French',1,0.0),(761,183,'Rwanda',1,100.0),(762,184,'Arabic',1,95.0),(763,185,'Arabic',1,49.4),(764,185,'Bari',0,2.5),(765,185,'Beja',0,6.4),(766,185,'Chilluk',0,1.7),(767,185,'Dinka',0,11.5),(768,185,'Fur',0,2.1),(769,185,'Lotuko',0,1.5),(770,185,'Nubian Languages',0,8.1),(771,185,'Nuer',0,4.9),(772,185,'Zande',0,2.7),(773,186,'Diola',0,5.0),(774,186,'Ful',0,21.7),(775,186,'Malinke',0,3.8),(776,186,'Serer',0,12.5),(777,186,'Soninke',0,1.3),(778,186,'Wolof',1,48.1),(779,187,'Chinese',1,77.1),(780,187,'Malay',1,14.1),(781,187,'Tamil',1,7.4),(782,189,'English',1,0.0),(783,190,'Norwegian',1,0.0),(784,190,'Russian',0,0.0),(785,191,'Malenasian Languages',0,85.6),(786,191,'Papuan Languages',0,8.6),(787,191,'Polynesian Languages',0,3.8),(788,192,'Bullom-sherbro',0,3.8),(789,192,'Ful',0,3.8),(790,192,'Kono-vai',0,5.1),(791,192,'Kuranko',0,3.4),(792,192,'Limba',0,8.3),(793,192,'Mende',0,34.8),(794,192,'Temne',0,31.8),(795,192,'Yalunka',0,3.4),(796,193,'Nahua',0,0.0),(797,193,'Spanish',1,100.0),(798,194,'Italian',1,100.0),(799,195,'Arabic',1,0.0),(800,195,'Somali',1,98.3),(801,196,'French',1,0.0),(802,197,'Crioulo',0,86.3),(803,197,'French',0,0.7),(804,198,'Hindi',0,0.0),(805,198,'Sranantonga',0,81.0),(806,199,'Czech and Moravian',0,1.1),(807,199,'Hungarian',0,10.5),(808,199,'Romani',0,1.7),(809,199,'Slovak',1,85.6),(810,199,'Ukrainian and Russian',0,0.6),(811,200,'Hungarian',0,0.5),(812,200,'Serbo-Croatian',0,7.9),(813,200,'Slovene',1,87.9),(814,201,'Arabic',0,0.8),(815,201,'Finnish',0,2.4),(816,201,'Norwegian',0,0.5),(817,201,'Southern Slavic Languages',0,1.3),(818,201,'Spanish',0,0.6),(819,201,'Swedish',1,89.5),(820,202,'Swazi',1,89.9),(821,202,'Zulu',0,2.0),(822,203,'English',1,3.8),(823,203,'French',1,1.3),(824,203,'Seselwa',0,91.3),(825,204,'Arabic',1,90.0),(826,204,'Kurdish',0,9.0),(827,205,'English',1,0.0),(828,206,'Arabic',1,12.3),(829,206,'Gorane',0,6.2),(830,206,'Hadjarai',0,6.7),(831,206,'Kanem-bornu',0,9.0),(832,206,'Mayo-kebbi',0,11.5),(833,206,'Ouaddai',0,8.7),(834,206,'Sara',0,27.7),(835,206,'Tandjile',0,6.5),(836,207,'Ane',0,5.7),(837,207,'Ewe',1,23.2),(838,207,'Gurma',0,3.4),(839,207,'Kabyé',1,13.8),(840,207,'Kotokoli',0,5.7),(841,207,'Moba',0,5.4),(842,207,'Naudemba',0,4.1),(843,207,'Watyi',0,10.3),(844,208,'Chinese',0,12.1),(845,208,'Khmer',0,1.3),(846,208,'Kuy',0,1.1),(847,208,'Lao',0,26.9),(848,208,'Malay',0,3.6),(849,208,'Thai',1,52.6),(850,209,'Russian',0,9.7),(851,209,'Tadzhik',1,62.2),(852,209,'Uzbek',0,23.2),(853,210,'English',1,0.0),(854,210,'Tokelau',0,0.0),(855,211,'Kazakh',0,2.0),(856,211,'Russian',0,6.7),(857,211,'Turkmenian',1,76.7),(858,211,'Uzbek',0,9.2),(859,212,'Portuguese',1,0.0),(860,212,'Sunda',0,0.0),(861,213,'English',1,0.0),(862,213,'Tongan',1,98.3),(863,214,'Creole English',0,2.9),(864,214,'English',0,93.5),(865,214,'Hindi',0,3.4),(866,215,'Arabic',1,69.9),(867,215,'Arabic-French',0,26.3),(868,215,'Arabic-French-English',0,3.2),(869,216,'Arabic',0,1.4),(870,216,'Kurdish',0,10.6),(871,216,'Turkish',1,87.6),(872,217,'English',1,0.0),(873,217,'Kiribati',0,7.5),(874,217,'Tuvalu',1,92.5),(875,218,'Ami',0,0.6),(876,218,'Atayal',0,0.4),(877,218,'Hakka',0,11.0),(878,218,'Mandarin Chinese',1,20.1),(879,218,'Min',0,66.7),(880,218,'Paiwan',0,0.3),(881,219,'Chaga and Pare',0,4.9),(882,219,'Gogo',0,3.9),(883,219,'Ha',0,3.5),(884,219,'Haya',0,5.9),(885,219,'Hehet',0,6.9),(886,219,'Luguru',0,4.9),(887,219,'Makonde',0,5.9),(888,219,'Nyakusa',0,5.4),(889,219,'Nyamwesi',0,21.1),(890,219,'Shambala',0,4.3),(891,219,'Swahili',1,8.8),(892,220,'Acholi',0,4.4),(893,220,'Ganda',0,18.1),(894,220,'Gisu',0,4.5),(895,220,'Kiga',0,8.3),(896,220,'Lango',0,5.9),(897,220,'Lugbara',0,4.7),(898,220,'Nkole',0,10.7),(899,220,'Rwanda',0,3.2),(900,220,'Soga',0,8.2),(901,220,'Teso',0,6.0),(902,221,'Belorussian',0,0.3),(903,221,'Bulgariana',0,0.3),(904,221,'Hungarian',0,0.3),(905,221,'Polish',0,0.1),(906,221,'Romanian',0,0.7),(907,221,'Russian',0,32.9),(908,221,'Ukrainian',1,64.7),(909,222,'English',1,0.0),(910,223,'Spanish',1,95.7),(911,224,'Chinese',0,0.6),(912,224,'English',1,86.2),(913,224,'French',0,0.7),(914,224,'German',0,0.7),(915,224,'Italian',0,0.6),(916,224,'Japanese',0,0.2),(917,224,'Korean',0,0.3),(918,224,'Polish',0,0.3),(919,224,'Portuguese',0,0.2),(920,224,'Spanish',0,7.5),(921,224,'Tagalog',0,0.4),(922,224,'Vietnamese',0,0.2),(923,225,'Karakalpak',0,2.0),(924,225,'Kazakh',0,3.8),(925,225,'Russian',0,10.9),(926,225,'Tadzhik',0,4.4),(927,225,'Tatar',0,1.8),(928,225,'Uzbek',1,72.6),(929,226,'Italian',1,0.0),(930,227,'Creole English',0,99.1),(931,227,'English',1,0.0),(932,228,'Goajiro',0,0.4),(933,228,'Spanish',1,96.9),(934,228,'Warrau',0,0.1),(935,229,'English',1,0.0),(936,230,'English',1,81.7),(937,230,'French',0,2.5),(938,230,'Spanish',0,13.3),(939,231,'Chinese',0,1.4),(940,231,'Khmer',0,1.4),(941,231,'Man',0,0.7),(942,231,'Miao',0,0.9),(943,231,'Muong',0,1.5),(944,231,'Nung',0,1.1),(945,231,'Thai',0,1.6),(946,231,'Tho',0,1.8),(947,231,'Vietnamese',1,86.8),(948,232,'Bislama',1,56.6),(949,232,'English',1,28.3),(950,232,'French',1,14.2),(951,233,'Futuna',0,0.0),(952,233,'Wallis',0,0.0),(953,234,'English',1,0.6),(954,234,'Samoan',1,47.5),(955,234,'Samoan-English',0,52.0),(956,235,'Arabic',1,99.6),(957,235,'Soqutri',0,0.0),(958,236,'Albaniana',0,16.5),(959,236,'Hungarian',0,3.4),(960,236,'Macedonian',0,0.5),(961,236,'Romani',0,1.4),(962,236,'Serbo-Croatian',1,75.2),(963,236,'Slovak',0,0.7),(964,237,'Afrikaans',1,14.3),(965,237,'English',1,8.5),(966,237,'Ndebele',0,1.5),(967,237,'Northsotho',0,9.1),(968,237,'Southsotho',0,7.6),(969,237,'Swazi',0,2.5),(970,237,'Tsonga',0,4.3),(971,237,'Tswana',0,8.1),(972,237,'Venda',0,2.2),(973,237,'Xhosa',1,17.7),(974,237,'Zulu',1,22.7),(975,238,'Bemba',0,29.7),(976,238,'Chewa',0,5.7),(977,238,'Lozi',0,6.4),(978,238,'Nsenga',0,4.3),(979,238,'Nyanja',0,7.8),(980,238,'Tongan',0,11.0),(981,239,'English',1,2.2),(982,239,'Ndebele',0,16.2),(983,239,'Nyanja',0,2.2),(984,239,'Shona',0,72.1);
 /*!40000 ALTER TABLE `country_language` ENABLE KEYS */;
 UNLOCK TABLES;
+
+--
+-- Table structure for table `id_sequence`
+--
+
+DROP TABLE IF EXISTS `id_sequence`;
+/*!40101 SET @saved_cs_client     = @@character_set_client */;
+/*!40101 SET character_set_client = utf8 */;
+CREATE TABLE `id_sequence` (
+  `sequence_name` varchar(255) COLLATE utf8mb4_unicode_ci NOT NULL,
+  `next_val` bigint(20) DEFAULT NULL,
+  PRIMARY KEY (`sequence_name`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+/*!40101 SET character_set_client = @saved_cs_client */;
+
+--
+-- Dumping data for table `id_sequence`
+--
+-- ORDER BY:  `sequence_name`
+
+LOCK TABLES `id_sequence` WRITE;
+/*!40000 ALTER TABLE `id_sequence` DISABLE KEYS */;
+INSERT  IGNORE INTO `id_sequence` VALUES ('city',4080);
+/*!40000 ALTER TABLE `id_sequence` ENABLE KEYS */;
+UNLOCK TABLES;
 /*!40103 SET TIME_ZONE=@OLD_TIME_ZONE */;
 
 /*!40101 SET SQL_MODE=@OLD_SQL_MODE */;
@@ -0,0 +1,215 @@
+package com.codegym.benchmark;
+
+import com.codegym.cache.BinaryCityPageCodec;
+import com.codegym.cache.CacheGeneration;
+import com.codegym.cache.CategoryStatsCache;
+import com.codegym.cache.NearCache;
+import com.codegym.cache.PopulationIndex;
+import com.codegym.cache.SingleFlight;
+import com.codegym.config.DatabaseConfig;
+import com.codegym.config.HibernateCacheConfig;
+import com.codegym.dao.CityDAO;
+import com.codegym.dao.CityDataset;
+import com.codegym.dao.ICityRepository;
+import com.codegym.domain.City;
+import com.codegym.domain.Continent;
+import com.codegym.domain.Country;
+import com.codegym.domain.CountryLanguage;
+import com.codegym.metrics.MetricsRegistry;
+import com.codegym.dto.CityDTO;
+import com.codegym.service.AsyncCityService;
+import com.codegym.service.CityService;
+import com.codegym.service.ICityService;
+import com.codegym.util.CacheKeyUtil;
+import com.codegym.util.Constants;
+import com.codegym.util.RedisConnectionManager;
+import com.codegym.util.TransactionUtil;
+import com.github.fppt.jedismock.RedisServer;
+import com.zaxxer.hikari.HikariDataSource;
+import io.lettuce.core.ClientOptions;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.protocol.ProtocolVersion;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+
+import java.io.IOException;
+import java.sql.PreparedStatement;
+import java.time.Duration;
+import java.util.List;
+import java.util.Properties;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Local stand-ins for MySQL and Redis used by the benchmarks.
+ * An in-memory H2 database in MySQL mode is seeded with a world-sized data set, and an in-process
+ * Redis-protocol fake serves the cache, so the measured code paths are the same as in production.
+ */
+public class BenchmarkEnvironment implements AutoCloseable {
+    public static final int COUNTRY_COUNT = 240;
+    public static final int CITY_COUNT = 4_080;
+    private static final long RANDOM_SEED = 42;
+    private static final int MAX_CITY_POPULATION = 10_000_000;
+    private static final String H2_URL =
+        "jdbc:h2:mem:world;MODE=MySQL;DB_CLOSE_DELAY=-1;INIT=CREATE SCHEMA IF NOT EXISTS world";
+    private static final String INSERT_COUNTRY =
+        "INSERT INTO world.country (id, code, name, continent, population) VALUES (?, ?, ?, ?, ?)";
+    private static final String INSERT_CITY =
+        "INSERT INTO world.city (id, name, country_id, district, population) VALUES (?, ?, ?, ?, ?)";
+
+    private final RedisServer redisServer;
+    private final HikariDataSource dataSource;
+    private final SessionFactory sessionFactory;
+    private final RedisClient redisClient;
+    private final RedisConnectionManager redisManager;
+    private final CacheGeneration cacheGeneration;
+    private final ICityRepository cityRepository;
+    private final ExecutorService dbExecutor;
+
+    public BenchmarkEnvironment() throws IOException {
+        this.redisServer = RedisServer.newRedisServer().start();
+        this.dataSource = createDataSource();
+        this.sessionFactory = createSessionFactory(dataSource);
+        this.redisClient = RedisClient.create("redis://localhost:" + redisServer.getBindPort());
+        // The fake only speaks RESP2 and rejects the HELLO handshake
+        this.redisClient.setOptions(ClientOptions.builder().protocolVersion(ProtocolVersion.RESP2).build());
+        this.redisManager = new RedisConnectionManager(redisClient);
+        this.cacheGeneration = new CacheGeneration(redisManager, CacheKeyUtil.CITY_CACHE_GENERATION_KEY,
+            Duration.ofMillis(Constants.DEFAULT_CACHE_GENERATION_REFRESH_MS));
+        this.cityRepository = new CityDAO(sessionFactory);
+        this.dbExecutor = new DatabaseConfig().createDbExecutor();
+        seed();
+    }
+
+    private static HikariDataSource createDataSource() {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("benchmark-pool");
+        dataSource.setJdbcUrl(H2_URL);
+        dataSource.setMaximumPoolSize(Constants.DEFAULT_POOL_MAX_SIZE);
+        dataSource.setAutoCommit(false);
+        return dataSource;
+    }
+
+    private static SessionFactory createSessionFactory(HikariDataSource dataSource) {
+        Properties properties = new Properties();
+        properties.put(AvailableSettings.DIALECT, "org.hibernate.dialect.H2Dialect");
+        properties.put(AvailableSettings.HBM2DDL_AUTO, "create");
+        properties.put(AvailableSettings.CURRENT_SESSION_CONTEXT_CLASS, "thread");
+        properties.put(AvailableSettings.STATEMENT_BATCH_SIZE, String.valueOf(Constants.DEFAULT_BATCH_SIZE));
+        properties.put(AvailableSettings.CONNECTION_PROVIDER_DISABLES_AUTOCOMMIT, "true");
+        properties.put(AvailableSettings.DATASOURCE, dataSource);
+        new HibernateCacheConfig().applyTo(properties);
+        return new Configuration()
+            .addProperties(properties)
+            .addAnnotatedClass(City.class)
+            .addAnnotatedClass(Country.class)
+            .addAnnotatedClass(CountryLanguage.class)
+            .buildSessionFactory();
+    }
+
+    private void seed() {
+        Random random = new Random(RANDOM_SEED);
+        try (Session session = sessionFactory.openSession()) {
+            session.beginTransaction();
+            // Country has no setters, so both tables are filled with plain JDBC batches
+            session.doWork(connection -> {
+                try (PreparedStatement insertCountry = connection.prepareStatement(INSERT_COUNTRY)) {
+                    for (int i = 1; i <= COUNTRY_COUNT; i++) {
+                        insertCountry.setInt(1, i);
+                        insertCountry.setString(2, String.format("C%02d", i % 100));
+                        insertCountry.setString(3, "Country " + i);
+                        insertCountry.setInt(4, i % Continent.values().length);
+                        insertCountry.setInt(5, random.nextInt(MAX_CITY_POPULATION));
+                        insertCountry.addBatch();
+                    }
+                    insertCountry.executeBatch();
+                }
+                try (PreparedStatement insertCity = connection.prepareStatement(INSERT_CITY)) {
+                    for (int i = 0; i < CITY_COUNT; i++) {
+                        // Skewed like real data: most cities are small, a few are very large
+                        double skew = random.nextDouble();
+                        insertCity.setInt(1, i + 1);
+                        insertCity.setString(2, "City " + i);
+                        insertCity.setInt(3, i % COUNTRY_COUNT + 1);
+                        insertCity.setString(4, "District " + (i % 500));
+                        insertCity.setInt(5, (int) (skew * skew * skew * MAX_CITY_POPULATION));
+                        insertCity.addBatch();
+                        if ((i + 1) % Constants.DEFAULT_BATCH_SIZE == 0) {
+                            insertCity.executeBatch();
+                        }
+                    }
+                    insertCity.executeBatch();
+                }
+            });
+            session.getTransaction().commit();
+        }
+    }
+
+    /**
+     * Creates a city service wired the same way as AppConfig, against the local stand-ins.
+     * @param populationIndex Index for range queries, or null to always query the database
+     * @return The synchronous service
+     */
+    public ICityService createCityService(NearCache nearCache, PopulationIndex populationIndex) {
+        return new CityService(new AsyncCityService(cityRepository, sessionFactory, redisManager, nearCache,
+            cacheGeneration, new SingleFlight<>(), null,
+            new BinaryCityPageCodec(Constants.DEFAULT_CACHE_COMPRESSION_THRESHOLD_BYTES), populationIndex,
+            createCategoryStatsCache(), dbExecutor, new MetricsRegistry()));
+    }
+
+    public CategoryStatsCache createCategoryStatsCache() {
+        return new CategoryStatsCache(redisManager, cacheGeneration,
+            () -> TransactionUtil.executeInPrimaryReadTransaction(sessionFactory, session ->
+                cityRepository.aggregateByPopulationCategory(Constants.CATEGORY_STATS_EXAMPLES)),
+            dbExecutor, Duration.ofSeconds(Constants.DEFAULT_CATEGORY_STATS_REFRESH_SECONDS),
+            Duration.ofSeconds(Constants.DEFAULT_CATEGORY_STATS_TTL_SECONDS));
+    }
+
+    public NearCache createNearCache() {
+        return new NearCache(redisManager, Constants.DEFAULT_NEAR_CACHE_MAX_CITIES,
+            Duration.ofSeconds(Constants.REDIS_CACHE_TTL));
+    }
+
+    /**
+     * Builds the population index from the seeded cities and waits until it is written.
+     */
+    public PopulationIndex createPopulationIndex() {
+        PopulationIndex populationIndex = new PopulationIndex(redisManager, redisClient,
+            () -> CityDataset.loadAll(cityRepository, sessionFactory),
+            Duration.ofMinutes(Constants.DEFAULT_POPULATION_INDEX_MAX_AGE_MINUTES), Constants.DEFAULT_BATCH_SIZE);
+        populationIndex.rebuild(CityDataset.loadAll(cityRepository, sessionFactory));
+        return populationIndex;
+    }
+
+    public List<City> loadCities(int limit) {
+        try (Session session = sessionFactory.openSession()) {
+            return session.createQuery("SELECT c FROM City c ORDER BY c.id", City.class)
+                .setMaxResults(limit)
+                .list();
+        }
+    }
+
+    public SessionFactory getSessionFactory() {
+        return sessionFactory;
+    }
+
+    public CacheGeneration getCacheGeneration() {
+        return cacheGeneration;
+    }
+
+    public RedisConnectionManager getRedisManager() {
+        return redisManager;
+    }
+
+    @Override
+    public void close() throws IOException {
+        dbExecutor.shutdown();
+        redisManager.close();
+        redisClient.shutdown();
+        sessionFactory.close();
+        dataSource.close();
+        redisServer.stop();
+    }
+}
@@ -0,0 +1,88 @@
+package com.codegym.benchmark;
+
+import com.codegym.cache.BinaryCityPageCodec;
+import com.codegym.cache.CityPageCodec;
+import com.codegym.cache.JsonCityPageCodec;
+import com.codegym.domain.City;
+import com.codegym.dto.CityDTO;
+import com.codegym.util.Constants;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DTO mapping and cached page (de)serialization, without any I/O.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CityDtoBenchmark {
+    @Param({"10", "100", "1000"})
+    private int pageSize;
+
+    private List<City> entities;
+    private List<CityDTO> page;
+    private CityPageCodec jsonCodec;
+    private CityPageCodec binaryCodec;
+    private byte[] jsonPage;
+    private byte[] binaryPage;
+
+    @Setup
+    public void setUp() throws IOException {
+        entities = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            City city = new City();
+            city.setId(i + 1);
+            city.setName("City " + i);
+            city.setDistrict("District " + (i % 50));
+            city.setPopulation(i * 7_919);
+            entities.add(city);
+        }
+        page = CityDTO.fromEntities(entities);
+        jsonCodec = new JsonCityPageCodec();
+        binaryCodec = new BinaryCityPageCodec(Constants.DEFAULT_CACHE_COMPRESSION_THRESHOLD_BYTES);
+        jsonPage = jsonCodec.encode(page);
+        binaryPage = binaryCodec.encode(page);
+    }
+
+    @Benchmark
+    public List<CityDTO> fromEntities() {
+        return CityDTO.fromEntities(entities);
+    }
+
+    @Benchmark
+    public byte[] jsonEncode() throws IOException {
+        return jsonCodec.encode(page);
+    }
+
+    @Benchmark
+    public List<CityDTO> jsonDecode() throws IOException {
+        return jsonCodec.decode(jsonPage);
+    }
+
+    @Benchmark
+    public byte[] binaryEncode() throws IOException {
+        return binaryCodec.encode(page);
+    }
+
+    @Benchmark
+    public List<CityDTO> binaryDecode() throws IOException {
+        return binaryCodec.decode(binaryPage);
+    }
+}
@@ -0,0 +1,132 @@
+package com.codegym.benchmark;
+
+import com.codegym.dao.CityDAO;
+import com.codegym.dao.ICityRepository;
+import com.codegym.dao.JdbcCityRepository;
+import com.codegym.dto.CategoryStatsDTO;
+import com.codegym.dto.CityDTO;
+import com.codegym.util.Constants;
+import com.codegym.util.TransactionUtil;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Repository reads of CityDAO (Hibernate) against JdbcCityRepository (plain JDBC) on the embedded database.
+ * <p>
+ * Hibernate's query cache is bypassed so both implementations reach the database. Before measuring, the setup
+ * checks that both implementations return identical results, ids included, and fails the trial otherwise.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CityRepositoryBenchmark {
+    private static final int MIN_POPULATION = 100_000;
+    private static final int MAX_POPULATION = 10_000_000;
+    // H2 rejects the MySQL streaming fetch size
+    private static final int FETCH_SIZE = Constants.DEFAULT_BATCH_SIZE;
+
+    @Param({"hibernate", "jdbc"})
+    private String repository;
+
+    @Param({"100"})
+    private int pageSize;
+
+    private BenchmarkEnvironment environment;
+    private ICityRepository cityRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        environment = new BenchmarkEnvironment();
+        ICityRepository hibernate = new CityDAO(environment.getSessionFactory());
+        ICityRepository jdbc = new JdbcCityRepository(environment.getSessionFactory(), FETCH_SIZE);
+        checkParity(hibernate, jdbc);
+        cityRepository = "jdbc".equals(repository) ? jdbc : hibernate;
+    }
+
+    private void checkParity(ICityRepository expected, ICityRepository actual) {
+        checkSame("findAllPaginatedDTO", expected, actual, repo -> withIds(repo.findAllPaginatedDTO(pageSize, pageSize)));
+        checkSame("findPageAfterDTO", expected, actual, repo -> withIds(repo.findPageAfterDTO(pageSize, pageSize)));
+        checkSame("findByPopulationRangeDTO", expected, actual,
+            repo -> withIds(repo.findByPopulationRangeDTO(MIN_POPULATION, MAX_POPULATION)));
+        checkSame("countAll", expected, actual, ICityRepository::countAll);
+        checkSame("findAllPaginated", expected, actual, repo -> repo.findAllPaginated(0, pageSize).stream()
+            .map(city -> city.getId() + "|" + city.getName() + "|" + city.getDistrict() + "|" + city.getPopulation())
+            .collect(Collectors.toList()));
+        checkSame("aggregateByPopulationCategory", expected, actual, repo ->
+            repo.aggregateByPopulationCategory(Constants.CATEGORY_STATS_EXAMPLES).stream()
+                .map(stats -> stats.getCategory() + "|" + stats.getCityCount() + "|" + stats.getTotalPopulation()
+                    + "|" + withIds(stats.getLargestCities()))
+                .collect(Collectors.toList()));
+    }
+
+    private void checkSame(String method, ICityRepository expected, ICityRepository actual,
+                           Function<ICityRepository, Object> call) {
+        Object expectedResult = read(session -> call.apply(expected));
+        Object actualResult = read(session -> call.apply(actual));
+        if (!Objects.equals(expectedResult, actualResult)) {
+            throw new IllegalStateException(method + " differs between CityDAO and JdbcCityRepository:\n  "
+                + expectedResult + "\n  " + actualResult);
+        }
+    }
+
+    private static List<String> withIds(List<CityDTO> cities) {
+        return cities.stream()
+            .map(city -> city.getId() + "|" + city)
+            .collect(Collectors.toList());
+    }
+
+    private <T> T read(Function<Session, T> operation) {
+        return TransactionUtil.executeInReadOnlyTransaction(environment.getSessionFactory(), session -> {
+            session.setCacheMode(CacheMode.IGNORE);
+            return operation.apply(session);
+        });
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        environment.close();
+    }
+
+    @Benchmark
+    public List<CityDTO> page() {
+        return read(session -> cityRepository.findAllPaginatedDTO(0, pageSize));
+    }
+
+    @Benchmark
+    public List<CityDTO> pageAfter() {
+        return read(session -> cityRepository.findPageAfterDTO(pageSize, pageSize));
+    }
+
+    @Benchmark
+    public List<CityDTO> populationRange() {
+        return read(session -> cityRepository.findByPopulationRangeDTO(MIN_POPULATION, MAX_POPULATION));
+    }
+
+    @Benchmark
+    public List<CategoryStatsDTO> categoryStats() {
+        return read(session -> cityRepository.aggregateByPopulationCategory(Constants.CATEGORY_STATS_EXAMPLES));
+    }
+}
@@ -0,0 +1,142 @@
+package com.codegym.benchmark;
+
+import com.codegym.cache.NearCache;
+import com.codegym.cache.PopulationIndex;
+import com.codegym.dao.CityDAO;
+import com.codegym.dto.CityDTO;
+import com.codegym.readmodel.CityReadModelRefresher;
+import com.codegym.service.ICityService;
+import com.codegym.service.ReadModelCityService;
+import com.codegym.util.CacheKeyUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * City service read paths against an embedded database and an in-process Redis fake.
+ * <p>
+ * Page reads are measured per cache tier: served from the near cache, from Redis after the local copy is dropped,
+ * and from the database after both copies are dropped. The cache-bypassing call and the population range paths
+ * (database query, Redis sorted-set index and in-memory read model) are measured on their own.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CityServiceBenchmark {
+    private static final int MIN_POPULATION = 500_000;
+    private static final int MAX_POPULATION = 1_000_000;
+
+    @Param({"10", "100"})
+    private int pageSize;
+
+    private BenchmarkEnvironment environment;
+    private NearCache nearCache;
+    private PopulationIndex populationIndex;
+    private ICityService cityService;
+    private ICityService indexedCityService;
+    private ICityService readModelCityService;
+    private String pageKey;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        environment = new BenchmarkEnvironment();
+        nearCache = environment.createNearCache();
+        populationIndex = environment.createPopulationIndex();
+        cityService = environment.createCityService(nearCache, null);
+        indexedCityService = environment.createCityService(environment.createNearCache(), populationIndex);
+        CityReadModelRefresher readModel = new CityReadModelRefresher(
+            new CityDAO(environment.getSessionFactory()), environment.getSessionFactory());
+        readModel.refresh();
+        readModelCityService = new ReadModelCityService(readModel, cityService);
+        pageKey = CacheKeyUtil.getPaginatedCitiesKey(environment.getCacheGeneration().current(), 0, pageSize);
+        cityService.getPaginatedCities(0, pageSize);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        populationIndex.close();
+        nearCache.close();
+        environment.close();
+    }
+
+    /**
+     * Per-invocation state that drops the cached page from the selected tiers before each call.
+     */
+    @State(Scope.Thread)
+    public static class EvictedPage {
+        @Setup(Level.Invocation)
+        public void evict(CityServiceBenchmark benchmark) {
+            benchmark.nearCache.invalidate(benchmark.pageKey);
+        }
+    }
+
+    /**
+     * Like EvictedPage, but also removes the page from Redis so the call goes to the database.
+     */
+    @State(Scope.Thread)
+    public static class MissingPage {
+        @Setup(Level.Invocation)
+        public void evict(CityServiceBenchmark benchmark) {
+            benchmark.nearCache.invalidate(benchmark.pageKey);
+            benchmark.environment.getRedisManager().binarySync().del(benchmark.pageKey);
+        }
+    }
+
+    @Benchmark
+    public List<CityDTO> paginatedNearCacheHit() {
+        return cityService.getPaginatedCities(0, pageSize);
+    }
+
+    @Benchmark
+    public List<CityDTO> paginatedRedisHit(EvictedPage evictedPage) {
+        return cityService.getPaginatedCities(0, pageSize);
+    }
+
+    @Benchmark
+    public List<CityDTO> paginatedMiss(MissingPage missingPage) {
+        return cityService.getPaginatedCities(0, pageSize);
+    }
+
+    @Benchmark
+    public List<CityDTO> paginatedReadModel() {
+        return readModelCityService.getPaginatedCities(0, pageSize);
+    }
+
+    @Benchmark
+    public Map.Entry<List<CityDTO>, Long> paginatedNoCache() {
+        return cityService.getPaginatedCitiesNoCache(0, pageSize);
+    }
+
+    @Benchmark
+    public List<CityDTO> populationRangeDatabase() {
+        return cityService.getCitiesByPopulationRange(MIN_POPULATION, MAX_POPULATION);
+    }
+
+    @Benchmark
+    public List<CityDTO> populationRangeIndex() {
+        return indexedCityService.getCitiesByPopulationRange(MIN_POPULATION, MAX_POPULATION);
+    }
+
+    @Benchmark
+    public List<CityDTO> populationRangeReadModel() {
+        return readModelCityService.getCitiesByPopulationRange(MIN_POPULATION, MAX_POPULATION);
+    }
+}
@@ -0,0 +1,204 @@
+package com.codegym.cache;
+
+import com.codegym.dto.CityDTO;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Compact binary codec for cached pages.
+ * <p>
+ * Layout: a schema version byte, a flags byte, then the body. The body is a varint city count followed by,
+ * for each city, a varint id (0 when absent, otherwise id + 1), varint-length-prefixed UTF-8 name and district,
+ * and a varint population. Bodies larger than the compression threshold are Deflate-compressed and preceded by
+ * their uncompressed length.
+ * <p>
+ * Values written by {@link JsonCityPageCodec} are still readable, so existing cache entries keep working
+ * until they expire.
+ */
+public class BinaryCityPageCodec implements CityPageCodec {
+    static final byte SCHEMA_VERSION = 1;
+    private static final byte FLAG_DEFLATE = 0x01;
+    private static final byte JSON_ARRAY_START = '[';
+    private static final int HEADER_SIZE = 2;
+    private static final int MAX_RAW_LENGTH = 64 * 1024 * 1024;
+
+    private final int compressionThreshold;
+    private final CityPageCodec legacyCodec;
+
+    /**
+     * Creates a binary codec.
+     * @param compressionThreshold Body size in bytes above which the body is compressed
+     */
+    public BinaryCityPageCodec(int compressionThreshold) {
+        this.compressionThreshold = compressionThreshold;
+        this.legacyCodec = new JsonCityPageCodec();
+    }
+
+    @Override
+    public byte[] encode(List<CityDTO> cities) throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream(Math.max(64, cities.size() * 32));
+        writeVarInt(body, cities.size());
+        for (CityDTO city : cities) {
+            writeVarInt(body, city.getId() == null ? 0 : city.getId() + 1);
+            writeString(body, city.getName());
+            writeString(body, city.getDistrict());
+            writeVarInt(body, city.getPopulation());
+        }
+
+        byte[] raw = body.toByteArray();
+        if (raw.length <= compressionThreshold) {
+            byte[] value = new byte[HEADER_SIZE + raw.length];
+            value[0] = SCHEMA_VERSION;
+            value[1] = 0;
+            System.arraycopy(raw, 0, value, HEADER_SIZE, raw.length);
+            return value;
+        }
+
+        ByteArrayOutputStream value = new ByteArrayOutputStream(raw.length / 2);
+        value.write(SCHEMA_VERSION);
+        value.write(FLAG_DEFLATE);
+        writeVarInt(value, raw.length);
+        deflate(raw, value);
+        return value.toByteArray();
+    }
+
+    @Override
+    public List<CityDTO> decode(byte[] data) throws IOException {
+        if (data.length == 0) {
+            throw new IOException("Empty cache value");
+        }
+        if (data[0] == JSON_ARRAY_START) {
+            return legacyCodec.decode(data);
+        }
+        if (data[0] != SCHEMA_VERSION) {
+            throw new IOException("Unsupported cache format version: " + data[0]);
+        }
+        if (data.length < HEADER_SIZE) {
+            throw new IOException("Truncated cache value");
+        }
+
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(data, HEADER_SIZE, data.length - HEADER_SIZE);
+            if ((data[1] & FLAG_DEFLATE) != 0) {
+                int rawLength = readVarInt(buffer);
+                if (rawLength > MAX_RAW_LENGTH) {
+                    throw new IOException("Compressed cache value is too large: " + rawLength);
+                }
+                buffer = ByteBuffer.wrap(inflate(data, buffer.position(), rawLength));
+            }
+            return readBody(buffer);
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            throw new IOException("Malformed cache value", e);
+        }
+    }
+
+    private static List<CityDTO> readBody(ByteBuffer buffer) {
+        int count = readVarInt(buffer);
+        List<CityDTO> cities = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int encodedId = readVarInt(buffer);
+            cities.add(new CityDTO.Builder()
+                .withId(encodedId == 0 ? null : encodedId - 1)
+                .withName(readString(buffer))
+                .withDistrict(readString(buffer))
+                .withPopulation(readVarInt(buffer))
+                .build());
+        }
+        return cities;
+    }
+
+    private static void deflate(byte[] raw, ByteArrayOutputStream out) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            byte[] chunk = new byte[4096];
+            while (!deflater.finished()) {
+                int written = deflater.deflate(chunk);
+                out.write(chunk, 0, written);
+            }
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] data, int offset, int rawLength) throws IOException {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(data, offset, data.length - offset);
+            byte[] raw = new byte[rawLength];
+            int read = 0;
+            while (read < rawLength && !inflater.finished()) {
+                int inflated = inflater.inflate(raw, read, rawLength - read);
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                read += inflated;
+            }
+            if (read != rawLength) {
+                throw new IOException("Compressed cache value is truncated");
+            }
+            return raw;
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupt compressed cache value", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static void writeString(ByteArrayOutputStream out, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(out, bytes.length);
+        out.write(bytes, 0, bytes.length);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = readVarInt(buffer);
+        if (length > buffer.remaining()) {
+            throw new IllegalArgumentException("String length exceeds value size");
+        }
+        String value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + length);
+        return value;
+    }
+
+    private static void writeVarInt(ByteArrayOutputStream out, int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Negative values cannot be encoded: " + value);
+        }
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    private static int readVarInt(ByteBuffer buffer) {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            byte b = buffer.get();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                if (value < 0) {
+                    throw new IllegalArgumentException("Varint out of range");
+                }
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Varint is too long");
+    }
+
+    @Override
+    public String toString() {
+        return "BinaryCityPageCodec[v" + SCHEMA_VERSION + ", compressionThreshold=" + compressionThreshold + "]";
+    }
+}
@@ -0,0 +1,134 @@
+package com.codegym.cache;
+
+import com.codegym.util.RedisConnectionManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongConsumer;
+
+/**
+ * Generation counter of the city cache namespace, stored in Redis and embedded in every cached page key.
+ * <p>
+ * Invalidating every cached page is a single INCR: keys of older generations are never read again and expire
+ * through their TTL, so no SCAN or DEL sweep is needed. The current generation is kept locally and re-read from
+ * Redis in the background once it is older than the refresh interval, so other instances pick up an increment
+ * within about one interval without adding a round trip to each read.
+ */
+public class CacheGeneration {
+    private final RedisConnectionManager redisManager;
+    private final String key;
+    private final long refreshNanos;
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+    private final List<LongConsumer> changeListeners = new CopyOnWriteArrayList<>();
+    private volatile long generation;
+    private volatile long refreshedAt;
+    private volatile boolean loaded;
+
+    /**
+     * Creates the counter.
+     * @param redisManager Shared Redis connection
+     * @param key Redis key holding the generation
+     * @param refreshInterval How long the local copy is used before it is re-read from Redis
+     */
+    public CacheGeneration(RedisConnectionManager redisManager, String key, Duration refreshInterval) {
+        this.redisManager = redisManager;
+        this.key = key;
+        this.refreshNanos = refreshInterval.toNanos();
+    }
+
+    /**
+     * Returns the current generation.
+     * Only the first call waits for Redis; later calls return the local copy and refresh it asynchronously
+     * when it is stale. If Redis cannot be reached the last known generation (initially 0) is used.
+     * @return Generation to embed in cache keys
+     */
+    public long current() {
+        if (!loaded) {
+            loadBlocking();
+        } else if (System.nanoTime() - refreshedAt > refreshNanos) {
+            refreshAsync();
+        }
+        return generation;
+    }
+
+    /**
+     * Registers a callback for caches that are not keyed by generation and must be cleared when it changes.
+     * It runs when a new generation is seen, whether this instance or another one started it, before the new
+     * generation is returned by {@link #current()}; not for the initial load. Callbacks may run on a Redis I/O
+     * thread, so they must not block.
+     * @param listener Receives the new generation
+     */
+    public void addChangeListener(LongConsumer listener) {
+        changeListeners.add(listener);
+    }
+
+    /**
+     * Starts a new generation, which makes every cached entry of the previous one unreachable.
+     * @return Future of the new generation
+     */
+    public CompletableFuture<Long> increment() {
+        try {
+            return redisManager.async().incr(key).toCompletableFuture().thenApply(next -> {
+                update(next);
+                return next;
+            });
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private synchronized void loadBlocking() {
+        if (loaded) {
+            return;
+        }
+        try {
+            update(parse(redisManager.sync().get(key)));
+        } catch (Exception e) {
+            System.err.println("Could not read cache generation, using " + generation + ": " + e.getMessage());
+            refreshedAt = System.nanoTime();
+        }
+        loaded = true;
+    }
+
+    private void refreshAsync() {
+        if (!refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            redisManager.async().get(key).whenComplete((value, error) -> {
+                if (error == null) {
+                    update(parse(value));
+                } else {
+                    // Keep the last known generation and retry after another interval
+                    refreshedAt = System.nanoTime();
+                }
+                refreshing.set(false);
+            });
+        } catch (Exception e) {
+            refreshedAt = System.nanoTime();
+            refreshing.set(false);
+        }
+    }
+
+    private void update(long value) {
+        if (loaded && value != generation) {
+            for (LongConsumer listener : changeListeners) {
+                try {
+                    listener.accept(value);
+                } catch (Exception e) {
+                    System.err.println("Cache generation listener failed: " + e.getMessage());
+                }
+            }
+        }
+        // GET and INCR share one connection, so replies arrive in the order they were sent and the last one wins
+        generation = value;
+        refreshedAt = System.nanoTime();
+    }
+
+    private static long parse(String value) {
+        return value == null ? 0 : Long.parseLong(value);
+    }
+}
@@ -0,0 +1,10 @@
+package com.codegym.cache;
+
+/**
+ * Which tier answered a cached page read.
+ */
+public enum CacheOutcome {
+    NEAR_CACHE_HIT,
+    REDIS_HIT,
+    MISS
+}
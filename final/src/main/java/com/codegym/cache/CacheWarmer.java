@@ -0,0 +1,202 @@
+package com.codegym.cache;
+
+import com.codegym.dao.ICityRepository;
+import com.codegym.dto.CityDTO;
+import com.codegym.dto.PageRequest;
+import com.codegym.util.CacheKeyUtil;
+import com.codegym.util.RedisConnectionManager;
+import com.codegym.util.TransactionUtil;
+import io.lettuce.core.RedisFuture;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.async.RedisAsyncCommands;
+import org.hibernate.SessionFactory;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pre-loads cached city pages so the first requests after a deploy or a Redis restart do not all reach MySQL.
+ * <p>
+ * Pages already in Redis are fetched with pipelined GETs and only copied into the near cache. The remaining pages
+ * are read from the database on a small dedicated pool, which caps how many warm-up queries run at once, and
+ * written back to Redis as pipelined SETEX batches over a dedicated connection with auto-flush disabled.
+ */
+public class CacheWarmer {
+    private static final long WARMUP_TIMEOUT_SECONDS = 60;
+
+    private final ICityRepository cityRepository;
+    private final SessionFactory sessionFactory;
+    private final RedisConnectionManager redisManager;
+    private final NearCache nearCache;
+    private final CacheGeneration cacheGeneration;
+    private final CityPageCodec pageCodec;
+    private final int concurrency;
+    private final int pipelineBatchSize;
+
+    /**
+     * Creates the warmer.
+     * @param cityRepository Repository used for pages missing from Redis
+     * @param sessionFactory Hibernate SessionFactory for the page transactions
+     * @param redisManager Used to open the dedicated pipelining connection
+     * @param nearCache Near cache filled with every warmed page
+     * @param cacheGeneration Generation embedded in the warmed page keys
+     * @param pageCodec Codec for page values stored in Redis
+     * @param concurrency Maximum number of pages read from the database at once
+     * @param pipelineBatchSize Number of Redis commands sent per flush
+     */
+    public CacheWarmer(ICityRepository cityRepository, SessionFactory sessionFactory,
+                       RedisConnectionManager redisManager, NearCache nearCache, CacheGeneration cacheGeneration,
+                       CityPageCodec pageCodec, int concurrency, int pipelineBatchSize) {
+        this.cityRepository = cityRepository;
+        this.sessionFactory = sessionFactory;
+        this.redisManager = redisManager;
+        this.nearCache = nearCache;
+        this.cacheGeneration = cacheGeneration;
+        this.pageCodec = pageCodec;
+        this.concurrency = Math.max(1, concurrency);
+        this.pipelineBatchSize = Math.max(1, pipelineBatchSize);
+    }
+
+    /**
+     * Warms the given pages and blocks until they are cached.
+     * Failures are logged per page and do not stop the remaining pages.
+     * @param pages Pages to warm, hottest first
+     * @return Number of pages now in the caches
+     */
+    public int warm(List<PageRequest> pages) {
+        if (pages.isEmpty()) {
+            return 0;
+        }
+        long startTime = System.currentTimeMillis();
+        int fromRedis = 0;
+        int fromDatabase = 0;
+        long generation = cacheGeneration.current();
+        try (StatefulRedisConnection<String, byte[]> connection = redisManager.openBinaryConnection()) {
+            connection.setAutoFlushCommands(false);
+            RedisAsyncCommands<String, byte[]> redis = connection.async();
+
+            List<PageRequest> missing = new ArrayList<>();
+            for (int start = 0; start < pages.size(); start += pipelineBatchSize) {
+                List<PageRequest> batch = pages.subList(start, Math.min(pages.size(), start + pipelineBatchSize));
+                List<RedisFuture<byte[]>> values = new ArrayList<>(batch.size());
+                List<RedisFuture<Long>> ttls = new ArrayList<>(batch.size());
+                for (PageRequest page : batch) {
+                    String cacheKey = CacheKeyUtil.getPaginatedCitiesKey(generation, page);
+                    values.add(redis.get(cacheKey));
+                    ttls.add(redis.pttl(cacheKey));
+                }
+                connection.flushCommands();
+                for (int i = 0; i < batch.size(); i++) {
+                    if (copyToNearCache(CacheKeyUtil.getPaginatedCitiesKey(generation, batch.get(i)), values.get(i),
+                            ttls.get(i))) {
+                        fromRedis++;
+                    } else {
+                        missing.add(batch.get(i));
+                    }
+                }
+            }
+            fromDatabase = loadAndStore(connection, redis, generation, missing);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.err.println("Cache warm-up was interrupted");
+        } catch (Exception e) {
+            System.err.println("Cache warm-up failed: " + e.getMessage());
+        }
+        System.out.println("Cache warm-up: " + (fromRedis + fromDatabase) + " of " + pages.size() + " pages ("
+            + fromRedis + " from Redis, " + fromDatabase + " from the database) in "
+            + (System.currentTimeMillis() - startTime) + " ms");
+        return fromRedis + fromDatabase;
+    }
+
+    private boolean copyToNearCache(String cacheKey, RedisFuture<byte[]> value, RedisFuture<Long> ttl)
+            throws InterruptedException {
+        try {
+            byte[] cachedData = value.get(WARMUP_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            if (cachedData == null) {
+                return false;
+            }
+            // The local copy expires with the Redis entry rather than a full TTL from now
+            nearCache.putLocal(cacheKey, pageCodec.decode(cachedData), ttl.get(WARMUP_TIMEOUT_SECONDS, TimeUnit.SECONDS));
+            return true;
+        } catch (InterruptedException e) {
+            throw e;
+        } catch (Exception e) {
+            // Unreadable or unavailable: reload it from the database
+            return false;
+        }
+    }
+
+    private int loadAndStore(StatefulRedisConnection<String, byte[]> connection,
+                             RedisAsyncCommands<String, byte[]> redis, long generation,
+                             List<PageRequest> pages)
+            throws InterruptedException {
+        if (pages.isEmpty()) {
+            return 0;
+        }
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService loaders = Executors.newFixedThreadPool(Math.min(concurrency, pages.size()), runnable -> {
+            Thread thread = new Thread(runnable, "cache-warmup-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            CompletionService<Map.Entry<PageRequest, List<CityDTO>>> loads = new ExecutorCompletionService<>(loaders);
+            for (PageRequest page : pages) {
+                loads.submit(() -> new AbstractMap.SimpleEntry<>(page, loadPage(page)));
+            }
+
+            List<RedisFuture<String>> writes = new ArrayList<>(pages.size());
+            int stored = 0;
+            for (int i = 0; i < pages.size(); i++) {
+                Map.Entry<PageRequest, List<CityDTO>> loaded;
+                try {
+                    loaded = loads.take().get();
+                } catch (ExecutionException e) {
+                    System.err.println("Cache warm-up could not load a page: " + e.getCause().getMessage());
+                    continue;
+                }
+                String cacheKey = CacheKeyUtil.getPaginatedCitiesKey(generation, loaded.getKey());
+                try {
+                    writes.add(redis.setex(cacheKey, CacheKeyUtil.CACHE_EXPIRATION_SECONDS,
+                        pageCodec.encode(loaded.getValue())));
+                } catch (Exception e) {
+                    System.err.println("Cache warm-up could not encode " + cacheKey + ": " + e.getMessage());
+                    continue;
+                }
+                nearCache.putLocal(cacheKey, loaded.getValue());
+                stored++;
+                if (writes.size() % pipelineBatchSize == 0) {
+                    connection.flushCommands();
+                }
+            }
+            connection.flushCommands();
+
+            for (RedisFuture<String> write : writes) {
+                try {
+                    write.get(WARMUP_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+                } catch (ExecutionException | TimeoutException e) {
+                    System.err.println("Cache warm-up could not write a page to Redis: " + e.getMessage());
+                }
+            }
+            return stored;
+        } finally {
+            loaders.shutdownNow();
+        }
+    }
+
+    private List<CityDTO> loadPage(PageRequest page) {
+        return TransactionUtil.executeInPrimaryReadTransaction(sessionFactory, session ->
+            cityRepository.findAllPaginatedDTO(page.getOffset(), page.getLimit())
+        );
+    }
+}
@@ -0,0 +1,173 @@
+package com.codegym.cache;
+
+import com.codegym.dto.CategoryStatsDTO;
+import com.codegym.dto.PopulationCategory;
+import com.codegym.util.CacheKeyUtil;
+import com.codegym.util.RedisConnectionManager;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Population category aggregates cached as one Redis hash: one JSON field per category plus the refresh time.
+ * <p>
+ * Reads are a single HGETALL. Aggregates older than the refresh interval are still returned while one
+ * background reload replaces them, so only the very first read (or a read after the hash expired) waits
+ * for the database. The key embeds the cache generation, so invalidating the city caches drops it too.
+ */
+public class CategoryStatsCache {
+    private static final String FIELD_REFRESHED_AT = "refreshed_at";
+
+    private final RedisConnectionManager redisManager;
+    private final CacheGeneration cacheGeneration;
+    private final Supplier<List<CategoryStatsDTO>> loader;
+    private final Executor loadExecutor;
+    private final long refreshMillis;
+    private final long ttlSeconds;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicReference<CompletableFuture<List<CategoryStatsDTO>>> reloading = new AtomicReference<>();
+
+    /**
+     * Creates the cache.
+     * @param redisManager Shared Redis connection
+     * @param cacheGeneration Generation embedded in the hash key
+     * @param loader Aggregates every category in the database; blocking
+     * @param loadExecutor Executor that runs the loader
+     * @param refreshInterval Age after which cached aggregates are reloaded in the background
+     * @param ttl Expiry of the hash, bounding how stale aggregates can get when nobody reads them
+     */
+    public CategoryStatsCache(RedisConnectionManager redisManager, CacheGeneration cacheGeneration,
+                              Supplier<List<CategoryStatsDTO>> loader, Executor loadExecutor,
+                              Duration refreshInterval, Duration ttl) {
+        this.redisManager = redisManager;
+        this.cacheGeneration = cacheGeneration;
+        this.loader = loader;
+        this.loadExecutor = loadExecutor;
+        this.refreshMillis = refreshInterval.toMillis();
+        this.ttlSeconds = ttl.getSeconds();
+    }
+
+    /**
+     * Returns the aggregates, loading them from the database only when Redis has none.
+     * If Redis cannot be reached the aggregates are loaded from the database without being cached.
+     * @return Future of one entry per category, smallest category first
+     */
+    public CompletableFuture<List<CategoryStatsDTO>> get() {
+        String key = CacheKeyUtil.getCategoryStatsKey(cacheGeneration.current());
+        CompletableFuture<Map<String, String>> fields;
+        try {
+            fields = redisManager.async().hgetall(key).toCompletableFuture();
+        } catch (Exception e) {
+            fields = CompletableFuture.failedFuture(e);
+        }
+        return fields
+            .exceptionally(e -> {
+                System.err.println("Error reading cached category stats: " + e.getMessage());
+                return Collections.emptyMap();
+            })
+            .thenCompose(cached -> {
+                List<CategoryStatsDTO> stats = decode(cached);
+                if (stats == null) {
+                    return reload(key);
+                }
+                if (isStale(cached)) {
+                    // Serve the cached aggregates and replace them in the background
+                    reload(key);
+                }
+                return CompletableFuture.completedFuture(stats);
+            });
+    }
+
+    /**
+     * Reloads the aggregates from the database and caches them, e.g. during the startup warm-up.
+     * @return Future of the reloaded aggregates
+     */
+    public CompletableFuture<List<CategoryStatsDTO>> refresh() {
+        return reload(CacheKeyUtil.getCategoryStatsKey(cacheGeneration.current()));
+    }
+
+    private CompletableFuture<List<CategoryStatsDTO>> reload(String key) {
+        CompletableFuture<List<CategoryStatsDTO>> result = new CompletableFuture<>();
+        CompletableFuture<List<CategoryStatsDTO>> running = reloading.compareAndExchange(null, result);
+        if (running != null) {
+            // At most one aggregation runs at a time; concurrent callers share its result
+            return running;
+        }
+        try {
+            CompletableFuture.supplyAsync(loader, loadExecutor).whenComplete((stats, error) -> {
+                reloading.set(null);
+                if (error != null) {
+                    result.completeExceptionally(error);
+                    return;
+                }
+                if (!stats.isEmpty()) {
+                    store(key, stats);
+                }
+                result.complete(stats);
+            });
+        } catch (RejectedExecutionException e) {
+            reloading.set(null);
+            result.completeExceptionally(e);
+        }
+        return result;
+    }
+
+    private void store(String key, List<CategoryStatsDTO> stats) {
+        try {
+            Map<String, String> fields = new HashMap<>();
+            for (CategoryStatsDTO categoryStats : stats) {
+                fields.put(categoryStats.getCategory(), objectMapper.writeValueAsString(categoryStats));
+            }
+            fields.put(FIELD_REFRESHED_AT, String.valueOf(System.currentTimeMillis()));
+            redisManager.async().hset(key, fields);
+            redisManager.async().expire(key, ttlSeconds).whenComplete((reply, error) -> {
+                if (error != null) {
+                    System.err.println("Error caching category stats: " + error.getMessage());
+                }
+            });
+        } catch (Exception e) {
+            System.err.println("Error caching category stats: " + e.getMessage());
+        }
+    }
+
+    private List<CategoryStatsDTO> decode(Map<String, String> fields) {
+        if (fields.isEmpty()) {
+            return null;
+        }
+        List<CategoryStatsDTO> stats = new ArrayList<>();
+        for (PopulationCategory category : PopulationCategory.values()) {
+            String json = fields.get(category.getLabel());
+            if (json == null) {
+                return null;
+            }
+            try {
+                stats.add(objectMapper.readValue(json, CategoryStatsDTO.class));
+            } catch (IOException e) {
+                // An entry this version cannot read is treated as a miss and overwritten on reload
+                System.err.println("Error decoding cached category stats: " + e.getMessage());
+                return null;
+            }
+        }
+        return stats;
+    }
+
+    private boolean isStale(Map<String, String> fields) {
+        String refreshedAt = fields.get(FIELD_REFRESHED_AT);
+        try {
+            return refreshedAt == null || System.currentTimeMillis() - Long.parseLong(refreshedAt) > refreshMillis;
+        } catch (NumberFormatException e) {
+            return true;
+        }
+    }
+}
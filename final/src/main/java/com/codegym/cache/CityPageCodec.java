@@ -0,0 +1,27 @@
+package com.codegym.cache;
+
+import com.codegym.dto.CityDTO;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Serializes cached pages of cities to and from the bytes stored in Redis.
+ */
+public interface CityPageCodec {
+    /**
+     * Encodes a page of cities.
+     * @param cities Page contents
+     * @return Encoded value
+     * @throws IOException if the page cannot be encoded
+     */
+    byte[] encode(List<CityDTO> cities) throws IOException;
+
+    /**
+     * Decodes a page of cities.
+     * @param data Value read from Redis
+     * @return Decoded page contents
+     * @throws IOException if the value is malformed or in an unsupported format
+     */
+    List<CityDTO> decode(byte[] data) throws IOException;
+}
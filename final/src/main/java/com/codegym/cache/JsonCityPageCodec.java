@@ -0,0 +1,36 @@
+package com.codegym.cache;
+
+import com.codegym.dto.CityDTO;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Jackson JSON codec for cached pages, the original cache format.
+ */
+public class JsonCityPageCodec implements CityPageCodec {
+    private static final TypeReference<List<CityDTO>> CITY_LIST_TYPE = new TypeReference<>() {};
+
+    private final ObjectReader reader;
+    private final ObjectWriter writer;
+
+    public JsonCityPageCodec() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        this.reader = objectMapper.readerFor(CITY_LIST_TYPE);
+        this.writer = objectMapper.writerFor(CITY_LIST_TYPE);
+    }
+
+    @Override
+    public byte[] encode(List<CityDTO> cities) throws IOException {
+        return writer.writeValueAsBytes(cities);
+    }
+
+    @Override
+    public List<CityDTO> decode(byte[] data) throws IOException {
+        return reader.readValue(data);
+    }
+}
@@ -0,0 +1,64 @@
+package com.codegym.cache;
+
+import com.codegym.dto.CityDTO;
+import com.codegym.metrics.Counter;
+import com.codegym.metrics.LatencyHistogram;
+import com.codegym.metrics.MetricsRegistry;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * CityPageCodec decorator that records serialization time and payload sizes.
+ */
+public class MeteredCityPageCodec implements CityPageCodec {
+    private final CityPageCodec delegate;
+    private final LatencyHistogram encodeTime;
+    private final LatencyHistogram decodeTime;
+    private final Counter encodedBytes;
+    private final Counter decodedBytes;
+    private final Counter errors;
+
+    public MeteredCityPageCodec(CityPageCodec delegate, MetricsRegistry metrics) {
+        this.delegate = delegate;
+        this.encodeTime = metrics.timer("cache_codec_encode_seconds", "Time to serialize a cached page");
+        this.decodeTime = metrics.timer("cache_codec_decode_seconds", "Time to deserialize a cached page");
+        this.encodedBytes = metrics.counter("cache_codec_encoded_bytes_total", "Bytes produced by page serialization");
+        this.decodedBytes = metrics.counter("cache_codec_decoded_bytes_total", "Bytes consumed by page deserialization");
+        this.errors = metrics.counter("cache_codec_errors_total", "Pages that failed to serialize or deserialize");
+    }
+
+    @Override
+    public byte[] encode(List<CityDTO> cities) throws IOException {
+        long start = System.nanoTime();
+        try {
+            byte[] data = delegate.encode(cities);
+            encodedBytes.add(data.length);
+            return data;
+        } catch (IOException | RuntimeException e) {
+            errors.increment();
+            throw e;
+        } finally {
+            encodeTime.record(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public List<CityDTO> decode(byte[] data) throws IOException {
+        long start = System.nanoTime();
+        try {
+            decodedBytes.add(data.length);
+            return delegate.decode(data);
+        } catch (IOException | RuntimeException e) {
+            errors.increment();
+            throw e;
+        } finally {
+            decodeTime.record(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return delegate.toString();
+    }
+}
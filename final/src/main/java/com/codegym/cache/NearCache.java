@@ -0,0 +1,230 @@
+package com.codegym.cache;
+
+import com.codegym.dto.CityDTO;
+import com.codegym.dto.PageRequest;
+import com.codegym.util.CacheKeyUtil;
+import com.codegym.util.RedisConnectionManager;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Policy;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.pubsub.RedisPubSubAdapter;
+import io.lettuce.core.pubsub.StatefulRedisPubSubConnection;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * In-process L1 cache in front of Redis for cached city pages.
+ * Entries are bounded by the total number of cities held. Pages written by this node expire after a fixed TTL;
+ * pages copied from Redis expire with the Redis entry, so a local copy never outlives the shared one.
+ * Nodes stay coherent through invalidation messages published on a Redis pub/sub channel.
+ */
+public class NearCache implements AutoCloseable {
+    public static final String INVALIDATION_CHANNEL = "cities:invalidate";
+    private static final String INVALIDATE_ALL = "*";
+    private static final String MESSAGE_SEPARATOR = " ";
+    private static final int MAX_TRACKED_PAGES = 10_000;
+
+    private final Cache<String, List<CityDTO>> cache;
+    private final Policy.VarExpiration<String, List<CityDTO>> expiration;
+    private final Duration ttl;
+    private final RedisConnectionManager redisManager;
+    private final String nodeId;
+    // Read counts per page for warm-up, across generations; pages first seen after the cap is reached are not tracked
+    private final Map<PageRequest, LongAdder> readCounts = new ConcurrentHashMap<>();
+    private StatefulRedisPubSubConnection<String, String> pubSubConnection;
+
+    /**
+     * Creates a new near cache.
+     * @param redisManager Shared Redis connection used to publish invalidations
+     * @param maxCities Maximum number of cities held across all cached pages
+     * @param ttl Time after which a local entry expires
+     */
+    public NearCache(RedisConnectionManager redisManager, long maxCities, Duration ttl) {
+        this.redisManager = redisManager;
+        this.nodeId = UUID.randomUUID().toString();
+        this.ttl = ttl;
+        long ttlNanos = ttl.toNanos();
+        this.cache = Caffeine.newBuilder()
+            .maximumWeight(maxCities)
+            .<String, List<CityDTO>>weigher((key, cities) -> Math.max(1, cities.size()))
+            .expireAfter(new Expiry<String, List<CityDTO>>() {
+                // Plain puts get the full TTL on every write; reads leave the expiry unchanged
+                @Override
+                public long expireAfterCreate(String key, List<CityDTO> cities, long currentTime) {
+                    return ttlNanos;
+                }
+
+                @Override
+                public long expireAfterUpdate(String key, List<CityDTO> cities, long currentTime,
+                                              long currentDuration) {
+                    return ttlNanos;
+                }
+
+                @Override
+                public long expireAfterRead(String key, List<CityDTO> cities, long currentTime,
+                                            long currentDuration) {
+                    return currentDuration;
+                }
+            })
+            .build();
+        this.expiration = cache.policy().expireVariably().orElseThrow();
+    }
+
+    /**
+     * Subscribes to invalidation messages from other nodes.
+     * If Redis is unreachable the cache still works locally, bounded by its TTL.
+     * @param redisClient Client used to open the dedicated pub/sub connection
+     */
+    public synchronized void subscribe(RedisClient redisClient) {
+        if (pubSubConnection != null) {
+            return;
+        }
+        try {
+            StatefulRedisPubSubConnection<String, String> connection = redisClient.connectPubSub();
+            connection.addListener(new RedisPubSubAdapter<>() {
+                @Override
+                public void message(String channel, String message) {
+                    onInvalidationMessage(message);
+                }
+            });
+            connection.sync().subscribe(INVALIDATION_CHANNEL);
+            pubSubConnection = connection;
+        } catch (Exception e) {
+            System.err.println("Near cache invalidation subscription failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Looks up a page and counts the read towards {@link #hottestPages(int)}, whether it hits or not.
+     * Reads are counted per offset and limit, so a page keeps its count when the cache generation changes.
+     * @param key Cache key from CacheKeyUtil
+     * @return The cached page, or null
+     */
+    public List<CityDTO> get(String key) {
+        PageRequest page = CacheKeyUtil.parsePaginatedCitiesKey(key);
+        if (page != null) {
+            LongAdder reads = readCounts.get(page);
+            if (reads == null && readCounts.size() < MAX_TRACKED_PAGES) {
+                reads = readCounts.computeIfAbsent(page, p -> new LongAdder());
+            }
+            if (reads != null) {
+                reads.increment();
+            }
+        }
+        return cache.getIfPresent(key);
+    }
+
+    /**
+     * Looks up a page without counting the read, for internal re-checks of a read already counted.
+     * @param key Cache key from CacheKeyUtil
+     * @return The cached page, or null
+     */
+    public List<CityDTO> peek(String key) {
+        return cache.getIfPresent(key);
+    }
+
+    /**
+     * Stores a page locally and tells other nodes to drop their copy of the key.
+     * @param key Cache key from CacheKeyUtil
+     * @param cities Page contents
+     */
+    public void put(String key, List<CityDTO> cities) {
+        cache.put(key, List.copyOf(cities));
+        publish(key);
+    }
+
+    /**
+     * Stores a page this node just wrote to Redis with the full TTL, without notifying other nodes.
+     * @param key Cache key from CacheKeyUtil
+     * @param cities Page contents
+     */
+    public void putLocal(String key, List<CityDTO> cities) {
+        cache.put(key, List.copyOf(cities));
+    }
+
+    /**
+     * Stores a page that was just read from Redis, without notifying other nodes.
+     * The local copy expires when the Redis entry does, and never later than the local TTL.
+     * @param key Cache key from CacheKeyUtil
+     * @param cities Page contents
+     * @param redisTtlMillis The entry's PTTL reply: remaining milliseconds, -1 without expiry, -2 if it is gone
+     */
+    public void putLocal(String key, List<CityDTO> cities, long redisTtlMillis) {
+        if (redisTtlMillis == -1) {
+            putLocal(key, cities);
+        } else if (redisTtlMillis > 0) {
+            Duration remaining = Duration.ofMillis(redisTtlMillis);
+            expiration.put(key, List.copyOf(cities), remaining.compareTo(ttl) < 0 ? remaining : ttl);
+        }
+    }
+
+    public void invalidate(String key) {
+        cache.invalidate(key);
+        publish(key);
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+        publish(INVALIDATE_ALL);
+    }
+
+    /**
+     * Returns the most frequently read pages since this cache was created.
+     * @param limit Maximum number of pages
+     * @return Pages ordered from most to least read
+     */
+    public List<PageRequest> hottestPages(int limit) {
+        return readCounts.entrySet().stream()
+            .sorted(Map.Entry.<PageRequest, LongAdder>comparingByValue(
+                Comparator.comparingLong(LongAdder::sum)).reversed())
+            .limit(limit)
+            .map(Map.Entry::getKey)
+            .collect(Collectors.toList());
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    private void publish(String key) {
+        try {
+            redisManager.async().publish(INVALIDATION_CHANNEL, nodeId + MESSAGE_SEPARATOR + key);
+        } catch (Exception e) {
+            System.err.println("Failed to publish near cache invalidation: " + e.getMessage());
+        }
+    }
+
+    private void onInvalidationMessage(String message) {
+        int separator = message.indexOf(MESSAGE_SEPARATOR);
+        if (separator < 0) {
+            return;
+        }
+        if (message.startsWith(nodeId) && separator == nodeId.length()) {
+            return;
+        }
+        String key = message.substring(separator + 1);
+        if (INVALIDATE_ALL.equals(key)) {
+            cache.invalidateAll();
+        } else {
+            cache.invalidate(key);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (pubSubConnection != null) {
+            pubSubConnection.close();
+            pubSubConnection = null;
+        }
+        cache.invalidateAll();
+    }
+}
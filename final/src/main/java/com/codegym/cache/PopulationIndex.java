@@ -0,0 +1,221 @@
+package com.codegym.cache;
+
+import com.codegym.dto.CityDTO;
+import com.codegym.util.CacheKeyUtil;
+import com.codegym.util.RedisConnectionManager;
+import io.lettuce.core.Limit;
+import io.lettuce.core.Range;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisFuture;
+import io.lettuce.core.ScoredValue;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.async.RedisAsyncCommands;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Redis sorted-set index of cities scored by population.
+ * <p>
+ * Each member packs a city's id, name and district; the score is its population, so range queries are answered
+ * with a single ZREVRANGEBYSCORE. A metadata hash records when the index was built; an index that is missing or
+ * older than the configured maximum age is reported as not fresh so callers can fall back to the database.
+ */
+public class PopulationIndex implements AutoCloseable {
+    private static final char FIELD_SEPARATOR = '\u001F';
+    private static final String FIELD_BUILT_AT = "built_at";
+    private static final String FIELD_COUNT = "count";
+    private static final long FRESHNESS_RECHECK_MS = 10_000;
+    private static final long BUILD_TIMEOUT_SECONDS = 60;
+
+    private final RedisConnectionManager redisManager;
+    private final RedisClient redisClient;
+    private final Supplier<List<CityDTO>> datasetLoader;
+    private final long maxAgeMillis;
+    private final int batchSize;
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private final ExecutorService rebuildExecutor;
+    private volatile long freshUntilMillis;
+
+    /**
+     * Creates the index.
+     * @param redisManager Shared connection used for queries
+     * @param redisClient Client used to open a dedicated pipelining connection while building
+     * @param datasetLoader Supplies every city (with ids) when the index has to be rebuilt
+     * @param maxAge Age after which the index is considered stale
+     * @param batchSize Number of members sent per pipelined ZADD
+     */
+    public PopulationIndex(RedisConnectionManager redisManager, RedisClient redisClient,
+                           Supplier<List<CityDTO>> datasetLoader, Duration maxAge, int batchSize) {
+        this.redisManager = redisManager;
+        this.redisClient = redisClient;
+        this.datasetLoader = datasetLoader;
+        this.maxAgeMillis = maxAge.toMillis();
+        this.batchSize = batchSize;
+        this.rebuildExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "population-index-builder");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Checks whether the index exists and is recent enough to answer queries.
+     * The result is remembered for a few seconds to avoid an extra round trip per query.
+     * @return true if range queries can be served from the index
+     */
+    public boolean isFresh() {
+        long now = System.currentTimeMillis();
+        if (now < freshUntilMillis) {
+            return true;
+        }
+        String builtAt = redisManager.sync().hget(CacheKeyUtil.POPULATION_INDEX_META_KEY, FIELD_BUILT_AT);
+        if (builtAt == null || now - Long.parseLong(builtAt) > maxAgeMillis) {
+            return false;
+        }
+        freshUntilMillis = Math.min(now + FRESHNESS_RECHECK_MS, Long.parseLong(builtAt) + maxAgeMillis);
+        return true;
+    }
+
+    /**
+     * Finds cities within a population range, largest first.
+     * @param minPopulation Minimum population (inclusive)
+     * @param maxPopulation Maximum population (inclusive)
+     * @param limit Maximum number of results, or 0 for no limit
+     * @return List of city DTOs
+     */
+    public List<CityDTO> findByPopulationRange(int minPopulation, int maxPopulation, int limit) {
+        return findByPopulationRangeAsync(minPopulation, maxPopulation, limit).join();
+    }
+
+    /**
+     * Asynchronous variant of {@link #findByPopulationRange(int, int, int)}.
+     * @param minPopulation Minimum population (inclusive)
+     * @param maxPopulation Maximum population (inclusive)
+     * @param limit Maximum number of results, or 0 for no limit
+     * @return Future of the city DTOs, largest population first
+     */
+    public CompletableFuture<List<CityDTO>> findByPopulationRangeAsync(int minPopulation, int maxPopulation, int limit) {
+        Range<Integer> range = Range.create(minPopulation, maxPopulation);
+        RedisAsyncCommands<String, String> redis = redisManager.async();
+        RedisFuture<List<ScoredValue<String>>> members = limit > 0
+            ? redis.zrevrangebyscoreWithScores(CacheKeyUtil.POPULATION_INDEX_KEY, range, Limit.create(0, limit))
+            : redis.zrevrangebyscoreWithScores(CacheKeyUtil.POPULATION_INDEX_KEY, range);
+
+        return members.toCompletableFuture().thenApply(scoredValues -> {
+            List<CityDTO> cities = new ArrayList<>(scoredValues.size());
+            for (ScoredValue<String> member : scoredValues) {
+                cities.add(unpack(member.getValue(), (int) member.getScore()));
+            }
+            return cities;
+        });
+    }
+
+    /**
+     * Starts a background rebuild if the index is missing or stale.
+     */
+    public void ensureFresh() {
+        try {
+            if (!isFresh()) {
+                rebuildAsync();
+            }
+        } catch (Exception e) {
+            System.err.println("Could not check population index freshness: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Starts a background rebuild unless one is already running.
+     */
+    public void rebuildAsync() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return;
+        }
+        rebuildExecutor.execute(() -> {
+            try {
+                rebuild(datasetLoader.get());
+            } catch (Exception e) {
+                System.err.println("Failed to rebuild population index: " + e.getMessage());
+            } finally {
+                rebuilding.set(false);
+            }
+        });
+    }
+
+    /**
+     * Rebuilds the index from the given cities.
+     * Members are written to a staging key in pipelined ZADD batches over a dedicated connection,
+     * then renamed over the live key so readers switch to the new index atomically.
+     * @param cities Every city, with ids
+     */
+    public void rebuild(List<CityDTO> cities) {
+        long startTime = System.currentTimeMillis();
+        try (StatefulRedisConnection<String, String> connection = redisClient.connect()) {
+            connection.setAutoFlushCommands(false);
+            RedisAsyncCommands<String, String> redis = connection.async();
+            List<RedisFuture<?>> pending = new ArrayList<>();
+
+            pending.add(redis.del(CacheKeyUtil.POPULATION_INDEX_BUILD_KEY));
+            for (int start = 0; start < cities.size(); start += batchSize) {
+                List<CityDTO> batch = cities.subList(start, Math.min(cities.size(), start + batchSize));
+                @SuppressWarnings("unchecked")
+                ScoredValue<String>[] members = new ScoredValue[batch.size()];
+                for (int i = 0; i < batch.size(); i++) {
+                    CityDTO city = batch.get(i);
+                    members[i] = ScoredValue.just(city.getPopulation(), pack(city));
+                }
+                pending.add(redis.zadd(CacheKeyUtil.POPULATION_INDEX_BUILD_KEY, members));
+                connection.flushCommands();
+            }
+            if (cities.isEmpty()) {
+                pending.add(redis.del(CacheKeyUtil.POPULATION_INDEX_KEY));
+            } else {
+                pending.add(redis.rename(CacheKeyUtil.POPULATION_INDEX_BUILD_KEY, CacheKeyUtil.POPULATION_INDEX_KEY));
+            }
+            pending.add(redis.hset(CacheKeyUtil.POPULATION_INDEX_META_KEY, Map.of(
+                FIELD_BUILT_AT, String.valueOf(System.currentTimeMillis()),
+                FIELD_COUNT, String.valueOf(cities.size()))));
+            connection.flushCommands();
+
+            for (RedisFuture<?> future : pending) {
+                future.get(BUILD_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Population index rebuild was interrupted", e);
+        } catch (Exception e) {
+            throw new IllegalStateException("Population index rebuild failed: " + e.getMessage(), e);
+        }
+        freshUntilMillis = 0;
+        System.out.println("Population index rebuilt with " + cities.size() + " cities in "
+            + (System.currentTimeMillis() - startTime) + " ms");
+    }
+
+    private static String pack(CityDTO city) {
+        return city.getId() + String.valueOf(FIELD_SEPARATOR) + city.getName() + FIELD_SEPARATOR + city.getDistrict();
+    }
+
+    private static CityDTO unpack(String member, int population) {
+        int first = member.indexOf(FIELD_SEPARATOR);
+        int second = member.indexOf(FIELD_SEPARATOR, first + 1);
+        return new CityDTO.Builder()
+            .withId(Integer.valueOf(member.substring(0, first)))
+            .withName(member.substring(first + 1, second))
+            .withDistrict(member.substring(second + 1))
+            .withPopulation(population)
+            .build();
+    }
+
+    @Override
+    public void close() {
+        rebuildExecutor.shutdownNow();
+    }
+}
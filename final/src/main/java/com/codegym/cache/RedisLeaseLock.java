@@ -0,0 +1,78 @@
+package com.codegym.cache;
+
+import com.codegym.util.RedisConnectionManager;
+import io.lettuce.core.ScriptOutputType;
+import io.lettuce.core.SetArgs;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Short-lived Redis lease used to coalesce cache loads across application instances.
+ * A lease is a key set with NX and a PX expiry, so a crashed holder never blocks others for long.
+ */
+public class RedisLeaseLock {
+    private static final String LOCK_KEY_PREFIX = "lock:";
+    private static final String RELEASE_SCRIPT =
+        "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end";
+
+    private final RedisConnectionManager redisManager;
+    private final long leaseMillis;
+    private final LongAdder acquired = new LongAdder();
+    private final LongAdder contended = new LongAdder();
+
+    public RedisLeaseLock(RedisConnectionManager redisManager, long leaseMillis) {
+        this.redisManager = redisManager;
+        this.leaseMillis = leaseMillis;
+    }
+
+    /**
+     * Tries to take the lease for a cache key.
+     * @param cacheKey Key whose load is being guarded
+     * @return Token to pass to {@link #release(String, String)}, or null if another instance holds the lease
+     */
+    public String tryAcquire(String cacheKey) {
+        String token = UUID.randomUUID().toString();
+        String reply = redisManager.sync().set(lockKey(cacheKey), token, SetArgs.Builder.nx().px(leaseMillis));
+        if ("OK".equals(reply)) {
+            acquired.increment();
+            return token;
+        }
+        contended.increment();
+        return null;
+    }
+
+    /**
+     * Releases a lease only if it is still held with the given token.
+     * @param cacheKey Key whose load was guarded
+     * @param token Token returned by {@link #tryAcquire(String)}
+     */
+    public void release(String cacheKey, String token) {
+        try {
+            redisManager.sync().eval(RELEASE_SCRIPT, ScriptOutputType.INTEGER, new String[]{lockKey(cacheKey)}, token);
+        } catch (Exception e) {
+            System.err.println("Failed to release lease for " + cacheKey + ": " + e.getMessage());
+        }
+    }
+
+    public long getLeaseMillis() {
+        return leaseMillis;
+    }
+
+    public long getAcquired() {
+        return acquired.sum();
+    }
+
+    public long getContended() {
+        return contended.sum();
+    }
+
+    private static String lockKey(String cacheKey) {
+        return LOCK_KEY_PREFIX + cacheKey;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("RedisLeaseLock[acquired=%d, contended=%d]", getAcquired(), getContended());
+    }
+}
@@ -0,0 +1,95 @@
+package com.codegym.cache;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent loads of the same key within this JVM.
+ * The first caller runs the loader; callers arriving while it runs wait for and share its result.
+ * Works for both blocking loaders and loaders that return a future.
+ * @param <T> Type of the loaded value
+ */
+public class SingleFlight<T> {
+    private final ConcurrentMap<String, CompletableFuture<T>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder executedLoads = new LongAdder();
+    private final LongAdder coalescedLoads = new LongAdder();
+
+    /**
+     * Runs the loader for the key unless a load for the same key is already running.
+     * @param key Key identifying the load
+     * @param loader Loader executed at most once per concurrent burst
+     * @return The loaded value, shared by all coalesced callers
+     * @throws RuntimeException the loader's exception, rethrown to every waiting caller
+     */
+    public T execute(String key, Supplier<T> loader) {
+        return join(executeAsync(key, () -> CompletableFuture.completedFuture(loader.get())));
+    }
+
+    /**
+     * Starts the asynchronous loader for the key unless a load for the same key is already in flight.
+     * @param key Key identifying the load
+     * @param loader Starts the load and returns its future; invoked at most once per concurrent burst
+     * @return Future of the loaded value, completed exceptionally for every caller if the load fails
+     */
+    public CompletableFuture<T> executeAsync(String key, Supplier<CompletableFuture<T>> loader) {
+        CompletableFuture<T> ownFuture = new CompletableFuture<>();
+        CompletableFuture<T> existing = inFlight.putIfAbsent(key, ownFuture);
+        if (existing != null) {
+            coalescedLoads.increment();
+            return existing.copy();
+        }
+
+        executedLoads.increment();
+        CompletableFuture<T> load;
+        try {
+            load = loader.get();
+        } catch (RuntimeException | Error e) {
+            load = CompletableFuture.failedFuture(e);
+        }
+        load.whenComplete((result, error) -> {
+            inFlight.remove(key, ownFuture);
+            if (error != null) {
+                ownFuture.completeExceptionally(error);
+            } else {
+                ownFuture.complete(result);
+            }
+        });
+        return ownFuture;
+    }
+
+    private T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    public long getExecutedLoads() {
+        return executedLoads.sum();
+    }
+
+    public long getCoalescedLoads() {
+        return coalescedLoads.sum();
+    }
+
+    public int getInFlightCount() {
+        return inFlight.size();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("SingleFlight[executed=%d, coalesced=%d, inFlight=%d]",
+            getExecutedLoads(), getCoalescedLoads(), getInFlightCount());
+    }
+}
@@ -1,69 +1,455 @@
 package com.codegym.config;
 
+import com.codegym.cache.CacheGeneration;
+import com.codegym.cache.CacheWarmer;
+import com.codegym.cache.CategoryStatsCache;
+import com.codegym.cache.CityPageCodec;
+import com.codegym.cache.MeteredCityPageCodec;
+import com.codegym.cache.NearCache;
+import com.codegym.cache.PopulationIndex;
+import com.codegym.cache.RedisLeaseLock;
+import com.codegym.cache.SingleFlight;
 import com.codegym.dao.CityDAO;
+import com.codegym.dao.CityDataset;
+import com.codegym.dao.ICityRepository;
+import com.codegym.dao.MeteredCityRepository;
+import com.codegym.db.Replica;
+import com.codegym.db.RoutingDataSource;
 import com.codegym.domain.City;
 import com.codegym.domain.Country;
 import com.codegym.domain.CountryLanguage;
+import com.codegym.dto.CityDTO;
+import com.codegym.export.CityExporter;
+import com.codegym.export.ExportFormat;
+import com.codegym.export.ExportResult;
+import com.codegym.ingest.BulkLoadResult;
+import com.codegym.ingest.CityBulkLoader;
+import com.codegym.ingest.CityFeedReader;
+import com.codegym.metrics.HibernateCacheMetrics;
+import com.codegym.metrics.MetricsRegistry;
+import com.codegym.metrics.PoolMetrics;
+import com.codegym.metrics.SqlProfiler;
+import com.codegym.readmodel.CityReadModel;
+import com.codegym.readmodel.CityReadModelRefresher;
+import com.codegym.service.AsyncCityService;
 import com.codegym.service.CityService;
+import com.codegym.service.IAsyncCityService;
 import com.codegym.service.ICityService;
+import com.codegym.service.MeteredCityService;
+import com.codegym.service.ReadModelCityService;
+import com.codegym.service.SnapshotCityService;
+import com.codegym.snapshot.CitySnapshotRefresher;
+import com.codegym.util.Constants;
+import com.codegym.util.RedisConnectionManager;
+import com.codegym.util.TransactionUtil;
+import com.zaxxer.hikari.HikariDataSource;
 import io.lettuce.core.RedisClient;
+import io.lettuce.core.resource.ClientResources;
 import org.hibernate.SessionFactory;
 import org.hibernate.cfg.Configuration;
+import org.hibernate.cfg.Environment;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
 
 /**
  * Main application configuration class.
  * Handles initialization of all application components and dependencies.
  */
 public class AppConfig {
+    private static final long SHUTDOWN_WAIT_MS = 5_000;
+    
     private final DatabaseConfig databaseConfig;
     private final RedisConfig redisConfig;
-    private SessionFactory sessionFactory;
-    private RedisClient redisClient;
-    private ICityService cityService;
+    private final SnapshotConfig snapshotConfig;
+    private final MetricsConfig metricsConfig;
+    private final ExportConfig exportConfig;
+    private final ImportConfig importConfig;
+    private final CacheWarmupConfig cacheWarmupConfig;
+    private final HibernateCacheConfig hibernateCacheConfig;
+    private final ReadModelConfig readModelConfig;
+    private final MetricsRegistry metricsRegistry;
+    // Set by the backend-init thread when serving from a snapshot, and read by request and shutdown threads
+    private volatile HikariDataSource dataSource;
+    private volatile RoutingDataSource routingDataSource;
+    private volatile SessionFactory sessionFactory;
+    private volatile ClientResources clientResources;
+    private volatile RedisClient redisClient;
+    private volatile RedisConnectionManager redisConnectionManager;
+    private volatile NearCache nearCache;
+    private volatile CacheGeneration cacheGeneration;
+    private volatile SingleFlight<List<CityDTO>> pageLoads;
+    private volatile RedisLeaseLock leaseLock;
+    private volatile CityPageCodec pageCodec;
+    private volatile ICityRepository cityRepository;
+    private volatile PopulationIndex populationIndex;
+    private volatile CategoryStatsCache categoryStatsCache;
+    private volatile ExecutorService dbExecutor;
+    private volatile IAsyncCityService asyncCityService;
+    private SnapshotCityService snapshotService;
+    private volatile CitySnapshotRefresher snapshotRefresher;
+    private volatile CityReadModelRefresher readModelRefresher;
+    private volatile CityExporter cityExporter;
+    private volatile CityBulkLoader cityBulkLoader;
+    private Thread backendInitThread;
+    private volatile ICityService cityService;
     
     public AppConfig() {
         this.databaseConfig = new DatabaseConfig();
         this.redisConfig = new RedisConfig();
+        this.snapshotConfig = new SnapshotConfig();
+        this.metricsConfig = new MetricsConfig();
+        this.exportConfig = new ExportConfig();
+        this.importConfig = new ImportConfig();
+        this.cacheWarmupConfig = new CacheWarmupConfig();
+        this.hibernateCacheConfig = new HibernateCacheConfig();
+        this.readModelConfig = new ReadModelConfig();
+        this.metricsRegistry = new MetricsRegistry();
     }
     
+    /**
+     * Initializes the application.
+     * When a snapshot from a previous run is available, queries are answered from it right away
+     * while the database and Redis come up in the background.
+     */
     public void initialize() {
+        if (snapshotConfig.isEnabled()) {
+            this.snapshotService = new SnapshotCityService(snapshotConfig.loadSnapshot());
+        }
+        if (snapshotService != null && snapshotService.hasSnapshot()) {
+            this.cityService = new MeteredCityService(snapshotService, metricsRegistry);
+            this.backendInitThread = new Thread(this::initializeBackendsQuietly, "backend-init");
+            this.backendInitThread.setDaemon(true);
+            this.backendInitThread.start();
+        } else {
+            initializeBackends();
+        }
+    }
+    
+    private void initializeBackendsQuietly() {
+        try {
+            initializeBackends();
+        } catch (Exception e) {
+            System.err.println("Backend initialization failed, still serving from snapshot: " + e.getMessage());
+        }
+    }
+    
+    private void initializeBackends() {
         this.sessionFactory = createSessionFactory();
-        this.redisClient = redisConfig.createClient();
-        this.cityService = createCityService();
+        this.clientResources = redisConfig.createClientResources();
+        this.redisClient = redisConfig.createClient(clientResources);
+        this.redisConnectionManager = new RedisConnectionManager(redisClient);
+        this.nearCache = redisConfig.createNearCache(redisConnectionManager);
+        this.nearCache.subscribe(redisClient);
+        this.cacheGeneration = redisConfig.createCacheGeneration(redisConnectionManager);
+        // Hibernate's caches are local and not keyed by generation, so an invalidation by any instance drops them
+        this.cacheGeneration.addChangeListener(generation -> evictHibernateCityCaches());
+        this.pageLoads = new SingleFlight<>();
+        this.leaseLock = redisConfig.createLeaseLock(redisConnectionManager);
+        this.pageCodec = new MeteredCityPageCodec(redisConfig.createPageCodec(), metricsRegistry);
+        this.cityRepository = new MeteredCityRepository(databaseConfig.createCityRepository(sessionFactory),
+            metricsRegistry);
+        this.populationIndex = redisConfig.createPopulationIndex(redisConnectionManager, redisClient,
+            () -> CityDataset.loadAll(cityRepository, sessionFactory));
+        if (populationIndex != null) {
+            populationIndex.ensureFresh();
+        }
+        this.cityExporter = exportConfig.createExporter(sessionFactory);
+        this.cityBulkLoader = importConfig.createLoader(cityRepository, sessionFactory);
+        this.dbExecutor = databaseConfig.createDbExecutor();
+        this.categoryStatsCache = redisConfig.createCategoryStatsCache(redisConnectionManager, cacheGeneration,
+            () -> TransactionUtil.executeInPrimaryReadTransaction(sessionFactory, session ->
+                cityRepository.aggregateByPopulationCategory(Constants.CATEGORY_STATS_EXAMPLES)),
+            dbExecutor);
+        this.asyncCityService = createAsyncCityService();
+        warmUpCaches();
+        ICityService backendService = new CityService(asyncCityService);
+        this.readModelRefresher = readModelConfig.createRefresher(cityRepository, sessionFactory);
+        if (readModelRefresher != null) {
+            bindReadModelMetrics();
+            backendService = new ReadModelCityService(readModelRefresher, backendService);
+        }
+        
+        if (snapshotService != null) {
+            this.snapshotRefresher = new CitySnapshotRefresher(cityRepository, sessionFactory,
+                snapshotConfig.getSnapshotPath(), snapshotService::swapSnapshot);
+            this.snapshotRefresher.start(snapshotConfig.getRefreshMinutes());
+            this.snapshotService.setDelegate(backendService);
+            this.cityService = new MeteredCityService(snapshotService, metricsRegistry);
+        } else {
+            this.cityService = new MeteredCityService(backendService, metricsRegistry);
+        }
+        metricsConfig.export(metricsRegistry);
     }
     
     private SessionFactory createSessionFactory() {
-        return new Configuration()
+        this.dataSource = databaseConfig.createDataSource();
+        databaseConfig.getPoolMetrics().bindTo(metricsRegistry);
+        metricsRegistry.registerTimer("hibernate_transaction_seconds",
+            "Time from transaction begin to commit and session close", TransactionUtil.getTransactionTime());
+        SqlProfiler sqlProfiler = databaseConfig.getSqlProfiler();
+        if (sqlProfiler != null) {
+            metricsRegistry.gauge("db_slow_queries_total", "Statements slower than the profiler threshold",
+                sqlProfiler::getSlowQueryCount);
+        }
+        Configuration configuration = new Configuration()
             .addProperties(databaseConfig.getProperties())
             .addAnnotatedClass(City.class)
             .addAnnotatedClass(Country.class)
-            .addAnnotatedClass(CountryLanguage.class)
-            .buildSessionFactory();
+            .addAnnotatedClass(CountryLanguage.class);
+        this.routingDataSource = databaseConfig.createRoutingDataSource(dataSource);
+        DataSource hibernateDataSource = dataSource;
+        if (routingDataSource != null) {
+            bindReplicaMetrics();
+            hibernateDataSource = routingDataSource;
+        }
+        configuration.getProperties().put(Environment.DATASOURCE, databaseConfig.wrapForProfiling(hibernateDataSource));
+        hibernateCacheConfig.applyTo(configuration.getProperties());
+        SessionFactory factory = configuration.buildSessionFactory();
+        new HibernateCacheMetrics(factory).bindTo(metricsRegistry);
+        return factory;
+    }
+    
+    private void bindReplicaMetrics() {
+        metricsRegistry.gauge("db_replica_reads_total", "Read-only transactions served by a replica",
+            routingDataSource::getReplicaReads);
+        metricsRegistry.gauge("db_replica_primary_fallbacks_total",
+            "Read-only transactions sent to the primary because no replica was available",
+            routingDataSource::getPrimaryFallbacks);
+        metricsRegistry.gauge("db_replicas_healthy", "Replicas within the lag limit",
+            routingDataSource::getHealthyReplicaCount);
+        List<Replica> replicas = routingDataSource.getReplicas();
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get(i);
+            metricsRegistry.gauge("db_replica_" + (i + 1) + "_lag_seconds",
+                "Replication lag of " + replica.getName() + ", -1 when unknown", replica::getLagSeconds);
+        }
+    }
+    
+    private void bindReadModelMetrics() {
+        metricsRegistry.gauge("read_model_cities", "Cities held by the in-memory read model", () -> {
+            CityReadModel model = readModelRefresher.get();
+            return model == null ? 0 : model.size();
+        });
+        metricsRegistry.gauge("read_model_age_seconds", "Seconds since the read model was built, -1 when not loaded",
+            () -> {
+                CityReadModel model = readModelRefresher.get();
+                return model == null ? -1 : (System.currentTimeMillis() - model.getBuiltAtMillis()) / 1000;
+            });
+    }
+    
+    /**
+     * Pre-loads the hot pages into Redis and the near cache, and the category aggregates into Redis,
+     * before the backend starts answering queries.
+     * A failed warm-up only costs cache misses, so it never stops startup.
+     */
+    private void warmUpCaches() {
+        if (!cacheWarmupConfig.isEnabled()) {
+            return;
+        }
+        try {
+            CacheWarmer warmer = cacheWarmupConfig.createWarmer(cityRepository, sessionFactory,
+                redisConnectionManager, nearCache, cacheGeneration, pageCodec);
+            warmer.warm(cacheWarmupConfig.resolveWarmSet());
+            categoryStatsCache.get().join();
+        } catch (Exception e) {
+            System.err.println("Cache warm-up skipped: " + e.getMessage());
+        }
     }
     
-    private ICityService createCityService() {
-        CityDAO cityDAO = new CityDAO(sessionFactory);
-        return new CityService(cityDAO, sessionFactory, redisClient);
+    private IAsyncCityService createAsyncCityService() {
+        return new AsyncCityService(cityRepository, sessionFactory, redisConnectionManager, nearCache,
+            cacheGeneration, pageLoads, leaseLock, pageCodec, populationIndex, categoryStatsCache, dbExecutor,
+            metricsRegistry);
     }
     
     public void shutdown() {
+        if (backendInitThread != null) {
+            // Tearing down while it still runs would leak whatever it creates afterwards
+            try {
+                backendInitThread.join(SHUTDOWN_WAIT_MS);
+                if (backendInitThread.isAlive()) {
+                    System.out.println("Waiting for backend initialization to finish before shutting down");
+                    backendInitThread.join();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (snapshotRefresher != null) {
+            snapshotRefresher.close();
+        }
+        if (readModelRefresher != null) {
+            readModelRefresher.close();
+        }
+        if (populationIndex != null) {
+            populationIndex.close();
+        }
+        if (dbExecutor != null) {
+            dbExecutor.shutdown();
+        }
+        writeSqlProfile();
         if (sessionFactory != null) {
             sessionFactory.close();
         }
+        if (routingDataSource != null) {
+            routingDataSource.close();
+        }
+        if (dataSource != null) {
+            dataSource.close();
+        }
+        if (nearCache != null) {
+            cacheWarmupConfig.saveHotKeys(nearCache.hottestPages(cacheWarmupConfig.getMaxPages()));
+            nearCache.close();
+        }
+        if (redisConnectionManager != null) {
+            redisConnectionManager.close();
+        }
         if (redisClient != null) {
             redisClient.shutdown();
         }
+        if (clientResources != null) {
+            clientResources.shutdown();
+        }
+        metricsRegistry.close();
+    }
+    
+    /**
+     * Writes the SQL profiler report to the configured dump file.
+     * @return The file written, or null when the profiler is disabled or the file could not be written
+     */
+    public Path writeSqlProfile() {
+        SqlProfiler sqlProfiler = databaseConfig.getSqlProfiler();
+        if (sqlProfiler == null) {
+            return null;
+        }
+        Path profileFile = databaseConfig.getSqlProfileFile();
+        try {
+            sqlProfiler.writeReport(profileFile, Constants.SQL_PROFILE_TOP_N);
+            return profileFile;
+        } catch (IOException e) {
+            System.err.println("Failed to write SQL profile to " + profileFile + ": " + e.getMessage());
+            return null;
+        }
+    }
+    
+    /**
+     * Streams the whole city table to the export directory.
+     * @param format Output format
+     * @param gzip Whether to gzip-compress the output
+     * @param progressListener Receives periodic progress reports, or null for no reports
+     * @return Summary of the finished export
+     * @throws IOException if the file cannot be written
+     * @throws IllegalStateException if the database is not initialized yet
+     */
+    public ExportResult exportCities(ExportFormat format, boolean gzip, CityExporter.ProgressListener progressListener)
+            throws IOException {
+        if (cityExporter == null) {
+            throw new IllegalStateException("Database is not initialized yet");
+        }
+        return cityExporter.export(exportConfig.resolveExportFile(format, gzip), format, gzip, progressListener);
+    }
+    
+    /**
+     * Inserts or updates every city in a CSV or NDJSON feed, in the layout written by the export.
+     * Cached pages are invalidated once the load has written any rows.
+     * @param feed Feed file, optionally gzipped
+     * @param progressListener Receives a progress report after each committed chunk, or null for no reports
+     * @return Summary of the load
+     * @throws IOException if the feed cannot be read
+     * @throws IllegalStateException if the database is not initialized yet
+     */
+    public BulkLoadResult importCities(Path feed, CityBulkLoader.ProgressListener progressListener) throws IOException {
+        if (cityBulkLoader == null) {
+            throw new IllegalStateException("Database is not initialized yet");
+        }
+        BulkLoadResult result;
+        try (CityFeedReader records = CityFeedReader.open(feed)) {
+            result = cityBulkLoader.load(records, progressListener);
+        }
+        if (result.getRows() > 0) {
+            invalidateCityCaches();
+        }
+        return result;
+    }
+    
+    /**
+     * Invalidates every cached city page on all instances and rebuilds this instance's read model.
+     * Each instance, this one included, drops its Hibernate cached cities and city queries once it sees the new
+     * cache generation, which for other instances takes up to CACHE_GENERATION_REFRESH_MS.
+     * A failure is logged; the stale pages then expire through their TTL.
+     */
+    public void invalidateCityCaches() {
+        if (readModelRefresher != null) {
+            readModelRefresher.refreshAsync();
+        }
+        IAsyncCityService service = asyncCityService;
+        if (service != null) {
+            service.invalidateCityCaches().join();
+        }
+    }
+    
+    private void evictHibernateCityCaches() {
+        sessionFactory.getCache().evictEntityData(City.class);
+        sessionFactory.getCache().evictQueryRegion(CityDAO.QUERY_CACHE_REGION);
+    }
+    
+    public SqlProfiler getSqlProfiler() {
+        return databaseConfig.getSqlProfiler();
     }
     
     public ICityService getCityService() {
         return cityService;
     }
     
+    /**
+     * Returns the non-blocking city service.
+     * @return The async service, or null while the backends are still starting
+     */
+    public IAsyncCityService getAsyncCityService() {
+        return asyncCityService;
+    }
+    
+    public SnapshotCityService getSnapshotService() {
+        return snapshotService;
+    }
+    
     public SessionFactory getSessionFactory() {
         return sessionFactory;
     }
     
+    public MetricsRegistry getMetricsRegistry() {
+        return metricsRegistry;
+    }
+    
+    public PoolMetrics getPoolMetrics() {
+        return databaseConfig.getPoolMetrics();
+    }
+    
     public RedisClient getRedisClient() {
         return redisClient;
     }
+    
+    public RedisConnectionManager getRedisConnectionManager() {
+        return redisConnectionManager;
+    }
+    
+    public NearCache getNearCache() {
+        return nearCache;
+    }
+    
+    public SingleFlight<List<CityDTO>> getPageLoads() {
+        return pageLoads;
+    }
+    
+    public PopulationIndex getPopulationIndex() {
+        return populationIndex;
+    }
+    
+    public RedisLeaseLock getLeaseLock() {
+        return leaseLock;
+    }
 }
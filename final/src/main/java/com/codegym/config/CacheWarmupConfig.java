@@ -0,0 +1,141 @@
+package com.codegym.config;
+
+import com.codegym.cache.CacheGeneration;
+import com.codegym.cache.CacheWarmer;
+import com.codegym.cache.CityPageCodec;
+import com.codegym.cache.NearCache;
+import com.codegym.dao.ICityRepository;
+import com.codegym.dto.PageRequest;
+import com.codegym.util.CacheKeyUtil;
+import com.codegym.util.Constants;
+import com.codegym.util.RedisConnectionManager;
+import org.hibernate.SessionFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Configuration for the startup cache warm-up.
+ * <p>
+ * The warm set is taken, in order of preference, from CACHE_WARMUP_PAGES ("offset:limit" pairs separated by
+ * commas), from the hot keys recorded by the previous run, or from the first few pages of the default page size.
+ */
+public class CacheWarmupConfig {
+    private final boolean enabled;
+    private final String configuredPages;
+    private final Path hotKeysFile;
+    private final int maxPages;
+    private final int defaultPageCount;
+    private final int concurrency;
+
+    public CacheWarmupConfig() {
+        this.enabled = Boolean.parseBoolean(getEnvOrDefault(Constants.ENV_CACHE_WARMUP_ENABLED, "true"));
+        this.configuredPages = getEnvOrDefault(Constants.ENV_CACHE_WARMUP_PAGES, "");
+        this.hotKeysFile = Paths.get(getEnvOrDefault(
+            Constants.ENV_CACHE_WARMUP_HOT_KEYS_FILE, Constants.DEFAULT_CACHE_WARMUP_HOT_KEYS_FILE));
+        this.maxPages = getIntEnvOrDefault(Constants.ENV_CACHE_WARMUP_MAX_PAGES, Constants.DEFAULT_CACHE_WARMUP_MAX_PAGES);
+        this.defaultPageCount = getIntEnvOrDefault(
+            Constants.ENV_CACHE_WARMUP_DEFAULT_PAGES, Constants.DEFAULT_CACHE_WARMUP_DEFAULT_PAGES);
+        this.concurrency = getIntEnvOrDefault(
+            Constants.ENV_CACHE_WARMUP_CONCURRENCY, Constants.DEFAULT_CACHE_WARMUP_CONCURRENCY);
+    }
+
+    private String getEnvOrDefault(String key, String defaultValue) {
+        return System.getenv().getOrDefault(key, defaultValue);
+    }
+
+    private int getIntEnvOrDefault(String key, int defaultValue) {
+        return Integer.parseInt(getEnvOrDefault(key, String.valueOf(defaultValue)));
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public CacheWarmer createWarmer(ICityRepository cityRepository, SessionFactory sessionFactory,
+                                    RedisConnectionManager redisManager, NearCache nearCache,
+                                    CacheGeneration cacheGeneration, CityPageCodec pageCodec) {
+        return new CacheWarmer(cityRepository, sessionFactory, redisManager, nearCache, cacheGeneration, pageCodec,
+            concurrency, Constants.CACHE_WARMUP_PIPELINE_BATCH_SIZE);
+    }
+
+    /**
+     * Resolves the pages to warm, capped at CACHE_WARMUP_MAX_PAGES.
+     * @return Pages to warm, hottest first
+     */
+    public List<PageRequest> resolveWarmSet() {
+        Set<PageRequest> pages = new LinkedHashSet<>();
+        if (!configuredPages.isBlank()) {
+            for (String value : configuredPages.split(",")) {
+                PageRequest page = CacheKeyUtil.parsePageRequest(value);
+                if (page == null) {
+                    System.err.println("Ignoring invalid warm-up page '" + value.trim() + "', expected offset:limit");
+                } else {
+                    pages.add(page);
+                }
+            }
+        } else if (Files.exists(hotKeysFile)) {
+            try {
+                for (String line : Files.readAllLines(hotKeysFile, StandardCharsets.UTF_8)) {
+                    String value = line.trim();
+                    // Files written by older versions hold full cache keys instead of offset:limit pairs
+                    PageRequest page = value.startsWith("cities:")
+                        ? CacheKeyUtil.parsePaginatedCitiesKey(value)
+                        : CacheKeyUtil.parsePageRequest(value);
+                    if (page != null) {
+                        pages.add(page);
+                    }
+                }
+            } catch (IOException e) {
+                System.err.println("Could not read hot keys from " + hotKeysFile + ": " + e.getMessage());
+            }
+        }
+        if (pages.isEmpty()) {
+            for (int i = 0; i < defaultPageCount; i++) {
+                pages.add(new PageRequest(i * Constants.DEFAULT_PAGE_SIZE, Constants.DEFAULT_PAGE_SIZE));
+            }
+        }
+        List<PageRequest> warmSet = new ArrayList<>(pages);
+        return warmSet.subList(0, Math.min(warmSet.size(), maxPages));
+    }
+
+    /**
+     * Records this run's hottest pages for the next warm-up, one offset:limit pair per line.
+     * An empty list leaves the previous file in place, so a short run does not erase a good warm set.
+     * @param pages Hot pages, hottest first
+     */
+    public void saveHotKeys(List<PageRequest> pages) {
+        if (!enabled || pages.isEmpty()) {
+            return;
+        }
+        List<String> lines = new ArrayList<>(pages.size());
+        for (PageRequest page : pages) {
+            lines.add(page.toString());
+        }
+        try {
+            Path absoluteFile = hotKeysFile.toAbsolutePath();
+            Files.createDirectories(absoluteFile.getParent());
+            Path temp = Files.createTempFile(absoluteFile.getParent(), absoluteFile.getFileName().toString(), ".tmp");
+            try {
+                Files.write(temp, lines, StandardCharsets.UTF_8);
+                Files.move(temp, absoluteFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            System.err.println("Could not save hot keys to " + hotKeysFile + ": " + e.getMessage());
+        }
+    }
+
+    public int getMaxPages() {
+        return maxPages;
+    }
+}
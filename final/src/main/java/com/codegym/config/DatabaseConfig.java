@@ -1,44 +1,249 @@
 package com.codegym.config;
 
+import com.codegym.dao.CityDAO;
+import com.codegym.dao.ICityRepository;
+import com.codegym.dao.JdbcCityRepository;
+import com.codegym.db.Replica;
+import com.codegym.db.ReplicaSelection;
+import com.codegym.db.RoutingDataSource;
+import com.codegym.metrics.PoolMetrics;
+import com.codegym.metrics.SqlProfiler;
+import com.codegym.metrics.SqlProfilingListener;
 import com.codegym.util.Constants;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.p6spy.engine.event.JdbcEventListener;
+import com.p6spy.engine.spy.P6DataSource;
+import org.hibernate.SessionFactory;
 import org.hibernate.cfg.Environment;
+import javax.sql.DataSource;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Configuration class for database settings.
- * Handles loading and managing database connection properties.
+ * Handles loading and managing database connection properties and the JDBC connection pool.
  */
 public class DatabaseConfig {
+    private static final String POOL_NAME = "world-pool";
+    private static final String REPLICA_POOL_NAME_PREFIX = "world-replica-";
+
     private final Properties properties;
-    
+    private final PoolMetrics poolMetrics;
+    private final SqlProfiler sqlProfiler;
+    private final Path sqlProfileFile;
+
     public DatabaseConfig() {
         properties = new Properties();
+        poolMetrics = new PoolMetrics();
+        sqlProfiler = Boolean.parseBoolean(getEnvOrDefault(Constants.ENV_SQL_PROFILER_ENABLED, "false"))
+            ? new SqlProfiler(Duration.ofMillis(getLongEnvOrDefault(
+                Constants.ENV_SQL_SLOW_QUERY_MS, Constants.DEFAULT_SQL_SLOW_QUERY_MS)))
+            : null;
+        sqlProfileFile = Paths.get(getEnvOrDefault(Constants.ENV_SQL_PROFILE_FILE, Constants.DEFAULT_SQL_PROFILE_FILE));
         loadProperties();
     }
-    
+
     private void loadProperties() {
-        properties.put(Environment.DRIVER, "com.mysql.cj.jdbc.Driver");
-        properties.put(Environment.URL, buildJdbcUrl());
-        properties.put(Environment.USER, getEnvOrDefault("MYSQL_USER", "hibernate_user"));
-        properties.put(Environment.PASS, getEnvOrDefault("MYSQL_PASSWORD", "hibernate_password"));
-        properties.put(Environment.DIALECT, "org.hibernate.dialect.MySQL8Dialect");
+        properties.put(Environment.DIALECT, Constants.MYSQL_DIALECT);
         properties.put(Environment.HBM2DDL_AUTO, "validate");
         properties.put(Environment.SHOW_SQL, "false");
         properties.put(Environment.CURRENT_SESSION_CONTEXT_CLASS, "thread");
         properties.put(Environment.STATEMENT_BATCH_SIZE, String.valueOf(Constants.DEFAULT_BATCH_SIZE));
+        properties.put(Environment.ORDER_INSERTS, "true");
+        properties.put(Environment.ORDER_UPDATES, "true");
+        // id_sequence holds the next id to hand out: each generator round trip reserves the block starting there
+        // and stores the id after the block (Hibernate 5 stores the last used id unless told otherwise)
+        properties.put(Environment.PREFERRED_POOLED_OPTIMIZER, "pooled-lo");
+        properties.put(Environment.TABLE_GENERATOR_STORE_LAST_USED, "false");
+        // The pool hands out connections with auto-commit already disabled
+        properties.put(Environment.CONNECTION_PROVIDER_DISABLES_AUTOCOMMIT, "true");
+    }
+
+    /**
+     * Creates the pooled DataSource used by Hibernate.
+     * Pool size, timeouts and MySQL prepared-statement caching are configurable through environment variables.
+     * @return A started HikariCP DataSource
+     */
+    public HikariDataSource createDataSource() {
+        HikariConfig config = createPoolConfig(POOL_NAME, buildJdbcUrl());
+        config.setMetricsTrackerFactory(poolMetrics);
+        return new HikariDataSource(config);
+    }
+
+    /**
+     * Creates the DataSource that routes read-only transactions to the replicas in MYSQL_REPLICA_HOSTS.
+     * Each replica gets its own pool with the primary's settings but a shorter connection timeout,
+     * and the lag checks are started.
+     * @param primary DataSource of the primary, used for writes and as the fallback for reads
+     * @return The routing DataSource, or null when no replicas are configured
+     */
+    public RoutingDataSource createRoutingDataSource(DataSource primary) {
+        String hosts = getEnvOrDefault(Constants.ENV_MYSQL_REPLICA_HOSTS, "").trim();
+        if (hosts.isEmpty()) {
+            return null;
+        }
+        String routing = getEnvOrDefault(Constants.ENV_DB_REPLICA_ROUTING, Constants.DEFAULT_REPLICA_ROUTING);
+        ReplicaSelection selection = ReplicaSelection.fromName(routing);
+        if (selection == null) {
+            throw new IllegalArgumentException("Unknown " + Constants.ENV_DB_REPLICA_ROUTING + " '" + routing
+                + "', expected round_robin or least_loaded");
+        }
+        List<Replica> replicas = new ArrayList<>();
+        for (String host : hosts.split(",")) {
+            String replicaHost = host.trim();
+            if (!replicaHost.isEmpty()) {
+                HikariConfig config = createPoolConfig(REPLICA_POOL_NAME_PREFIX + (replicas.size() + 1),
+                    buildJdbcUrl(replicaHost));
+                // A busy or unreachable replica should hand the read to the primary quickly
+                config.setConnectionTimeout(getLongEnvOrDefault(Constants.ENV_DB_REPLICA_CONNECTION_TIMEOUT_MS,
+                    Constants.DEFAULT_REPLICA_CONNECTION_TIMEOUT_MS));
+                // Start even if the replica is down; the lag check keeps it out of rotation until it is back
+                config.setInitializationFailTimeout(-1);
+                replicas.add(new Replica(replicaHost, new HikariDataSource(config)));
+            }
+        }
+        RoutingDataSource routingDataSource = new RoutingDataSource(primary, replicas, selection,
+            getLongEnvOrDefault(Constants.ENV_DB_REPLICA_MAX_LAG_SECONDS, Constants.DEFAULT_REPLICA_MAX_LAG_SECONDS));
+        routingDataSource.start(Duration.ofMillis(
+            getLongEnvOrDefault(Constants.ENV_DB_REPLICA_LAG_CHECK_MS, Constants.DEFAULT_REPLICA_LAG_CHECK_MS)));
+        System.out.println("Read-only transactions routed to " + routingDataSource);
+        return routingDataSource;
+    }
+
+    private HikariConfig createPoolConfig(String poolName, String jdbcUrl) {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName(poolName);
+        config.setDriverClassName(Constants.MYSQL_DRIVER);
+        config.setJdbcUrl(jdbcUrl);
+        config.setUsername(getEnvOrDefault(Constants.ENV_MYSQL_USER, Constants.DEFAULT_MYSQL_USER));
+        config.setPassword(getEnvOrDefault(Constants.ENV_MYSQL_PASSWORD, Constants.DEFAULT_MYSQL_PASSWORD));
+        config.setMinimumIdle(getIntEnvOrDefault(Constants.ENV_DB_POOL_MIN_IDLE, Constants.DEFAULT_POOL_MIN_IDLE));
+        config.setMaximumPoolSize(getIntEnvOrDefault(Constants.ENV_DB_POOL_MAX_SIZE, Constants.DEFAULT_POOL_MAX_SIZE));
+        config.setConnectionTimeout(getLongEnvOrDefault(
+            Constants.ENV_DB_POOL_CONNECTION_TIMEOUT_MS, Constants.DEFAULT_POOL_CONNECTION_TIMEOUT_MS));
+        config.setAutoCommit(false);
+        config.setRegisterMbeans(true);
+
+        // MySQL Connector/J statement caching
+        config.addDataSourceProperty("cachePrepStmts", "true");
+        config.addDataSourceProperty("useServerPrepStmts", "true");
+        config.addDataSourceProperty("prepStmtCacheSize",
+            getIntEnvOrDefault(Constants.ENV_DB_PREP_STMT_CACHE_SIZE, Constants.DEFAULT_PREP_STMT_CACHE_SIZE));
+        config.addDataSourceProperty("prepStmtCacheSqlLimit", Constants.DEFAULT_PREP_STMT_CACHE_SQL_LIMIT);
+        config.addDataSourceProperty("cacheServerConfiguration", "true");
+        config.addDataSourceProperty("useLocalSessionState", "true");
+        // Send JDBC batches as multi-row INSERTs instead of one round trip per row
+        config.addDataSourceProperty("rewriteBatchedStatements", "true");
+        return config;
+    }
+
+    /**
+     * Creates the city repository selected by CITY_REPOSITORY: "hibernate" (default) for {@link CityDAO},
+     * or "jdbc" for {@link JdbcCityRepository}, which maps rows straight into DTOs without entities.
+     * @param sessionFactory Hibernate SessionFactory providing the sessions and connections
+     * @return The repository
+     */
+    public ICityRepository createCityRepository(SessionFactory sessionFactory) {
+        String repository = getEnvOrDefault(Constants.ENV_CITY_REPOSITORY, Constants.DEFAULT_CITY_REPOSITORY);
+        if ("jdbc".equalsIgnoreCase(repository)) {
+            System.out.println("Using the plain JDBC city repository");
+            return new JdbcCityRepository(sessionFactory,
+                getIntEnvOrDefault(Constants.ENV_DB_FETCH_SIZE, Constants.MYSQL_STREAMING_FETCH_SIZE));
+        }
+        return new CityDAO(sessionFactory);
+    }
+
+    /**
+     * Wraps the DataSource handed to Hibernate with p6spy when the SQL profiler is enabled,
+     * so every statement is timed and counted by the profiler.
+     * @param dataSource Pooled DataSource
+     * @return The p6spy wrapper, or the DataSource itself when profiling is disabled
+     */
+    public DataSource wrapForProfiling(DataSource dataSource) {
+        if (sqlProfiler == null) {
+            return dataSource;
+        }
+        JdbcEventListener listener = new SqlProfilingListener(sqlProfiler);
+        P6DataSource profiledDataSource = new P6DataSource(dataSource);
+        profiledDataSource.setJdbcEventListenerFactory(() -> listener);
+        System.out.println("SQL profiler enabled, slow query threshold " + sqlProfiler.getSlowThresholdMillis() + " ms");
+        return profiledDataSource;
+    }
+
+    /**
+     * Creates the bounded executor that runs blocking database work for the async service.
+     * By default it has as many threads as the pool has connections, so queued work waits here
+     * instead of inside the pool. When the queue is full new work is rejected.
+     * @return A new executor with daemon worker threads
+     */
+    public ExecutorService createDbExecutor() {
+        int threads = getIntEnvOrDefault(Constants.ENV_DB_EXECUTOR_THREADS,
+            getIntEnvOrDefault(Constants.ENV_DB_POOL_MAX_SIZE, Constants.DEFAULT_POOL_MAX_SIZE));
+        int queueSize = getIntEnvOrDefault(Constants.ENV_DB_EXECUTOR_QUEUE_SIZE, Constants.DEFAULT_DB_EXECUTOR_QUEUE_SIZE);
+        AtomicInteger threadCount = new AtomicInteger();
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueSize),
+            runnable -> {
+                Thread thread = new Thread(runnable, "db-worker-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy());
     }
-    
+
     private String buildJdbcUrl() {
-        return String.format("jdbc:mysql://%s:%d/world",
+        return String.format("jdbc:mysql://%s:%d/%s",
             getEnvOrDefault("MYSQL_HOST", Constants.DEFAULT_MYSQL_HOST),
-            Constants.MYSQL_PORT);
+            Constants.MYSQL_PORT,
+            Constants.DEFAULT_MYSQL_DATABASE);
+    }
+
+    /**
+     * @param hostAndPort Replica address as host or host:port
+     */
+    private String buildJdbcUrl(String hostAndPort) {
+        String address = hostAndPort.contains(":") ? hostAndPort : hostAndPort + ":" + Constants.MYSQL_PORT;
+        return String.format("jdbc:mysql://%s/%s", address, Constants.DEFAULT_MYSQL_DATABASE);
     }
-    
+
     private String getEnvOrDefault(String key, String defaultValue) {
         return System.getenv().getOrDefault(key, defaultValue);
     }
-    
+
+    private int getIntEnvOrDefault(String key, int defaultValue) {
+        return Integer.parseInt(getEnvOrDefault(key, String.valueOf(defaultValue)));
+    }
+
+    private long getLongEnvOrDefault(String key, long defaultValue) {
+        return Long.parseLong(getEnvOrDefault(key, String.valueOf(defaultValue)));
+    }
+
     public Properties getProperties() {
         return properties;
     }
+
+    public PoolMetrics getPoolMetrics() {
+        return poolMetrics;
+    }
+
+    /**
+     * @return The SQL profiler, or null when SQL_PROFILER_ENABLED is not set
+     */
+    public SqlProfiler getSqlProfiler() {
+        return sqlProfiler;
+    }
+
+    public Path getSqlProfileFile() {
+        return sqlProfileFile;
+    }
 }
@@ -0,0 +1,47 @@
+package com.codegym.config;
+
+import com.codegym.export.CityExporter;
+import com.codegym.export.ExportFormat;
+import com.codegym.util.Constants;
+import org.hibernate.SessionFactory;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Configuration for the streaming city export.
+ * By default the MySQL driver streams rows one at a time; set EXPORT_FETCH_SIZE to a positive value
+ * for drivers that do not accept the streaming fetch size.
+ */
+public class ExportConfig {
+    private final Path exportDirectory;
+    private final int fetchSize;
+    private final long progressInterval;
+
+    public ExportConfig() {
+        this.exportDirectory = Paths.get(getEnvOrDefault(Constants.ENV_EXPORT_DIR, Constants.DEFAULT_EXPORT_DIR));
+        this.fetchSize = Integer.parseInt(getEnvOrDefault(
+            Constants.ENV_EXPORT_FETCH_SIZE, String.valueOf(Constants.MYSQL_STREAMING_FETCH_SIZE)));
+        this.progressInterval = Long.parseLong(getEnvOrDefault(
+            Constants.ENV_EXPORT_PROGRESS_ROWS, String.valueOf(Constants.DEFAULT_EXPORT_PROGRESS_ROWS)));
+    }
+
+    private String getEnvOrDefault(String key, String defaultValue) {
+        return System.getenv().getOrDefault(key, defaultValue);
+    }
+
+    public CityExporter createExporter(SessionFactory sessionFactory) {
+        return new CityExporter(sessionFactory, fetchSize, progressInterval);
+    }
+
+    /**
+     * Resolves the file an export is written to, e.g. {@code data/export/cities.ndjson.gz}.
+     * @param format Output format
+     * @param gzip Whether the output is gzip-compressed
+     * @return Path inside the export directory
+     */
+    public Path resolveExportFile(ExportFormat format, boolean gzip) {
+        String fileName = Constants.EXPORT_FILE_BASE_NAME + "." + format.getExtension() + (gzip ? ".gz" : "");
+        return exportDirectory.resolve(fileName);
+    }
+}
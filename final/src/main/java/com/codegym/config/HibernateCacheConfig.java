@@ -0,0 +1,105 @@
+package com.codegym.config;
+
+import com.codegym.dao.CityDAO;
+import com.codegym.domain.City;
+import com.codegym.domain.Country;
+import com.codegym.domain.CountryLanguage;
+import com.codegym.util.Constants;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.Properties;
+
+/**
+ * Configuration for Hibernate's second-level and query caches.
+ * <p>
+ * The world model is reference data, so entities, the country languages collection and CityDAO query results are
+ * kept in in-process Caffeine caches behind the JCache API. Every region is created up front with its own entry
+ * limit; a region without a limit fails startup instead of growing without bound.
+ */
+public class HibernateCacheConfig {
+    private static final String JCACHE_REGION_FACTORY = "jcache";
+    private static final String MISSING_CACHE_FAIL = "fail";
+
+    private final boolean enabled;
+    private final boolean queryCacheEnabled;
+    private final Map<String, Long> regionSizes = new LinkedHashMap<>();
+
+    public HibernateCacheConfig() {
+        this.enabled = Boolean.parseBoolean(getEnvOrDefault(Constants.ENV_HIBERNATE_CACHE_ENABLED, "true"));
+        this.queryCacheEnabled = Boolean.parseBoolean(
+            getEnvOrDefault(Constants.ENV_HIBERNATE_QUERY_CACHE_ENABLED, "true"));
+        regionSizes.put(City.CACHE_REGION, getLongEnvOrDefault(
+            Constants.ENV_HIBERNATE_CACHE_CITY_MAX_ENTRIES, Constants.DEFAULT_HIBERNATE_CACHE_CITY_MAX_ENTRIES));
+        regionSizes.put(Country.CACHE_REGION, getLongEnvOrDefault(
+            Constants.ENV_HIBERNATE_CACHE_COUNTRY_MAX_ENTRIES, Constants.DEFAULT_HIBERNATE_CACHE_COUNTRY_MAX_ENTRIES));
+        regionSizes.put(Country.LANGUAGES_CACHE_REGION, getLongEnvOrDefault(
+            Constants.ENV_HIBERNATE_CACHE_COUNTRY_MAX_ENTRIES, Constants.DEFAULT_HIBERNATE_CACHE_COUNTRY_MAX_ENTRIES));
+        regionSizes.put(CountryLanguage.CACHE_REGION, getLongEnvOrDefault(
+            Constants.ENV_HIBERNATE_CACHE_LANGUAGE_MAX_ENTRIES, Constants.DEFAULT_HIBERNATE_CACHE_LANGUAGE_MAX_ENTRIES));
+        regionSizes.put(CityDAO.QUERY_CACHE_REGION, getLongEnvOrDefault(
+            Constants.ENV_HIBERNATE_QUERY_CACHE_MAX_ENTRIES, Constants.DEFAULT_HIBERNATE_QUERY_CACHE_MAX_ENTRIES));
+        // Queries without an explicit region; kept small since CityDAO names its own
+        regionSizes.put(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME,
+            Constants.DEFAULT_HIBERNATE_DEFAULT_QUERY_CACHE_MAX_ENTRIES);
+        // One entry per table; must never evict or cached queries could outlive a table change
+        regionSizes.put(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, Long.MAX_VALUE);
+    }
+
+    private String getEnvOrDefault(String key, String defaultValue) {
+        return System.getenv().getOrDefault(key, defaultValue);
+    }
+
+    private long getLongEnvOrDefault(String key, long defaultValue) {
+        return Long.parseLong(getEnvOrDefault(key, String.valueOf(defaultValue)));
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Adds the cache settings to the Hibernate properties.
+     * Statistics are always collected so the cache hit ratios can be published.
+     * @param properties Hibernate properties to extend
+     */
+    public void applyTo(Properties properties) {
+        properties.put(AvailableSettings.GENERATE_STATISTICS, "true");
+        // Statistics would otherwise log a metrics summary at the end of every session
+        properties.put(AvailableSettings.LOG_SESSION_METRICS, "false");
+        properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, String.valueOf(enabled));
+        properties.put(AvailableSettings.USE_QUERY_CACHE, String.valueOf(enabled && queryCacheEnabled));
+        if (!enabled) {
+            return;
+        }
+        properties.put(AvailableSettings.CACHE_REGION_FACTORY, JCACHE_REGION_FACTORY);
+        properties.put(ConfigSettings.CACHE_MANAGER, createCacheManager());
+        properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, MISSING_CACHE_FAIL);
+    }
+
+    private CacheManager createCacheManager() {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+            .getCacheManager();
+        for (Map.Entry<String, Long> region : regionSizes.entrySet()) {
+            if (cacheManager.getCache(region.getKey()) != null) {
+                continue;
+            }
+            CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+            // Hibernate already caches disassembled state, so entries need not be copied again
+            configuration.setStoreByValue(false);
+            if (region.getValue() != Long.MAX_VALUE) {
+                configuration.setMaximumSize(OptionalLong.of(region.getValue()));
+            }
+            cacheManager.createCache(region.getKey(), configuration);
+        }
+        return cacheManager;
+    }
+}
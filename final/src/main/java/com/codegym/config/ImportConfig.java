@@ -0,0 +1,28 @@
+package com.codegym.config;
+
+import com.codegym.dao.CountryDAO;
+import com.codegym.dao.ICityRepository;
+import com.codegym.ingest.CityBulkLoader;
+import com.codegym.util.Constants;
+import org.hibernate.SessionFactory;
+
+/**
+ * Configuration for bulk city ingestion.
+ * Controls how many cities are committed per transaction.
+ */
+public class ImportConfig {
+    private final int chunkSize;
+
+    public ImportConfig() {
+        this.chunkSize = Integer.parseInt(getEnvOrDefault(
+            Constants.ENV_IMPORT_CHUNK_SIZE, String.valueOf(Constants.DEFAULT_IMPORT_CHUNK_SIZE)));
+    }
+
+    private String getEnvOrDefault(String key, String defaultValue) {
+        return System.getenv().getOrDefault(key, defaultValue);
+    }
+
+    public CityBulkLoader createLoader(ICityRepository cityRepository, SessionFactory sessionFactory) {
+        return new CityBulkLoader(cityRepository, new CountryDAO(sessionFactory), sessionFactory, chunkSize);
+    }
+}
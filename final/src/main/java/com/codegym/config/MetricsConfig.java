@@ -0,0 +1,40 @@
+package com.codegym.config;
+
+import com.codegym.metrics.MetricsRegistry;
+import com.codegym.util.Constants;
+
+import java.nio.file.Paths;
+
+/**
+ * Configuration for publishing application metrics.
+ * Metrics are exposed over JMX by default and can also be dumped periodically to a Prometheus text file.
+ */
+public class MetricsConfig {
+    private final boolean jmxEnabled;
+    private final String metricsFile;
+    private final long fileIntervalSeconds;
+    
+    public MetricsConfig() {
+        this.jmxEnabled = Boolean.parseBoolean(getEnvOrDefault(Constants.ENV_METRICS_JMX_ENABLED, "true"));
+        this.metricsFile = getEnvOrDefault(Constants.ENV_METRICS_FILE, "");
+        this.fileIntervalSeconds = Long.parseLong(getEnvOrDefault(
+            Constants.ENV_METRICS_FILE_INTERVAL_SECONDS, String.valueOf(Constants.DEFAULT_METRICS_FILE_INTERVAL_SECONDS)));
+    }
+    
+    private String getEnvOrDefault(String key, String defaultValue) {
+        return System.getenv().getOrDefault(key, defaultValue);
+    }
+    
+    /**
+     * Publishes the registry as configured. Call once every component has registered its metrics.
+     * @param metrics Registry to publish
+     */
+    public void export(MetricsRegistry metrics) {
+        if (jmxEnabled) {
+            metrics.registerMBeans();
+        }
+        if (!metricsFile.isBlank()) {
+            metrics.startFileExport(Paths.get(metricsFile), fileIntervalSeconds);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.codegym.config;
+
+import com.codegym.dao.ICityRepository;
+import com.codegym.readmodel.CityReadModelRefresher;
+import com.codegym.util.Constants;
+import org.hibernate.SessionFactory;
+
+/**
+ * Configuration for the in-memory city read model.
+ * Controls whether reads are answered from the heap and how often the model is rebuilt.
+ */
+public class ReadModelConfig {
+    private final boolean enabled;
+    private final long refreshSeconds;
+
+    public ReadModelConfig() {
+        this.enabled = Boolean.parseBoolean(getEnvOrDefault(Constants.ENV_READ_MODEL_ENABLED, "false"));
+        this.refreshSeconds = Long.parseLong(getEnvOrDefault(
+            Constants.ENV_READ_MODEL_REFRESH_SECONDS, String.valueOf(Constants.DEFAULT_READ_MODEL_REFRESH_SECONDS)));
+    }
+
+    private String getEnvOrDefault(String key, String defaultValue) {
+        return System.getenv().getOrDefault(key, defaultValue);
+    }
+
+    /**
+     * Loads the read model and starts its scheduled refresh.
+     * A failed initial load is logged; reads then go to the database until a refresh succeeds.
+     * @param cityRepository Repository the cities are read from
+     * @param sessionFactory Hibernate SessionFactory for the load transactions
+     * @return The running refresher, or null if the read model is disabled
+     */
+    public CityReadModelRefresher createRefresher(ICityRepository cityRepository, SessionFactory sessionFactory) {
+        if (!enabled) {
+            return null;
+        }
+        CityReadModelRefresher refresher = new CityReadModelRefresher(cityRepository, sessionFactory);
+        try {
+            refresher.refresh();
+        } catch (Exception e) {
+            System.err.println("Could not load city read model, reading from the database: " + e.getMessage());
+        }
+        refresher.start(refreshSeconds);
+        return refresher;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public long getRefreshSeconds() {
+        return refreshSeconds;
+    }
+}
@@ -1,11 +1,30 @@
 package com.codegym.config;
 
+import com.codegym.cache.BinaryCityPageCodec;
+import com.codegym.cache.CacheGeneration;
+import com.codegym.cache.CategoryStatsCache;
+import com.codegym.cache.CityPageCodec;
+import com.codegym.cache.JsonCityPageCodec;
+import com.codegym.cache.NearCache;
+import com.codegym.cache.PopulationIndex;
+import com.codegym.cache.RedisLeaseLock;
+import com.codegym.dto.CategoryStatsDTO;
+import com.codegym.dto.CityDTO;
+import com.codegym.util.CacheKeyUtil;
 import com.codegym.util.Constants;
+import com.codegym.util.RedisConnectionManager;
 import io.lettuce.core.RedisClient;
+import io.lettuce.core.resource.ClientResources;
+import io.lettuce.core.resource.DefaultClientResources;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
 
 /**
  * Configuration class for Redis settings.
- * Handles Redis client creation and connection management.
+ * Handles Redis client and client resources creation.
  */
 public class RedisConfig {
     private final String redisUrl;
@@ -24,8 +43,117 @@ public class RedisConfig {
         return System.getenv().getOrDefault(key, defaultValue);
     }
     
-    public RedisClient createClient() {
-        return RedisClient.create(redisUrl);
+    private int getIntEnvOrDefault(String key, int defaultValue) {
+        return Integer.parseInt(getEnvOrDefault(key, String.valueOf(defaultValue)));
+    }
+    
+    /**
+     * Creates the shared Lettuce client resources (event loops and computation threads).
+     * Thread counts are configurable through environment variables.
+     * @return ClientResources to be shared by all Redis clients of the application
+     */
+    public ClientResources createClientResources() {
+        return DefaultClientResources.builder()
+            .ioThreadPoolSize(getIntEnvOrDefault(Constants.ENV_REDIS_IO_THREADS, Constants.DEFAULT_REDIS_IO_THREADS))
+            .computationThreadPoolSize(getIntEnvOrDefault(
+                Constants.ENV_REDIS_COMPUTATION_THREADS, Constants.DEFAULT_REDIS_COMPUTATION_THREADS))
+            .build();
+    }
+    
+    /**
+     * Creates the in-process L1 cache placed in front of Redis.
+     * Local entries live as long as the Redis entries they mirror.
+     * @param redisManager Shared connection used to publish invalidations
+     * @return A new near cache
+     */
+    public NearCache createNearCache(RedisConnectionManager redisManager) {
+        long maxCities = Long.parseLong(getEnvOrDefault(
+            Constants.ENV_NEAR_CACHE_MAX_CITIES, String.valueOf(Constants.DEFAULT_NEAR_CACHE_MAX_CITIES)));
+        return new NearCache(redisManager, maxCities, Duration.ofSeconds(CacheKeyUtil.CACHE_EXPIRATION_SECONDS));
+    }
+    
+    /**
+     * Creates the generation counter embedded in cached page keys.
+     * CACHE_GENERATION_REFRESH_MS bounds how long other instances keep reading the previous generation.
+     * @param redisManager Shared connection used to read and increment the counter
+     * @return The generation counter of the city cache namespace
+     */
+    public CacheGeneration createCacheGeneration(RedisConnectionManager redisManager) {
+        long refreshMillis = Long.parseLong(getEnvOrDefault(Constants.ENV_CACHE_GENERATION_REFRESH_MS,
+            String.valueOf(Constants.DEFAULT_CACHE_GENERATION_REFRESH_MS)));
+        return new CacheGeneration(redisManager, CacheKeyUtil.CITY_CACHE_GENERATION_KEY,
+            Duration.ofMillis(refreshMillis));
+    }
+    
+    /**
+     * Creates the Redis hash cache for population category aggregates.
+     * Aggregates are reloaded in the background after CATEGORY_STATS_REFRESH_SECONDS and the hash expires
+     * after CATEGORY_STATS_TTL_SECONDS.
+     * @param redisManager Shared Redis connection
+     * @param cacheGeneration Generation embedded in the hash key
+     * @param loader Aggregates every category in the database
+     * @param loadExecutor Executor that runs the loader
+     * @return The category stats cache
+     */
+    public CategoryStatsCache createCategoryStatsCache(RedisConnectionManager redisManager,
+                                                       CacheGeneration cacheGeneration,
+                                                       Supplier<List<CategoryStatsDTO>> loader, Executor loadExecutor) {
+        long refreshSeconds = Long.parseLong(getEnvOrDefault(Constants.ENV_CATEGORY_STATS_REFRESH_SECONDS,
+            String.valueOf(Constants.DEFAULT_CATEGORY_STATS_REFRESH_SECONDS)));
+        long ttlSeconds = Long.parseLong(getEnvOrDefault(Constants.ENV_CATEGORY_STATS_TTL_SECONDS,
+            String.valueOf(Constants.DEFAULT_CATEGORY_STATS_TTL_SECONDS)));
+        return new CategoryStatsCache(redisManager, cacheGeneration, loader, loadExecutor,
+            Duration.ofSeconds(refreshSeconds), Duration.ofSeconds(ttlSeconds));
+    }
+    
+    /**
+     * Creates the cross-instance lease lock for cache loads if it is enabled.
+     * @param redisManager Shared connection used to take and release leases
+     * @return A lease lock, or null when CACHE_LEASE_ENABLED is not true
+     */
+    public RedisLeaseLock createLeaseLock(RedisConnectionManager redisManager) {
+        if (!Boolean.parseBoolean(getEnvOrDefault(Constants.ENV_CACHE_LEASE_ENABLED, "false"))) {
+            return null;
+        }
+        long leaseMillis = Long.parseLong(getEnvOrDefault(
+            Constants.ENV_CACHE_LEASE_MS, String.valueOf(Constants.DEFAULT_CACHE_LEASE_MS)));
+        return new RedisLeaseLock(redisManager, leaseMillis);
+    }
+    
+    /**
+     * Creates the codec used for cached page values.
+     * CACHE_VALUE_CODEC selects "binary" (default) or the original "json" format.
+     * @return The configured page codec
+     */
+    public CityPageCodec createPageCodec() {
+        String codec = getEnvOrDefault(Constants.ENV_CACHE_VALUE_CODEC, Constants.DEFAULT_CACHE_VALUE_CODEC);
+        if ("json".equalsIgnoreCase(codec)) {
+            return new JsonCityPageCodec();
+        }
+        return new BinaryCityPageCodec(getIntEnvOrDefault(
+            Constants.ENV_CACHE_COMPRESSION_THRESHOLD_BYTES, Constants.DEFAULT_CACHE_COMPRESSION_THRESHOLD_BYTES));
+    }
+    
+    /**
+     * Creates the Redis sorted-set index used for population range queries if it is enabled.
+     * @param redisManager Shared connection used for queries
+     * @param redisClient Client used for the pipelined rebuild connection
+     * @param datasetLoader Supplies every city when the index has to be rebuilt
+     * @return The index, or null when POPULATION_INDEX_ENABLED is false
+     */
+    public PopulationIndex createPopulationIndex(RedisConnectionManager redisManager, RedisClient redisClient,
+                                                 Supplier<List<CityDTO>> datasetLoader) {
+        if (!Boolean.parseBoolean(getEnvOrDefault(Constants.ENV_POPULATION_INDEX_ENABLED, "true"))) {
+            return null;
+        }
+        long maxAgeMinutes = Long.parseLong(getEnvOrDefault(Constants.ENV_POPULATION_INDEX_MAX_AGE_MINUTES,
+            String.valueOf(Constants.DEFAULT_POPULATION_INDEX_MAX_AGE_MINUTES)));
+        return new PopulationIndex(redisManager, redisClient, datasetLoader, Duration.ofMinutes(maxAgeMinutes),
+            Constants.DEFAULT_BATCH_SIZE);
+    }
+    
+    public RedisClient createClient(ClientResources clientResources) {
+        return RedisClient.create(clientResources, redisUrl);
     }
     
     public String getRedisUrl() {
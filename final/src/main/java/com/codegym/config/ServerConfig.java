@@ -0,0 +1,43 @@
+package com.codegym.config;
+
+import com.codegym.util.Constants;
+
+/**
+ * Configuration for the embedded HTTP query server.
+ */
+public class ServerConfig {
+    private final int port;
+    private final boolean serverMode;
+    
+    /**
+     * Reads the server settings.
+     * Server mode is selected by the --server command-line flag or APP_MODE=server.
+     * @param args Command-line arguments of the application
+     */
+    public ServerConfig(String[] args) {
+        this.port = Integer.parseInt(getEnvOrDefault(Constants.ENV_HTTP_PORT, String.valueOf(Constants.DEFAULT_HTTP_PORT)));
+        this.serverMode = hasServerFlag(args)
+            || Constants.SERVER_MODE.equalsIgnoreCase(getEnvOrDefault(Constants.ENV_APP_MODE, Constants.MENU_MODE));
+    }
+    
+    private static boolean hasServerFlag(String[] args) {
+        for (String arg : args) {
+            if (Constants.SERVER_FLAG.equals(arg)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private String getEnvOrDefault(String key, String defaultValue) {
+        return System.getenv().getOrDefault(key, defaultValue);
+    }
+    
+    public int getPort() {
+        return port;
+    }
+    
+    public boolean isServerMode() {
+        return serverMode;
+    }
+}
@@ -0,0 +1,59 @@
+package com.codegym.config;
+
+import com.codegym.snapshot.CitySnapshot;
+import com.codegym.util.Constants;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Configuration class for the city snapshot file.
+ * Handles locating and loading the memory-mapped snapshot used for fast cold starts.
+ */
+public class SnapshotConfig {
+    private final boolean enabled;
+    private final Path snapshotPath;
+    private final long refreshMinutes;
+    
+    public SnapshotConfig() {
+        this.enabled = Boolean.parseBoolean(getEnvOrDefault(Constants.ENV_SNAPSHOT_ENABLED, "false"));
+        this.snapshotPath = Paths.get(getEnvOrDefault(Constants.ENV_SNAPSHOT_PATH, Constants.DEFAULT_SNAPSHOT_PATH));
+        this.refreshMinutes = Long.parseLong(getEnvOrDefault(
+            Constants.ENV_SNAPSHOT_REFRESH_MINUTES, String.valueOf(Constants.DEFAULT_SNAPSHOT_REFRESH_MINUTES)));
+    }
+    
+    private String getEnvOrDefault(String key, String defaultValue) {
+        return System.getenv().getOrDefault(key, defaultValue);
+    }
+    
+    /**
+     * Maps the snapshot file left by a previous run.
+     * @return The snapshot, or null if snapshots are disabled or no valid file exists
+     */
+    public CitySnapshot loadSnapshot() {
+        if (!enabled || !Files.exists(snapshotPath)) {
+            return null;
+        }
+        try {
+            CitySnapshot snapshot = CitySnapshot.open(snapshotPath);
+            System.out.println("Loaded " + snapshot);
+            return snapshot;
+        } catch (Exception e) {
+            System.err.println("Ignoring unusable city snapshot: " + e.getMessage());
+            return null;
+        }
+    }
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    public Path getSnapshotPath() {
+        return snapshotPath;
+    }
+    
+    public long getRefreshMinutes() {
+        return refreshMinutes;
+    }
+}
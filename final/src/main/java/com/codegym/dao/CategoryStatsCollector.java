@@ -0,0 +1,45 @@
+package com.codegym.dao;
+
+import com.codegym.dto.CategoryStatsDTO;
+import com.codegym.dto.CityDTO;
+import com.codegym.dto.PopulationCategory;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Assembles the rows of the category aggregate query into one CategoryStatsDTO per category.
+ * Each row carries its category's totals and one of its largest cities, largest first.
+ */
+class CategoryStatsCollector {
+    private final Map<PopulationCategory, long[]> totals = new EnumMap<>(PopulationCategory.class);
+    private final Map<PopulationCategory, List<CityDTO>> examples = new EnumMap<>(PopulationCategory.class);
+    private int rows;
+
+    void add(String categoryLabel, long cityCount, long totalPopulation, CityDTO example) {
+        PopulationCategory category = PopulationCategory.fromLabel(categoryLabel);
+        totals.putIfAbsent(category, new long[] {cityCount, totalPopulation});
+        examples.computeIfAbsent(category, key -> new ArrayList<>()).add(example);
+        rows++;
+    }
+
+    int getRowCount() {
+        return rows;
+    }
+
+    /**
+     * @return One entry per category, smallest category first; categories without rows have zero counts
+     */
+    List<CategoryStatsDTO> build() {
+        List<CategoryStatsDTO> results = new ArrayList<>();
+        for (PopulationCategory category : PopulationCategory.values()) {
+            long[] total = totals.get(category);
+            results.add(total == null
+                ? CategoryStatsDTO.empty(category)
+                : new CategoryStatsDTO(category.getLabel(), total[0], total[1], examples.get(category)));
+        }
+        return results;
+    }
+}
@@ -1,24 +1,56 @@
 package com.codegym.dao;
 
 import com.codegym.domain.City;
+import com.codegym.dto.CategoryStatsDTO;
+import com.codegym.dto.CityDTO;
+import com.codegym.dto.PopulationCategory;
+import com.codegym.util.Constants;
 import com.codegym.util.ValidationUtil;
 import org.hibernate.Session;
 import org.hibernate.SessionFactory;
 import org.hibernate.query.Query;
+import org.hibernate.type.StandardBasicTypes;
 
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * Data Access Object for City entities.
  * Handles database operations for City data.
  */
 public class CityDAO implements ICityRepository {
-    private static final String FIND_ALL_QUERY = "SELECT c FROM City c";
+    public static final String QUERY_CACHE_REGION = "world.city.queries";
+
+    private static final String FIND_ALL_QUERY = "SELECT c FROM City c ORDER BY c.id";
+    private static final String FIND_PAGE_AFTER_QUERY = "SELECT c FROM City c WHERE c.id > :lastId ORDER BY c.id";
     private static final String COUNT_ALL_QUERY = "SELECT COUNT(c) FROM City c";
     private static final String FIND_BY_POPULATION_RANGE_QUERY = 
-        "SELECT c FROM City c WHERE c.population BETWEEN :minPop AND :maxPop ORDER BY c.population DESC";
+        "SELECT c FROM City c WHERE c.population BETWEEN :minPop AND :maxPop ORDER BY c.population DESC, c.id";
+    private static final String FIND_EXISTING_IDS_QUERY = "SELECT c.id FROM City c WHERE c.id IN (:ids)";
+
+    // Scalar projections: only the CityDTO columns, no entity hydration or country joins
+    private static final String DTO_COLUMNS = "SELECT c.id, c.name, c.district, c.population FROM City c";
+    private static final String FIND_ALL_DTO_QUERY = DTO_COLUMNS + " ORDER BY c.id";
+    private static final String FIND_PAGE_AFTER_DTO_QUERY = DTO_COLUMNS + " WHERE c.id > :lastId ORDER BY c.id";
+    private static final String FIND_BY_POPULATION_RANGE_DTO_QUERY =
+        DTO_COLUMNS + " WHERE c.population BETWEEN :minPop AND :maxPop ORDER BY c.population DESC, c.id";
+
+    // One pass over the table: the CASE is evaluated once per row, and each category partition yields its
+    // count, population sum and largest cities; only the top rows per category leave the database
+    static final String AGGREGATE_BY_CATEGORY_QUERY =
+        "SELECT category, city_count, total_population, id, name, district, population FROM ("
+            + "SELECT c.id, c.name, c.district, c.population, c.category, "
+            + "COUNT(*) OVER (PARTITION BY c.category) AS city_count, "
+            + "SUM(c.population) OVER (PARTITION BY c.category) AS total_population, "
+            + "ROW_NUMBER() OVER (PARTITION BY c.category ORDER BY c.population DESC, c.id) AS category_rank "
+            + "FROM (SELECT id, name, district, population, " + PopulationCategory.toSqlCase("population")
+            + " AS category FROM world.city) c"
+            + ") ranked WHERE category_rank <= :examples ORDER BY category, category_rank";
 
     private final SessionFactory sessionFactory;
 
@@ -39,7 +71,7 @@ public class CityDAO implements ICityRepository {
             System.out.println("Fetching cities with offset " + offset + " and limit " + limit);
 
             Session session = sessionFactory.getCurrentSession();
-            Query<City> query = session.createQuery(FIND_ALL_QUERY, City.class);
+            Query<City> query = cached(session.createQuery(FIND_ALL_QUERY, City.class));
             query.setFirstResult(offset);
             query.setMaxResults(limit);
 
@@ -53,12 +85,33 @@ public class CityDAO implements ICityRepository {
         }
     }
 
+    @Override
+    public List<City> findPageAfter(int lastId, int limit) {
+        try {
+            ValidationUtil.validateKeysetPagination(lastId, limit);
+            System.out.println("Fetching cities after id " + lastId + " with limit " + limit);
+
+            Session session = sessionFactory.getCurrentSession();
+            Query<City> query = cached(session.createQuery(FIND_PAGE_AFTER_QUERY, City.class));
+            query.setParameter("lastId", lastId);
+            query.setMaxResults(limit);
+
+            List<City> results = query.list();
+            System.out.println("Found " + results.size() + " cities");
+            return results;
+
+        } catch (Exception e) {
+            System.err.println("Failed to fetch cities after id " + lastId + ": " + e.getMessage());
+            return Collections.emptyList();
+        }
+    }
+
     @Override
     public int countAll() {
         try {
             System.out.println("Counting all cities");
             Session session = sessionFactory.getCurrentSession();
-            Query<Long> query = session.createQuery(COUNT_ALL_QUERY, Long.class);
+            Query<Long> query = cached(session.createQuery(COUNT_ALL_QUERY, Long.class));
             
             int count = Math.toIntExact(query.uniqueResult());
             System.out.println("Total city count: " + count);
@@ -77,7 +130,7 @@ public class CityDAO implements ICityRepository {
             System.out.println("Finding cities with population between " + minPopulation + " and " + maxPopulation);
 
             Session session = sessionFactory.getCurrentSession();
-            Query<City> query = session.createQuery(FIND_BY_POPULATION_RANGE_QUERY, City.class);
+            Query<City> query = cached(session.createQuery(FIND_BY_POPULATION_RANGE_QUERY, City.class));
             query.setParameter("minPop", minPopulation);
             query.setParameter("maxPop", maxPopulation);
 
@@ -90,4 +143,180 @@ public class CityDAO implements ICityRepository {
             return Collections.emptyList();
         }
     }
+
+    @Override
+    public List<CityDTO> findAllPaginatedDTO(int offset, int limit) {
+        try {
+            ValidationUtil.validatePagination(offset, limit);
+            System.out.println("Fetching city projections with offset " + offset + " and limit " + limit);
+
+            Session session = sessionFactory.getCurrentSession();
+            Query<Object[]> query = cached(session.createQuery(FIND_ALL_DTO_QUERY, Object[].class));
+            query.setFirstResult(offset);
+            query.setMaxResults(limit);
+
+            List<CityDTO> results = toDTOs(query.list());
+            System.out.println("Found " + results.size() + " cities");
+            return results;
+
+        } catch (Exception e) {
+            System.err.println("Failed to fetch paginated city projections: " + e.getMessage());
+            return Collections.emptyList();
+        }
+    }
+
+    @Override
+    public List<CityDTO> findPageAfterDTO(int lastId, int limit) {
+        try {
+            ValidationUtil.validateKeysetPagination(lastId, limit);
+            System.out.println("Fetching city projections after id " + lastId + " with limit " + limit);
+
+            Session session = sessionFactory.getCurrentSession();
+            Query<Object[]> query = cached(session.createQuery(FIND_PAGE_AFTER_DTO_QUERY, Object[].class));
+            query.setParameter("lastId", lastId);
+            query.setMaxResults(limit);
+
+            List<CityDTO> results = toDTOs(query.list());
+            System.out.println("Found " + results.size() + " cities");
+            return results;
+
+        } catch (Exception e) {
+            System.err.println("Failed to fetch city projections after id " + lastId + ": " + e.getMessage());
+            return Collections.emptyList();
+        }
+    }
+
+    @Override
+    public List<CityDTO> findByPopulationRangeDTO(int minPopulation, int maxPopulation) {
+        try {
+            ValidationUtil.validatePopulationRange(minPopulation, maxPopulation);
+            System.out.println("Finding city projections with population between " + minPopulation + " and " + maxPopulation);
+
+            Session session = sessionFactory.getCurrentSession();
+            Query<Object[]> query = cached(session.createQuery(FIND_BY_POPULATION_RANGE_DTO_QUERY, Object[].class));
+            query.setParameter("minPop", minPopulation);
+            query.setParameter("maxPop", maxPopulation);
+
+            List<CityDTO> results = toDTOs(query.list());
+            System.out.println("Found " + results.size() + " cities in population range");
+            return results;
+
+        } catch (Exception e) {
+            System.err.println("Failed to find city projections by population range: " + e.getMessage());
+            return Collections.emptyList();
+        }
+    }
+
+    @Override
+    public List<CategoryStatsDTO> aggregateByPopulationCategory(int examplesPerCategory) {
+        try {
+            if (examplesPerCategory <= 0) {
+                throw new IllegalArgumentException("Examples per category must be positive");
+            }
+            System.out.println("Aggregating cities by population category");
+
+            Session session = sessionFactory.getCurrentSession();
+            // Cached native results need declared column types
+            @SuppressWarnings("unchecked")
+            List<Object[]> rows = cached(session.createNativeQuery(AGGREGATE_BY_CATEGORY_QUERY)
+                    .addScalar("category", StandardBasicTypes.STRING)
+                    .addScalar("city_count", StandardBasicTypes.LONG)
+                    .addScalar("total_population", StandardBasicTypes.LONG)
+                    .addScalar("id", StandardBasicTypes.INTEGER)
+                    .addScalar("name", StandardBasicTypes.STRING)
+                    .addScalar("district", StandardBasicTypes.STRING)
+                    .addScalar("population", StandardBasicTypes.INTEGER)
+                    .addSynchronizedEntityClass(City.class))
+                .setParameter("examples", examplesPerCategory)
+                .list();
+
+            CategoryStatsCollector collector = new CategoryStatsCollector();
+            for (Object[] row : rows) {
+                collector.add((String) row[0], ((Number) row[1]).longValue(), ((Number) row[2]).longValue(),
+                    new CityDTO.Builder()
+                        .withId(((Number) row[3]).intValue())
+                        .withName((String) row[4])
+                        .withDistrict((String) row[5])
+                        .withPopulation(((Number) row[6]).intValue())
+                        .build());
+            }
+
+            List<CategoryStatsDTO> results = collector.build();
+            System.out.println("Aggregated " + rows.size() + " example rows into " + results.size() + " categories");
+            return results;
+
+        } catch (Exception e) {
+            System.err.println("Failed to aggregate cities by population category: " + e.getMessage());
+            return Collections.emptyList();
+        }
+    }
+
+    @Override
+    public int upsertAll(List<City> cities) {
+        try {
+            Session session = sessionFactory.getCurrentSession();
+            Set<Integer> existingIds = findExistingIds(session, cities);
+            int inserted = 0;
+            for (int i = 0; i < cities.size(); i++) {
+                City city = cities.get(i);
+                if (city.getId() != null && existingIds.contains(city.getId())) {
+                    // Reattaches without a SELECT; the UPDATE is queued in the JDBC batch
+                    session.update(city);
+                } else {
+                    city.setId(null);
+                    session.persist(city);
+                    inserted++;
+                }
+                if ((i + 1) % Constants.DEFAULT_BATCH_SIZE == 0) {
+                    session.flush();
+                    session.clear();
+                }
+            }
+            session.flush();
+            session.clear();
+            return inserted;
+
+        } catch (Exception e) {
+            System.err.println("Failed to upsert " + cities.size() + " cities: " + e.getMessage());
+            throw e;
+        }
+    }
+
+    private static Set<Integer> findExistingIds(Session session, List<City> cities) {
+        List<Integer> ids = cities.stream()
+            .map(City::getId)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList());
+        if (ids.isEmpty()) {
+            return Collections.emptySet();
+        }
+        return new HashSet<>(session.createQuery(FIND_EXISTING_IDS_QUERY, Integer.class)
+            .setParameterList("ids", ids)
+            .list());
+    }
+
+    /**
+     * Marks a read query as cacheable in the city query region.
+     * Results are dropped automatically when the city table changes; sessions using CacheMode.IGNORE bypass it.
+     */
+    private static <Q extends Query<?>> Q cached(Q query) {
+        query.setCacheable(true);
+        query.setCacheRegion(QUERY_CACHE_REGION);
+        return query;
+    }
+
+    private static List<CityDTO> toDTOs(List<Object[]> rows) {
+        return rows.stream()
+            .map(CityDAO::toDTO)
+            .collect(Collectors.toList());
+    }
+
+    private static CityDTO toDTO(Object[] row) {
+        return new CityDTO.Builder()
+            .withId((Integer) row[0])
+            .withName((String) row[1])
+            .withDistrict((String) row[2])
+            .withPopulation((Integer) row[3])
+            .build();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,54 @@
+package com.codegym.dao;
+
+import com.codegym.dto.CityDTO;
+import com.codegym.util.Constants;
+import com.codegym.util.TransactionUtil;
+import org.hibernate.CacheMode;
+import org.hibernate.SessionFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads the whole city dataset as DTOs.
+ * Uses keyset pagination in short transactions, so no single query or transaction spans the whole table.
+ * Reads go to the primary, since every caller keeps the result as a cache of the table.
+ * The repositories answer a failed query with an empty list, which would look like the end of the table, so the
+ * result is checked against a count taken first: cities are never deleted, so a complete read has at least as many.
+ */
+public final class CityDataset {
+    private CityDataset() {
+        throw new AssertionError("Utility class should not be instantiated");
+    }
+
+    /**
+     * Loads every city ordered by id.
+     * @param cityRepository Repository to read from
+     * @param sessionFactory Hibernate SessionFactory for the batch transactions
+     * @return All cities as DTOs, including their ids
+     * @throws IllegalStateException if fewer cities were read than counted, or none at all
+     */
+    public static List<CityDTO> loadAll(ICityRepository cityRepository, SessionFactory sessionFactory) {
+        int expected = TransactionUtil.executeInPrimaryReadTransaction(sessionFactory, session ->
+            cityRepository.countAll());
+        List<CityDTO> cities = new ArrayList<>();
+        int lastId = 0;
+        while (true) {
+            int afterId = lastId;
+            List<CityDTO> batch = TransactionUtil.executeInPrimaryReadTransaction(sessionFactory, session -> {
+                // A full scan would only evict the hot pages from the query cache
+                session.setCacheMode(CacheMode.IGNORE);
+                return cityRepository.findPageAfterDTO(afterId, Constants.DEFAULT_BATCH_SIZE);
+            });
+            cities.addAll(batch);
+            if (batch.size() < Constants.DEFAULT_BATCH_SIZE) {
+                break;
+            }
+            lastId = batch.get(batch.size() - 1).getId();
+        }
+        if (cities.isEmpty() || cities.size() < expected) {
+            throw new IllegalStateException("Read " + cities.size() + " of " + expected + " cities");
+        }
+        return cities;
+    }
+}
@@ -4,7 +4,9 @@ import com.codegym.domain.Country;
 import org.hibernate.SessionFactory;
 import org.hibernate.query.Query;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public class CountryDAO {
     private final SessionFactory sessionFactory;
@@ -17,4 +19,18 @@ public class CountryDAO {
         Query<Country> query = sessionFactory.getCurrentSession().createQuery("select c from Country c", Country.class);
         return query.list();
     }
-}
\ No newline at end of file
+
+    /**
+     * Maps every country's three-letter code to its id, without loading the country entities.
+     * @return Country ids keyed by code
+     */
+    public Map<String, Integer> findIdsByCode() {
+        Query<Object[]> query = sessionFactory.getCurrentSession()
+            .createQuery("select c.code, c.id from Country c", Object[].class);
+        Map<String, Integer> idsByCode = new HashMap<>();
+        for (Object[] row : query.list()) {
+            idsByCode.put((String) row[0], (Integer) row[1]);
+        }
+        return idsByCode;
+    }
+}
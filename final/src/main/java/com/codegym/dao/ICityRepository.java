@@ -1,6 +1,8 @@
 package com.codegym.dao;
 
 import com.codegym.domain.City;
+import com.codegym.dto.CategoryStatsDTO;
+import com.codegym.dto.CityDTO;
 import java.util.List;
 
 /**
@@ -16,6 +18,15 @@ public interface ICityRepository {
      */
     List<City> findAllPaginated(int offset, int limit);
 
+    /**
+     * Retrieves the next page of cities using keyset (seek) pagination.
+     * Cities are ordered by id, so the cost of a page does not depend on how deep it is.
+     * @param lastId Id of the last city of the previous page (0 for the first page)
+     * @param limit Maximum number of results
+     * @return List of cities with id greater than lastId, ordered by id
+     */
+    List<City> findPageAfter(int lastId, int limit);
+
     /**
      * Counts total number of cities in the database.
      * @return Total number of cities
@@ -26,7 +37,51 @@ public interface ICityRepository {
      * Finds cities within a specified population range.
      * @param minPopulation Minimum population (inclusive)
      * @param maxPopulation Maximum population (inclusive)
-     * @return List of cities within the population range
+     * @return List of cities within the population range, largest first, ties ordered by id
      */
     List<City> findByPopulationRange(int minPopulation, int maxPopulation);
+
+    /**
+     * Projection variant of {@link #findAllPaginated(int, int)}.
+     * Selects only the columns needed by CityDTO, so no entities, countries or languages are loaded.
+     * @param offset Starting position
+     * @param limit Maximum number of results
+     * @return List of city DTOs ordered by id
+     */
+    List<CityDTO> findAllPaginatedDTO(int offset, int limit);
+
+    /**
+     * Projection variant of {@link #findPageAfter(int, int)}.
+     * @param lastId Id of the last city of the previous page (0 for the first page)
+     * @param limit Maximum number of results
+     * @return List of city DTOs with id greater than lastId, ordered by id
+     */
+    List<CityDTO> findPageAfterDTO(int lastId, int limit);
+
+    /**
+     * Projection variant of {@link #findByPopulationRange(int, int)}.
+     * @param minPopulation Minimum population (inclusive)
+     * @param maxPopulation Maximum population (inclusive)
+     * @return List of city DTOs within the population range, largest first, ties ordered by id
+     */
+    List<CityDTO> findByPopulationRangeDTO(int minPopulation, int maxPopulation);
+
+    /**
+     * Aggregates the whole city table by {@link com.codegym.dto.PopulationCategory} in the database.
+     * Only the aggregates and the largest cities of each category are returned, so memory use
+     * does not depend on the number of cities.
+     * @param examplesPerCategory Number of largest cities returned per category
+     * @return One entry per category, smallest category first; categories without cities have zero counts
+     */
+    List<CategoryStatsDTO> aggregateByPopulationCategory(int examplesPerCategory);
+
+    /**
+     * Inserts or updates a chunk of cities in the current session.
+     * Cities whose id already exists are updated; all others are inserted with a newly generated id.
+     * Statements are sent in JDBC batches and the session is cleared after each batch, so memory use
+     * does not grow with the chunk size.
+     * @param cities Cities to write; each must reference a country, and no two may carry the same id
+     * @return Number of cities inserted (the rest were updated)
+     */
+    int upsertAll(List<City> cities);
 }
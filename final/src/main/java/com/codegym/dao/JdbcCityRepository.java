@@ -0,0 +1,365 @@
+package com.codegym.dao;
+
+import com.codegym.domain.City;
+import com.codegym.domain.Country;
+import com.codegym.dto.CategoryStatsDTO;
+import com.codegym.dto.CityDTO;
+import com.codegym.util.Constants;
+import com.codegym.util.ValidationUtil;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Plain-JDBC implementation of ICityRepository for the read-heavy paths.
+ * <p>
+ * Statements run on the connection of the current Hibernate session, so they take part in the transactions started
+ * by TransactionUtil, including read-replica routing and SQL profiling, but no entities are loaded, tracked or
+ * dirty-checked: rows are mapped straight into CityDTO builders. SQL texts are constant, so the driver's server-side
+ * prepared statement cache reuses them. Queries without a row limit are read forward-only with the configured fetch
+ * size, which on MySQL ({@link Constants#MYSQL_STREAMING_FETCH_SIZE}) streams rows instead of buffering the result.
+ * Results and ordering match {@link CityDAO}.
+ */
+public class JdbcCityRepository implements ICityRepository {
+    private static final String CITY_COLUMNS = "SELECT id, name, country_id, district, population FROM world.city";
+    private static final String DTO_COLUMNS = "SELECT id, name, district, population FROM world.city";
+    private static final String PAGE = " ORDER BY id LIMIT ? OFFSET ?";
+    private static final String AFTER = " WHERE id > ? ORDER BY id LIMIT ?";
+    private static final String POPULATION_RANGE = " WHERE population BETWEEN ? AND ? ORDER BY population DESC, id";
+    private static final String COUNT_ALL_QUERY = "SELECT COUNT(*) FROM world.city";
+    private static final String AGGREGATE_BY_CATEGORY_QUERY =
+        CityDAO.AGGREGATE_BY_CATEGORY_QUERY.replace(":examples", "?");
+    private static final String INSERT_CITY =
+        "INSERT INTO world.city (id, name, country_id, district, population) VALUES (?, ?, ?, ?, ?)";
+    private static final String UPDATE_CITY =
+        "UPDATE world.city SET name = ?, country_id = ?, district = ?, population = ? WHERE id = ?";
+    // Always the same number of placeholders, so one cached statement serves every lookup
+    private static final String FIND_EXISTING_IDS_QUERY = "SELECT id FROM world.city WHERE id IN ("
+        + String.join(", ", Collections.nCopies(Constants.DEFAULT_BATCH_SIZE, "?")) + ")";
+
+    private final SessionFactory sessionFactory;
+    private final int fetchSize;
+
+    /**
+     * Constructs a new JdbcCityRepository.
+     * @param sessionFactory Hibernate SessionFactory whose current session provides the connection
+     * @param fetchSize Fetch size for unbounded queries; Integer.MIN_VALUE streams rows on MySQL
+     * @throws IllegalArgumentException if sessionFactory is null
+     */
+    public JdbcCityRepository(SessionFactory sessionFactory, int fetchSize) {
+        this.sessionFactory = Optional.ofNullable(sessionFactory)
+            .orElseThrow(() -> new IllegalArgumentException("SessionFactory cannot be null"));
+        this.fetchSize = fetchSize;
+    }
+
+    @Override
+    public List<City> findAllPaginated(int offset, int limit) {
+        try {
+            ValidationUtil.validatePagination(offset, limit);
+            Session session = sessionFactory.getCurrentSession();
+            return session.doReturningWork(connection -> {
+                try (PreparedStatement statement = connection.prepareStatement(CITY_COLUMNS + PAGE)) {
+                    statement.setInt(1, limit);
+                    statement.setInt(2, offset);
+                    return readCities(session, statement);
+                }
+            });
+        } catch (Exception e) {
+            System.err.println("Failed to fetch paginated cities: " + e.getMessage());
+            return Collections.emptyList();
+        }
+    }
+
+    @Override
+    public List<City> findPageAfter(int lastId, int limit) {
+        try {
+            ValidationUtil.validateKeysetPagination(lastId, limit);
+            Session session = sessionFactory.getCurrentSession();
+            return session.doReturningWork(connection -> {
+                try (PreparedStatement statement = connection.prepareStatement(CITY_COLUMNS + AFTER)) {
+                    statement.setInt(1, lastId);
+                    statement.setInt(2, limit);
+                    return readCities(session, statement);
+                }
+            });
+        } catch (Exception e) {
+            System.err.println("Failed to fetch cities after id " + lastId + ": " + e.getMessage());
+            return Collections.emptyList();
+        }
+    }
+
+    @Override
+    public int countAll() {
+        try {
+            return sessionFactory.getCurrentSession().doReturningWork(connection -> {
+                try (PreparedStatement statement = connection.prepareStatement(COUNT_ALL_QUERY);
+                     ResultSet resultSet = statement.executeQuery()) {
+                    resultSet.next();
+                    return Math.toIntExact(resultSet.getLong(1));
+                }
+            });
+        } catch (Exception e) {
+            System.err.println("Failed to count cities: " + e.getMessage());
+            return 0;
+        }
+    }
+
+    @Override
+    public List<City> findByPopulationRange(int minPopulation, int maxPopulation) {
+        try {
+            ValidationUtil.validatePopulationRange(minPopulation, maxPopulation);
+            Session session = sessionFactory.getCurrentSession();
+            return session.doReturningWork(connection -> {
+                try (PreparedStatement statement = prepareStreaming(connection, CITY_COLUMNS + POPULATION_RANGE)) {
+                    statement.setInt(1, minPopulation);
+                    statement.setInt(2, maxPopulation);
+                    return readCities(session, statement);
+                }
+            });
+        } catch (Exception e) {
+            System.err.println("Failed to find cities by population range: " + e.getMessage());
+            return Collections.emptyList();
+        }
+    }
+
+    @Override
+    public List<CityDTO> findAllPaginatedDTO(int offset, int limit) {
+        try {
+            ValidationUtil.validatePagination(offset, limit);
+            return sessionFactory.getCurrentSession().doReturningWork(connection -> {
+                try (PreparedStatement statement = connection.prepareStatement(DTO_COLUMNS + PAGE)) {
+                    statement.setInt(1, limit);
+                    statement.setInt(2, offset);
+                    return readDTOs(statement);
+                }
+            });
+        } catch (Exception e) {
+            System.err.println("Failed to fetch paginated city projections: " + e.getMessage());
+            return Collections.emptyList();
+        }
+    }
+
+    @Override
+    public List<CityDTO> findPageAfterDTO(int lastId, int limit) {
+        try {
+            ValidationUtil.validateKeysetPagination(lastId, limit);
+            return sessionFactory.getCurrentSession().doReturningWork(connection -> {
+                try (PreparedStatement statement = connection.prepareStatement(DTO_COLUMNS + AFTER)) {
+                    statement.setInt(1, lastId);
+                    statement.setInt(2, limit);
+                    return readDTOs(statement);
+                }
+            });
+        } catch (Exception e) {
+            System.err.println("Failed to fetch city projections after id " + lastId + ": " + e.getMessage());
+            return Collections.emptyList();
+        }
+    }
+
+    @Override
+    public List<CityDTO> findByPopulationRangeDTO(int minPopulation, int maxPopulation) {
+        try {
+            ValidationUtil.validatePopulationRange(minPopulation, maxPopulation);
+            return sessionFactory.getCurrentSession().doReturningWork(connection -> {
+                try (PreparedStatement statement = prepareStreaming(connection, DTO_COLUMNS + POPULATION_RANGE)) {
+                    statement.setInt(1, minPopulation);
+                    statement.setInt(2, maxPopulation);
+                    return readDTOs(statement);
+                }
+            });
+        } catch (Exception e) {
+            System.err.println("Failed to find city projections by population range: " + e.getMessage());
+            return Collections.emptyList();
+        }
+    }
+
+    @Override
+    public List<CategoryStatsDTO> aggregateByPopulationCategory(int examplesPerCategory) {
+        try {
+            if (examplesPerCategory <= 0) {
+                throw new IllegalArgumentException("Examples per category must be positive");
+            }
+            return sessionFactory.getCurrentSession().doReturningWork(connection -> {
+                try (PreparedStatement statement = prepareStreaming(connection, AGGREGATE_BY_CATEGORY_QUERY)) {
+                    statement.setInt(1, examplesPerCategory);
+                    CategoryStatsCollector collector = new CategoryStatsCollector();
+                    try (ResultSet resultSet = statement.executeQuery()) {
+                        while (resultSet.next()) {
+                            collector.add(resultSet.getString(1), resultSet.getLong(2), resultSet.getLong(3),
+                                new CityDTO.Builder()
+                                    .withId(resultSet.getInt(4))
+                                    .withName(resultSet.getString(5))
+                                    .withDistrict(resultSet.getString(6))
+                                    .withPopulation(resultSet.getInt(7))
+                                    .build());
+                        }
+                    }
+                    return collector.build();
+                }
+            });
+        } catch (Exception e) {
+            System.err.println("Failed to aggregate cities by population category: " + e.getMessage());
+            return Collections.emptyList();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * New ids come from City's pooled-lo table generator, so they never collide with ids handed out by
+     * {@link CityDAO}. Hibernate does not see these statements, so the cached City entities and city queries
+     * are evicted once the transaction ends.
+     */
+    @Override
+    public int upsertAll(List<City> cities) {
+        try {
+            Session session = sessionFactory.getCurrentSession();
+            IdentifierGenerator idGenerator = ((SessionFactoryImplementor) sessionFactory).getMetamodel()
+                .entityPersister(City.class).getIdentifierGenerator();
+            int inserted = session.doReturningWork(connection -> {
+                Set<Integer> existingIds = findExistingIds(connection, cities);
+                try (PreparedStatement insert = connection.prepareStatement(INSERT_CITY);
+                     PreparedStatement update = connection.prepareStatement(UPDATE_CITY)) {
+                    int inserts = 0;
+                    int pendingInserts = 0;
+                    int pendingUpdates = 0;
+                    for (City city : cities) {
+                        Object countryId = sessionFactory.getPersistenceUnitUtil().getIdentifier(city.getCountry());
+                        if (city.getId() != null && existingIds.contains(city.getId())) {
+                            update.setString(1, city.getName());
+                            update.setObject(2, countryId, Types.INTEGER);
+                            update.setString(3, city.getDistrict());
+                            update.setObject(4, city.getPopulation(), Types.INTEGER);
+                            update.setInt(5, city.getId());
+                            update.addBatch();
+                            if (++pendingUpdates == Constants.DEFAULT_BATCH_SIZE) {
+                                update.executeBatch();
+                                pendingUpdates = 0;
+                            }
+                        } else {
+                            city.setId((Integer) idGenerator.generate((SharedSessionContractImplementor) session, city));
+                            insert.setInt(1, city.getId());
+                            insert.setString(2, city.getName());
+                            insert.setObject(3, countryId, Types.INTEGER);
+                            insert.setString(4, city.getDistrict());
+                            insert.setObject(5, city.getPopulation(), Types.INTEGER);
+                            insert.addBatch();
+                            inserts++;
+                            if (++pendingInserts == Constants.DEFAULT_BATCH_SIZE) {
+                                insert.executeBatch();
+                                pendingInserts = 0;
+                            }
+                        }
+                    }
+                    if (pendingInserts > 0) {
+                        insert.executeBatch();
+                    }
+                    if (pendingUpdates > 0) {
+                        update.executeBatch();
+                    }
+                    return inserts;
+                }
+            });
+            session.getTransaction().registerSynchronization(new CacheEviction());
+            return inserted;
+
+        } catch (Exception e) {
+            System.err.println("Failed to upsert " + cities.size() + " cities: " + e.getMessage());
+            throw e;
+        }
+    }
+
+    private static Set<Integer> findExistingIds(Connection connection, List<City> cities) throws SQLException {
+        List<Integer> ids = new ArrayList<>(cities.size());
+        for (City city : cities) {
+            if (city.getId() != null) {
+                ids.add(city.getId());
+            }
+        }
+        Set<Integer> existingIds = new HashSet<>();
+        try (PreparedStatement statement = connection.prepareStatement(FIND_EXISTING_IDS_QUERY)) {
+            for (int start = 0; start < ids.size(); start += Constants.DEFAULT_BATCH_SIZE) {
+                for (int i = 0; i < Constants.DEFAULT_BATCH_SIZE; i++) {
+                    // Unused placeholders repeat the last id of the slice
+                    statement.setInt(i + 1, ids.get(Math.min(start + i, ids.size() - 1)));
+                }
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        existingIds.add(resultSet.getInt(1));
+                    }
+                }
+            }
+        }
+        return existingIds;
+    }
+
+    private PreparedStatement prepareStreaming(Connection connection, String sql) throws SQLException {
+        PreparedStatement statement = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY,
+            ResultSet.CONCUR_READ_ONLY);
+        statement.setFetchSize(fetchSize);
+        return statement;
+    }
+
+    /**
+     * Maps rows to City objects; the country is attached as an uninitialized reference, so no country rows are read.
+     */
+    private static List<City> readCities(Session session, PreparedStatement statement) throws SQLException {
+        List<City> cities = new ArrayList<>();
+        try (ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                City city = new City();
+                city.setId(resultSet.getInt(1));
+                city.setName(resultSet.getString(2));
+                city.setCountry(session.load(Country.class, resultSet.getInt(3)));
+                city.setDistrict(resultSet.getString(4));
+                city.setPopulation(resultSet.getObject(5, Integer.class));
+                cities.add(city);
+            }
+        }
+        return cities;
+    }
+
+    private static List<CityDTO> readDTOs(PreparedStatement statement) throws SQLException {
+        List<CityDTO> cities = new ArrayList<>();
+        try (ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                cities.add(new CityDTO.Builder()
+                    .withId(resultSet.getInt(1))
+                    .withName(resultSet.getString(2))
+                    .withDistrict(resultSet.getString(3))
+                    .withPopulation(resultSet.getObject(4, Integer.class))
+                    .build());
+            }
+        }
+        return cities;
+    }
+
+    private class CacheEviction implements Synchronization {
+        @Override
+        public void beforeCompletion() {
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            if (status == Status.STATUS_COMMITTED) {
+                sessionFactory.getCache().evictEntityData(City.class);
+                sessionFactory.getCache().evictQueryRegion(CityDAO.QUERY_CACHE_REGION);
+            }
+        }
+    }
+}
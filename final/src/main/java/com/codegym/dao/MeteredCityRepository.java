@@ -0,0 +1,133 @@
+package com.codegym.dao;
+
+import com.codegym.domain.City;
+import com.codegym.dto.CategoryStatsDTO;
+import com.codegym.dto.CityDTO;
+import com.codegym.metrics.LatencyHistogram;
+import com.codegym.metrics.MetricsRegistry;
+
+import java.util.List;
+
+/**
+ * ICityRepository decorator that records the latency of every query.
+ */
+public class MeteredCityRepository implements ICityRepository {
+    private final ICityRepository delegate;
+    private final LatencyHistogram findAllPaginated;
+    private final LatencyHistogram findPageAfter;
+    private final LatencyHistogram countAll;
+    private final LatencyHistogram findByPopulationRange;
+    private final LatencyHistogram findAllPaginatedDTO;
+    private final LatencyHistogram findPageAfterDTO;
+    private final LatencyHistogram findByPopulationRangeDTO;
+    private final LatencyHistogram aggregateByPopulationCategory;
+    private final LatencyHistogram upsertAll;
+
+    public MeteredCityRepository(ICityRepository delegate, MetricsRegistry metrics) {
+        this.delegate = delegate;
+        this.findAllPaginated = timer(metrics, "find_all_paginated", "findAllPaginated");
+        this.findPageAfter = timer(metrics, "find_page_after", "findPageAfter");
+        this.countAll = timer(metrics, "count_all", "countAll");
+        this.findByPopulationRange = timer(metrics, "find_by_population_range", "findByPopulationRange");
+        this.findAllPaginatedDTO = timer(metrics, "find_all_paginated_dto", "findAllPaginatedDTO");
+        this.findPageAfterDTO = timer(metrics, "find_page_after_dto", "findPageAfterDTO");
+        this.findByPopulationRangeDTO = timer(metrics, "find_by_population_range_dto", "findByPopulationRangeDTO");
+        this.aggregateByPopulationCategory = timer(metrics, "aggregate_by_population_category",
+            "aggregateByPopulationCategory");
+        this.upsertAll = timer(metrics, "upsert_all", "upsertAll");
+    }
+
+    private static LatencyHistogram timer(MetricsRegistry metrics, String name, String method) {
+        return metrics.timer("city_repository_" + name + "_seconds", "Latency of ICityRepository." + method);
+    }
+
+    @Override
+    public List<City> findAllPaginated(int offset, int limit) {
+        long start = System.nanoTime();
+        try {
+            return delegate.findAllPaginated(offset, limit);
+        } finally {
+            findAllPaginated.record(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public List<City> findPageAfter(int lastId, int limit) {
+        long start = System.nanoTime();
+        try {
+            return delegate.findPageAfter(lastId, limit);
+        } finally {
+            findPageAfter.record(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public int countAll() {
+        long start = System.nanoTime();
+        try {
+            return delegate.countAll();
+        } finally {
+            countAll.record(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public List<City> findByPopulationRange(int minPopulation, int maxPopulation) {
+        long start = System.nanoTime();
+        try {
+            return delegate.findByPopulationRange(minPopulation, maxPopulation);
+        } finally {
+            findByPopulationRange.record(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public List<CityDTO> findAllPaginatedDTO(int offset, int limit) {
+        long start = System.nanoTime();
+        try {
+            return delegate.findAllPaginatedDTO(offset, limit);
+        } finally {
+            findAllPaginatedDTO.record(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public List<CityDTO> findPageAfterDTO(int lastId, int limit) {
+        long start = System.nanoTime();
+        try {
+            return delegate.findPageAfterDTO(lastId, limit);
+        } finally {
+            findPageAfterDTO.record(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public List<CityDTO> findByPopulationRangeDTO(int minPopulation, int maxPopulation) {
+        long start = System.nanoTime();
+        try {
+            return delegate.findByPopulationRangeDTO(minPopulation, maxPopulation);
+        } finally {
+            findByPopulationRangeDTO.record(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public List<CategoryStatsDTO> aggregateByPopulationCategory(int examplesPerCategory) {
+        long start = System.nanoTime();
+        try {
+            return delegate.aggregateByPopulationCategory(examplesPerCategory);
+        } finally {
+            aggregateByPopulationCategory.record(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public int upsertAll(List<City> cities) {
+        long start = System.nanoTime();
+        try {
+            return delegate.upsertAll(cities);
+        } finally {
+            upsertAll.record(System.nanoTime() - start);
+        }
+    }
+}
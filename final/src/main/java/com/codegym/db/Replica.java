@@ -0,0 +1,133 @@
+package com.codegym.db;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.SQLSyntaxErrorException;
+import java.sql.Statement;
+
+/**
+ * One read replica: its connection pool and the result of the latest lag check.
+ * A replica starts unhealthy and only receives reads once a check has seen it within the lag limit.
+ */
+public class Replica {
+    // MySQL 8.0.22 renamed the replication status command and its lag column; MariaDB kept the old column
+    private static final String REPLICA_STATUS = "SHOW REPLICA STATUS";
+    private static final String LEGACY_REPLICA_STATUS = "SHOW SLAVE STATUS";
+    private static final String LAG_COLUMN = "Seconds_Behind_Source";
+    private static final String LEGACY_LAG_COLUMN = "Seconds_Behind_Master";
+
+    private final String name;
+    private final HikariDataSource dataSource;
+    private volatile boolean healthy;
+    private volatile long lagSeconds = -1;
+    private volatile boolean legacyStatus;
+    private volatile boolean warnedNotReplicating;
+    private boolean checked;
+
+    public Replica(String name, HikariDataSource dataSource) {
+        this.name = name;
+        this.dataSource = dataSource;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public HikariDataSource getDataSource() {
+        return dataSource;
+    }
+
+    public boolean isHealthy() {
+        return healthy;
+    }
+
+    /**
+     * @return Replication lag seen by the latest check in seconds, or -1 if it could not be measured
+     */
+    public long getLagSeconds() {
+        return lagSeconds;
+    }
+
+    public int getActiveConnections() {
+        HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+        return pool == null ? 0 : pool.getActiveConnections();
+    }
+
+    /**
+     * Takes the replica out of rotation until the next successful lag check, e.g. after a connection failure.
+     */
+    public void markDown() {
+        healthy = false;
+    }
+
+    /**
+     * Measures the replication lag and updates the health flag.
+     * A server that reports no replication status at all is not a replica of anything; it is accepted with
+     * zero lag so a second standalone instance can be used for local testing. A replica whose SQL or IO thread
+     * stopped reports no lag and is taken out of rotation. Only changes of health are logged.
+     * @param maxLagSeconds Largest lag at which the replica still receives reads
+     */
+    public void checkLag(long maxLagSeconds) {
+        boolean wasHealthy = healthy;
+        String reason;
+        try (Connection connection = dataSource.getConnection()) {
+            Long lag = readLag(connection);
+            connection.commit();
+            lagSeconds = lag == null ? -1 : lag;
+            healthy = lag != null && lag <= maxLagSeconds;
+            reason = lag == null ? "replication is stopped"
+                : healthy ? "lag " + lag + " s" : "lag exceeds " + maxLagSeconds + " s";
+        } catch (SQLException e) {
+            lagSeconds = -1;
+            healthy = false;
+            reason = "lag check failed: " + e.getMessage();
+        }
+        if (healthy && !wasHealthy) {
+            System.out.println("Replica " + name + " is serving reads, " + reason);
+        } else if (!healthy && (wasHealthy || !checked)) {
+            System.err.println("Replica " + name + " removed from reads, " + reason);
+        }
+        checked = true;
+    }
+
+    private Long readLag(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet status = statement.executeQuery(legacyStatus ? LEGACY_REPLICA_STATUS : REPLICA_STATUS)) {
+            if (!status.next()) {
+                if (!warnedNotReplicating) {
+                    warnedNotReplicating = true;
+                    System.out.println("Replica " + name + " reports no replication status, treating it as current");
+                }
+                return 0L;
+            }
+            long lag = status.getLong(lagColumn(status.getMetaData()));
+            return status.wasNull() ? null : lag;
+        } catch (SQLSyntaxErrorException e) {
+            if (legacyStatus) {
+                throw e;
+            }
+            // Servers before 8.0.22 only understand the old command
+            legacyStatus = true;
+            return readLag(connection);
+        }
+    }
+
+    private static String lagColumn(ResultSetMetaData columns) throws SQLException {
+        for (int i = 1; i <= columns.getColumnCount(); i++) {
+            if (LAG_COLUMN.equalsIgnoreCase(columns.getColumnLabel(i))) {
+                return LAG_COLUMN;
+            }
+        }
+        return LEGACY_LAG_COLUMN;
+    }
+
+    @Override
+    public String toString() {
+        return name + (healthy ? " (lag " + lagSeconds + " s)" : " (down)");
+    }
+}
@@ -0,0 +1,26 @@
+package com.codegym.db;
+
+/**
+ * How a read-only transaction picks one of the healthy read replicas.
+ */
+public enum ReplicaSelection {
+    /** Each replica in turn */
+    ROUND_ROBIN,
+    /** The replica whose pool has the fewest connections in use */
+    LEAST_LOADED;
+
+    /**
+     * Find a strategy by name, ignoring case; dashes are accepted in place of underscores.
+     *
+     * @param value The name to look up, e.g. "round_robin" or "least-loaded"
+     * @return The corresponding ReplicaSelection or null if not found
+     */
+    public static ReplicaSelection fromName(String value) {
+        for (ReplicaSelection selection : values()) {
+            if (selection.name().equalsIgnoreCase(value.replace('-', '_'))) {
+                return selection;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,213 @@
+package com.codegym.db;
+
+import com.codegym.util.TransactionUtil;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+
+/**
+ * DataSource that sends read-only transactions to read replicas and everything else to the primary.
+ * <p>
+ * A connection is taken from a replica only while {@link TransactionUtil#isReadOnlyTransaction()} is set, i.e.
+ * inside {@link TransactionUtil#executeInReadOnlyTransaction}. A background check measures each replica's
+ * replication lag; replicas that lag more than the limit, stopped replicating or cannot be reached get no reads.
+ * When no replica is healthy, or the chosen one fails to hand out a connection, the read falls back to the primary.
+ */
+public class RoutingDataSource implements DataSource, AutoCloseable {
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final ReplicaSelection selection;
+    private final long maxLagSeconds;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private final LongAdder replicaReads = new LongAdder();
+    private final LongAdder primaryFallbacks = new LongAdder();
+    private ScheduledExecutorService lagChecker;
+
+    /**
+     * Creates the routing DataSource; call {@link #start(Duration)} to begin the lag checks.
+     * @param primary DataSource of the primary, used for all writes
+     * @param replicas Read replicas, each with its own pool
+     * @param selection How a read picks among healthy replicas
+     * @param maxLagSeconds Largest replication lag at which a replica still receives reads
+     */
+    public RoutingDataSource(DataSource primary, List<Replica> replicas, ReplicaSelection selection,
+                             long maxLagSeconds) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.selection = selection;
+        this.maxLagSeconds = maxLagSeconds;
+    }
+
+    /**
+     * Checks every replica once, so healthy replicas take reads right away, then keeps checking in the background.
+     * @param checkInterval Time between lag checks
+     */
+    public synchronized void start(Duration checkInterval) {
+        if (lagChecker != null) {
+            return;
+        }
+        checkReplicas();
+        lagChecker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-lag-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = checkInterval.toMillis();
+        lagChecker.scheduleWithFixedDelay(this::checkReplicas, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void checkReplicas() {
+        for (Replica replica : replicas) {
+            replica.checkLag(maxLagSeconds);
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!TransactionUtil.isReadOnlyTransaction()) {
+            return primary.getConnection();
+        }
+        for (Replica replica : candidates()) {
+            try {
+                Connection connection = replica.getDataSource().getConnection();
+                replicaReads.increment();
+                return connection;
+            } catch (SQLException e) {
+                replica.markDown();
+                System.err.println("Replica " + replica.getName() + " unavailable, trying the next: " + e.getMessage());
+            }
+        }
+        primaryFallbacks.increment();
+        return primary.getConnection();
+    }
+
+    /**
+     * Orders the healthy replicas by preference: the selected one first, the others as fallbacks.
+     */
+    private List<Replica> candidates() {
+        List<Replica> healthy = new ArrayList<>(replicas.size());
+        for (Replica replica : replicas) {
+            if (replica.isHealthy()) {
+                healthy.add(replica);
+            }
+        }
+        if (healthy.size() < 2) {
+            return healthy;
+        }
+        int first = 0;
+        if (selection == ReplicaSelection.LEAST_LOADED) {
+            for (int i = 1; i < healthy.size(); i++) {
+                if (healthy.get(i).getActiveConnections() < healthy.get(first).getActiveConnections()) {
+                    first = i;
+                }
+            }
+        } else {
+            first = Math.floorMod(nextReplica.getAndIncrement(), healthy.size());
+        }
+        List<Replica> ordered = new ArrayList<>(healthy.size());
+        for (int i = 0; i < healthy.size(); i++) {
+            ordered.add(healthy.get((first + i) % healthy.size()));
+        }
+        return ordered;
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Connections use the credentials of each pool");
+    }
+
+    public List<Replica> getReplicas() {
+        return replicas;
+    }
+
+    public int getHealthyReplicaCount() {
+        int healthy = 0;
+        for (Replica replica : replicas) {
+            if (replica.isHealthy()) {
+                healthy++;
+            }
+        }
+        return healthy;
+    }
+
+    /**
+     * @return Read-only transactions that got a replica connection
+     */
+    public long getReplicaReads() {
+        return replicaReads.sum();
+    }
+
+    /**
+     * @return Read-only transactions that ran on the primary because no replica was available
+     */
+    public long getPrimaryFallbacks() {
+        return primaryFallbacks.sum();
+    }
+
+    @Override
+    public PrintWriter getLogWriter() throws SQLException {
+        return primary.getLogWriter();
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) throws SQLException {
+        primary.setLogWriter(out);
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) throws SQLException {
+        primary.setLoginTimeout(seconds);
+    }
+
+    @Override
+    public int getLoginTimeout() throws SQLException {
+        return primary.getLoginTimeout();
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        return primary.getParentLogger();
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> type) throws SQLException {
+        return type.isInstance(this) ? type.cast(this) : primary.unwrap(type);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> type) throws SQLException {
+        return type.isInstance(this) || primary.isWrapperFor(type);
+    }
+
+    /**
+     * Stops the lag checks and closes the replica pools; the primary is owned by the caller.
+     */
+    @Override
+    public synchronized void close() {
+        if (lagChecker != null) {
+            lagChecker.shutdownNow();
+            lagChecker = null;
+        }
+        for (Replica replica : replicas) {
+            replica.getDataSource().close();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Replicas%s[%s, reads=%d, primary fallbacks=%d]", replicas, selection,
+            getReplicaReads(), getPrimaryFallbacks());
+    }
+}
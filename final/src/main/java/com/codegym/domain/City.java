@@ -1,12 +1,22 @@
 package com.codegym.domain;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @Table(schema = "world", name = "city")
+// Not READ_ONLY: the bulk import updates existing cities, which a read-only region rejects
+@Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE, region = City.CACHE_REGION)
 public class City {
+    public static final String CACHE_REGION = "world.city";
+
+    // Table-backed ids are allocated in blocks (pooled-lo), so inserts can be batched; IDENTITY disables batching
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "city_id")
+    @TableGenerator(name = "city_id", schema = "world", table = "id_sequence",
+        pkColumnName = "sequence_name", valueColumnName = "next_val", pkColumnValue = "city",
+        allocationSize = 500)
     private Integer id;
 
     private String name;
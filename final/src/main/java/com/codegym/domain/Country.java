@@ -1,13 +1,21 @@
 package com.codegym.domain;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Immutable;
 
 import java.math.BigDecimal;
 import java.util.Set;
 
 @Entity
 @Table(schema = "world", name = "country")
+@Immutable
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY, region = Country.CACHE_REGION)
 public class Country {
+    public static final String CACHE_REGION = "world.country";
+    public static final String LANGUAGES_CACHE_REGION = "world.country.languages";
+
     @Id
     @Column(name = "id")
     private Integer id;
@@ -57,6 +65,7 @@ public class Country {
 
     @OneToMany(fetch = FetchType.EAGER)
     @JoinColumn(name = "country_id")
+    @Cache(usage = CacheConcurrencyStrategy.READ_ONLY, region = Country.LANGUAGES_CACHE_REGION)
     private Set<CountryLanguage> languages;
 
 
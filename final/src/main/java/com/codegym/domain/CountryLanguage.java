@@ -1,13 +1,20 @@
 package com.codegym.domain;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Immutable;
 import org.hibernate.annotations.Type;
 
 import java.math.BigDecimal;
 
 @Entity
 @Table(schema = "world", name = "country_language")
+@Immutable
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY, region = CountryLanguage.CACHE_REGION)
 public class CountryLanguage {
+    public static final String CACHE_REGION = "world.country_language";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Column(name = "id")
@@ -0,0 +1,77 @@
+package com.codegym.dto;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Data Transfer Object for the aggregate of one population category over the whole city table.
+ * Carries the number of cities, their total population and the largest cities as examples.
+ */
+@JsonIgnoreProperties(value = "average_population", allowGetters = true)
+public class CategoryStatsDTO implements Serializable {
+    @JsonProperty("category")
+    private final String category;
+
+    @JsonProperty("city_count")
+    private final long cityCount;
+
+    @JsonProperty("total_population")
+    private final long totalPopulation;
+
+    @JsonProperty("largest_cities")
+    private final List<CityDTO> largestCities;
+
+    /**
+     * Creates the aggregate of a category.
+     * @param category Category label, see {@link PopulationCategory#getLabel()}
+     * @param cityCount Number of cities in the category
+     * @param totalPopulation Sum of their populations
+     * @param largestCities Largest cities of the category, largest first
+     */
+    @JsonCreator
+    public CategoryStatsDTO(@JsonProperty("category") String category,
+                            @JsonProperty("city_count") long cityCount,
+                            @JsonProperty("total_population") long totalPopulation,
+                            @JsonProperty("largest_cities") List<CityDTO> largestCities) {
+        this.category = Objects.requireNonNull(category, "Category cannot be null");
+        this.cityCount = cityCount;
+        this.totalPopulation = totalPopulation;
+        this.largestCities = largestCities == null ? List.of() : List.copyOf(largestCities);
+    }
+
+    public static CategoryStatsDTO empty(PopulationCategory category) {
+        return new CategoryStatsDTO(category.getLabel(), 0, 0, List.of());
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public long getCityCount() {
+        return cityCount;
+    }
+
+    public long getTotalPopulation() {
+        return totalPopulation;
+    }
+
+    @JsonProperty("average_population")
+    public long getAveragePopulation() {
+        return cityCount == 0 ? 0 : totalPopulation / cityCount;
+    }
+
+    public List<CityDTO> getLargestCities() {
+        return largestCities;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %d cities, total population %d, average %d",
+            category, cityCount, totalPopulation, getAveragePopulation());
+    }
+}
@@ -1,6 +1,9 @@
 package com.codegym.dto;
 
 import com.codegym.domain.City;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 import java.io.Serializable;
@@ -12,10 +15,11 @@ import java.util.stream.Collectors;
  * Data Transfer Object for City entities.
  * Provides transformation and filtering capabilities for city data.
  */
+@JsonIgnoreProperties(value = "population_category", allowGetters = true)
 public class CityDTO implements Serializable {
-    private static final int SMALL_CITY_THRESHOLD = 100_000;
-    private static final int MEDIUM_CITY_THRESHOLD = 500_000;
-    private static final int LARGE_CITY_THRESHOLD = 1_000_000;
+    // Only used for keyset cursors, never cached or compared
+    @JsonIgnore
+    private final Integer id;
 
     @JsonProperty("name")
     private final String name;
@@ -30,25 +34,35 @@ public class CityDTO implements Serializable {
     private final String populationCategory;
 
     private CityDTO(Builder builder) {
+        this.id = builder.id;
         this.name = Objects.requireNonNull(builder.name, "City name cannot be null");
         this.district = Objects.requireNonNull(builder.district, "District cannot be null");
         this.population = builder.population;
         this.populationCategory = calculatePopulationCategory(builder.population);
     }
 
+    /**
+     * Recreates a CityDTO from its cached JSON form.
+     * The population category is derived again rather than read back.
+     */
+    @JsonCreator
+    static CityDTO fromJson(@JsonProperty("name") String name,
+                            @JsonProperty("district") String district,
+                            @JsonProperty("population") int population) {
+        return new Builder()
+                .withName(name)
+                .withDistrict(district)
+                .withPopulation(population)
+                .build();
+    }
+
     /**
      * Calculates the population category based on city size.
      * @param population The city's population
      * @return Population category (Small, Medium, Large, or Metropolis)
      */
     private static String calculatePopulationCategory(int population) {
-        if (population < 0) {
-            throw new IllegalArgumentException("Population cannot be negative");
-        }
-        if (population < SMALL_CITY_THRESHOLD) return "Small";
-        if (population < MEDIUM_CITY_THRESHOLD) return "Medium";
-        if (population < LARGE_CITY_THRESHOLD) return "Large";
-        return "Metropolis";
+        return PopulationCategory.of(population).getLabel();
     }
 
     /**
@@ -60,6 +74,7 @@ public class CityDTO implements Serializable {
     public static CityDTO fromEntity(City city) {
         Objects.requireNonNull(city, "City entity cannot be null");
         return new Builder()
+                .withId(city.getId())
                 .withName(city.getName())
                 .withDistrict(city.getDistrict())
                 .withPopulation(city.getPopulation())
@@ -100,6 +115,11 @@ public class CityDTO implements Serializable {
     }
 
     // Immutable getters
+    @JsonIgnore
+    public Integer getId() {
+        return id;
+    }
+
     public String getName() {
         return name;
     }
@@ -141,10 +161,16 @@ public class CityDTO implements Serializable {
      * Builder for CityDTO.
      */
     public static class Builder {
+        private Integer id;
         private String name;
         private String district;
         private int population;
 
+        public Builder withId(Integer id) {
+            this.id = id;
+            return this;
+        }
+
         public Builder withName(String name) {
             this.name = name;
             return this;
@@ -0,0 +1,50 @@
+package com.codegym.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Data Transfer Object for a keyset-paginated page of cities.
+ * Carries the page contents and the opaque cursor to request the next page.
+ */
+public class CityPageDTO implements Serializable {
+    @JsonProperty("cities")
+    private final List<CityDTO> cities;
+
+    @JsonProperty("next_cursor")
+    private final String nextCursor;
+
+    /**
+     * Creates a new page.
+     * @param cities Cities of this page
+     * @param nextCursor Cursor for the next page, or null if this is the last page
+     */
+    public CityPageDTO(List<CityDTO> cities, String nextCursor) {
+        this.cities = List.copyOf(Objects.requireNonNull(cities, "Cities list cannot be null"));
+        this.nextCursor = nextCursor;
+    }
+
+    public static CityPageDTO empty() {
+        return new CityPageDTO(List.of(), null);
+    }
+
+    public List<CityDTO> getCities() {
+        return cities;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("CityPage: %d cities, next cursor: %s", cities.size(), nextCursor);
+    }
+}
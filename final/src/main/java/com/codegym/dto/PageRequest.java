@@ -0,0 +1,46 @@
+package com.codegym.dto;
+
+import java.util.Objects;
+
+/**
+ * Offset/limit coordinates of one page of cities, as used by the paginated city cache.
+ */
+public final class PageRequest {
+    private final int offset;
+    private final int limit;
+
+    public PageRequest(int offset, int limit) {
+        this.offset = offset;
+        this.limit = limit;
+    }
+
+    public int getOffset() {
+        return offset;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof PageRequest)) {
+            return false;
+        }
+        PageRequest that = (PageRequest) o;
+        return offset == that.offset && limit == that.limit;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(offset, limit);
+    }
+
+    @Override
+    public String toString() {
+        return offset + ":" + limit;
+    }
+}
@@ -0,0 +1,81 @@
+package com.codegym.dto;
+
+import com.codegym.util.Constants;
+
+/**
+ * Population size classes of a city, bounded by the thresholds in {@link Constants}.
+ * Declared from smallest to largest; each category starts at its minimum population (inclusive).
+ */
+public enum PopulationCategory {
+    SMALL("Small", 0),
+    MEDIUM("Medium", Constants.MEDIUM_CITY_THRESHOLD),
+    LARGE("Large", Constants.LARGE_CITY_THRESHOLD),
+    METROPOLIS("Metropolis", Constants.METROPOLIS_THRESHOLD);
+
+    private static final PopulationCategory[] LARGEST_FIRST = {METROPOLIS, LARGE, MEDIUM, SMALL};
+
+    private final String label;
+    private final int minPopulation;
+
+    PopulationCategory(String label, int minPopulation) {
+        this.label = label;
+        this.minPopulation = minPopulation;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public int getMinPopulation() {
+        return minPopulation;
+    }
+
+    /**
+     * Finds the category of a population.
+     * @param population The city's population
+     * @return The matching category
+     * @throws IllegalArgumentException if population is negative
+     */
+    public static PopulationCategory of(int population) {
+        if (population < 0) {
+            throw new IllegalArgumentException("Population cannot be negative");
+        }
+        for (PopulationCategory category : LARGEST_FIRST) {
+            if (population >= category.minPopulation) {
+                return category;
+            }
+        }
+        return SMALL;
+    }
+
+    /**
+     * Finds a category by its label.
+     * @param label Label such as "Small", case-insensitive
+     * @return The category, or null if the label is unknown
+     */
+    public static PopulationCategory fromLabel(String label) {
+        for (PopulationCategory category : values()) {
+            if (category.label.equalsIgnoreCase(label)) {
+                return category;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Builds an SQL CASE expression that maps a population column to the category labels,
+     * so categorizing can happen in the database with the same thresholds as {@link #of(int)}.
+     * @param column Population column or expression
+     * @return CASE expression yielding the category label
+     */
+    public static String toSqlCase(String column) {
+        StringBuilder sql = new StringBuilder("CASE");
+        for (PopulationCategory category : LARGEST_FIRST) {
+            if (category.minPopulation > 0) {
+                sql.append(" WHEN ").append(column).append(" >= ").append(category.minPopulation)
+                    .append(" THEN '").append(category.label).append('\'');
+            }
+        }
+        return sql.append(" ELSE '").append(SMALL.label).append("' END").toString();
+    }
+}
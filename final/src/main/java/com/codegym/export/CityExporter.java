@@ -0,0 +1,269 @@
+package com.codegym.export;
+
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.Transaction;
+import org.hibernate.query.Query;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Streams the whole city table to a CSV or NDJSON file in constant memory.
+ * <p>
+ * Rows are read as scalar projections through a {@link StatelessSession} with a forward-only scroll, so nothing is
+ * kept in a persistence context. With MySQL Connector/J a fetch size of {@link Integer#MIN_VALUE} makes the driver
+ * stream rows one at a time instead of buffering the whole result set. Each row is formatted into a reused
+ * builder, encoded into a fixed direct buffer and written to the file channel, optionally through gzip.
+ * <p>
+ * The file is written next to the target and atomically moved into place, so readers never see a partial export.
+ */
+public class CityExporter {
+    private static final String EXPORT_QUERY =
+        "SELECT c.id, c.name, co.code, c.district, c.population FROM City c LEFT JOIN c.country co ORDER BY c.id";
+    private static final String CSV_HEADER = "id,name,country_code,district,population\n";
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final SessionFactory sessionFactory;
+    private final int fetchSize;
+    private final long progressInterval;
+
+    /**
+     * Creates the exporter.
+     * @param sessionFactory Hibernate SessionFactory to open stateless sessions from
+     * @param fetchSize JDBC fetch size; {@link Integer#MIN_VALUE} enables MySQL row-by-row streaming
+     * @param progressInterval Number of rows between progress reports
+     */
+    public CityExporter(SessionFactory sessionFactory, int fetchSize, long progressInterval) {
+        this.sessionFactory = Objects.requireNonNull(sessionFactory, "SessionFactory cannot be null");
+        this.fetchSize = fetchSize;
+        this.progressInterval = progressInterval;
+    }
+
+    /**
+     * Exports every city ordered by id.
+     * @param target File to create or replace
+     * @param format Output format
+     * @param gzip Whether to gzip-compress the output
+     * @param progressListener Receives a result snapshot every progress interval, or null for no reports
+     * @return Summary of the finished export
+     * @throws IOException if the file cannot be written
+     */
+    public ExportResult export(Path target, ExportFormat format, boolean gzip, ProgressListener progressListener)
+            throws IOException {
+        Objects.requireNonNull(format, "Export format cannot be null");
+        long startTime = System.nanoTime();
+        Path absoluteTarget = target.toAbsolutePath();
+        Path directory = absoluteTarget.getParent();
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, absoluteTarget.getFileName().toString(), ".tmp");
+        try {
+            long rows;
+            try (ChannelSink sink = new ChannelSink(temp, gzip)) {
+                rows = writeRows(sink, format, absoluteTarget, startTime, progressListener);
+                sink.finish();
+            }
+            Files.move(temp, absoluteTarget, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            return new ExportResult(absoluteTarget, rows, Files.size(absoluteTarget), System.nanoTime() - startTime);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private long writeRows(ChannelSink sink, ExportFormat format, Path target, long startTime,
+                           ProgressListener progressListener) throws IOException {
+        StringBuilder line = new StringBuilder(256);
+        if (format == ExportFormat.CSV) {
+            sink.write(CSV_HEADER);
+        }
+        long rows = 0;
+        try (StatelessSession session = sessionFactory.openStatelessSession()) {
+            Transaction transaction = session.beginTransaction();
+            try {
+                Query<Object[]> query = session.createQuery(EXPORT_QUERY, Object[].class);
+                query.setFetchSize(fetchSize);
+                query.setReadOnly(true);
+                try (ScrollableResults results = query.scroll(ScrollMode.FORWARD_ONLY)) {
+                    while (results.next()) {
+                        Object[] row = results.get();
+                        line.setLength(0);
+                        if (format == ExportFormat.CSV) {
+                            appendCsv(line, row);
+                        } else {
+                            appendJson(line, row);
+                        }
+                        sink.write(line);
+                        rows++;
+                        if (progressListener != null && rows % progressInterval == 0) {
+                            progressListener.onProgress(
+                                new ExportResult(target, rows, sink.getBytesWritten(), System.nanoTime() - startTime));
+                        }
+                    }
+                }
+                transaction.commit();
+            } catch (RuntimeException e) {
+                if (transaction.isActive()) {
+                    transaction.rollback();
+                }
+                throw e;
+            }
+        }
+        return rows;
+    }
+
+    private static void appendCsv(StringBuilder line, Object[] row) {
+        line.append(row[0]).append(',');
+        appendCsvField(line, (String) row[1]);
+        line.append(',');
+        appendCsvField(line, (String) row[2]);
+        line.append(',');
+        appendCsvField(line, (String) row[3]);
+        line.append(',');
+        if (row[4] != null) {
+            line.append(row[4]);
+        }
+        line.append('\n');
+    }
+
+    private static void appendCsvField(StringBuilder line, String value) {
+        if (value == null) {
+            return;
+        }
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            line.append(value);
+            return;
+        }
+        line.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                line.append('"');
+            }
+            line.append(c);
+        }
+        line.append('"');
+    }
+
+    private static void appendJson(StringBuilder line, Object[] row) {
+        line.append("{\"id\":").append(row[0]);
+        appendJsonField(line, "name", (String) row[1]);
+        appendJsonField(line, "countryCode", (String) row[2]);
+        appendJsonField(line, "district", (String) row[3]);
+        line.append(",\"population\":").append(row[4]).append("}\n");
+    }
+
+    private static void appendJsonField(StringBuilder line, String name, String value) {
+        line.append(",\"").append(name).append("\":");
+        if (value == null) {
+            line.append("null");
+            return;
+        }
+        line.append('"');
+        JsonStringEncoder.getInstance().quoteAsString(value, line);
+        line.append('"');
+    }
+
+    /**
+     * Receives periodic progress reports while an export is running.
+     */
+    @FunctionalInterface
+    public interface ProgressListener {
+        void onProgress(ExportResult progress);
+    }
+
+    /**
+     * UTF-8 encodes text into a fixed direct buffer and drains it to a file channel, optionally through gzip.
+     */
+    private static final class ChannelSink implements Closeable {
+        private final FileChannel file;
+        private final GZIPOutputStream gzipStream;
+        private final WritableByteChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        private long bytesWritten;
+
+        ChannelSink(Path path, boolean gzip) throws IOException {
+            this.file = FileChannel.open(path, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+            this.gzipStream = gzip ? new GZIPOutputStream(Channels.newOutputStream(file), BUFFER_SIZE) : null;
+            this.channel = gzip ? Channels.newChannel(gzipStream) : file;
+        }
+
+        void write(CharSequence text) throws IOException {
+            CharBuffer chars = CharBuffer.wrap(text);
+            while (encoder.encode(chars, buffer, false).isOverflow()) {
+                drain();
+            }
+        }
+
+        void finish() throws IOException {
+            CharBuffer empty = CharBuffer.allocate(0);
+            CoderResult result;
+            while ((result = encoder.encode(empty, buffer, true)).isOverflow()) {
+                drain();
+            }
+            while (encoder.flush(buffer).isOverflow()) {
+                drain();
+            }
+            if (result.isError()) {
+                result.throwException();
+            }
+            drain();
+            if (gzipStream != null) {
+                gzipStream.finish();
+            }
+            file.force(true);
+        }
+
+        /**
+         * @return Uncompressed bytes handed to the channel so far
+         */
+        long getBytesWritten() {
+            return bytesWritten + buffer.position();
+        }
+
+        private void drain() throws IOException {
+            buffer.flip();
+            bytesWritten += buffer.remaining();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                if (gzipStream != null) {
+                    gzipStream.close();
+                }
+            } finally {
+                file.close();
+            }
+        }
+    }
+}
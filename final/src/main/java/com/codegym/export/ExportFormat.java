@@ -0,0 +1,34 @@
+package com.codegym.export;
+
+/**
+ * Output formats supported by the city export.
+ */
+public enum ExportFormat {
+    CSV("csv"),
+    NDJSON("ndjson");
+
+    private final String extension;
+
+    ExportFormat(String extension) {
+        this.extension = extension;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * Find a format by name or file extension, ignoring case.
+     *
+     * @param value The name to look up, e.g. "csv" or "ndjson"
+     * @return The corresponding ExportFormat or null if not found
+     */
+    public static ExportFormat fromName(String value) {
+        for (ExportFormat format : values()) {
+            if (format.name().equalsIgnoreCase(value) || format.extension.equalsIgnoreCase(value)) {
+                return format;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,49 @@
+package com.codegym.export;
+
+import java.nio.file.Path;
+
+/**
+ * Summary of a finished city export.
+ */
+public class ExportResult {
+    private final Path file;
+    private final long rows;
+    private final long bytes;
+    private final long elapsedNanos;
+
+    public ExportResult(Path file, long rows, long bytes, long elapsedNanos) {
+        this.file = file;
+        this.rows = rows;
+        this.bytes = bytes;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    /**
+     * @return Bytes written so far; for a finished export, the file size after compression
+     */
+    public long getBytes() {
+        return bytes;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedNanos / 1_000_000;
+    }
+
+    public double getRowsPerSecond() {
+        return elapsedNanos == 0 ? 0 : rows * 1e9 / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Exported %d rows to %s (%d bytes) in %d ms, %.0f rows/s",
+            rows, file, bytes, getElapsedMillis(), getRowsPerSecond());
+    }
+}
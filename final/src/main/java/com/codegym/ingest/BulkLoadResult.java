@@ -0,0 +1,62 @@
+package com.codegym.ingest;
+
+/**
+ * Summary of a bulk city load, either finished or in progress.
+ */
+public class BulkLoadResult {
+    private final long inserted;
+    private final long updated;
+    private final long rejected;
+    private final long elapsedNanos;
+    private final long peakHeapBytes;
+
+    public BulkLoadResult(long inserted, long updated, long rejected, long elapsedNanos, long peakHeapBytes) {
+        this.inserted = inserted;
+        this.updated = updated;
+        this.rejected = rejected;
+        this.elapsedNanos = elapsedNanos;
+        this.peakHeapBytes = peakHeapBytes;
+    }
+
+    public long getInserted() {
+        return inserted;
+    }
+
+    public long getUpdated() {
+        return updated;
+    }
+
+    /**
+     * @return Records skipped because they had no name or an unknown country code
+     */
+    public long getRejected() {
+        return rejected;
+    }
+
+    public long getRows() {
+        return inserted + updated;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedNanos / 1_000_000;
+    }
+
+    public double getRowsPerSecond() {
+        return elapsedNanos == 0 ? 0 : getRows() * 1e9 / elapsedNanos;
+    }
+
+    /**
+     * @return Sum of the peak usage of each heap memory pool since the load started
+     */
+    public long getPeakHeapBytes() {
+        return peakHeapBytes;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Loaded %d cities (%d inserted, %d updated, %d rejected) in %d ms, %.0f rows/s, "
+                + "peak heap %d MB",
+            getRows(), inserted, updated, rejected, getElapsedMillis(), getRowsPerSecond(),
+            peakHeapBytes / (1024 * 1024));
+    }
+}
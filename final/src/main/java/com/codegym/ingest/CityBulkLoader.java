@@ -0,0 +1,138 @@
+package com.codegym.ingest;
+
+import com.codegym.dao.CountryDAO;
+import com.codegym.dao.ICityRepository;
+import com.codegym.domain.City;
+import com.codegym.domain.Country;
+import com.codegym.util.TransactionUtil;
+import org.hibernate.SessionFactory;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Loads a city feed into the database in chunked transactions.
+ * <p>
+ * The feed is consumed one chunk at a time, so only a single chunk is ever held in memory. Each chunk is written
+ * by {@link ICityRepository#upsertAll(List)} in its own transaction, which sends JDBC batches and clears the
+ * session between them. Country codes are resolved to ids once up front and attached as lazy references,
+ * so no country rows are read per city. When a chunk holds several records with the same id, the last one wins
+ * and the earlier ones are counted as updated.
+ */
+public class CityBulkLoader {
+    private final ICityRepository cityRepository;
+    private final CountryDAO countryDAO;
+    private final SessionFactory sessionFactory;
+    private final int chunkSize;
+
+    /**
+     * Creates the loader.
+     * @param cityRepository Repository that writes the cities
+     * @param countryDAO Used to resolve country codes
+     * @param sessionFactory Hibernate SessionFactory for the chunk transactions
+     * @param chunkSize Number of cities committed per transaction
+     */
+    public CityBulkLoader(ICityRepository cityRepository, CountryDAO countryDAO, SessionFactory sessionFactory,
+                          int chunkSize) {
+        this.cityRepository = Objects.requireNonNull(cityRepository, "City repository cannot be null");
+        this.countryDAO = Objects.requireNonNull(countryDAO, "Country DAO cannot be null");
+        this.sessionFactory = Objects.requireNonNull(sessionFactory, "SessionFactory cannot be null");
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive");
+        }
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Inserts or updates every city in the feed.
+     * Chunks that were committed before a failure stay committed.
+     * @param feed Records to load
+     * @param progressListener Receives a result snapshot after every chunk, or null for no reports
+     * @return Summary of the load
+     */
+    public BulkLoadResult load(Iterator<CityFeedRecord> feed, ProgressListener progressListener) {
+        List<MemoryPoolMXBean> heapPools = ManagementFactory.getMemoryPoolMXBeans().stream()
+            .filter(pool -> pool.getType() == MemoryType.HEAP)
+            .collect(Collectors.toList());
+        heapPools.forEach(MemoryPoolMXBean::resetPeakUsage);
+        long startTime = System.nanoTime();
+
+        Map<String, Integer> countryIds = TransactionUtil.executeInTransaction(sessionFactory,
+            session -> countryDAO.findIdsByCode());
+        long inserted = 0;
+        long updated = 0;
+        long rejected = 0;
+        List<CityFeedRecord> chunk = new ArrayList<>(chunkSize);
+        Map<Integer, Integer> chunkPositions = new HashMap<>();
+        while (feed.hasNext()) {
+            chunk.clear();
+            chunkPositions.clear();
+            int superseded = 0;
+            while (chunk.size() < chunkSize && feed.hasNext()) {
+                CityFeedRecord record = feed.next();
+                if (record.getName() == null || !countryIds.containsKey(record.getCountryCode())) {
+                    rejected++;
+                    continue;
+                }
+                // The session holds one instance per id, so a repeated id replaces the earlier record
+                Integer position = record.getId() == null
+                    ? null
+                    : chunkPositions.putIfAbsent(record.getId(), chunk.size());
+                if (position != null) {
+                    chunk.set(position, record);
+                    superseded++;
+                } else {
+                    chunk.add(record);
+                }
+            }
+            if (chunk.isEmpty()) {
+                continue;
+            }
+            int chunkInserted = TransactionUtil.executeInTransaction(sessionFactory, session -> {
+                List<City> cities = new ArrayList<>(chunk.size());
+                for (CityFeedRecord record : chunk) {
+                    City city = new City();
+                    city.setId(record.getId());
+                    city.setName(record.getName());
+                    city.setCountry(session.load(Country.class, countryIds.get(record.getCountryCode())));
+                    city.setDistrict(record.getDistrict() == null ? "" : record.getDistrict());
+                    city.setPopulation(record.getPopulation() == null ? 0 : record.getPopulation());
+                    cities.add(city);
+                }
+                return cityRepository.upsertAll(cities);
+            });
+            inserted += chunkInserted;
+            updated += chunk.size() - chunkInserted + superseded;
+            if (progressListener != null) {
+                progressListener.onProgress(new BulkLoadResult(inserted, updated, rejected,
+                    System.nanoTime() - startTime, peakHeapBytes(heapPools)));
+            }
+        }
+        return new BulkLoadResult(inserted, updated, rejected, System.nanoTime() - startTime,
+            peakHeapBytes(heapPools));
+    }
+
+    private static long peakHeapBytes(List<MemoryPoolMXBean> heapPools) {
+        long peak = 0;
+        for (MemoryPoolMXBean pool : heapPools) {
+            peak += pool.getPeakUsage().getUsed();
+        }
+        return peak;
+    }
+
+    /**
+     * Receives a progress report after each committed chunk.
+     */
+    @FunctionalInterface
+    public interface ProgressListener {
+        void onProgress(BulkLoadResult progress);
+    }
+}
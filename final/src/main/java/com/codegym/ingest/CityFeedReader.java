@@ -0,0 +1,194 @@
+package com.codegym.ingest;
+
+import com.codegym.export.ExportFormat;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Streams city records from a CSV or NDJSON feed, one record at a time.
+ * Feeds use the layout written by the city export, so an export can be loaded back unchanged.
+ * The format is taken from the file name ({@code .csv} or {@code .ndjson}, optionally followed by {@code .gz}).
+ */
+public class CityFeedReader implements Iterator<CityFeedRecord>, Closeable {
+    private static final String CSV_HEADER = "id,name,country_code,district,population";
+    private static final int COLUMN_COUNT = 5;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final BufferedReader reader;
+    private final MappingIterator<CityFeedRecord> jsonRecords;
+    private CityFeedRecord next;
+    private long lineNumber;
+
+    private CityFeedReader(BufferedReader reader, ExportFormat format) throws IOException {
+        this.reader = reader;
+        if (format == ExportFormat.NDJSON) {
+            this.jsonRecords = new ObjectMapper().readerFor(CityFeedRecord.class).readValues(reader);
+        } else {
+            this.jsonRecords = null;
+            String header = reader.readLine();
+            lineNumber++;
+            if (header == null || !header.trim().equalsIgnoreCase(CSV_HEADER)) {
+                throw new IOException("Expected CSV header '" + CSV_HEADER + "' but found '" + header + "'");
+            }
+        }
+    }
+
+    /**
+     * Opens a feed file.
+     * @param feed Path of a .csv, .ndjson, .csv.gz or .ndjson.gz file
+     * @return A reader positioned at the first record
+     * @throws IOException if the file cannot be opened or its format is not recognized
+     */
+    public static CityFeedReader open(Path feed) throws IOException {
+        String fileName = feed.getFileName().toString().toLowerCase();
+        boolean gzip = fileName.endsWith(".gz");
+        if (gzip) {
+            fileName = fileName.substring(0, fileName.length() - ".gz".length());
+        }
+        ExportFormat format = ExportFormat.fromName(fileName.substring(fileName.lastIndexOf('.') + 1));
+        if (format == null) {
+            throw new IOException("Unsupported feed file " + feed + ", expected .csv or .ndjson (optionally .gz)");
+        }
+        InputStream in = Files.newInputStream(feed);
+        try {
+            if (gzip) {
+                in = new GZIPInputStream(in, BUFFER_SIZE);
+            }
+            return new CityFeedReader(
+                new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), BUFFER_SIZE), format);
+        } catch (IOException e) {
+            in.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null) {
+            next = jsonRecords != null ? readJsonRecord() : readCsvRecord();
+        }
+        return next != null;
+    }
+
+    @Override
+    public CityFeedRecord next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        CityFeedRecord record = next;
+        next = null;
+        return record;
+    }
+
+    private CityFeedRecord readJsonRecord() {
+        return jsonRecords.hasNext() ? jsonRecords.next() : null;
+    }
+
+    private CityFeedRecord readCsvRecord() {
+        try {
+            List<String> fields = readCsvFields();
+            while (fields != null && fields.size() == 1 && fields.get(0).isEmpty()) {
+                fields = readCsvFields();
+            }
+            if (fields == null) {
+                return null;
+            }
+            if (fields.size() != COLUMN_COUNT) {
+                throw new IllegalArgumentException("Line " + lineNumber + ": expected " + COLUMN_COUNT
+                    + " columns but found " + fields.size());
+            }
+            return new CityFeedRecord(parseInteger(fields.get(0)), emptyToNull(fields.get(1)),
+                emptyToNull(fields.get(2)), emptyToNull(fields.get(3)), parseInteger(fields.get(4)));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Reads one CSV record; quoted fields may contain commas, doubled quotes and line breaks.
+     * @return The record's fields, or null at the end of the feed
+     */
+    private List<String> readCsvFields() throws IOException {
+        String line = reader.readLine();
+        if (line == null) {
+            return null;
+        }
+        lineNumber++;
+        List<String> fields = new ArrayList<>(COLUMN_COUNT);
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        int i = 0;
+        while (true) {
+            if (i == line.length()) {
+                if (!quoted) {
+                    fields.add(field.toString());
+                    return fields;
+                }
+                line = reader.readLine();
+                if (line == null) {
+                    throw new IllegalArgumentException("Line " + lineNumber + ": unterminated quoted field");
+                }
+                lineNumber++;
+                field.append('\n');
+                i = 0;
+                continue;
+            }
+            char c = line.charAt(i++);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i < line.length() && line.charAt(i) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+    }
+
+    private Integer parseInteger(String value) {
+        if (value.isEmpty()) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Line " + lineNumber + ": '" + value + "' is not a number", e);
+        }
+    }
+
+    private static String emptyToNull(String value) {
+        return value.isEmpty() ? null : value;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (jsonRecords != null) {
+            jsonRecords.close();
+        }
+        reader.close();
+    }
+}
@@ -0,0 +1,51 @@
+package com.codegym.ingest;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * One city from an ingestion feed, in the same shape the city export writes.
+ * The country is identified by its three-letter code; the id is null for new cities.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class CityFeedRecord {
+    private final Integer id;
+    private final String name;
+    private final String countryCode;
+    private final String district;
+    private final Integer population;
+
+    @JsonCreator
+    public CityFeedRecord(@JsonProperty("id") Integer id,
+                          @JsonProperty("name") String name,
+                          @JsonProperty("countryCode") String countryCode,
+                          @JsonProperty("district") String district,
+                          @JsonProperty("population") Integer population) {
+        this.id = id;
+        this.name = name;
+        this.countryCode = countryCode;
+        this.district = district;
+        this.population = population;
+    }
+
+    public Integer getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getCountryCode() {
+        return countryCode;
+    }
+
+    public String getDistrict() {
+        return district;
+    }
+
+    public Integer getPopulation() {
+        return population;
+    }
+}
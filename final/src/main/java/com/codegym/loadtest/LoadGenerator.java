@@ -0,0 +1,298 @@
+package com.codegym.loadtest;
+
+import com.codegym.cache.CacheOutcome;
+import com.codegym.config.AppConfig;
+import com.codegym.service.IAsyncCityService;
+import com.codegym.util.Constants;
+import com.codegym.util.ValidationUtil;
+import org.HdrHistogram.Histogram;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Multi-threaded load generator for the city service.
+ * <p>
+ * Each worker replays a weighted mix of page reads (offsets drawn from a Zipf distribution), population range
+ * queries and category calls. In closed-loop mode a worker issues its next request as soon as the previous one
+ * completes. In open-loop mode (--rate) requests follow a fixed schedule and latency is measured from the time a
+ * request was due, not from when it was sent, which corrects for coordinated omission: a stall delays every request
+ * queued behind it, and those delays are counted. Results are reported per operation and, for pages, per cache outcome.
+ * <p>
+ * Usage: {@code LoadGenerator --threads=16 --duration=60 --rate=2000 --mix=page:80,range:15,category:5}
+ */
+public class LoadGenerator {
+    private static final String FAILED = "failed";
+    private static final String ALL = "all";
+    private static final long BACKEND_WAIT_SECONDS = 60;
+    private static final int MIN_RANGE_EXPONENT = 3;
+    private static final int RANGE_EXPONENT_SPAN = 4;
+    private static final int MAX_RANGE_FACTOR = 10;
+
+    private final LoadTestConfig config;
+    private final IAsyncCityService cityService;
+    private final ZipfDistribution pageDistribution;
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+    private final Map<String, OperationStats> stats = new LinkedHashMap<>();
+    private final AtomicLong remainingRequests = new AtomicLong();
+    private volatile boolean measuring;
+    private volatile long deadlineNanos = Long.MAX_VALUE;
+
+    public LoadGenerator(LoadTestConfig config, IAsyncCityService cityService) {
+        this.config = config;
+        this.cityService = cityService;
+        this.pageDistribution = new ZipfDistribution(config.getPages(), config.getZipfExponent());
+
+        List<Operation> weighted = new ArrayList<>();
+        List<Integer> cumulative = new ArrayList<>();
+        int total = 0;
+        for (Map.Entry<Operation, Integer> entry : config.getMix().entrySet()) {
+            if (entry.getValue() > 0) {
+                total += entry.getValue();
+                weighted.add(entry.getKey());
+                cumulative.add(total);
+            }
+        }
+        this.operations = weighted.toArray(new Operation[0]);
+        this.cumulativeWeights = cumulative.stream().mapToInt(Integer::intValue).toArray();
+
+        // All keys are created up front so workers only ever read the map
+        for (Operation operation : operations) {
+            if (operation == Operation.PAGE) {
+                for (CacheOutcome outcome : CacheOutcome.values()) {
+                    stats.put(statsKey(operation, outcome.name()), new OperationStats(statsKey(operation, outcome.name())));
+                }
+                stats.put(statsKey(operation, FAILED), new OperationStats(statsKey(operation, FAILED)));
+            } else {
+                stats.put(statsKey(operation, ALL), new OperationStats(statsKey(operation, ALL)));
+            }
+        }
+    }
+
+    private static String statsKey(Operation operation, String outcome) {
+        return operation.getMixName() + "/" + outcome.toLowerCase();
+    }
+
+    /**
+     * Runs the warm-up and the measured phase, printing interval lines and a final report.
+     * @throws InterruptedException if the calling thread is interrupted while waiting for workers
+     */
+    public void run() throws InterruptedException {
+        System.out.println("Load test: " + config);
+        List<Thread> workers = new ArrayList<>();
+        long startNanos = System.nanoTime();
+        for (int i = 0; i < config.getThreads(); i++) {
+            Thread worker = new Thread(new Worker(i, startNanos), "load-worker-" + (i + 1));
+            worker.setDaemon(true);
+            workers.add(worker);
+        }
+        workers.forEach(Thread::start);
+
+        if (config.getWarmupSeconds() > 0) {
+            System.out.println("Warming up for " + config.getWarmupSeconds() + " s...");
+            TimeUnit.SECONDS.sleep(config.getWarmupSeconds());
+        }
+        long measureStartNanos = System.nanoTime();
+        remainingRequests.set(config.getRequests());
+        if (config.getRequests() <= 0) {
+            deadlineNanos = measureStartNanos + TimeUnit.SECONDS.toNanos(config.getDurationSeconds());
+        }
+        measuring = true;
+
+        long reportIntervalMillis = TimeUnit.SECONDS.toMillis(Constants.DEFAULT_LOAD_REPORT_INTERVAL_SECONDS);
+        long lastReportNanos = measureStartNanos;
+        for (Thread worker : workers) {
+            while (worker.isAlive()) {
+                worker.join(reportIntervalMillis);
+                long now = System.nanoTime();
+                if (now - lastReportNanos >= TimeUnit.MILLISECONDS.toNanos(reportIntervalMillis)) {
+                    printInterval(now - measureStartNanos, now - lastReportNanos);
+                    lastReportNanos = now;
+                }
+            }
+        }
+        long elapsedNanos = System.nanoTime() - measureStartNanos;
+        stats.values().forEach(OperationStats::drain);
+        printReport(elapsedNanos);
+    }
+
+    private void printInterval(long elapsedNanos, long intervalNanos) {
+        Histogram interval = new Histogram(3);
+        for (OperationStats operationStats : stats.values()) {
+            interval.add(operationStats.drain());
+        }
+        double seconds = intervalNanos / 1e9;
+        System.out.printf("[%5.1f s] %8.1f req/s  p50 %8.3f ms  p99 %8.3f ms  max %8.3f ms%n",
+            elapsedNanos / 1e9, interval.getTotalCount() / seconds,
+            millis(interval.getValueAtPercentile(50)), millis(interval.getValueAtPercentile(99)),
+            millis(interval.getMaxValue()));
+    }
+
+    private void printReport(long elapsedNanos) {
+        double seconds = elapsedNanos / 1e9;
+        Histogram overall = new Histogram(3);
+        stats.values().forEach(operationStats -> overall.add(operationStats.getTotalResponseTimes()));
+
+        System.out.println("\nLoad Test Results:");
+        System.out.printf("Requests: %d in %.1f s (%.1f req/s)%n", overall.getTotalCount(), seconds,
+            overall.getTotalCount() / seconds);
+        System.out.println(config.isOpenLoop()
+            ? "Latency is response time from the scheduled start (corrected for coordinated omission), in ms"
+            : "Latency is service time from the actual start, in ms");
+        System.out.printf("%-24s %10s %10s %9s %9s %9s %9s %9s %9s%n",
+            "operation", "count", "req/s", "mean", "p50", "p90", "p99", "p99.9", "max");
+        for (OperationStats operationStats : stats.values()) {
+            printRow(operationStats.getName(), operationStats.getTotalResponseTimes(), seconds);
+        }
+        printRow("total", overall, seconds);
+
+        if (config.isOpenLoop()) {
+            Histogram overallService = new Histogram(3);
+            stats.values().forEach(operationStats -> overallService.add(operationStats.getTotalServiceTimes()));
+            System.out.println("\nService time from the actual start (not corrected), in ms");
+            for (OperationStats operationStats : stats.values()) {
+                printRow(operationStats.getName(), operationStats.getTotalServiceTimes(), seconds);
+            }
+            printRow("total", overallService, seconds);
+        }
+    }
+
+    private static void printRow(String name, Histogram histogram, double seconds) {
+        if (histogram.getTotalCount() == 0) {
+            return;
+        }
+        System.out.printf("%-24s %10d %10.1f %9.3f %9.3f %9.3f %9.3f %9.3f %9.3f%n",
+            name, histogram.getTotalCount(), histogram.getTotalCount() / seconds,
+            histogram.getMean() / 1000.0,
+            millis(histogram.getValueAtPercentile(50)),
+            millis(histogram.getValueAtPercentile(90)),
+            millis(histogram.getValueAtPercentile(99)),
+            millis(histogram.getValueAtPercentile(99.9)),
+            millis(histogram.getMaxValue()));
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    private Operation pickOperation(ThreadLocalRandom random) {
+        int roll = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (roll < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    private boolean shouldContinue() {
+        if (!measuring) {
+            return true;
+        }
+        if (config.getRequests() > 0) {
+            return remainingRequests.getAndDecrement() > 0;
+        }
+        return System.nanoTime() < deadlineNanos;
+    }
+
+    /**
+     * One load-generating thread. In open-loop mode each worker owns an equal share of the target rate.
+     */
+    private class Worker implements Runnable {
+        private final long intervalNanos;
+        private long nextStartNanos;
+        private CacheOutcome lastOutcome;
+        private final Consumer<CacheOutcome> outcomeListener = outcome -> lastOutcome = outcome;
+
+        Worker(int index, long startNanos) {
+            this.intervalNanos = config.isOpenLoop()
+                ? (long) (config.getThreads() * 1e9 / config.getTargetRate())
+                : 0;
+            // Stagger the workers so open-loop requests are spread evenly over each interval
+            this.nextStartNanos = startNanos + intervalNanos * index / config.getThreads();
+        }
+
+        @Override
+        public void run() {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            while (true) {
+                // Requests issued during the warm-up are executed but never recorded
+                boolean recorded = measuring;
+                if (!shouldContinue()) {
+                    break;
+                }
+                long intendedStart = System.nanoTime();
+                if (intervalNanos > 0) {
+                    intendedStart = nextStartNanos;
+                    nextStartNanos += intervalNanos;
+                    waitUntil(intendedStart);
+                }
+                long actualStart = System.nanoTime();
+                String key = execute(pickOperation(random), random);
+                long end = System.nanoTime();
+                if (recorded) {
+                    stats.get(key).record(end - intendedStart, end - actualStart);
+                }
+            }
+        }
+
+        private void waitUntil(long targetNanos) {
+            long remaining;
+            while ((remaining = targetNanos - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(remaining);
+            }
+        }
+
+        private String execute(Operation operation, ThreadLocalRandom random) {
+            switch (operation) {
+                case PAGE:
+                    int offset = pageDistribution.sample(random) * config.getPageSize();
+                    lastOutcome = null;
+                    cityService.getPaginatedCities(offset, config.getPageSize(), outcomeListener).join();
+                    return statsKey(operation, lastOutcome != null ? lastOutcome.name() : FAILED);
+                case POPULATION_RANGE:
+                    // Minimums spread over several orders of magnitude, from 1,000 to 10,000,000, with a maximum
+                    // 2 to 10 times higher; capped so every range passes validation and reaches a real query
+                    int minPopulation = (int) Math.pow(10, MIN_RANGE_EXPONENT + random.nextDouble() * RANGE_EXPONENT_SPAN);
+                    int maxPopulation = Math.min(ValidationUtil.MAX_POPULATION,
+                        minPopulation * (2 + random.nextInt(MAX_RANGE_FACTOR - 1)));
+                    cityService.getCitiesByPopulationRange(minPopulation, maxPopulation).join();
+                    return statsKey(operation, ALL);
+                case CATEGORY:
+                default:
+                    cityService.getCitiesByCategory(Constants.DEFAULT_CATEGORY_LIMIT).join();
+                    return statsKey(Operation.CATEGORY, ALL);
+            }
+        }
+    }
+
+    private static IAsyncCityService awaitCityService(AppConfig appConfig) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(BACKEND_WAIT_SECONDS);
+        while (appConfig.getAsyncCityService() == null) {
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException("Database and Redis did not become ready in time");
+            }
+            TimeUnit.MILLISECONDS.sleep(100);
+        }
+        return appConfig.getAsyncCityService();
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        LoadTestConfig config = LoadTestConfig.fromArgs(args);
+        AppConfig appConfig = new AppConfig();
+        try {
+            appConfig.initialize();
+            new LoadGenerator(config, awaitCityService(appConfig)).run();
+        } finally {
+            appConfig.shutdown();
+        }
+    }
+}
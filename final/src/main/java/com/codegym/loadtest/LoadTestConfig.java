@@ -0,0 +1,151 @@
+package com.codegym.loadtest;
+
+import com.codegym.util.Constants;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Settings of a load generator run, parsed from --name=value arguments.
+ * <ul>
+ *   <li>--threads: number of worker threads</li>
+ *   <li>--duration: measured run length in seconds (ignored when --requests is set)</li>
+ *   <li>--requests: total number of measured requests, 0 to run for --duration</li>
+ *   <li>--warmup: seconds of load before recording starts</li>
+ *   <li>--rate: open-loop target in requests per second across all threads, 0 for closed loop</li>
+ *   <li>--mix: weights per operation, for example page:80,range:15,category:5</li>
+ *   <li>--pages: number of distinct pages the Zipf distribution picks from</li>
+ *   <li>--page-size: cities per page</li>
+ *   <li>--zipf: skew of page popularity</li>
+ * </ul>
+ */
+public class LoadTestConfig {
+    private final int threads;
+    private final long durationSeconds;
+    private final long requests;
+    private final long warmupSeconds;
+    private final double targetRate;
+    private final Map<Operation, Integer> mix;
+    private final int pages;
+    private final int pageSize;
+    private final double zipfExponent;
+
+    private LoadTestConfig(Map<String, String> options) {
+        this.threads = Integer.parseInt(options.getOrDefault("threads", String.valueOf(Constants.DEFAULT_LOAD_THREADS)));
+        this.durationSeconds = Long.parseLong(options.getOrDefault("duration",
+            String.valueOf(Constants.DEFAULT_LOAD_DURATION_SECONDS)));
+        this.requests = Long.parseLong(options.getOrDefault("requests", "0"));
+        this.warmupSeconds = Long.parseLong(options.getOrDefault("warmup",
+            String.valueOf(Constants.DEFAULT_LOAD_WARMUP_SECONDS)));
+        this.targetRate = Double.parseDouble(options.getOrDefault("rate", "0"));
+        this.mix = parseMix(options.getOrDefault("mix", Constants.DEFAULT_LOAD_MIX));
+        this.pages = Integer.parseInt(options.getOrDefault("pages", String.valueOf(Constants.DEFAULT_LOAD_PAGES)));
+        this.pageSize = Integer.parseInt(options.getOrDefault("page-size", String.valueOf(Constants.DEFAULT_PAGE_SIZE)));
+        this.zipfExponent = Double.parseDouble(options.getOrDefault("zipf",
+            String.valueOf(Constants.DEFAULT_LOAD_ZIPF_EXPONENT)));
+        validate();
+    }
+
+    /**
+     * Parses the command-line arguments of the load generator.
+     * @param args Arguments of the form --name=value
+     * @return The run settings
+     * @throws IllegalArgumentException if an argument is malformed or out of range
+     */
+    public static LoadTestConfig fromArgs(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        return new LoadTestConfig(options);
+    }
+
+    private static Map<Operation, Integer> parseMix(String value) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String entry : value.split(",")) {
+            String[] parts = entry.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Workload mix entries must look like name:weight, got: " + entry);
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Workload mix weights cannot be negative");
+            }
+            weights.put(Operation.fromMixName(parts[0].trim()), weight);
+        }
+        return weights;
+    }
+
+    private void validate() {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("Thread count must be positive");
+        }
+        if (durationSeconds <= 0 && requests <= 0) {
+            throw new IllegalArgumentException("Either the duration or the request count must be positive");
+        }
+        if (warmupSeconds < 0 || targetRate < 0) {
+            throw new IllegalArgumentException("Warm-up and rate cannot be negative");
+        }
+        if (pages <= 0 || pageSize <= 0) {
+            throw new IllegalArgumentException("Page count and page size must be positive");
+        }
+        if (mix.values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+            throw new IllegalArgumentException("Workload mix must have a positive total weight");
+        }
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public long getDurationSeconds() {
+        return durationSeconds;
+    }
+
+    public long getRequests() {
+        return requests;
+    }
+
+    public long getWarmupSeconds() {
+        return warmupSeconds;
+    }
+
+    public double getTargetRate() {
+        return targetRate;
+    }
+
+    public boolean isOpenLoop() {
+        return targetRate > 0;
+    }
+
+    public Map<Operation, Integer> getMix() {
+        return mix;
+    }
+
+    public int getPages() {
+        return pages;
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    public double getZipfExponent() {
+        return zipfExponent;
+    }
+
+    @Override
+    public String toString() {
+        return "threads=" + threads
+            + (requests > 0 ? ", requests=" + requests : ", duration=" + durationSeconds + "s")
+            + ", warmup=" + warmupSeconds + "s"
+            + (isOpenLoop() ? ", open loop at " + targetRate + " req/s" : ", closed loop")
+            + ", mix=" + mix
+            + ", pages=" + pages + " x " + pageSize + " (zipf " + zipfExponent + ")";
+    }
+}
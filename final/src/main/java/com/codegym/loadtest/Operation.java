@@ -0,0 +1,35 @@
+package com.codegym.loadtest;
+
+/**
+ * Kinds of calls the load generator issues against the city service.
+ */
+public enum Operation {
+    PAGE("page"),
+    POPULATION_RANGE("range"),
+    CATEGORY("category");
+
+    private final String mixName;
+
+    Operation(String mixName) {
+        this.mixName = mixName;
+    }
+
+    public String getMixName() {
+        return mixName;
+    }
+
+    /**
+     * Finds an operation by the name used in the workload mix.
+     * @param mixName Name such as "page" or "range"
+     * @return The matching operation
+     * @throws IllegalArgumentException if no operation has that name
+     */
+    public static Operation fromMixName(String mixName) {
+        for (Operation operation : values()) {
+            if (operation.mixName.equalsIgnoreCase(mixName)) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Unknown operation in workload mix: " + mixName);
+    }
+}
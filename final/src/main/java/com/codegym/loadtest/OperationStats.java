@@ -0,0 +1,61 @@
+package com.codegym.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency recording for one operation and cache outcome.
+ * Workers record through wait-free HdrHistogram recorders; only the reporting thread drains them
+ * into the cumulative histograms. Values are kept in microseconds.
+ */
+class OperationStats {
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final String name;
+    private final Recorder responseTimes = new Recorder(SIGNIFICANT_DIGITS);
+    private final Recorder serviceTimes = new Recorder(SIGNIFICANT_DIGITS);
+    private final Histogram totalResponseTimes = new Histogram(SIGNIFICANT_DIGITS);
+    private final Histogram totalServiceTimes = new Histogram(SIGNIFICANT_DIGITS);
+    private Histogram intervalResponseTimes;
+    private Histogram intervalServiceTimes;
+
+    OperationStats(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Records one request.
+     * @param responseNanos Time from the intended start (open loop) or the actual start (closed loop) to completion
+     * @param serviceNanos Time from the actual start to completion
+     */
+    void record(long responseNanos, long serviceNanos) {
+        responseTimes.recordValue(TimeUnit.NANOSECONDS.toMicros(responseNanos));
+        serviceTimes.recordValue(TimeUnit.NANOSECONDS.toMicros(serviceNanos));
+    }
+
+    /**
+     * Moves everything recorded since the last call into the totals.
+     * @return Response-time histogram of the interval that was just closed
+     */
+    Histogram drain() {
+        intervalResponseTimes = responseTimes.getIntervalHistogram(intervalResponseTimes);
+        intervalServiceTimes = serviceTimes.getIntervalHistogram(intervalServiceTimes);
+        totalResponseTimes.add(intervalResponseTimes);
+        totalServiceTimes.add(intervalServiceTimes);
+        return intervalResponseTimes;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    Histogram getTotalResponseTimes() {
+        return totalResponseTimes;
+    }
+
+    Histogram getTotalServiceTimes() {
+        return totalServiceTimes;
+    }
+}
@@ -0,0 +1,27 @@
+package com.codegym.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Monotonic lock-free counter.
+ */
+public class Counter {
+    private final LongAdder value = new LongAdder();
+
+    public void increment() {
+        value.increment();
+    }
+
+    public void add(long amount) {
+        value.add(amount);
+    }
+
+    public long get() {
+        return value.sum();
+    }
+
+    @Override
+    public String toString() {
+        return String.valueOf(get());
+    }
+}
@@ -0,0 +1,82 @@
+package com.codegym.metrics;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+
+import java.util.Locale;
+
+/**
+ * Hit, miss and put counts of Hibernate's second-level and query caches, read from Hibernate Statistics.
+ * Requires hibernate.generate_statistics; without it every count stays at zero.
+ */
+public class HibernateCacheMetrics {
+    private final Statistics statistics;
+
+    public HibernateCacheMetrics(SessionFactory sessionFactory) {
+        this.statistics = sessionFactory.getStatistics();
+    }
+
+    public double getSecondLevelCacheHitRatio() {
+        return ratio(statistics.getSecondLevelCacheHitCount(), statistics.getSecondLevelCacheMissCount());
+    }
+
+    public double getQueryCacheHitRatio() {
+        return ratio(statistics.getQueryCacheHitCount(), statistics.getQueryCacheMissCount());
+    }
+
+    /**
+     * @param regionName Region name, e.g. an entity's cache region
+     * @return Hit ratio of the region, or 0 if it has not been read yet
+     */
+    public double getRegionHitRatio(String regionName) {
+        CacheRegionStatistics region = statistics.getCacheRegionStatistics(regionName);
+        return region == null ? 0 : ratio(region.getHitCount(), region.getMissCount());
+    }
+
+    /**
+     * Publishes the overall and per-region counts and hit ratios in the given registry.
+     * Per-region metrics are named after the region, e.g. hibernate_cache_world_city_hit_ratio.
+     * @param metrics Registry to add the cache metrics to
+     */
+    public void bindTo(MetricsRegistry metrics) {
+        metrics.gauge("hibernate_l2_cache_hits_total", "Entities and collections found in the second-level cache",
+            statistics::getSecondLevelCacheHitCount);
+        metrics.gauge("hibernate_l2_cache_misses_total", "Second-level cache lookups that went to the database",
+            statistics::getSecondLevelCacheMissCount);
+        metrics.gauge("hibernate_l2_cache_puts_total", "Entries written to the second-level cache",
+            statistics::getSecondLevelCachePutCount);
+        metrics.ratio("hibernate_l2_cache_hit_ratio", "Share of second-level cache lookups that hit",
+            this::getSecondLevelCacheHitRatio);
+        metrics.gauge("hibernate_query_cache_hits_total", "Query results found in the query cache",
+            statistics::getQueryCacheHitCount);
+        metrics.gauge("hibernate_query_cache_misses_total", "Cacheable queries that went to the database",
+            statistics::getQueryCacheMissCount);
+        metrics.gauge("hibernate_query_cache_puts_total", "Query results written to the query cache",
+            statistics::getQueryCachePutCount);
+        metrics.ratio("hibernate_query_cache_hit_ratio", "Share of cacheable queries answered from the query cache",
+            this::getQueryCacheHitRatio);
+        for (String regionName : statistics.getSecondLevelCacheRegionNames()) {
+            metrics.ratio("hibernate_cache_" + metricName(regionName) + "_hit_ratio",
+                "Share of lookups in cache region " + regionName + " that hit", () -> getRegionHitRatio(regionName));
+        }
+    }
+
+    private static String metricName(String regionName) {
+        return regionName.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]+", "_");
+    }
+
+    private static double ratio(long hits, long misses) {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "HibernateCache[l2 hits=%d, misses=%d, ratio=%.3f; query hits=%d, misses=%d, "
+                + "ratio=%.3f]",
+            statistics.getSecondLevelCacheHitCount(), statistics.getSecondLevelCacheMissCount(),
+            getSecondLevelCacheHitRatio(), statistics.getQueryCacheHitCount(), statistics.getQueryCacheMissCount(),
+            getQueryCacheHitRatio());
+    }
+}
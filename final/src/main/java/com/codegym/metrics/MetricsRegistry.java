@@ -0,0 +1,321 @@
+package com.codegym.metrics;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.DoubleSupplier;
+import java.util.function.LongSupplier;
+
+/**
+ * Named timers, counters and gauges of the application.
+ * <p>
+ * Metrics are looked up by name once, when a component is created, and the component keeps the returned
+ * LatencyHistogram or Counter; recording is then lock-free and allocation-free. The registry can publish
+ * every metric as a JMX MBean and render them in the Prometheus text exposition format.
+ */
+public class MetricsRegistry implements AutoCloseable {
+    public static final String JMX_DOMAIN = "com.codegym.metrics";
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+    private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+    private static final double NANOS_PER_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final Map<String, Timer> timers = new ConcurrentSkipListMap<>();
+    private final Map<String, CounterEntry> counters = new ConcurrentSkipListMap<>();
+    private final Map<String, Gauge> gauges = new ConcurrentSkipListMap<>();
+    private final Map<String, RatioGauge> ratios = new ConcurrentSkipListMap<>();
+    private final List<ObjectName> registeredMBeans = new ArrayList<>();
+    private ScheduledExecutorService fileExporter;
+
+    /**
+     * Returns the timer with the given name, creating it on first use.
+     * @param name Prometheus metric name, ending in _seconds
+     * @param help One-line description
+     * @return The shared histogram for this name
+     */
+    public LatencyHistogram timer(String name, String help) {
+        return timers.computeIfAbsent(name, key -> new Timer(help, new LatencyHistogram())).histogram;
+    }
+
+    /**
+     * Publishes a histogram owned by another component under the given name.
+     * @param name Prometheus metric name, ending in _seconds
+     * @param help One-line description
+     * @param histogram Histogram to expose
+     */
+    public void registerTimer(String name, String help, LatencyHistogram histogram) {
+        timers.put(name, new Timer(help, histogram));
+    }
+
+    /**
+     * Returns the counter with the given name, creating it on first use.
+     * @param name Prometheus metric name, ending in _total
+     * @param help One-line description
+     * @return The shared counter for this name
+     */
+    public Counter counter(String name, String help) {
+        return counters.computeIfAbsent(name, key -> new CounterEntry(help, new Counter())).counter;
+    }
+
+    /**
+     * Publishes a value that is read whenever metrics are rendered.
+     * @param name Prometheus metric name
+     * @param help One-line description
+     * @param value Supplier of the current value
+     */
+    public void gauge(String name, String help, LongSupplier value) {
+        gauges.put(name, new Gauge(help, value));
+    }
+
+    /**
+     * Publishes a fractional value, such as a hit ratio, that is read whenever metrics are rendered.
+     * @param name Prometheus metric name, ending in _ratio
+     * @param help One-line description
+     * @param value Supplier of the current value
+     */
+    public void ratio(String name, String help, DoubleSupplier value) {
+        ratios.put(name, new RatioGauge(help, value));
+    }
+
+    /**
+     * Renders every metric in the Prometheus text exposition format (version 0.0.4).
+     * Timers are written as summaries in seconds with 0.5, 0.9, 0.99 and 0.999 quantiles.
+     * @param writer Destination of the text
+     * @throws IOException If writing fails
+     */
+    public void writePrometheus(Writer writer) throws IOException {
+        for (Map.Entry<String, Timer> entry : timers.entrySet()) {
+            String name = entry.getKey();
+            LatencyHistogram histogram = entry.getValue().histogram;
+            writeHeader(writer, name, entry.getValue().help, "summary");
+            for (double quantile : QUANTILES) {
+                writer.write(name + "{quantile=\"" + quantile + "\"} "
+                    + formatSeconds(histogram.getPercentileNanos(quantile * 100)) + "\n");
+            }
+            writer.write(name + "_sum " + formatSeconds(histogram.getTotalNanos()) + "\n");
+            writer.write(name + "_count " + histogram.getCount() + "\n");
+        }
+        for (Map.Entry<String, CounterEntry> entry : counters.entrySet()) {
+            writeHeader(writer, entry.getKey(), entry.getValue().help, "counter");
+            writer.write(entry.getKey() + " " + entry.getValue().counter.get() + "\n");
+        }
+        for (Map.Entry<String, Gauge> entry : gauges.entrySet()) {
+            writeHeader(writer, entry.getKey(), entry.getValue().help, "gauge");
+            writer.write(entry.getKey() + " " + entry.getValue().value.getAsLong() + "\n");
+        }
+        for (Map.Entry<String, RatioGauge> entry : ratios.entrySet()) {
+            writeHeader(writer, entry.getKey(), entry.getValue().help, "gauge");
+            writer.write(entry.getKey() + " "
+                + String.format(Locale.ROOT, "%.6f", entry.getValue().value.getAsDouble()) + "\n");
+        }
+    }
+
+    public String toPrometheusText() {
+        StringWriter writer = new StringWriter();
+        try {
+            writePrometheus(writer);
+        } catch (IOException e) {
+            throw new IllegalStateException("Writing to a StringWriter cannot fail", e);
+        }
+        return writer.toString();
+    }
+
+    /**
+     * Writes the Prometheus text to a file, replacing it atomically so readers never see a partial dump.
+     * @param path Destination file
+     * @throws IOException If the file cannot be written
+     */
+    public void writePrometheus(Path path) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Path tempFile = path.resolveSibling(path.getFileName() + ".tmp");
+        Files.writeString(tempFile, toPrometheusText(), StandardCharsets.UTF_8);
+        Files.move(tempFile, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Rewrites the Prometheus dump file at a fixed interval until the registry is closed.
+     * @param path Destination file
+     * @param intervalSeconds Seconds between dumps
+     */
+    public synchronized void startFileExport(Path path, long intervalSeconds) {
+        if (fileExporter != null) {
+            return;
+        }
+        fileExporter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "metrics-file-exporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        fileExporter.scheduleWithFixedDelay(() -> {
+            try {
+                writePrometheus(path);
+            } catch (IOException e) {
+                System.err.println("Failed to write metrics to " + path + ": " + e.getMessage());
+            }
+        }, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+        System.out.println("Writing metrics to " + path + " every " + intervalSeconds + " s");
+    }
+
+    /**
+     * Publishes every metric registered so far on the platform MBean server under {@value #JMX_DOMAIN}.
+     * Metrics registered afterwards are picked up by calling this method again.
+     */
+    public synchronized void registerMBeans() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            for (Map.Entry<String, Timer> entry : timers.entrySet()) {
+                register(server, "Timer", entry.getKey(),
+                    new StandardMBean(new TimerView(entry.getValue().histogram), TimerMXBean.class, true));
+            }
+            for (Map.Entry<String, CounterEntry> entry : counters.entrySet()) {
+                Counter counter = entry.getValue().counter;
+                register(server, "Counter", entry.getKey(),
+                    new StandardMBean((ValueMXBean) counter::get, ValueMXBean.class, true));
+            }
+            for (Map.Entry<String, Gauge> entry : gauges.entrySet()) {
+                LongSupplier value = entry.getValue().value;
+                register(server, "Gauge", entry.getKey(),
+                    new StandardMBean((ValueMXBean) value::getAsLong, ValueMXBean.class, true));
+            }
+            for (Map.Entry<String, RatioGauge> entry : ratios.entrySet()) {
+                DoubleSupplier value = entry.getValue().value;
+                register(server, "Ratio", entry.getKey(),
+                    new StandardMBean((RatioMXBean) value::getAsDouble, RatioMXBean.class, true));
+            }
+        } catch (JMException e) {
+            System.err.println("Failed to register metrics MBeans: " + e.getMessage());
+        }
+    }
+
+    private void register(MBeanServer server, String type, String name, StandardMBean mbean) throws JMException {
+        ObjectName objectName = new ObjectName(JMX_DOMAIN + ":type=" + type + ",name=" + name);
+        if (server.isRegistered(objectName)) {
+            return;
+        }
+        server.registerMBean(mbean, objectName);
+        registeredMBeans.add(objectName);
+    }
+
+    @Override
+    public synchronized void close() {
+        if (fileExporter != null) {
+            fileExporter.shutdownNow();
+            fileExporter = null;
+        }
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        for (ObjectName objectName : registeredMBeans) {
+            try {
+                server.unregisterMBean(objectName);
+            } catch (JMException e) {
+                // Already gone
+            }
+        }
+        registeredMBeans.clear();
+    }
+
+    private static void writeHeader(Writer writer, String name, String help, String type) throws IOException {
+        writer.write("# HELP " + name + " " + help + "\n");
+        writer.write("# TYPE " + name + " " + type + "\n");
+    }
+
+    private static String formatSeconds(long nanos) {
+        return String.format(Locale.ROOT, "%.9f", nanos / NANOS_PER_SECOND);
+    }
+
+    private static final class Timer {
+        private final String help;
+        private final LatencyHistogram histogram;
+
+        private Timer(String help, LatencyHistogram histogram) {
+            this.help = help;
+            this.histogram = histogram;
+        }
+    }
+
+    private static final class CounterEntry {
+        private final String help;
+        private final Counter counter;
+
+        private CounterEntry(String help, Counter counter) {
+            this.help = help;
+            this.counter = counter;
+        }
+    }
+
+    private static final class Gauge {
+        private final String help;
+        private final LongSupplier value;
+
+        private Gauge(String help, LongSupplier value) {
+            this.help = help;
+            this.value = value;
+        }
+    }
+
+    private static final class RatioGauge {
+        private final String help;
+        private final DoubleSupplier value;
+
+        private RatioGauge(String help, DoubleSupplier value) {
+            this.help = help;
+            this.value = value;
+        }
+    }
+
+    private static final class TimerView implements TimerMXBean {
+        private final LatencyHistogram histogram;
+
+        private TimerView(LatencyHistogram histogram) {
+            this.histogram = histogram;
+        }
+
+        @Override
+        public long getCount() {
+            return histogram.getCount();
+        }
+
+        @Override
+        public double getMeanMillis() {
+            return histogram.getMeanNanos() / NANOS_PER_MILLI;
+        }
+
+        @Override
+        public double getP50Millis() {
+            return histogram.getPercentileNanos(50) / NANOS_PER_MILLI;
+        }
+
+        @Override
+        public double getP99Millis() {
+            return histogram.getPercentileNanos(99) / NANOS_PER_MILLI;
+        }
+
+        @Override
+        public double getP999Millis() {
+            return histogram.getPercentileNanos(99.9) / NANOS_PER_MILLI;
+        }
+
+        @Override
+        public double getMaxMillis() {
+            return histogram.getMaxNanos() / NANOS_PER_MILLI;
+        }
+    }
+}
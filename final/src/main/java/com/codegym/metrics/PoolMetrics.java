@@ -0,0 +1,103 @@
+package com.codegym.metrics;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects HikariCP pool metrics.
+ * Exposes live active/idle/pending counts and histograms for connection acquire and usage times.
+ */
+public class PoolMetrics implements MetricsTrackerFactory {
+    private final LatencyHistogram acquireTime = new LatencyHistogram();
+    private final LatencyHistogram usageTime = new LatencyHistogram();
+    private final LatencyHistogram creationTime = new LatencyHistogram();
+    private final LongAdder timeouts = new LongAdder();
+    private volatile PoolStats poolStats;
+
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        this.poolStats = poolStats;
+        return new Tracker();
+    }
+
+    public int getActiveConnections() {
+        return poolStats == null ? 0 : poolStats.getActiveConnections();
+    }
+
+    public int getIdleConnections() {
+        return poolStats == null ? 0 : poolStats.getIdleConnections();
+    }
+
+    public int getPendingThreads() {
+        return poolStats == null ? 0 : poolStats.getPendingThreads();
+    }
+
+    public int getTotalConnections() {
+        return poolStats == null ? 0 : poolStats.getTotalConnections();
+    }
+
+    public LatencyHistogram getAcquireTime() {
+        return acquireTime;
+    }
+
+    public LatencyHistogram getUsageTime() {
+        return usageTime;
+    }
+
+    public LatencyHistogram getCreationTime() {
+        return creationTime;
+    }
+
+    public long getTimeouts() {
+        return timeouts.sum();
+    }
+
+    /**
+     * Publishes the pool gauges and histograms in the given registry.
+     * @param metrics Registry to add the pool metrics to
+     */
+    public void bindTo(MetricsRegistry metrics) {
+        metrics.gauge("db_pool_active_connections", "Connections currently in use", this::getActiveConnections);
+        metrics.gauge("db_pool_idle_connections", "Connections idle in the pool", this::getIdleConnections);
+        metrics.gauge("db_pool_pending_threads", "Threads waiting for a connection", this::getPendingThreads);
+        metrics.gauge("db_pool_total_connections", "Connections open in the pool", this::getTotalConnections);
+        metrics.gauge("db_pool_timeouts_total", "Connection requests that timed out", this::getTimeouts);
+        metrics.registerTimer("db_pool_acquire_seconds", "Time to acquire a pooled connection", acquireTime);
+        metrics.registerTimer("db_pool_usage_seconds", "Time a connection was borrowed", usageTime);
+        metrics.registerTimer("db_pool_creation_seconds", "Time to open a new connection", creationTime);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Pool[active=%d, idle=%d, pending=%d, total=%d, timeouts=%d]%n"
+                + "  acquire: %s%n  usage:   %s",
+            getActiveConnections(), getIdleConnections(), getPendingThreads(), getTotalConnections(),
+            getTimeouts(), acquireTime, usageTime);
+    }
+
+    private class Tracker implements IMetricsTracker {
+        @Override
+        public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+            acquireTime.record(elapsedAcquiredNanos);
+        }
+
+        @Override
+        public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+            usageTime.record(TimeUnit.MILLISECONDS.toNanos(elapsedBorrowedMillis));
+        }
+
+        @Override
+        public void recordConnectionCreatedMillis(long connectionCreatedMillis) {
+            creationTime.record(TimeUnit.MILLISECONDS.toNanos(connectionCreatedMillis));
+        }
+
+        @Override
+        public void recordConnectionTimeout() {
+            timeouts.increment();
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.codegym.metrics;
+
+/**
+ * JMX view of a ratio gauge, such as a cache hit ratio between 0 and 1.
+ */
+public interface RatioMXBean {
+    double getValue();
+}
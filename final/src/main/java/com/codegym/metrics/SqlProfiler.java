@@ -0,0 +1,231 @@
+package com.codegym.metrics;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * In-process aggregator of SQL statement timings reported by the p6spy listener.
+ * <p>
+ * Statements are normalised (literals replaced by ?, whitespace collapsed) so that every execution of the same
+ * query shape is counted together. Each shape keeps a lock-free latency histogram, execution, row and error counts.
+ * Executions slower than the threshold are flagged and logged.
+ */
+public class SqlProfiler {
+    /** Shapes beyond this many are aggregated together, so ad-hoc SQL cannot grow the map without bound. */
+    private static final int MAX_STATEMENTS = 10_000;
+    private static final String OTHER_STATEMENTS = "(other statements)";
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST =
+        Pattern.compile("\\bin\\s*\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)", Pattern.CASE_INSENSITIVE);
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final double NANOS_PER_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final long slowThresholdNanos;
+    private final Map<String, QueryStats> byRawSql = new ConcurrentHashMap<>();
+    private final Map<String, QueryStats> byNormalizedSql = new ConcurrentHashMap<>();
+    private final Counter slowQueries = new Counter();
+    private final Instant startedAt = Instant.now();
+
+    /**
+     * @param slowThreshold Executions at or above this duration are flagged as slow
+     */
+    public SqlProfiler(Duration slowThreshold) {
+        this.slowThresholdNanos = slowThreshold.toNanos();
+    }
+
+    /**
+     * Records one execution of a statement.
+     * @param sql SQL as sent to the driver, with ? placeholders
+     * @param elapsedNanos Execution time
+     * @param failed Whether the driver reported an error
+     * @return true if the execution was flagged as slow
+     */
+    public boolean recordExecution(String sql, long elapsedNanos, boolean failed) {
+        QueryStats stats = statsFor(sql);
+        stats.latency.record(elapsedNanos);
+        if (failed) {
+            stats.errors.increment();
+        }
+        if (elapsedNanos >= slowThresholdNanos) {
+            stats.slowExecutions.increment();
+            slowQueries.increment();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Adds rows read or written by a statement.
+     * @param sql SQL as sent to the driver
+     * @param rows Number of rows
+     */
+    public void recordRows(String sql, long rows) {
+        statsFor(sql).rows.add(rows);
+    }
+
+    private QueryStats statsFor(String sql) {
+        String key = sql == null ? "" : sql;
+        // Prepared statements repeat the exact same text, so the raw lookup avoids normalising again
+        QueryStats stats = byRawSql.get(key);
+        if (stats != null) {
+            return stats;
+        }
+        String normalized = normalize(key);
+        if (byNormalizedSql.size() >= MAX_STATEMENTS && !byNormalizedSql.containsKey(normalized)) {
+            normalized = OTHER_STATEMENTS;
+        }
+        stats = byNormalizedSql.computeIfAbsent(normalized, QueryStats::new);
+        if (byRawSql.size() < MAX_STATEMENTS) {
+            byRawSql.putIfAbsent(key, stats);
+        }
+        return stats;
+    }
+
+    /**
+     * Reduces a statement to its shape: literals become ?, IN lists collapse to one placeholder
+     * and whitespace is collapsed.
+     * @param sql Statement text
+     * @return Normalised statement
+     */
+    public static String normalize(String sql) {
+        String normalized = STRING_LITERAL.matcher(sql).replaceAll("?");
+        normalized = NUMBER_LITERAL.matcher(normalized).replaceAll("?");
+        normalized = WHITESPACE.matcher(normalized).replaceAll(" ").trim();
+        return IN_LIST.matcher(normalized).replaceAll("in (?, ...)");
+    }
+
+    public long getSlowQueryCount() {
+        return slowQueries.get();
+    }
+
+    public long getSlowThresholdMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(slowThresholdNanos);
+    }
+
+    public List<QueryStats> getStatements() {
+        return new ArrayList<>(byNormalizedSql.values());
+    }
+
+    /**
+     * Statements with the highest 99th percentile latency.
+     * @param limit Maximum number of statements
+     * @return Slowest statements first
+     */
+    public List<QueryStats> topSlowest(int limit) {
+        return top(Comparator.comparingLong((QueryStats stats) -> stats.latency.getPercentileNanos(99))
+            .thenComparingDouble(stats -> stats.latency.getMeanNanos()), limit);
+    }
+
+    /**
+     * Statements executed most often.
+     * @param limit Maximum number of statements
+     * @return Most frequent statements first
+     */
+    public List<QueryStats> topMostFrequent(int limit) {
+        return top(Comparator.comparingLong((QueryStats stats) -> stats.latency.getCount()), limit);
+    }
+
+    private List<QueryStats> top(Comparator<QueryStats> order, int limit) {
+        return byNormalizedSql.values().stream()
+            .sorted(order.reversed())
+            .limit(limit)
+            .toList();
+    }
+
+    /**
+     * Builds the plain-text report of the slowest and most frequent statements.
+     * @param limit Number of statements in each list
+     * @return Report text
+     */
+    public String report(int limit) {
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("SQL profile since %s: %d statement shapes, %d slow executions (>= %d ms)%n",
+            startedAt, byNormalizedSql.size(), getSlowQueryCount(), getSlowThresholdMillis()));
+        appendSection(report, "Top " + limit + " slowest statements (by p99)", topSlowest(limit));
+        appendSection(report, "Top " + limit + " most frequent statements", topMostFrequent(limit));
+        return report.toString();
+    }
+
+    private static void appendSection(StringBuilder report, String title, List<QueryStats> statements) {
+        report.append(String.format("%n%s%n", title));
+        report.append(String.format("%8s %10s %10s %10s %10s %10s %6s %6s  %s%n",
+            "count", "total ms", "mean ms", "p99 ms", "max ms", "rows", "slow", "errors", "statement"));
+        for (QueryStats stats : statements) {
+            LatencyHistogram latency = stats.latency;
+            report.append(String.format("%8d %10.1f %10.3f %10.3f %10.3f %10d %6d %6d  %s%n",
+                latency.getCount(),
+                latency.getTotalNanos() / NANOS_PER_MILLI,
+                latency.getMeanNanos() / NANOS_PER_MILLI,
+                latency.getPercentileNanos(99) / NANOS_PER_MILLI,
+                latency.getMaxNanos() / NANOS_PER_MILLI,
+                stats.rows.get(),
+                stats.slowExecutions.get(),
+                stats.errors.get(),
+                stats.sql));
+        }
+    }
+
+    /**
+     * Writes the report to a file, replacing any previous dump atomically.
+     * @param path Destination file
+     * @param limit Number of statements in each list
+     * @throws IOException If the file cannot be written
+     */
+    public void writeReport(Path path, int limit) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Path tempFile = path.resolveSibling(path.getFileName() + ".tmp");
+        Files.writeString(tempFile, report(limit), StandardCharsets.UTF_8);
+        Files.move(tempFile, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Aggregated figures for one statement shape.
+     */
+    public static class QueryStats {
+        private final String sql;
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final Counter rows = new Counter();
+        private final Counter slowExecutions = new Counter();
+        private final Counter errors = new Counter();
+
+        QueryStats(String sql) {
+            this.sql = sql;
+        }
+
+        public String getSql() {
+            return sql;
+        }
+
+        public LatencyHistogram getLatency() {
+            return latency;
+        }
+
+        public long getRows() {
+            return rows.get();
+        }
+
+        public long getSlowExecutions() {
+            return slowExecutions.get();
+        }
+
+        public long getErrors() {
+            return errors.get();
+        }
+    }
+}
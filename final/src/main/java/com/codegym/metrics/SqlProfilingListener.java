@@ -0,0 +1,70 @@
+package com.codegym.metrics;
+
+import com.p6spy.engine.common.PreparedStatementInformation;
+import com.p6spy.engine.common.ResultSetInformation;
+import com.p6spy.engine.common.StatementInformation;
+import com.p6spy.engine.event.SimpleJdbcEventListener;
+
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * p6spy listener that feeds every statement execution and every row read or written into a SqlProfiler.
+ */
+public class SqlProfilingListener extends SimpleJdbcEventListener {
+    private final SqlProfiler profiler;
+
+    public SqlProfilingListener(SqlProfiler profiler) {
+        this.profiler = profiler;
+    }
+
+    @Override
+    public void onAfterAnyExecute(StatementInformation statementInformation, long timeElapsedNanos, SQLException e) {
+        boolean slow = profiler.recordExecution(statementInformation.getSql(), timeElapsedNanos, e != null);
+        if (slow) {
+            System.err.printf("Slow query (%.1f ms): %s%n",
+                timeElapsedNanos / (double) TimeUnit.MILLISECONDS.toNanos(1),
+                statementInformation.getSqlWithValues());
+        }
+    }
+
+    @Override
+    public void onAfterExecuteUpdate(PreparedStatementInformation statementInformation, long timeElapsedNanos,
+                                     int rowCount, SQLException e) {
+        super.onAfterExecuteUpdate(statementInformation, timeElapsedNanos, rowCount, e);
+        recordUpdatedRows(statementInformation.getSql(), rowCount);
+    }
+
+    @Override
+    public void onAfterExecuteUpdate(StatementInformation statementInformation, long timeElapsedNanos, String sql,
+                                     int rowCount, SQLException e) {
+        super.onAfterExecuteUpdate(statementInformation, timeElapsedNanos, sql, rowCount, e);
+        recordUpdatedRows(statementInformation.getSql(), rowCount);
+    }
+
+    @Override
+    public void onAfterExecuteBatch(StatementInformation statementInformation, long timeElapsedNanos,
+                                    int[] updateCounts, SQLException e) {
+        super.onAfterExecuteBatch(statementInformation, timeElapsedNanos, updateCounts, e);
+        if (updateCounts != null) {
+            for (int count : updateCounts) {
+                recordUpdatedRows(statementInformation.getSql(), count);
+            }
+        }
+    }
+
+    @Override
+    public void onAfterResultSetNext(ResultSetInformation resultSetInformation, long timeElapsedNanos,
+                                     boolean hasNext, SQLException e) {
+        if (hasNext) {
+            profiler.recordRows(resultSetInformation.getSql(), 1);
+        }
+    }
+
+    private void recordUpdatedRows(String sql, int rowCount) {
+        // Drivers report batched rows as SUCCESS_NO_INFO (-2) when the count is unknown
+        if (rowCount > 0) {
+            profiler.recordRows(sql, rowCount);
+        }
+    }
+}
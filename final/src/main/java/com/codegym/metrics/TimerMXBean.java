@@ -0,0 +1,18 @@
+package com.codegym.metrics;
+
+/**
+ * JMX view of a latency timer. Times are in milliseconds.
+ */
+public interface TimerMXBean {
+    long getCount();
+
+    double getMeanMillis();
+
+    double getP50Millis();
+
+    double getP99Millis();
+
+    double getP999Millis();
+
+    double getMaxMillis();
+}
@@ -0,0 +1,8 @@
+package com.codegym.metrics;
+
+/**
+ * JMX view of a counter or gauge.
+ */
+public interface ValueMXBean {
+    long getValue();
+}
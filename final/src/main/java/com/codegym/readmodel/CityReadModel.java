@@ -0,0 +1,249 @@
+package com.codegym.readmodel;
+
+import com.codegym.dto.CategoryStatsDTO;
+import com.codegym.dto.CityDTO;
+import com.codegym.dto.PopulationCategory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Heap-resident, columnar copy of the city table.
+ * <p>
+ * Each column is a primitive array indexed by position in id order; names and districts are dictionary-encoded,
+ * so repeated values are stored once and each row holds an int code. A permutation of the positions sorted by
+ * population (largest first, ties by id) turns population ranges into two binary searches, and because categories
+ * are contiguous population ranges it also yields each category as one slice of that permutation.
+ * Instances are immutable and safe to share between threads; a refresh builds a new one.
+ */
+public class CityReadModel {
+    private final int[] ids;
+    private final int[] populations;
+    private final int[] nameCodes;
+    private final int[] districtCodes;
+    private final String[] nameDictionary;
+    private final String[] districtDictionary;
+    private final int[] byPopulation;
+    private final int[] categoryStarts;
+    private final int[] categoryEnds;
+    private final long[] categoryPopulations;
+    private final long builtAtMillis;
+
+    private CityReadModel(int[] ids, int[] populations, int[] nameCodes, int[] districtCodes,
+                          String[] nameDictionary, String[] districtDictionary, int[] byPopulation,
+                          int[] categoryStarts, int[] categoryEnds, long[] categoryPopulations,
+                          long builtAtMillis) {
+        this.ids = ids;
+        this.populations = populations;
+        this.nameCodes = nameCodes;
+        this.districtCodes = districtCodes;
+        this.nameDictionary = nameDictionary;
+        this.districtDictionary = districtDictionary;
+        this.byPopulation = byPopulation;
+        this.categoryStarts = categoryStarts;
+        this.categoryEnds = categoryEnds;
+        this.categoryPopulations = categoryPopulations;
+        this.builtAtMillis = builtAtMillis;
+    }
+
+    /**
+     * Builds the columns and the population index.
+     * @param cities Every city, ordered by id
+     * @return The read model
+     * @throws IllegalArgumentException if the cities are not in ascending id order
+     */
+    public static CityReadModel build(List<CityDTO> cities) {
+        int count = cities.size();
+        int[] ids = new int[count];
+        int[] populations = new int[count];
+        int[] nameCodes = new int[count];
+        int[] districtCodes = new int[count];
+        Map<String, Integer> names = new HashMap<>();
+        Map<String, Integer> districts = new HashMap<>();
+        for (int i = 0; i < count; i++) {
+            CityDTO city = cities.get(i);
+            ids[i] = city.getId();
+            if (i > 0 && ids[i] <= ids[i - 1]) {
+                throw new IllegalArgumentException("Cities must be ordered by id, found " + ids[i]
+                    + " after " + ids[i - 1]);
+            }
+            populations[i] = city.getPopulation();
+            nameCodes[i] = names.computeIfAbsent(city.getName(), name -> names.size());
+            districtCodes[i] = districts.computeIfAbsent(city.getDistrict(), district -> districts.size());
+        }
+
+        int[] byPopulation = sortByPopulation(ids, populations);
+
+        // Largest first, so a category ends where the populations drop below its minimum
+        // and starts where the next larger category ends
+        PopulationCategory[] categories = PopulationCategory.values();
+        int[] categoryStarts = new int[categories.length];
+        int[] categoryEnds = new int[categories.length];
+        long[] categoryPopulations = new long[categories.length];
+        for (int c = 0; c < categories.length; c++) {
+            categoryEnds[c] = firstBelow(byPopulation, populations, categories[c].getMinPopulation());
+            categoryStarts[c] = c + 1 < categories.length
+                ? firstBelow(byPopulation, populations, categories[c + 1].getMinPopulation())
+                : 0;
+            for (int i = categoryStarts[c]; i < categoryEnds[c]; i++) {
+                categoryPopulations[c] += populations[byPopulation[i]];
+            }
+        }
+        return new CityReadModel(ids, populations, nameCodes, districtCodes, toArray(names), toArray(districts),
+            byPopulation, categoryStarts, categoryEnds, categoryPopulations, System.currentTimeMillis());
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    public long getBuiltAtMillis() {
+        return builtAtMillis;
+    }
+
+    /**
+     * @return Number of distinct names and districts held by the dictionaries
+     */
+    public int getDictionarySize() {
+        return nameDictionary.length + districtDictionary.length;
+    }
+
+    public CityDTO toDTO(int index) {
+        return new CityDTO.Builder()
+            .withId(ids[index])
+            .withName(nameDictionary[nameCodes[index]])
+            .withDistrict(districtDictionary[districtCodes[index]])
+            .withPopulation(populations[index])
+            .build();
+    }
+
+    /**
+     * Returns cities by position in id order, like offset pagination on the database.
+     * @param offset Starting position
+     * @param limit Maximum number of results
+     * @return List of city DTOs
+     */
+    public List<CityDTO> findAllPaginated(int offset, int limit) {
+        int end = (int) Math.min(ids.length, (long) offset + limit);
+        if (offset >= end) {
+            return Collections.emptyList();
+        }
+        List<CityDTO> cities = new ArrayList<>(end - offset);
+        for (int i = offset; i < end; i++) {
+            cities.add(toDTO(i));
+        }
+        return cities;
+    }
+
+    /**
+     * Returns the cities following the given id, located by binary search on the id column.
+     * @param lastId Id of the last city of the previous page
+     * @param limit Maximum number of results
+     * @return List of city DTOs with id greater than lastId
+     */
+    public List<CityDTO> findPageAfter(int lastId, int limit) {
+        int low = 0;
+        int high = ids.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (ids[mid] <= lastId) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return findAllPaginated(low, limit);
+    }
+
+    /**
+     * Returns the cities within the range as one slice of the population permutation.
+     * @param minPopulation Minimum population (inclusive)
+     * @param maxPopulation Maximum population (inclusive)
+     * @return List of city DTOs, largest population first, ties ordered by id
+     */
+    public List<CityDTO> findByPopulationRange(int minPopulation, int maxPopulation) {
+        if (minPopulation > maxPopulation) {
+            return Collections.emptyList();
+        }
+        int start = maxPopulation == Integer.MAX_VALUE
+            ? 0
+            : firstBelow(byPopulation, populations, maxPopulation + 1);
+        int end = firstBelow(byPopulation, populations, minPopulation);
+        return toDTOs(start, end);
+    }
+
+    /**
+     * Reads the per-category totals computed at build time and the largest cities from the head of each slice.
+     * @param examplesPerCategory Number of largest cities returned per category
+     * @return One entry per category, smallest category first
+     */
+    public List<CategoryStatsDTO> aggregateByPopulationCategory(int examplesPerCategory) {
+        PopulationCategory[] categories = PopulationCategory.values();
+        List<CategoryStatsDTO> stats = new ArrayList<>(categories.length);
+        for (int c = 0; c < categories.length; c++) {
+            int start = categoryStarts[c];
+            int end = categoryEnds[c];
+            stats.add(new CategoryStatsDTO(categories[c].getLabel(), end - start, categoryPopulations[c],
+                toDTOs(start, Math.min(end, start + Math.max(0, examplesPerCategory)))));
+        }
+        return stats;
+    }
+
+    private List<CityDTO> toDTOs(int start, int end) {
+        List<CityDTO> cities = new ArrayList<>(Math.max(0, end - start));
+        for (int i = start; i < end; i++) {
+            cities.add(toDTO(byPopulation[i]));
+        }
+        return cities;
+    }
+
+    /**
+     * Sorts positions by population descending, then id ascending, with a primitive sort on packed longs:
+     * the high half holds the negated population, the low half the position, which is already in id order.
+     */
+    private static int[] sortByPopulation(int[] ids, int[] populations) {
+        long[] keys = new long[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            keys[i] = ((long) -populations[i] << 32) | i;
+        }
+        Arrays.sort(keys);
+        int[] order = new int[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            order[i] = (int) keys[i];
+        }
+        return order;
+    }
+
+    /**
+     * Finds the first position in the population permutation whose population is below the bound.
+     */
+    private static int firstBelow(int[] byPopulation, int[] populations, int bound) {
+        int low = 0;
+        int high = byPopulation.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (populations[byPopulation[mid]] >= bound) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static String[] toArray(Map<String, Integer> dictionary) {
+        String[] values = new String[dictionary.size()];
+        dictionary.forEach((value, code) -> values[code] = value);
+        return values;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("CityReadModel[cities=%d, dictionary=%d, builtAt=%d]",
+            ids.length, getDictionarySize(), builtAtMillis);
+    }
+}
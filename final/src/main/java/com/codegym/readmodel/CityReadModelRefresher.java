@@ -0,0 +1,98 @@
+package com.codegym.readmodel;
+
+import com.codegym.dao.CityDataset;
+import com.codegym.dao.ICityRepository;
+import org.hibernate.SessionFactory;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Holds the current {@link CityReadModel} and periodically replaces it with one rebuilt from the database.
+ * The new model is built off to the side and published with a single reference swap, so readers never block
+ * and always see either the previous model or the complete new one.
+ */
+public class CityReadModelRefresher implements AutoCloseable {
+    private final ICityRepository cityRepository;
+    private final SessionFactory sessionFactory;
+    private final AtomicReference<CityReadModel> current = new AtomicReference<>();
+    private ScheduledExecutorService scheduler;
+
+    public CityReadModelRefresher(ICityRepository cityRepository, SessionFactory sessionFactory) {
+        this.cityRepository = cityRepository;
+        this.sessionFactory = sessionFactory;
+    }
+
+    /**
+     * Returns the model readers should use.
+     * @return The current model, or null before the first refresh succeeded
+     */
+    public CityReadModel get() {
+        return current.get();
+    }
+
+    /**
+     * Rebuilds the model once and swaps it in.
+     * @return The new model
+     * @throws IllegalStateException if the dataset was read incompletely, or holds fewer cities than the current
+     *     model; cities are never deleted, so the current model is kept
+     */
+    public CityReadModel refresh() {
+        long startTime = System.currentTimeMillis();
+        CityReadModel model = CityReadModel.build(CityDataset.loadAll(cityRepository, sessionFactory));
+        CityReadModel previous = current.get();
+        if (previous != null && model.size() < previous.size()) {
+            throw new IllegalStateException("Rebuilt read model has " + model.size() + " cities, the current one "
+                + previous.size());
+        }
+        current.set(model);
+        System.out.println("Read model refreshed with " + model.size() + " cities in "
+            + (System.currentTimeMillis() - startTime) + " ms");
+        return model;
+    }
+
+    /**
+     * Starts refreshing in the background at a fixed delay, the first time after one interval.
+     * @param intervalSeconds Seconds between the end of one refresh and the start of the next
+     */
+    public synchronized void start(long intervalSeconds) {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "read-model-refresher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::refreshQuietly, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Schedules an immediate rebuild on the refresher thread, e.g. after the city table was changed in bulk.
+     * Does nothing until {@link #start(long)} was called.
+     */
+    public synchronized void refreshAsync() {
+        if (scheduler != null) {
+            scheduler.execute(this::refreshQuietly);
+        }
+    }
+
+    private void refreshQuietly() {
+        try {
+            refresh();
+        } catch (Exception e) {
+            // Keep serving the previous model until a later refresh succeeds
+            System.err.println("Failed to refresh city read model: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package com.codegym.server;
+
+import com.codegym.dto.CategoryStatsDTO;
+import com.codegym.dto.CityDTO;
+import com.codegym.dto.CityPageDTO;
+import com.codegym.dto.PageRequest;
+import com.codegym.metrics.MetricsRegistry;
+import com.codegym.service.ICityService;
+import com.codegym.util.CacheKeyUtil;
+import com.codegym.util.Constants;
+import com.codegym.util.CursorUtil;
+import com.codegym.util.ValidationUtil;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Embedded HTTP server exposing the city queries of an ICityService.
+ * <p>
+ * Every request runs on its own virtual thread, so blocking calls into the service do not tie up platform threads.
+ * Responses are written as chunked JSON straight from the result list, without building the document in memory.
+ * <ul>
+ *   <li>GET /cities?offset=0&amp;limit=10</li>
+ *   <li>GET /cities/pages?pages=0:10,10:10 (one array per page, in request order)</li>
+ *   <li>GET /cities/after?cursor=...&amp;limit=10</li>
+ *   <li>GET /cities/population?min=100000&amp;max=500000</li>
+ *   <li>GET /cities/categories?limit=1000</li>
+ *   <li>GET /metrics (Prometheus text format)</li>
+ * </ul>
+ */
+public class CityHttpServer implements AutoCloseable {
+    private static final String JSON_CONTENT_TYPE = "application/json; charset=utf-8";
+    private static final String PROMETHEUS_CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+    private static final int STOP_DELAY_SECONDS = 1;
+    private static final int FLUSH_EVERY_CITIES = 256;
+
+    private final HttpServer server;
+    private final ExecutorService requestExecutor;
+    private final ICityService cityService;
+    private final MetricsRegistry metrics;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Creates the server bound to the given port. Call {@link #start()} to accept requests.
+     * @param port TCP port to listen on
+     * @param cityService Service that answers the queries
+     * @param metrics Registry served on /metrics
+     * @throws IOException If the port cannot be bound
+     */
+    public CityHttpServer(int port, ICityService cityService, MetricsRegistry metrics) throws IOException {
+        this.cityService = cityService;
+        this.metrics = metrics;
+        this.objectMapper = new ObjectMapper();
+        this.requestExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        this.server = HttpServer.create(new InetSocketAddress(port), 0);
+        this.server.setExecutor(requestExecutor);
+        this.server.createContext("/cities/pages", handler(this::handlePages));
+        this.server.createContext("/cities/after", handler(this::handleCitiesAfter));
+        this.server.createContext("/cities/population", handler(this::handlePopulationRange));
+        this.server.createContext("/cities/categories/stats", handler(this::handleCategoryStats));
+        this.server.createContext("/cities/categories", handler(this::handleCategories));
+        this.server.createContext("/cities", handler(this::handlePaginated));
+        this.server.createContext("/metrics", handler(this::handleMetrics));
+    }
+
+    public void start() {
+        server.start();
+        System.out.println("City HTTP server listening on port " + getPort());
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    private void handlePaginated(HttpExchange exchange, Map<String, String> params) throws IOException {
+        int offset = intParam(params, "offset", Constants.DEFAULT_OFFSET);
+        int limit = intParam(params, "limit", Constants.DEFAULT_PAGE_SIZE);
+        List<CityDTO> cities = cityService.getPaginatedCities(offset, limit);
+        stream(exchange, generator -> writeCities(generator, cities));
+    }
+
+    private void handlePages(HttpExchange exchange, Map<String, String> params) throws IOException {
+        String value = params.get("pages");
+        if (value == null || value.isEmpty()) {
+            throw new IllegalArgumentException("Parameter 'pages' is required, e.g. pages=0:10,10:10");
+        }
+        List<PageRequest> requests = new ArrayList<>();
+        for (String page : value.split(",")) {
+            PageRequest request = CacheKeyUtil.parsePageRequest(page);
+            if (request == null) {
+                throw new IllegalArgumentException("Invalid page '" + page + "', expected offset:limit");
+            }
+            requests.add(request);
+        }
+        List<List<CityDTO>> pages = cityService.getPages(requests);
+        stream(exchange, generator -> {
+            generator.writeStartArray();
+            for (List<CityDTO> cities : pages) {
+                writeCities(generator, cities);
+            }
+            generator.writeEndArray();
+        });
+    }
+
+    private void handleCitiesAfter(HttpExchange exchange, Map<String, String> params) throws IOException {
+        int limit = intParam(params, "limit", Constants.DEFAULT_PAGE_SIZE);
+        String cursor = params.get("cursor");
+        // Rejects a malformed cursor with 400 before the service would turn it into an empty page
+        CursorUtil.decode(cursor);
+        CityPageDTO page = cityService.getCitiesAfter(cursor, limit);
+        stream(exchange, generator -> {
+            generator.writeStartObject();
+            generator.writeFieldName("cities");
+            writeCities(generator, page.getCities());
+            generator.writeStringField("next_cursor", page.getNextCursor());
+            generator.writeEndObject();
+        });
+    }
+
+    private void handlePopulationRange(HttpExchange exchange, Map<String, String> params) throws IOException {
+        int minPopulation = intParam(params, "min", 0);
+        int maxPopulation = intParam(params, "max", ValidationUtil.MAX_POPULATION);
+        ValidationUtil.validatePopulationRange(minPopulation, maxPopulation);
+        List<CityDTO> cities = cityService.getCitiesByPopulationRange(minPopulation, maxPopulation);
+        stream(exchange, generator -> writeCities(generator, cities));
+    }
+
+    private void handleCategories(HttpExchange exchange, Map<String, String> params) throws IOException {
+        int limit = intParam(params, "limit", Constants.DEFAULT_CATEGORY_LIMIT);
+        Map<String, List<CityDTO>> categories = cityService.getCitiesByCategory(limit);
+        stream(exchange, generator -> {
+            generator.writeStartObject();
+            for (Map.Entry<String, List<CityDTO>> entry : categories.entrySet()) {
+                generator.writeFieldName(entry.getKey());
+                writeCities(generator, entry.getValue());
+            }
+            generator.writeEndObject();
+        });
+    }
+
+    private void handleCategoryStats(HttpExchange exchange, Map<String, String> params) throws IOException {
+        List<CategoryStatsDTO> stats = cityService.getCategoryStats();
+        stream(exchange, generator -> generator.writeObject(stats));
+    }
+
+    private void handleMetrics(HttpExchange exchange, Map<String, String> params) throws IOException {
+        byte[] body = metrics.toPrometheusText().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", PROMETHEUS_CONTENT_TYPE);
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private void writeCities(JsonGenerator generator, List<CityDTO> cities) throws IOException {
+        generator.writeStartArray();
+        for (int i = 0; i < cities.size(); i++) {
+            generator.writeObject(cities.get(i));
+            if ((i + 1) % FLUSH_EVERY_CITIES == 0) {
+                generator.flush();
+            }
+        }
+        generator.writeEndArray();
+    }
+
+    private void stream(HttpExchange exchange, JsonBody body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", JSON_CONTENT_TYPE);
+        // A length of 0 selects chunked transfer encoding
+        exchange.sendResponseHeaders(200, 0);
+        try (OutputStream out = exchange.getResponseBody();
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8)) {
+            body.write(generator);
+        }
+    }
+
+    private void sendError(HttpExchange exchange, int status, String message) throws IOException {
+        byte[] body = objectMapper.writeValueAsBytes(Map.of("error", message));
+        exchange.getResponseHeaders().set("Content-Type", JSON_CONTENT_TYPE);
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private HttpHandler handler(QueryHandler queryHandler) {
+        return exchange -> {
+            try {
+                if (!"GET".equals(exchange.getRequestMethod())) {
+                    sendError(exchange, 405, "Only GET is supported");
+                    return;
+                }
+                queryHandler.handle(exchange, parseQuery(exchange.getRequestURI().getRawQuery()));
+            } catch (IllegalArgumentException e) {
+                sendError(exchange, 400, e.getMessage());
+            } catch (Exception e) {
+                System.err.println("Error handling " + exchange.getRequestURI() + ": " + e.getMessage());
+                try {
+                    sendError(exchange, 500, "Internal server error");
+                } catch (IOException | RuntimeException ignored) {
+                    // Headers were already sent; the client sees a truncated response
+                }
+            } finally {
+                exchange.close();
+            }
+        };
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> params = new HashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return params;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int separator = pair.indexOf('=');
+            String name = separator < 0 ? pair : pair.substring(0, separator);
+            String value = separator < 0 ? "" : pair.substring(separator + 1);
+            params.put(URLDecoder.decode(name, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return params;
+    }
+
+    private static int intParam(Map<String, String> params, String name, int defaultValue) {
+        String value = params.get(name);
+        if (value == null || value.isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Parameter '" + name + "' must be an integer");
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(STOP_DELAY_SECONDS);
+        requestExecutor.shutdown();
+    }
+
+    @FunctionalInterface
+    private interface QueryHandler {
+        void handle(HttpExchange exchange, Map<String, String> params) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface JsonBody {
+        void write(JsonGenerator generator) throws IOException;
+    }
+}
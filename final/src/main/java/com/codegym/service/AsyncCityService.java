@@ -0,0 +1,521 @@
+package com.codegym.service;
+
+import com.codegym.cache.CacheGeneration;
+import com.codegym.cache.CacheOutcome;
+import com.codegym.cache.CategoryStatsCache;
+import com.codegym.cache.CityPageCodec;
+import com.codegym.cache.NearCache;
+import com.codegym.cache.PopulationIndex;
+import com.codegym.cache.RedisLeaseLock;
+import com.codegym.cache.SingleFlight;
+import com.codegym.dao.ICityRepository;
+import com.codegym.dto.CategoryStatsDTO;
+import com.codegym.dto.CityDTO;
+import com.codegym.dto.CityPageDTO;
+import com.codegym.dto.PageRequest;
+import com.codegym.metrics.Counter;
+import com.codegym.metrics.MetricsRegistry;
+import com.codegym.util.CacheKeyUtil;
+import com.codegym.util.Constants;
+import com.codegym.util.CursorUtil;
+import com.codegym.util.RedisConnectionManager;
+import com.codegym.util.TransactionUtil;
+import com.codegym.util.ValidationUtil;
+import io.lettuce.core.KeyValue;
+import io.lettuce.core.api.async.RedisAsyncCommands;
+import org.hibernate.CacheMode;
+import org.hibernate.SessionFactory;
+import java.io.IOException;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of IAsyncCityService.
+ * Handles business logic for city operations: the near cache, Redis and the database tiers for pages,
+ * the population index for range queries, and request coalescing on cache misses.
+ * Redis reads use Lettuce's async commands; blocking database work runs on the given bounded executor.
+ */
+public class AsyncCityService implements IAsyncCityService {
+    private static final long LEASE_POLL_INTERVAL_MS = 25;
+    private static final int NO_LIMIT = 0;
+    private static final long NO_GENERATION = -1;
+    private static final Consumer<CacheOutcome> IGNORE_OUTCOME = outcome -> { };
+
+    private final ICityRepository cityRepository;
+    private final SessionFactory sessionFactory;
+    private final RedisConnectionManager redisManager;
+    private final NearCache nearCache;
+    private final CacheGeneration cacheGeneration;
+    private final SingleFlight<List<CityDTO>> pageLoads;
+    private final RedisLeaseLock leaseLock;
+    private final CityPageCodec pageCodec;
+    private final PopulationIndex populationIndex;
+    private final CategoryStatsCache categoryStats;
+    private final Executor dbExecutor;
+    private final Counter nearCacheHits;
+    private final Counter redisHits;
+    private final Counter misses;
+    private final Counter redisErrors;
+
+    /**
+     * Creates the asynchronous city service.
+     * @param cityRepository Repository used on cache misses
+     * @param sessionFactory Hibernate SessionFactory for transactions
+     * @param redisManager Shared Redis connection
+     * @param nearCache In-process L1 cache
+     * @param cacheGeneration Generation embedded in page keys, incremented to invalidate every cached page
+     * @param pageLoads Coalesces concurrent misses of the same page within this JVM
+     * @param leaseLock Coalesces misses across instances, or null to disable
+     * @param pageCodec Codec for page values stored in Redis
+     * @param populationIndex Redis index for population range queries, or null to always query the database
+     * @param categoryStats Redis hash cache of the population category aggregates
+     * @param dbExecutor Bounded executor that runs all blocking database work
+     * @param metrics Registry for cache hit, miss and error counters
+     */
+    public AsyncCityService(ICityRepository cityRepository, SessionFactory sessionFactory,
+                            RedisConnectionManager redisManager, NearCache nearCache,
+                            CacheGeneration cacheGeneration, SingleFlight<List<CityDTO>> pageLoads, RedisLeaseLock leaseLock,
+                            CityPageCodec pageCodec, PopulationIndex populationIndex,
+                            CategoryStatsCache categoryStats, Executor dbExecutor, MetricsRegistry metrics) {
+        this.cityRepository = cityRepository;
+        this.sessionFactory = sessionFactory;
+        this.redisManager = redisManager;
+        this.nearCache = nearCache;
+        this.cacheGeneration = cacheGeneration;
+        this.pageLoads = pageLoads;
+        this.leaseLock = leaseLock;
+        this.pageCodec = pageCodec;
+        this.populationIndex = populationIndex;
+        this.categoryStats = categoryStats;
+        this.dbExecutor = dbExecutor;
+        this.nearCacheHits = metrics.counter("cache_near_hits_total", "Page reads answered by the near cache");
+        this.redisHits = metrics.counter("cache_redis_hits_total", "Page reads answered by Redis");
+        this.misses = metrics.counter("cache_misses_total", "Page reads that missed every cache tier");
+        this.redisErrors = metrics.counter("cache_redis_errors_total", "Failed Redis reads and writes of cached pages");
+    }
+
+    @Override
+    public CompletableFuture<List<CityDTO>> getPaginatedCities(int offset, int limit) {
+        return getPaginatedCities(offset, limit, IGNORE_OUTCOME);
+    }
+
+    @Override
+    public CompletableFuture<List<CityDTO>> getPaginatedCities(int offset, int limit,
+                                                               Consumer<CacheOutcome> outcomeListener) {
+        String cacheKey = CacheKeyUtil.getPaginatedCitiesKey(cacheGeneration.current(), offset, limit);
+
+        // Hot pages are served from the in-process cache without leaving the JVM
+        List<CityDTO> localData = nearCache.get(cacheKey);
+        if (localData != null) {
+            nearCacheHits.increment();
+            outcomeListener.accept(CacheOutcome.NEAR_CACHE_HIT);
+            return CompletableFuture.completedFuture(localData);
+        }
+
+        // Then try Redis; if not in cache, only one caller per key loads it from the database
+        return readFromRedisAsync(cacheKey)
+            .thenCompose(cachedData -> {
+                if (cachedData != null) {
+                    redisHits.increment();
+                    outcomeListener.accept(CacheOutcome.REDIS_HIT);
+                    return CompletableFuture.completedFuture(cachedData);
+                }
+                misses.increment();
+                outcomeListener.accept(CacheOutcome.MISS);
+                return pageLoads.executeAsync(cacheKey, () -> supplyOnDbExecutor(() -> loadPage(cacheKey, offset, limit)));
+            })
+            .exceptionally(e -> {
+                System.err.println("Error getting paginated cities: " + rootMessage(e));
+                return Collections.emptyList();
+            });
+    }
+
+    private List<CityDTO> loadPage(String cacheKey, int offset, int limit) {
+        // A load that finished just before this one started may already have filled the cache
+        List<CityDTO> justLoaded = nearCache.peek(cacheKey);
+        if (justLoaded != null) {
+            return justLoaded;
+        }
+        if (leaseLock == null) {
+            return loadPageFromDatabase(cacheKey, offset, limit);
+        }
+
+        String token = leaseLock.tryAcquire(cacheKey);
+        if (token == null) {
+            // Another instance is loading this page, wait for it to appear in Redis
+            List<CityDTO> loadedElsewhere = awaitRemoteLoad(cacheKey);
+            if (loadedElsewhere != null) {
+                return loadedElsewhere;
+            }
+            return loadPageFromDatabase(cacheKey, offset, limit);
+        }
+        try {
+            return loadPageFromDatabase(cacheKey, offset, limit);
+        } finally {
+            leaseLock.release(cacheKey, token);
+        }
+    }
+
+    private List<CityDTO> awaitRemoteLoad(String cacheKey) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(leaseLock.getLeaseMillis());
+        try {
+            while (System.nanoTime() < deadline) {
+                Thread.sleep(LEASE_POLL_INTERVAL_MS);
+                byte[] value = redisManager.binarySync().get(cacheKey);
+                if (value != null) {
+                    List<CityDTO> cachedData = decodeCached(cacheKey, value, redisManager.binarySync().pttl(cacheKey));
+                    if (cachedData != null) {
+                        return cachedData;
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            redisErrors.increment();
+            System.err.println("Error waiting for remote cache load: " + e.getMessage());
+        }
+        return null;
+    }
+
+    private CompletableFuture<List<CityDTO>> readFromRedisAsync(String cacheKey) {
+        try {
+            // GET and PTTL go out back to back on the shared connection, so the TTL costs no extra round trip
+            RedisAsyncCommands<String, byte[]> redis = redisManager.binaryAsync();
+            CompletableFuture<byte[]> value = redis.get(cacheKey).toCompletableFuture();
+            CompletableFuture<Long> ttl = redis.pttl(cacheKey).toCompletableFuture();
+            return value.thenCombine(ttl, (cachedData, remainingMillis) -> decodeCached(cacheKey, cachedData, remainingMillis))
+                .whenComplete(this::countRedisError);
+        } catch (Exception e) {
+            redisErrors.increment();
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private void countRedisError(Object reply, Throwable error) {
+        if (error != null) {
+            redisErrors.increment();
+        }
+    }
+
+    /**
+     * Decodes a page read from Redis and copies it into the near cache for as long as the Redis entry lives.
+     */
+    private List<CityDTO> decodeCached(String cacheKey, byte[] cachedData, long remainingMillis) {
+        if (cachedData == null) {
+            return null;
+        }
+        try {
+            List<CityDTO> cities = pageCodec.decode(cachedData);
+            nearCache.putLocal(cacheKey, cities, remainingMillis);
+            return cities;
+        } catch (IOException e) {
+            // An entry this codec cannot read is treated as a miss and overwritten on reload
+            System.err.println("Error decoding cached cities: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private List<CityDTO> loadPageFromDatabase(String cacheKey, int offset, int limit) {
+        List<CityDTO> cities = TransactionUtil.executeInPrimaryReadTransaction(sessionFactory, session ->
+            cityRepository.findAllPaginatedDTO(offset, limit)
+        );
+
+        try {
+            // Cache the result without waiting for the reply
+            redisManager.binaryAsync()
+                .setex(cacheKey, CacheKeyUtil.CACHE_EXPIRATION_SECONDS, pageCodec.encode(cities))
+                .whenComplete((reply, error) -> {
+                    if (error != null) {
+                        redisErrors.increment();
+                        System.err.println("Error caching cities: " + error.getMessage());
+                    }
+                });
+            nearCache.put(cacheKey, cities);
+        } catch (Exception e) {
+            redisErrors.increment();
+            System.err.println("Error caching cities: " + e.getMessage());
+        }
+
+        return cities;
+    }
+
+    @Override
+    public CompletableFuture<List<List<CityDTO>>> getPages(List<PageRequest> pages) {
+        long generation = cacheGeneration.current();
+        Map<PageRequest, List<CityDTO>> found = new HashMap<>();
+        List<PageRequest> remote = new ArrayList<>();
+        for (PageRequest page : new LinkedHashSet<>(pages)) {
+            if (!ValidationUtil.isValidPagination(page.getOffset(), page.getLimit())) {
+                System.err.println("Skipping invalid page " + page);
+                continue;
+            }
+            List<CityDTO> localData = nearCache.get(CacheKeyUtil.getPaginatedCitiesKey(generation, page));
+            if (localData != null) {
+                nearCacheHits.increment();
+                found.put(page, localData);
+            } else {
+                remote.add(page);
+            }
+        }
+        if (remote.isEmpty()) {
+            return CompletableFuture.completedFuture(inRequestOrder(pages, found));
+        }
+
+        return readAllFromRedisAsync(generation, remote)
+            .thenCompose(cached -> {
+                List<PageRequest> missing = new ArrayList<>();
+                for (PageRequest page : remote) {
+                    List<CityDTO> cachedData = cached.get(page);
+                    if (cachedData != null) {
+                        redisHits.increment();
+                        found.put(page, cachedData);
+                    } else {
+                        misses.increment();
+                        missing.add(page);
+                    }
+                }
+                if (missing.isEmpty()) {
+                    return CompletableFuture.completedFuture(found);
+                }
+                return supplyOnDbExecutor(() -> loadPagesFromDatabase(generation, missing)).thenApply(loaded -> {
+                    found.putAll(loaded);
+                    return found;
+                });
+            })
+            .thenApply(result -> inRequestOrder(pages, result))
+            .exceptionally(e -> {
+                System.err.println("Error getting pages: " + rootMessage(e));
+                return inRequestOrder(pages, Collections.emptyMap());
+            });
+    }
+
+    /**
+     * Reads the pages with a single MGET, pipelined with their PTTLs. A failed read counts as a miss for every page.
+     */
+    private CompletableFuture<Map<PageRequest, List<CityDTO>>> readAllFromRedisAsync(long generation,
+                                                                                    List<PageRequest> pages) {
+        String[] keys = new String[pages.size()];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = CacheKeyUtil.getPaginatedCitiesKey(generation, pages.get(i));
+        }
+        try {
+            RedisAsyncCommands<String, byte[]> redis = redisManager.binaryAsync();
+            CompletableFuture<List<KeyValue<String, byte[]>>> reads = redis.mget(keys).toCompletableFuture();
+            List<CompletableFuture<Long>> ttls = new ArrayList<>(keys.length);
+            for (String key : keys) {
+                ttls.add(redis.pttl(key).toCompletableFuture());
+            }
+            return CompletableFuture.allOf(ttls.toArray(new CompletableFuture<?>[0]))
+                .thenCombine(reads, (ignored, values) -> {
+                    Map<PageRequest, List<CityDTO>> cached = new HashMap<>();
+                    for (int i = 0; i < keys.length; i++) {
+                        KeyValue<String, byte[]> value = values.get(i);
+                        List<CityDTO> cities = decodeCached(keys[i], value.getValueOrElse(null), ttls.get(i).join());
+                        if (cities != null) {
+                            cached.put(pages.get(i), cities);
+                        }
+                    }
+                    return cached;
+                })
+                .exceptionally(e -> {
+                    redisErrors.increment();
+                    System.err.println("Error reading cached pages: " + rootMessage(e));
+                    return Collections.emptyMap();
+                });
+        } catch (Exception e) {
+            redisErrors.increment();
+            System.err.println("Error reading cached pages: " + e.getMessage());
+            return CompletableFuture.completedFuture(Collections.emptyMap());
+        }
+    }
+
+    /**
+     * Loads missing pages in one transaction, with one query per window of neighbouring pages, and caches them.
+     * Unlike single pages these loads are not coalesced with concurrent loads of the same pages.
+     */
+    private Map<PageRequest, List<CityDTO>> loadPagesFromDatabase(long generation, List<PageRequest> pages) {
+        List<PageWindow> windows = PageWindow.plan(pages);
+        Map<PageRequest, List<CityDTO>> loaded = TransactionUtil.executeInPrimaryReadTransaction(sessionFactory,
+            session -> {
+                Map<PageRequest, List<CityDTO>> pagesRead = new HashMap<>();
+                for (PageWindow window : windows) {
+                    List<CityDTO> rows = cityRepository.findAllPaginatedDTO(window.getOffset(), window.getLimit());
+                    for (PageRequest page : window.getPages()) {
+                        pagesRead.put(page, window.slice(rows, page));
+                    }
+                }
+                return pagesRead;
+            });
+
+        // The SETEXs go out back to back on the shared connection, which pipelines them; the db worker does not
+        // wait for the replies
+        RedisAsyncCommands<String, byte[]> redis = redisManager.binaryAsync();
+        for (Map.Entry<PageRequest, List<CityDTO>> page : loaded.entrySet()) {
+            String cacheKey = CacheKeyUtil.getPaginatedCitiesKey(generation, page.getKey());
+            try {
+                redis.setex(cacheKey, CacheKeyUtil.CACHE_EXPIRATION_SECONDS, pageCodec.encode(page.getValue()))
+                    .whenComplete((reply, error) -> {
+                        if (error != null) {
+                            redisErrors.increment();
+                            System.err.println("Error caching cities: " + error.getMessage());
+                        }
+                    });
+                nearCache.put(cacheKey, page.getValue());
+            } catch (Exception e) {
+                redisErrors.increment();
+                System.err.println("Error caching cities: " + e.getMessage());
+            }
+        }
+        return loaded;
+    }
+
+    private static List<List<CityDTO>> inRequestOrder(List<PageRequest> pages, Map<PageRequest, List<CityDTO>> found) {
+        List<List<CityDTO>> result = new ArrayList<>(pages.size());
+        for (PageRequest page : pages) {
+            result.add(found.getOrDefault(page, Collections.emptyList()));
+        }
+        return result;
+    }
+
+    @Override
+    public CompletableFuture<CityPageDTO> getCitiesAfter(String cursor, int limit) {
+        return supplyOnDbExecutor(() -> {
+            int lastId = CursorUtil.decode(cursor);
+            return TransactionUtil.executeInReadOnlyTransaction(sessionFactory, session -> {
+                List<CityDTO> cities = cityRepository.findPageAfterDTO(lastId, limit);
+                String nextCursor = cities.size() < limit
+                    ? null
+                    : CursorUtil.encode(cities.get(cities.size() - 1).getId());
+                return new CityPageDTO(cities, nextCursor);
+            });
+        }).exceptionally(e -> {
+            System.err.println("Error getting cities after cursor: " + rootMessage(e));
+            return CityPageDTO.empty();
+        });
+    }
+
+    @Override
+    public CompletableFuture<Map.Entry<List<CityDTO>, Long>> getPaginatedCitiesNoCache(int offset, int limit) {
+        return supplyOnDbExecutor(() -> {
+            long startTime = System.currentTimeMillis();
+
+            List<CityDTO> cities = TransactionUtil.executeInReadOnlyTransaction(sessionFactory, session -> {
+                // Measures the database itself, so Hibernate's query cache is bypassed too
+                session.setCacheMode(CacheMode.IGNORE);
+                return cityRepository.findAllPaginatedDTO(offset, limit);
+            });
+
+            long timeTaken = System.currentTimeMillis() - startTime;
+            Map.Entry<List<CityDTO>, Long> result = new AbstractMap.SimpleEntry<>(cities, timeTaken);
+            return result;
+        }).exceptionally(e -> {
+            System.err.println("Error getting paginated cities without cache: " + rootMessage(e));
+            return new AbstractMap.SimpleEntry<>(Collections.emptyList(), 0L);
+        });
+    }
+
+    @Override
+    public CompletableFuture<List<CityDTO>> getCitiesByPopulationRange(int minPopulation, int maxPopulation) {
+        if (populationIndex != null) {
+            try {
+                ValidationUtil.validatePopulationRange(minPopulation, maxPopulation);
+            } catch (IllegalArgumentException e) {
+                return CompletableFuture.completedFuture(Collections.emptyList());
+            }
+
+            try {
+                if (populationIndex.isFresh()) {
+                    return populationIndex.findByPopulationRangeAsync(minPopulation, maxPopulation, NO_LIMIT)
+                        .exceptionallyCompose(e -> {
+                            System.err.println("Population index unavailable, falling back to database: " + rootMessage(e));
+                            return findByPopulationRangeInDatabase(minPopulation, maxPopulation);
+                        });
+                }
+                // Missing or stale index: answer from the database and rebuild in the background
+                populationIndex.rebuildAsync();
+            } catch (Exception e) {
+                System.err.println("Population index unavailable, falling back to database: " + e.getMessage());
+            }
+        }
+        return findByPopulationRangeInDatabase(minPopulation, maxPopulation);
+    }
+
+    private CompletableFuture<List<CityDTO>> findByPopulationRangeInDatabase(int minPopulation, int maxPopulation) {
+        return supplyOnDbExecutor(() -> TransactionUtil.executeInReadOnlyTransaction(sessionFactory, session ->
+            cityRepository.findByPopulationRangeDTO(minPopulation, maxPopulation)
+        )).exceptionally(e -> {
+            System.err.println("Error getting cities by population range: " + rootMessage(e));
+            return Collections.emptyList();
+        });
+    }
+
+    @Override
+    public CompletableFuture<Map<String, List<CityDTO>>> getCitiesByCategory(int limit) {
+        return supplyOnDbExecutor(() -> {
+            List<CityDTO> cities = TransactionUtil.executeInReadOnlyTransaction(sessionFactory, session ->
+                cityRepository.findAllPaginatedDTO(Constants.DEFAULT_OFFSET, limit)
+            );
+
+            return cities.stream()
+                .collect(Collectors.groupingBy(CityDTO::getPopulationCategory));
+        }).exceptionally(e -> {
+            System.err.println("Error grouping cities by category: " + rootMessage(e));
+            return Collections.emptyMap();
+        });
+    }
+
+    @Override
+    public CompletableFuture<List<CategoryStatsDTO>> getCategoryStats() {
+        return categoryStats.get().exceptionally(e -> {
+            System.err.println("Error getting category stats: " + rootMessage(e));
+            return Collections.emptyList();
+        });
+    }
+
+    @Override
+    public CompletableFuture<Long> invalidateCityCaches() {
+        return cacheGeneration.increment().thenApply(generation -> {
+            // Other instances switch to the new generation within one refresh interval; dropping the
+            // near caches now makes them reload from Redis instead of serving old pages until then
+            nearCache.invalidateAll();
+            if (populationIndex != null) {
+                populationIndex.rebuildAsync();
+            }
+            System.out.println("City caches invalidated, now at generation " + generation);
+            return generation;
+        }).exceptionally(e -> {
+            // The current pages stay cached until their TTL runs out
+            System.err.println("Error invalidating city caches: " + rootMessage(e));
+            return NO_GENERATION;
+        });
+    }
+
+    private <T> CompletableFuture<T> supplyOnDbExecutor(Supplier<T> work) {
+        try {
+            return CompletableFuture.supplyAsync(work, dbExecutor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(new RejectedExecutionException("Database executor is saturated", e));
+        }
+    }
+
+    private static String rootMessage(Throwable error) {
+        Throwable cause = error;
+        while (cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause.getMessage();
+    }
+}
@@ -0,0 +1,88 @@
+package com.codegym.service;
+
+import com.codegym.cache.CacheOutcome;
+import com.codegym.dto.CategoryStatsDTO;
+import com.codegym.dto.CityDTO;
+import com.codegym.dto.CityPageDTO;
+import com.codegym.dto.PageRequest;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * Asynchronous service interface for city operations.
+ * Mirrors ICityService, but no method blocks the calling thread: Redis work runs on Lettuce's
+ * event loops and database work on a bounded executor.
+ * Returned futures complete normally; failures are reported the same way as in ICityService (empty results).
+ */
+public interface IAsyncCityService {
+    /**
+     * Gets a paginated list of city DTOs using the cache tiers when possible.
+     * @param offset Starting position
+     * @param limit Maximum number of results
+     * @return Future of the list of CityDTOs
+     */
+    CompletableFuture<List<CityDTO>> getPaginatedCities(int offset, int limit);
+
+    /**
+     * Same as {@link #getPaginatedCities(int, int)}, also reporting which cache tier answered the call.
+     * @param offset Starting position
+     * @param limit Maximum number of results
+     * @param outcomeListener Told which tier answered before the future completes; not called if the lookup fails
+     * @return Future of the list of CityDTOs
+     */
+    CompletableFuture<List<CityDTO>> getPaginatedCities(int offset, int limit, Consumer<CacheOutcome> outcomeListener);
+
+    /**
+     * Gets several pages at once: near cache first, then one MGET for the rest, then the misses from the database.
+     * @param pages Pages to fetch
+     * @return Future of one list of CityDTOs per requested page, in request order
+     */
+    CompletableFuture<List<List<CityDTO>>> getPages(List<PageRequest> pages);
+
+    /**
+     * Gets the next page of cities using keyset pagination ordered by city id.
+     * @param cursor Continuation token from a previous page, or null for the first page
+     * @param limit Maximum number of results
+     * @return Future of the page with the cursor for the following page
+     */
+    CompletableFuture<CityPageDTO> getCitiesAfter(String cursor, int limit);
+
+    /**
+     * Gets a paginated list of city DTOs directly from the database, bypassing cache.
+     * @param offset Starting position
+     * @param limit Maximum number of results
+     * @return Future of the list of CityDTOs and the time taken in milliseconds
+     */
+    CompletableFuture<Map.Entry<List<CityDTO>, Long>> getPaginatedCitiesNoCache(int offset, int limit);
+
+    /**
+     * Gets cities within a population range.
+     * @param minPopulation Minimum population
+     * @param maxPopulation Maximum population
+     * @return Future of the list of CityDTOs
+     */
+    CompletableFuture<List<CityDTO>> getCitiesByPopulationRange(int minPopulation, int maxPopulation);
+
+    /**
+     * Groups cities by their population category.
+     * @param limit Maximum number of cities to process
+     * @return Future of the map of category to list of CityDTOs
+     */
+    CompletableFuture<Map<String, List<CityDTO>>> getCitiesByCategory(int limit);
+
+    /**
+     * Aggregates all cities by population category: counts, total population and the largest cities.
+     * @return Future of one entry per category, smallest category first
+     */
+    CompletableFuture<List<CategoryStatsDTO>> getCategoryStats();
+
+    /**
+     * Invalidates every cached city page on all instances by starting a new cache generation.
+     * Costs one Redis INCR regardless of how many pages are cached; entries of older generations expire on their own.
+     * If Redis cannot be reached the failure is logged and the previous pages keep being served until they expire.
+     * @return Future of the new generation, or -1 if no new generation could be started
+     */
+    CompletableFuture<Long> invalidateCityCaches();
+}
@@ -1,6 +1,9 @@
 package com.codegym.service;
 
+import com.codegym.dto.CategoryStatsDTO;
 import com.codegym.dto.CityDTO;
+import com.codegym.dto.CityPageDTO;
+import com.codegym.dto.PageRequest;
 import java.util.List;
 import java.util.Map;
 
@@ -17,6 +20,23 @@ public interface ICityService {
      */
     List<CityDTO> getPaginatedCities(int offset, int limit);
 
+    /**
+     * Gets several pages at once, with one Redis round trip for all of them and one database read per run of
+     * neighbouring missing pages.
+     * @param pages Pages to fetch
+     * @return One list of CityDTOs per requested page, in request order; invalid pages yield an empty list
+     */
+    List<List<CityDTO>> getPages(List<PageRequest> pages);
+
+    /**
+     * Gets the next page of cities using keyset pagination ordered by city id.
+     * Deep pages cost the same as the first one.
+     * @param cursor Continuation token from a previous page, or null for the first page
+     * @param limit Maximum number of results
+     * @return Page of CityDTOs with the cursor for the following page
+     */
+    CityPageDTO getCitiesAfter(String cursor, int limit);
+
     /**
      * Gets a paginated list of city DTOs directly from the database, bypassing cache.
      * @param offset Starting position
@@ -39,4 +59,17 @@ public interface ICityService {
      * @return Map of category to list of CityDTOs
      */
     Map<String, List<CityDTO>> getCitiesByCategory(int limit);
+
+    /**
+     * Aggregates all cities by population category.
+     * Unlike {@link #getCitiesByCategory(int)} this covers the whole table without loading it.
+     * @return Counts, total population and largest cities per category, smallest category first
+     */
+    List<CategoryStatsDTO> getCategoryStats();
+
+    /**
+     * Invalidates every cached city page, e.g. after the city table was changed in bulk.
+     * A failure to reach Redis is logged; the cached pages then expire through their TTL.
+     */
+    void invalidateCityCaches();
 }
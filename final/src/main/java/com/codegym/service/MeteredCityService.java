@@ -0,0 +1,117 @@
+package com.codegym.service;
+
+import com.codegym.dto.CategoryStatsDTO;
+import com.codegym.dto.CityDTO;
+import com.codegym.dto.CityPageDTO;
+import com.codegym.dto.PageRequest;
+import com.codegym.metrics.LatencyHistogram;
+import com.codegym.metrics.MetricsRegistry;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ICityService decorator that records the latency of every call.
+ */
+public class MeteredCityService implements ICityService {
+    private final ICityService delegate;
+    private final LatencyHistogram paginatedCities;
+    private final LatencyHistogram pages;
+    private final LatencyHistogram citiesAfter;
+    private final LatencyHistogram paginatedCitiesNoCache;
+    private final LatencyHistogram citiesByPopulationRange;
+    private final LatencyHistogram citiesByCategory;
+    private final LatencyHistogram categoryStats;
+
+    public MeteredCityService(ICityService delegate, MetricsRegistry metrics) {
+        this.delegate = delegate;
+        this.paginatedCities = metrics.timer("city_service_get_paginated_cities_seconds",
+            "Latency of ICityService.getPaginatedCities");
+        this.pages = metrics.timer("city_service_get_pages_seconds", "Latency of ICityService.getPages");
+        this.citiesAfter = metrics.timer("city_service_get_cities_after_seconds",
+            "Latency of ICityService.getCitiesAfter");
+        this.paginatedCitiesNoCache = metrics.timer("city_service_get_paginated_cities_no_cache_seconds",
+            "Latency of ICityService.getPaginatedCitiesNoCache");
+        this.citiesByPopulationRange = metrics.timer("city_service_get_cities_by_population_range_seconds",
+            "Latency of ICityService.getCitiesByPopulationRange");
+        this.citiesByCategory = metrics.timer("city_service_get_cities_by_category_seconds",
+            "Latency of ICityService.getCitiesByCategory");
+        this.categoryStats = metrics.timer("city_service_get_category_stats_seconds",
+            "Latency of ICityService.getCategoryStats");
+    }
+
+    @Override
+    public List<CityDTO> getPaginatedCities(int offset, int limit) {
+        long start = System.nanoTime();
+        try {
+            return delegate.getPaginatedCities(offset, limit);
+        } finally {
+            paginatedCities.record(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public List<List<CityDTO>> getPages(List<PageRequest> requests) {
+        long start = System.nanoTime();
+        try {
+            return delegate.getPages(requests);
+        } finally {
+            pages.record(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public CityPageDTO getCitiesAfter(String cursor, int limit) {
+        long start = System.nanoTime();
+        try {
+            return delegate.getCitiesAfter(cursor, limit);
+        } finally {
+            citiesAfter.record(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public Map.Entry<List<CityDTO>, Long> getPaginatedCitiesNoCache(int offset, int limit) {
+        long start = System.nanoTime();
+        try {
+            return delegate.getPaginatedCitiesNoCache(offset, limit);
+        } finally {
+            paginatedCitiesNoCache.record(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public List<CityDTO> getCitiesByPopulationRange(int minPopulation, int maxPopulation) {
+        long start = System.nanoTime();
+        try {
+            return delegate.getCitiesByPopulationRange(minPopulation, maxPopulation);
+        } finally {
+            citiesByPopulationRange.record(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public Map<String, List<CityDTO>> getCitiesByCategory(int limit) {
+        long start = System.nanoTime();
+        try {
+            return delegate.getCitiesByCategory(limit);
+        } finally {
+            citiesByCategory.record(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public List<CategoryStatsDTO> getCategoryStats() {
+        long start = System.nanoTime();
+        try {
+            return delegate.getCategoryStats();
+        } finally {
+            categoryStats.record(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public void invalidateCityCaches() {
+        delegate.invalidateCityCaches();
+    }
+}
@@ -0,0 +1,76 @@
+package com.codegym.service;
+
+import com.codegym.dto.CityDTO;
+import com.codegym.dto.PageRequest;
+import com.codegym.util.ValidationUtil;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * A run of rows in id order that covers several requested pages, so they are read with one query.
+ */
+final class PageWindow {
+    private final int offset;
+    private int end;
+    private final List<PageRequest> pages = new ArrayList<>();
+
+    private PageWindow(PageRequest first) {
+        this.offset = first.getOffset();
+        this.end = first.getOffset() + first.getLimit();
+        this.pages.add(first);
+    }
+
+    /**
+     * Groups pages into as few windows as possible.
+     * Sorted by offset, a page joins the previous window when the window stays a valid page itself and the gap
+     * before the page is no longer than the page, so a window never reads more unrequested rows than requested ones.
+     * @param requests Valid pages, without duplicates
+     * @return Windows in offset order
+     */
+    static List<PageWindow> plan(Collection<PageRequest> requests) {
+        List<PageRequest> sorted = new ArrayList<>(requests);
+        sorted.sort(Comparator.comparingInt(PageRequest::getOffset).thenComparingInt(PageRequest::getLimit));
+        List<PageWindow> windows = new ArrayList<>();
+        PageWindow current = null;
+        for (PageRequest page : sorted) {
+            int mergedEnd = current == null ? 0 : Math.max(current.end, page.getOffset() + page.getLimit());
+            if (current != null
+                    && page.getOffset() - current.end <= page.getLimit()
+                    && ValidationUtil.isValidPagination(current.offset, mergedEnd - current.offset)) {
+                current.end = mergedEnd;
+                current.pages.add(page);
+            } else {
+                current = new PageWindow(page);
+                windows.add(current);
+            }
+        }
+        return windows;
+    }
+
+    int getOffset() {
+        return offset;
+    }
+
+    int getLimit() {
+        return end - offset;
+    }
+
+    List<PageRequest> getPages() {
+        return pages;
+    }
+
+    /**
+     * Cuts one page out of the rows read for this window.
+     * @param rows Rows returned for {@link #getOffset()} and {@link #getLimit()}
+     * @param page One of this window's pages
+     * @return The page's rows; shorter or empty past the end of the table
+     */
+    List<CityDTO> slice(List<CityDTO> rows, PageRequest page) {
+        int from = Math.min(rows.size(), page.getOffset() - offset);
+        int to = Math.min(rows.size(), from + page.getLimit());
+        return new ArrayList<>(rows.subList(from, to));
+    }
+}
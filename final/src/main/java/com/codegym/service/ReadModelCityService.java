@@ -0,0 +1,129 @@
+package com.codegym.service;
+
+import com.codegym.dto.CategoryStatsDTO;
+import com.codegym.dto.CityDTO;
+import com.codegym.dto.CityPageDTO;
+import com.codegym.dto.PageRequest;
+import com.codegym.readmodel.CityReadModel;
+import com.codegym.readmodel.CityReadModelRefresher;
+import com.codegym.util.Constants;
+import com.codegym.util.CursorUtil;
+import com.codegym.util.ValidationUtil;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * ICityService that answers reads from the in-memory city read model without any I/O.
+ * Calls go to the delegate while no model is loaded, and the uncached database read always does.
+ */
+public class ReadModelCityService implements ICityService {
+    private final CityReadModelRefresher readModel;
+    private final ICityService delegate;
+
+    public ReadModelCityService(CityReadModelRefresher readModel, ICityService delegate) {
+        this.readModel = readModel;
+        this.delegate = delegate;
+    }
+
+    @Override
+    public List<CityDTO> getPaginatedCities(int offset, int limit) {
+        CityReadModel model = readModel.get();
+        if (model == null) {
+            return delegate.getPaginatedCities(offset, limit);
+        }
+        return findAllPaginated(model, offset, limit);
+    }
+
+    @Override
+    public List<List<CityDTO>> getPages(List<PageRequest> pages) {
+        CityReadModel model = readModel.get();
+        if (model == null) {
+            return delegate.getPages(pages);
+        }
+        List<List<CityDTO>> result = new ArrayList<>(pages.size());
+        for (PageRequest page : pages) {
+            result.add(findAllPaginated(model, page.getOffset(), page.getLimit()));
+        }
+        return result;
+    }
+
+    @Override
+    public CityPageDTO getCitiesAfter(String cursor, int limit) {
+        CityReadModel model = readModel.get();
+        if (model == null) {
+            return delegate.getCitiesAfter(cursor, limit);
+        }
+        try {
+            int lastId = CursorUtil.decode(cursor);
+            ValidationUtil.validateKeysetPagination(lastId, limit);
+            List<CityDTO> cities = model.findPageAfter(lastId, limit);
+            String nextCursor = cities.size() < limit
+                ? null
+                : CursorUtil.encode(cities.get(cities.size() - 1).getId());
+            return new CityPageDTO(cities, nextCursor);
+        } catch (Exception e) {
+            System.err.println("Error getting cities after cursor from read model: " + e.getMessage());
+            return CityPageDTO.empty();
+        }
+    }
+
+    @Override
+    public Map.Entry<List<CityDTO>, Long> getPaginatedCitiesNoCache(int offset, int limit) {
+        // Measures the database itself, so it never comes from memory
+        return delegate.getPaginatedCitiesNoCache(offset, limit);
+    }
+
+    @Override
+    public List<CityDTO> getCitiesByPopulationRange(int minPopulation, int maxPopulation) {
+        CityReadModel model = readModel.get();
+        if (model == null) {
+            return delegate.getCitiesByPopulationRange(minPopulation, maxPopulation);
+        }
+        try {
+            ValidationUtil.validatePopulationRange(minPopulation, maxPopulation);
+            return model.findByPopulationRange(minPopulation, maxPopulation);
+        } catch (Exception e) {
+            System.err.println("Error getting cities by population range from read model: " + e.getMessage());
+            return Collections.emptyList();
+        }
+    }
+
+    @Override
+    public Map<String, List<CityDTO>> getCitiesByCategory(int limit) {
+        CityReadModel model = readModel.get();
+        if (model == null) {
+            return delegate.getCitiesByCategory(limit);
+        }
+        return findAllPaginated(model, Constants.DEFAULT_OFFSET, limit).stream()
+            .collect(Collectors.groupingBy(CityDTO::getPopulationCategory));
+    }
+
+    @Override
+    public List<CategoryStatsDTO> getCategoryStats() {
+        CityReadModel model = readModel.get();
+        if (model == null) {
+            return delegate.getCategoryStats();
+        }
+        return model.aggregateByPopulationCategory(Constants.CATEGORY_STATS_EXAMPLES);
+    }
+
+    @Override
+    public void invalidateCityCaches() {
+        delegate.invalidateCityCaches();
+        readModel.refreshAsync();
+    }
+
+    private List<CityDTO> findAllPaginated(CityReadModel model, int offset, int limit) {
+        try {
+            ValidationUtil.validatePagination(offset, limit);
+            return model.findAllPaginated(offset, limit);
+        } catch (Exception e) {
+            System.err.println("Error getting paginated cities from read model: " + e.getMessage());
+            return Collections.emptyList();
+        }
+    }
+}
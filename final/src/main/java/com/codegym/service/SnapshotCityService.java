@@ -0,0 +1,174 @@
+package com.codegym.service;
+
+import com.codegym.dto.CategoryStatsDTO;
+import com.codegym.dto.CityDTO;
+import com.codegym.dto.CityPageDTO;
+import com.codegym.dto.PageRequest;
+import com.codegym.snapshot.CitySnapshot;
+import com.codegym.util.Constants;
+import com.codegym.util.CursorUtil;
+import com.codegym.util.ValidationUtil;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+/**
+ * ICityService that answers from a memory-mapped city snapshot until the database-backed service is ready.
+ * Once a delegate is set all calls go to it; the snapshot can be swapped at any time without blocking readers.
+ */
+public class SnapshotCityService implements ICityService {
+    private final AtomicReference<CitySnapshot> snapshot;
+    private volatile ICityService delegate;
+
+    public SnapshotCityService(CitySnapshot initialSnapshot) {
+        this.snapshot = new AtomicReference<>(initialSnapshot);
+    }
+
+    /**
+     * Routes all further calls to the database-backed service.
+     * @param delegate Service to use once the database is reachable
+     */
+    public void setDelegate(ICityService delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * Atomically replaces the snapshot used while no delegate is set.
+     * @param newSnapshot Freshly mapped snapshot
+     */
+    public void swapSnapshot(CitySnapshot newSnapshot) {
+        snapshot.set(newSnapshot);
+    }
+
+    public boolean hasSnapshot() {
+        return snapshot.get() != null;
+    }
+
+    public boolean isServingFromSnapshot() {
+        return delegate == null;
+    }
+
+    @Override
+    public List<CityDTO> getPaginatedCities(int offset, int limit) {
+        ICityService current = delegate;
+        if (current != null) {
+            return current.getPaginatedCities(offset, limit);
+        }
+        return findAllPaginatedInSnapshot(offset, limit);
+    }
+
+    @Override
+    public List<List<CityDTO>> getPages(List<PageRequest> pages) {
+        ICityService current = delegate;
+        if (current != null) {
+            return current.getPages(pages);
+        }
+        List<List<CityDTO>> result = new ArrayList<>(pages.size());
+        for (PageRequest page : pages) {
+            result.add(findAllPaginatedInSnapshot(page.getOffset(), page.getLimit()));
+        }
+        return result;
+    }
+
+    @Override
+    public CityPageDTO getCitiesAfter(String cursor, int limit) {
+        ICityService current = delegate;
+        if (current != null) {
+            return current.getCitiesAfter(cursor, limit);
+        }
+        try {
+            int lastId = CursorUtil.decode(cursor);
+            ValidationUtil.validateKeysetPagination(lastId, limit);
+            List<CityDTO> cities = requireSnapshot().findPageAfter(lastId, limit);
+            String nextCursor = cities.size() < limit
+                ? null
+                : CursorUtil.encode(cities.get(cities.size() - 1).getId());
+            return new CityPageDTO(cities, nextCursor);
+        } catch (Exception e) {
+            System.err.println("Error getting cities after cursor from snapshot: " + e.getMessage());
+            return CityPageDTO.empty();
+        }
+    }
+
+    @Override
+    public Map.Entry<List<CityDTO>, Long> getPaginatedCitiesNoCache(int offset, int limit) {
+        ICityService current = delegate;
+        if (current != null) {
+            return current.getPaginatedCitiesNoCache(offset, limit);
+        }
+        long startTime = System.currentTimeMillis();
+        List<CityDTO> cities = findAllPaginatedInSnapshot(offset, limit);
+        return new AbstractMap.SimpleEntry<>(cities, System.currentTimeMillis() - startTime);
+    }
+
+    @Override
+    public List<CityDTO> getCitiesByPopulationRange(int minPopulation, int maxPopulation) {
+        ICityService current = delegate;
+        if (current != null) {
+            return current.getCitiesByPopulationRange(minPopulation, maxPopulation);
+        }
+        try {
+            ValidationUtil.validatePopulationRange(minPopulation, maxPopulation);
+            return requireSnapshot().findByPopulationRange(minPopulation, maxPopulation);
+        } catch (Exception e) {
+            System.err.println("Error getting cities by population range from snapshot: " + e.getMessage());
+            return Collections.emptyList();
+        }
+    }
+
+    @Override
+    public Map<String, List<CityDTO>> getCitiesByCategory(int limit) {
+        ICityService current = delegate;
+        if (current != null) {
+            return current.getCitiesByCategory(limit);
+        }
+        return findAllPaginatedInSnapshot(Constants.DEFAULT_OFFSET, limit).stream()
+            .collect(Collectors.groupingBy(CityDTO::getPopulationCategory));
+    }
+
+    @Override
+    public List<CategoryStatsDTO> getCategoryStats() {
+        ICityService current = delegate;
+        if (current != null) {
+            return current.getCategoryStats();
+        }
+        try {
+            return requireSnapshot().aggregateByPopulationCategory(Constants.CATEGORY_STATS_EXAMPLES);
+        } catch (Exception e) {
+            System.err.println("Error getting category stats from snapshot: " + e.getMessage());
+            return Collections.emptyList();
+        }
+    }
+
+    @Override
+    public void invalidateCityCaches() {
+        ICityService current = delegate;
+        if (current != null) {
+            current.invalidateCityCaches();
+        }
+        // The snapshot is immutable and has no cache to invalidate
+    }
+
+    private List<CityDTO> findAllPaginatedInSnapshot(int offset, int limit) {
+        try {
+            ValidationUtil.validatePagination(offset, limit);
+            return requireSnapshot().findAllPaginated(offset, limit);
+        } catch (Exception e) {
+            System.err.println("Error getting paginated cities from snapshot: " + e.getMessage());
+            return Collections.emptyList();
+        }
+    }
+
+    private CitySnapshot requireSnapshot() {
+        CitySnapshot current = snapshot.get();
+        if (current == null) {
+            throw new IllegalStateException("No city snapshot is loaded and the database is not ready yet");
+        }
+        return current;
+    }
+}
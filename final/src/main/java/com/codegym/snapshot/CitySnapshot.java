@@ -0,0 +1,238 @@
+package com.codegym.snapshot;
+
+import com.codegym.dto.CategoryStatsDTO;
+import com.codegym.dto.CityDTO;
+import com.codegym.dto.PopulationCategory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.zip.CRC32C;
+
+/**
+ * Read-only view of a snapshot file written by {@link CitySnapshotWriter}, memory-mapped via NIO.
+ * Columns are read in place from the mapping; only the requested cities are materialized as DTOs.
+ * Instances are immutable and safe to share between threads.
+ */
+public class CitySnapshot {
+    private final Path path;
+    private final ByteBuffer data;
+    private final int count;
+    private final long createdAtMillis;
+    private final int idsOffset;
+    private final int populationsOffset;
+    private final int nameOffsetsOffset;
+    private final int districtOffsetsOffset;
+    private final int heapOffset;
+
+    private CitySnapshot(Path path, ByteBuffer data, int count, long createdAtMillis) {
+        this.path = path;
+        this.data = data;
+        this.count = count;
+        this.createdAtMillis = createdAtMillis;
+        this.idsOffset = CitySnapshotWriter.HEADER_SIZE;
+        this.populationsOffset = idsOffset + count * Integer.BYTES;
+        this.nameOffsetsOffset = populationsOffset + count * Integer.BYTES;
+        this.districtOffsetsOffset = nameOffsetsOffset + count * Integer.BYTES;
+        this.heapOffset = districtOffsetsOffset + count * Integer.BYTES;
+    }
+
+    /**
+     * Maps a snapshot file and validates its header and checksum.
+     * @param path Snapshot file
+     * @return The mapped snapshot
+     * @throws IOException if the file cannot be read or fails validation
+     */
+    public static CitySnapshot open(Path path) throws IOException {
+        MappedByteBuffer mapped;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < CitySnapshotWriter.HEADER_SIZE || size > Integer.MAX_VALUE) {
+                throw new IOException("Invalid snapshot size: " + size);
+            }
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        }
+        ByteBuffer data = mapped.order(CitySnapshotWriter.BYTE_ORDER);
+
+        if (data.getInt(0) != CitySnapshotWriter.MAGIC) {
+            throw new IOException("Not a city snapshot: " + path);
+        }
+        short version = data.getShort(4);
+        if (version != CitySnapshotWriter.VERSION) {
+            throw new IOException("Unsupported snapshot version: " + version);
+        }
+        int count = data.getInt(8);
+        int heapSize = data.getInt(12);
+        long createdAtMillis = data.getLong(16);
+        long expectedCrc = data.getLong(24);
+
+        long expectedSize = CitySnapshotWriter.HEADER_SIZE
+            + (long) count * Integer.BYTES * CitySnapshotWriter.COLUMN_COUNT + heapSize;
+        if (count < 0 || heapSize < 0 || expectedSize != data.capacity()) {
+            throw new IOException("Snapshot size does not match its header: " + path);
+        }
+
+        CRC32C crc = new CRC32C();
+        crc.update(data.duplicate().position(CitySnapshotWriter.HEADER_SIZE));
+        if (crc.getValue() != expectedCrc) {
+            throw new IOException("Snapshot checksum mismatch: " + path);
+        }
+        return new CitySnapshot(path, data, count, createdAtMillis);
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public long getCreatedAtMillis() {
+        return createdAtMillis;
+    }
+
+    public int getId(int index) {
+        return data.getInt(idsOffset + index * Integer.BYTES);
+    }
+
+    public int getPopulation(int index) {
+        return data.getInt(populationsOffset + index * Integer.BYTES);
+    }
+
+    public String getName(int index) {
+        return readString(data.getInt(nameOffsetsOffset + index * Integer.BYTES));
+    }
+
+    public String getDistrict(int index) {
+        return readString(data.getInt(districtOffsetsOffset + index * Integer.BYTES));
+    }
+
+    public CityDTO toDTO(int index) {
+        return new CityDTO.Builder()
+            .withId(getId(index))
+            .withName(getName(index))
+            .withDistrict(getDistrict(index))
+            .withPopulation(getPopulation(index))
+            .build();
+    }
+
+    /**
+     * Returns cities by position in id order, like offset pagination on the database.
+     * @param offset Starting position
+     * @param limit Maximum number of results
+     * @return List of city DTOs
+     */
+    public List<CityDTO> findAllPaginated(int offset, int limit) {
+        int end = (int) Math.min(count, (long) offset + limit);
+        List<CityDTO> cities = new ArrayList<>(Math.max(0, end - offset));
+        for (int i = offset; i < end; i++) {
+            cities.add(toDTO(i));
+        }
+        return cities;
+    }
+
+    /**
+     * Returns the cities following the given id, located by binary search on the id column.
+     * @param lastId Id of the last city of the previous page
+     * @param limit Maximum number of results
+     * @return List of city DTOs with id greater than lastId
+     */
+    public List<CityDTO> findPageAfter(int lastId, int limit) {
+        return findAllPaginated(firstIndexAfter(lastId), limit);
+    }
+
+    /**
+     * Scans the population column for cities within the range.
+     * @param minPopulation Minimum population (inclusive)
+     * @param maxPopulation Maximum population (inclusive)
+     * @return List of city DTOs, largest population first
+     */
+    public List<CityDTO> findByPopulationRange(int minPopulation, int maxPopulation) {
+        List<CityDTO> cities = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            int population = getPopulation(i);
+            if (population >= minPopulation && population <= maxPopulation) {
+                cities.add(toDTO(i));
+            }
+        }
+        cities.sort(Comparator.comparingInt(CityDTO::getPopulation).reversed());
+        return cities;
+    }
+
+    /**
+     * Scans the population column once, keeping per-category totals and a bounded heap of the largest cities.
+     * @param examplesPerCategory Number of largest cities returned per category
+     * @return One entry per category, smallest category first
+     */
+    public List<CategoryStatsDTO> aggregateByPopulationCategory(int examplesPerCategory) {
+        PopulationCategory[] categories = PopulationCategory.values();
+        long[] cityCounts = new long[categories.length];
+        long[] totalPopulations = new long[categories.length];
+        List<PriorityQueue<Integer>> largest = new ArrayList<>(categories.length);
+        // Smallest population on top, ties broken so the lower id wins like in the database query
+        Comparator<Integer> byPopulation = Comparator.<Integer>comparingInt(this::getPopulation)
+            .thenComparing(Comparator.<Integer>comparingInt(this::getId).reversed());
+        for (int c = 0; c < categories.length; c++) {
+            largest.add(new PriorityQueue<>(byPopulation));
+        }
+        for (int i = 0; i < count; i++) {
+            int population = getPopulation(i);
+            int c = PopulationCategory.of(population).ordinal();
+            cityCounts[c]++;
+            totalPopulations[c] += population;
+            PriorityQueue<Integer> top = largest.get(c);
+            top.add(i);
+            if (top.size() > examplesPerCategory) {
+                top.poll();
+            }
+        }
+
+        List<CategoryStatsDTO> stats = new ArrayList<>(categories.length);
+        for (int c = 0; c < categories.length; c++) {
+            List<CityDTO> examples = new ArrayList<>(largest.get(c).size());
+            for (Integer index : largest.get(c)) {
+                examples.add(toDTO(index));
+            }
+            examples.sort(Comparator.comparingInt(CityDTO::getPopulation).reversed()
+                .thenComparing(CityDTO::getId));
+            stats.add(new CategoryStatsDTO(categories[c].getLabel(), cityCounts[c], totalPopulations[c], examples));
+        }
+        return stats;
+    }
+
+    private int firstIndexAfter(int lastId) {
+        int low = 0;
+        int high = count;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (getId(mid) <= lastId) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private String readString(int heapPosition) {
+        int position = heapOffset + heapPosition;
+        int length = data.getInt(position);
+        byte[] bytes = new byte[length];
+        data.get(position + Integer.BYTES, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("CitySnapshot[%s, cities=%d, createdAt=%d]", path, count, createdAtMillis);
+    }
+}
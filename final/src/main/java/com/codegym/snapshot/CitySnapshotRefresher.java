@@ -0,0 +1,87 @@
+package com.codegym.snapshot;
+
+import com.codegym.dao.CityDataset;
+import com.codegym.dao.ICityRepository;
+import com.codegym.dto.CityDTO;
+import org.hibernate.SessionFactory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Periodically rebuilds the snapshot file from the database and hands the new snapshot to a consumer.
+ * The dataset is read with {@link CityDataset}, written to a temporary file and
+ * atomically moved over the previous snapshot. A load that {@link CityDataset} rejects as incomplete
+ * (e.g. because a batch query failed) keeps the previous snapshot file.
+ */
+public class CitySnapshotRefresher implements AutoCloseable {
+    private final ICityRepository cityRepository;
+    private final SessionFactory sessionFactory;
+    private final CitySnapshotWriter writer;
+    private final Path snapshotPath;
+    private final Consumer<CitySnapshot> onRefresh;
+    private ScheduledExecutorService scheduler;
+
+    public CitySnapshotRefresher(ICityRepository cityRepository, SessionFactory sessionFactory, Path snapshotPath,
+                                 Consumer<CitySnapshot> onRefresh) {
+        this.cityRepository = cityRepository;
+        this.sessionFactory = sessionFactory;
+        this.writer = new CitySnapshotWriter();
+        this.snapshotPath = snapshotPath;
+        this.onRefresh = onRefresh;
+    }
+
+    /**
+     * Rebuilds the snapshot once.
+     * @return The newly written and mapped snapshot
+     * @throws IOException if the snapshot cannot be written or read back
+     * @throws IllegalStateException if the dataset was read incompletely
+     */
+    public CitySnapshot refresh() throws IOException {
+        long startTime = System.currentTimeMillis();
+        List<CityDTO> cities = CityDataset.loadAll(cityRepository, sessionFactory);
+        writer.write(snapshotPath, cities);
+        CitySnapshot snapshot = CitySnapshot.open(snapshotPath);
+        onRefresh.accept(snapshot);
+        System.out.println("Snapshot refreshed with " + snapshot.size() + " cities in "
+            + (System.currentTimeMillis() - startTime) + " ms");
+        return snapshot;
+    }
+
+    /**
+     * Starts refreshing in the background, immediately and then at a fixed delay.
+     * @param intervalMinutes Minutes between the end of one refresh and the start of the next
+     */
+    public synchronized void start(long intervalMinutes) {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "snapshot-refresher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::refreshQuietly, 0, intervalMinutes, TimeUnit.MINUTES);
+    }
+
+    private void refreshQuietly() {
+        try {
+            refresh();
+        } catch (Exception e) {
+            System.err.println("Failed to refresh city snapshot: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.codegym.snapshot;
+
+import com.codegym.dto.CityDTO;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.zip.CRC32C;
+
+/**
+ * Writes the city dataset into a compact columnar snapshot file.
+ * <p>
+ * Layout (little-endian): a fixed header with magic, version, city count, string heap size, creation time and a
+ * CRC32C of the body; then the id, population, name offset and district offset columns as int arrays; then a
+ * string heap of length-prefixed UTF-8 strings. Cities are stored in id order.
+ * <p>
+ * The file is written next to the target and atomically moved into place, so readers never see a partial file.
+ */
+public class CitySnapshotWriter {
+    static final int MAGIC = 0x43534E50; // "CSNP"
+    static final short VERSION = 1;
+    static final int HEADER_SIZE = 32;
+    static final int COLUMN_COUNT = 4;
+    static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    /**
+     * Writes a snapshot of the given cities.
+     * @param target Path of the snapshot file to create or replace
+     * @param cities Cities to store; every city must have an id
+     * @throws IOException if the file cannot be written
+     */
+    public void write(Path target, List<CityDTO> cities) throws IOException {
+        Objects.requireNonNull(cities, "Cities list cannot be null");
+        List<CityDTO> sorted = new ArrayList<>(cities);
+        sorted.sort(Comparator.comparing(city -> Objects.requireNonNull(city.getId(), "City id cannot be null")));
+
+        int count = sorted.size();
+        byte[][] names = new byte[count][];
+        byte[][] districts = new byte[count][];
+        long heapSize = 0;
+        for (int i = 0; i < count; i++) {
+            names[i] = sorted.get(i).getName().getBytes(StandardCharsets.UTF_8);
+            districts[i] = sorted.get(i).getDistrict().getBytes(StandardCharsets.UTF_8);
+            heapSize += Integer.BYTES * 2L + names[i].length + districts[i].length;
+        }
+        long bodySize = (long) count * Integer.BYTES * COLUMN_COUNT + heapSize;
+        if (HEADER_SIZE + bodySize > Integer.MAX_VALUE) {
+            throw new IOException("Snapshot is too large: " + bodySize + " bytes");
+        }
+
+        ByteBuffer body = ByteBuffer.allocate((int) bodySize).order(BYTE_ORDER);
+        for (CityDTO city : sorted) {
+            body.putInt(city.getId());
+        }
+        for (CityDTO city : sorted) {
+            body.putInt(city.getPopulation());
+        }
+        int heapOffset = 0;
+        for (int i = 0; i < count; i++) {
+            body.putInt(heapOffset);
+            heapOffset += Integer.BYTES + names[i].length;
+        }
+        for (int i = 0; i < count; i++) {
+            body.putInt(heapOffset);
+            heapOffset += Integer.BYTES + districts[i].length;
+        }
+        for (byte[] name : names) {
+            body.putInt(name.length).put(name);
+        }
+        for (byte[] district : districts) {
+            body.putInt(district.length).put(district);
+        }
+        body.flip();
+
+        CRC32C crc = new CRC32C();
+        crc.update(body.duplicate());
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(BYTE_ORDER);
+        header.putInt(MAGIC)
+            .putShort(VERSION)
+            .putShort((short) HEADER_SIZE)
+            .putInt(count)
+            .putInt((int) heapSize)
+            .putLong(System.currentTimeMillis())
+            .putLong(crc.getValue());
+        header.flip();
+
+        Path absoluteTarget = target.toAbsolutePath();
+        Path directory = absoluteTarget.getParent();
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, absoluteTarget.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                while (header.hasRemaining()) {
+                    channel.write(header);
+                }
+                while (body.hasRemaining()) {
+                    channel.write(body);
+                }
+                channel.force(true);
+            }
+            Files.move(temp, absoluteTarget, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+}
@@ -1,16 +1,81 @@
 package com.codegym.util;
 
+import com.codegym.dto.PageRequest;
+
 /**
  * Utility class for managing Redis cache keys and expiration times.
  */
 public class CacheKeyUtil {
     public static final int CACHE_EXPIRATION_SECONDS = 300;
+    public static final String POPULATION_INDEX_KEY = "cities:by_population";
+    public static final String POPULATION_INDEX_BUILD_KEY = "cities:by_population:building";
+    public static final String POPULATION_INDEX_META_KEY = "cities:by_population:meta";
+    public static final String CITY_CACHE_GENERATION_KEY = "cities:generation";
+    private static final String PAGINATED_CITIES_PREFIX = "cities:paginated:";
+    private static final String CATEGORY_STATS_PREFIX = "cities:categories:";
+    private static final String GENERATION_PREFIX = "g";
     
     private CacheKeyUtil() {
         throw new AssertionError("Utility class should not be instantiated");
     }
     
-    public static String getPaginatedCitiesKey(int offset, int limit) {
-        return String.format("cities:paginated:%d:%d", offset, limit);
+    /**
+     * Builds the key of a cached page, e.g. {@code cities:paginated:g3:0:10}.
+     * @param generation Current cache generation, see {@link com.codegym.cache.CacheGeneration}
+     * @param offset Starting position
+     * @param limit Maximum number of results
+     * @return Redis and near cache key
+     */
+    public static String getPaginatedCitiesKey(long generation, int offset, int limit) {
+        return PAGINATED_CITIES_PREFIX + GENERATION_PREFIX + generation + ":" + offset + ":" + limit;
+    }
+    
+    public static String getPaginatedCitiesKey(long generation, PageRequest page) {
+        return getPaginatedCitiesKey(generation, page.getOffset(), page.getLimit());
+    }
+    
+    /**
+     * Builds the key of the cached population category aggregates, e.g. {@code cities:categories:g3}.
+     * @param generation Current cache generation, so invalidation drops the aggregates with the pages
+     * @return Redis hash key
+     */
+    public static String getCategoryStatsKey(long generation) {
+        return CATEGORY_STATS_PREFIX + GENERATION_PREFIX + generation;
+    }
+    
+    /**
+     * Parses a key built by {@link #getPaginatedCitiesKey(long, int, int)}, ignoring its generation.
+     * Keys without a generation, as written by older versions, are accepted too.
+     * @param key Cache key
+     * @return The page the key refers to, or null if it is not a valid paginated cities key
+     */
+    public static PageRequest parsePaginatedCitiesKey(String key) {
+        if (key == null || !key.startsWith(PAGINATED_CITIES_PREFIX)) {
+            return null;
+        }
+        String page = key.substring(PAGINATED_CITIES_PREFIX.length());
+        if (page.startsWith(GENERATION_PREFIX)) {
+            page = page.substring(page.indexOf(':') + 1);
+        }
+        return parsePageRequest(page);
+    }
+    
+    /**
+     * Parses a page in {@code offset:limit} form.
+     * @param value Text such as "0:10"
+     * @return The page, or null if the text is malformed or fails pagination validation
+     */
+    public static PageRequest parsePageRequest(String value) {
+        int separator = value.indexOf(':');
+        if (separator < 0) {
+            return null;
+        }
+        try {
+            int offset = Integer.parseInt(value.substring(0, separator).trim());
+            int limit = Integer.parseInt(value.substring(separator + 1).trim());
+            return ValidationUtil.isValidPagination(offset, limit) ? new PageRequest(offset, limit) : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
     }
 }
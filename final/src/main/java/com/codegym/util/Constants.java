@@ -13,11 +13,58 @@ public final class Constants {
     public static final String MYSQL_DRIVER = "com.mysql.cj.jdbc.Driver";
     public static final String MYSQL_DIALECT = "org.hibernate.dialect.MySQL8Dialect";
     
+    // Connection pool configuration
+    public static final int DEFAULT_POOL_MIN_IDLE = 2;
+    public static final int DEFAULT_POOL_MAX_SIZE = 10;
+    public static final long DEFAULT_POOL_CONNECTION_TIMEOUT_MS = 5_000;
+    public static final int DEFAULT_PREP_STMT_CACHE_SIZE = 250;
+    public static final int DEFAULT_PREP_STMT_CACHE_SQL_LIMIT = 2048;
+    public static final int DEFAULT_DB_EXECUTOR_QUEUE_SIZE = 1000;
+    public static final String DEFAULT_CITY_REPOSITORY = "hibernate";
+    
+    // Read replicas
+    public static final String DEFAULT_REPLICA_ROUTING = "round_robin";
+    public static final long DEFAULT_REPLICA_MAX_LAG_SECONDS = 5;
+    public static final long DEFAULT_REPLICA_LAG_CHECK_MS = 2_000;
+    public static final long DEFAULT_REPLICA_CONNECTION_TIMEOUT_MS = 1_000;
+    
+    // SQL profiler
+    public static final long DEFAULT_SQL_SLOW_QUERY_MS = 100;
+    public static final String DEFAULT_SQL_PROFILE_FILE = "data/sql-profile.txt";
+    public static final int SQL_PROFILE_TOP_N = 10;
+    
     // Redis configuration
     public static final int REDIS_PORT = 6379;
     public static final String DEFAULT_REDIS_HOST = "localhost";
     public static final int REDIS_DATABASE = 0;
     public static final int REDIS_CACHE_TTL = 300; // 5 minutes in seconds
+    public static final int DEFAULT_REDIS_IO_THREADS = 4;
+    public static final int DEFAULT_REDIS_COMPUTATION_THREADS = 4;
+    public static final long DEFAULT_NEAR_CACHE_MAX_CITIES = 100_000;
+    public static final long DEFAULT_CACHE_LEASE_MS = 5_000;
+    public static final long DEFAULT_CACHE_GENERATION_REFRESH_MS = 1_000;
+    public static final String DEFAULT_CACHE_VALUE_CODEC = "binary";
+    public static final long DEFAULT_POPULATION_INDEX_MAX_AGE_MINUTES = 60;
+    public static final int DEFAULT_CACHE_COMPRESSION_THRESHOLD_BYTES = 4096;
+    
+    // Cache warm-up
+    public static final String DEFAULT_CACHE_WARMUP_HOT_KEYS_FILE = "data/hot-keys.txt";
+    public static final int DEFAULT_CACHE_WARMUP_MAX_PAGES = 200;
+    public static final int DEFAULT_CACHE_WARMUP_DEFAULT_PAGES = 20;
+    public static final int DEFAULT_CACHE_WARMUP_CONCURRENCY = 4;
+    public static final int CACHE_WARMUP_PIPELINE_BATCH_SIZE = 50;
+    
+    // Hibernate second-level and query cache region sizes (entries)
+    public static final long DEFAULT_HIBERNATE_CACHE_CITY_MAX_ENTRIES = 20_000;
+    public static final long DEFAULT_HIBERNATE_CACHE_COUNTRY_MAX_ENTRIES = 500;
+    public static final long DEFAULT_HIBERNATE_CACHE_LANGUAGE_MAX_ENTRIES = 2_000;
+    public static final long DEFAULT_HIBERNATE_QUERY_CACHE_MAX_ENTRIES = 1_000;
+    public static final long DEFAULT_HIBERNATE_DEFAULT_QUERY_CACHE_MAX_ENTRIES = 100;
+    
+    // Category aggregation
+    public static final int CATEGORY_STATS_EXAMPLES = 10;
+    public static final long DEFAULT_CATEGORY_STATS_REFRESH_SECONDS = 60;
+    public static final long DEFAULT_CATEGORY_STATS_TTL_SECONDS = 3_600;
     
     // Pagination and display
     public static final int DEFAULT_CATEGORY_LIMIT = 1000;
@@ -25,6 +72,40 @@ public final class Constants {
     public static final int DEFAULT_OFFSET = 0;
     public static final int DEFAULT_PAGE_SIZE = 10;
     
+    // City snapshot file
+    public static final String DEFAULT_SNAPSHOT_PATH = "data/cities.snapshot";
+    public static final long DEFAULT_SNAPSHOT_REFRESH_MINUTES = 30;
+    
+    // In-memory city read model
+    public static final long DEFAULT_READ_MODEL_REFRESH_SECONDS = 300;
+    
+    // Streaming city export
+    public static final String DEFAULT_EXPORT_DIR = "data/export";
+    public static final String EXPORT_FILE_BASE_NAME = "cities";
+    public static final int MYSQL_STREAMING_FETCH_SIZE = Integer.MIN_VALUE;
+    public static final long DEFAULT_EXPORT_PROGRESS_ROWS = 100_000;
+    
+    // Bulk city ingestion
+    public static final int DEFAULT_IMPORT_CHUNK_SIZE = 5_000;
+    
+    // HTTP query server
+    public static final int DEFAULT_HTTP_PORT = 8080;
+    public static final String SERVER_FLAG = "--server";
+    public static final String SERVER_MODE = "server";
+    public static final String MENU_MODE = "menu";
+    
+    // Metrics
+    public static final long DEFAULT_METRICS_FILE_INTERVAL_SECONDS = 15;
+    
+    // Load generator
+    public static final int DEFAULT_LOAD_THREADS = 8;
+    public static final long DEFAULT_LOAD_DURATION_SECONDS = 30;
+    public static final long DEFAULT_LOAD_WARMUP_SECONDS = 5;
+    public static final long DEFAULT_LOAD_REPORT_INTERVAL_SECONDS = 5;
+    public static final int DEFAULT_LOAD_PAGES = 400;
+    public static final double DEFAULT_LOAD_ZIPF_EXPONENT = 1.1;
+    public static final String DEFAULT_LOAD_MIX = "page:80,range:15,category:5";
+    
     // Batch processing
     public static final int DEFAULT_BATCH_SIZE = 500;
     
@@ -37,7 +118,61 @@ public final class Constants {
     public static final String ENV_MYSQL_URL = "MYSQL_URL";
     public static final String ENV_MYSQL_USER = "MYSQL_USER";
     public static final String ENV_MYSQL_PASSWORD = "MYSQL_PASSWORD";
+    public static final String ENV_MYSQL_REPLICA_HOSTS = "MYSQL_REPLICA_HOSTS";
     public static final String ENV_REDIS_URL = "REDIS_URL";
+    public static final String ENV_REDIS_IO_THREADS = "REDIS_IO_THREADS";
+    public static final String ENV_REDIS_COMPUTATION_THREADS = "REDIS_COMPUTATION_THREADS";
+    public static final String ENV_NEAR_CACHE_MAX_CITIES = "NEAR_CACHE_MAX_CITIES";
+    public static final String ENV_CACHE_LEASE_ENABLED = "CACHE_LEASE_ENABLED";
+    public static final String ENV_CACHE_LEASE_MS = "CACHE_LEASE_MS";
+    public static final String ENV_CACHE_GENERATION_REFRESH_MS = "CACHE_GENERATION_REFRESH_MS";
+    public static final String ENV_HIBERNATE_CACHE_ENABLED = "HIBERNATE_CACHE_ENABLED";
+    public static final String ENV_HIBERNATE_QUERY_CACHE_ENABLED = "HIBERNATE_QUERY_CACHE_ENABLED";
+    public static final String ENV_HIBERNATE_CACHE_CITY_MAX_ENTRIES = "HIBERNATE_CACHE_CITY_MAX_ENTRIES";
+    public static final String ENV_HIBERNATE_CACHE_COUNTRY_MAX_ENTRIES = "HIBERNATE_CACHE_COUNTRY_MAX_ENTRIES";
+    public static final String ENV_HIBERNATE_CACHE_LANGUAGE_MAX_ENTRIES = "HIBERNATE_CACHE_LANGUAGE_MAX_ENTRIES";
+    public static final String ENV_HIBERNATE_QUERY_CACHE_MAX_ENTRIES = "HIBERNATE_QUERY_CACHE_MAX_ENTRIES";
+    public static final String ENV_CATEGORY_STATS_REFRESH_SECONDS = "CATEGORY_STATS_REFRESH_SECONDS";
+    public static final String ENV_CATEGORY_STATS_TTL_SECONDS = "CATEGORY_STATS_TTL_SECONDS";
+    public static final String ENV_CACHE_VALUE_CODEC = "CACHE_VALUE_CODEC";
+    public static final String ENV_CACHE_COMPRESSION_THRESHOLD_BYTES = "CACHE_COMPRESSION_THRESHOLD_BYTES";
+    public static final String ENV_POPULATION_INDEX_ENABLED = "POPULATION_INDEX_ENABLED";
+    public static final String ENV_POPULATION_INDEX_MAX_AGE_MINUTES = "POPULATION_INDEX_MAX_AGE_MINUTES";
+    public static final String ENV_CACHE_WARMUP_ENABLED = "CACHE_WARMUP_ENABLED";
+    public static final String ENV_CACHE_WARMUP_PAGES = "CACHE_WARMUP_PAGES";
+    public static final String ENV_CACHE_WARMUP_HOT_KEYS_FILE = "CACHE_WARMUP_HOT_KEYS_FILE";
+    public static final String ENV_CACHE_WARMUP_MAX_PAGES = "CACHE_WARMUP_MAX_PAGES";
+    public static final String ENV_CACHE_WARMUP_DEFAULT_PAGES = "CACHE_WARMUP_DEFAULT_PAGES";
+    public static final String ENV_CACHE_WARMUP_CONCURRENCY = "CACHE_WARMUP_CONCURRENCY";
+    public static final String ENV_SNAPSHOT_ENABLED = "SNAPSHOT_ENABLED";
+    public static final String ENV_SNAPSHOT_PATH = "SNAPSHOT_PATH";
+    public static final String ENV_SNAPSHOT_REFRESH_MINUTES = "SNAPSHOT_REFRESH_MINUTES";
+    public static final String ENV_READ_MODEL_ENABLED = "READ_MODEL_ENABLED";
+    public static final String ENV_READ_MODEL_REFRESH_SECONDS = "READ_MODEL_REFRESH_SECONDS";
+    public static final String ENV_DB_POOL_MIN_IDLE = "DB_POOL_MIN_IDLE";
+    public static final String ENV_DB_POOL_MAX_SIZE = "DB_POOL_MAX_SIZE";
+    public static final String ENV_DB_POOL_CONNECTION_TIMEOUT_MS = "DB_POOL_CONNECTION_TIMEOUT_MS";
+    public static final String ENV_DB_PREP_STMT_CACHE_SIZE = "DB_PREP_STMT_CACHE_SIZE";
+    public static final String ENV_DB_EXECUTOR_THREADS = "DB_EXECUTOR_THREADS";
+    public static final String ENV_DB_EXECUTOR_QUEUE_SIZE = "DB_EXECUTOR_QUEUE_SIZE";
+    public static final String ENV_CITY_REPOSITORY = "CITY_REPOSITORY";
+    public static final String ENV_DB_FETCH_SIZE = "DB_FETCH_SIZE";
+    public static final String ENV_DB_REPLICA_ROUTING = "DB_REPLICA_ROUTING";
+    public static final String ENV_DB_REPLICA_MAX_LAG_SECONDS = "DB_REPLICA_MAX_LAG_SECONDS";
+    public static final String ENV_DB_REPLICA_LAG_CHECK_MS = "DB_REPLICA_LAG_CHECK_MS";
+    public static final String ENV_DB_REPLICA_CONNECTION_TIMEOUT_MS = "DB_REPLICA_CONNECTION_TIMEOUT_MS";
+    public static final String ENV_EXPORT_DIR = "EXPORT_DIR";
+    public static final String ENV_EXPORT_FETCH_SIZE = "EXPORT_FETCH_SIZE";
+    public static final String ENV_EXPORT_PROGRESS_ROWS = "EXPORT_PROGRESS_ROWS";
+    public static final String ENV_IMPORT_CHUNK_SIZE = "IMPORT_CHUNK_SIZE";
+    public static final String ENV_APP_MODE = "APP_MODE";
+    public static final String ENV_HTTP_PORT = "HTTP_PORT";
+    public static final String ENV_SQL_PROFILER_ENABLED = "SQL_PROFILER_ENABLED";
+    public static final String ENV_SQL_SLOW_QUERY_MS = "SQL_SLOW_QUERY_MS";
+    public static final String ENV_SQL_PROFILE_FILE = "SQL_PROFILE_FILE";
+    public static final String ENV_METRICS_JMX_ENABLED = "METRICS_JMX_ENABLED";
+    public static final String ENV_METRICS_FILE = "METRICS_FILE";
+    public static final String ENV_METRICS_FILE_INTERVAL_SECONDS = "METRICS_FILE_INTERVAL_SECONDS";
     
     private Constants() {
         throw new AssertionError("Constants class should not be instantiated");
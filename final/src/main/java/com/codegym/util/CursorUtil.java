@@ -0,0 +1,48 @@
+package com.codegym.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Utility class for encoding and decoding opaque keyset pagination cursors.
+ * A cursor wraps the id of the last city returned, so clients never depend on its format.
+ */
+public final class CursorUtil {
+    private static final String CURSOR_PREFIX = "city:";
+    private static final int FIRST_PAGE_ID = 0;
+
+    private CursorUtil() {
+        throw new AssertionError("Utility class should not be instantiated");
+    }
+
+    /**
+     * Encodes the id of the last city of a page into a continuation token.
+     * @param lastId Id of the last city returned
+     * @return URL-safe opaque cursor
+     */
+    public static String encode(int lastId) {
+        byte[] raw = (CURSOR_PREFIX + lastId).getBytes(StandardCharsets.UTF_8);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw);
+    }
+
+    /**
+     * Decodes a continuation token back into the last city id.
+     * @param cursor Cursor returned by a previous page, or null/empty for the first page
+     * @return Id to continue after
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public static int decode(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return FIRST_PAGE_ID;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!raw.startsWith(CURSOR_PREFIX)) {
+                throw new IllegalArgumentException("Unknown cursor format");
+            }
+            return Integer.parseInt(raw.substring(CURSOR_PREFIX.length()));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+        }
+    }
+}
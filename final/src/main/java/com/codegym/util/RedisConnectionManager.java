@@ -1,30 +1,102 @@
 package com.codegym.util;
 
 import io.lettuce.core.RedisClient;
+import io.lettuce.core.codec.ByteArrayCodec;
+import io.lettuce.core.codec.RedisCodec;
+import io.lettuce.core.codec.StringCodec;
 import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.async.RedisAsyncCommands;
 import io.lettuce.core.api.sync.RedisCommands;
 
 /**
- * Manages Redis connections using the Lettuce client.
- * Implements AutoCloseable to ensure proper resource cleanup.
+ * Manages the shared Redis connection using the Lettuce client.
+ * Lettuce connections are thread-safe, so a single multiplexed connection per codec is opened on first use
+ * and shared by all callers for the lifetime of the application: a String connection for keys, locks and
+ * pub/sub messages, and a binary connection for encoded cache values.
+ * Implements AutoCloseable to ensure proper resource cleanup on shutdown.
  */
 public class RedisConnectionManager implements AutoCloseable {
+    private static final RedisCodec<String, byte[]> BINARY_CODEC = RedisCodec.of(StringCodec.UTF8, ByteArrayCodec.INSTANCE);
+    
     private final RedisClient redisClient;
-    private final StatefulRedisConnection<String, String> connection;
+    private volatile StatefulRedisConnection<String, String> connection;
+    private volatile StatefulRedisConnection<String, byte[]> binaryConnection;
     
     public RedisConnectionManager(RedisClient redisClient) {
         this.redisClient = redisClient;
-        this.connection = redisClient.connect();
+    }
+    
+    /**
+     * Returns the shared connection, connecting on first use.
+     * A failed connect is not cached, so the next call retries.
+     * @return The shared Redis connection
+     */
+    public StatefulRedisConnection<String, String> getConnection() {
+        StatefulRedisConnection<String, String> current = connection;
+        if (current == null) {
+            synchronized (this) {
+                current = connection;
+                if (current == null) {
+                    current = redisClient.connect();
+                    connection = current;
+                }
+            }
+        }
+        return current;
+    }
+    
+    /**
+     * Returns the shared connection with String keys and raw byte values, connecting on first use.
+     * @return The shared binary Redis connection
+     */
+    public StatefulRedisConnection<String, byte[]> getBinaryConnection() {
+        StatefulRedisConnection<String, byte[]> current = binaryConnection;
+        if (current == null) {
+            synchronized (this) {
+                current = binaryConnection;
+                if (current == null) {
+                    current = redisClient.connect(BINARY_CODEC);
+                    binaryConnection = current;
+                }
+            }
+        }
+        return current;
+    }
+    
+    /**
+     * Opens a new dedicated binary connection, e.g. for pipelining with auto-flush disabled.
+     * Unlike the shared connections, the caller owns it and must close it.
+     * @return A new connection with String keys and raw byte values
+     */
+    public StatefulRedisConnection<String, byte[]> openBinaryConnection() {
+        return redisClient.connect(BINARY_CODEC);
     }
     
     public RedisCommands<String, String> sync() {
-        return connection.sync();
+        return getConnection().sync();
+    }
+    
+    public RedisAsyncCommands<String, String> async() {
+        return getConnection().async();
+    }
+    
+    public RedisCommands<String, byte[]> binarySync() {
+        return getBinaryConnection().sync();
+    }
+    
+    public RedisAsyncCommands<String, byte[]> binaryAsync() {
+        return getBinaryConnection().async();
     }
     
     @Override
-    public void close() {
+    public synchronized void close() {
         if (connection != null) {
             connection.close();
+            connection = null;
+        }
+        if (binaryConnection != null) {
+            binaryConnection.close();
+            binaryConnection = null;
         }
     }
 }
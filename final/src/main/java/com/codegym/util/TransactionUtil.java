@@ -1,18 +1,87 @@
 package com.codegym.util;
 
+import com.codegym.metrics.LatencyHistogram;
+import org.hibernate.CacheMode;
 import org.hibernate.Session;
 import org.hibernate.SessionFactory;
 
 import java.util.function.Function;
 
 public class TransactionUtil {
+    private static final LatencyHistogram TRANSACTION_TIME = new LatencyHistogram();
+    private static final ThreadLocal<Boolean> READ_ONLY = ThreadLocal.withInitial(() -> Boolean.FALSE);
     
     public static <T> T executeInTransaction(SessionFactory sessionFactory, Function<Session, T> operation) {
+        long start = System.nanoTime();
         try (Session session = sessionFactory.getCurrentSession()) {
             session.beginTransaction();
             T result = operation.apply(session);
             session.getTransaction().commit();
             return result;
+        } finally {
+            TRANSACTION_TIME.record(System.nanoTime() - start);
         }
     }
-} 
\ No newline at end of file
+    
+    /**
+     * Runs a transaction that only reads.
+     * Its connection may come from a read replica (see {@link #isReadOnlyTransaction()}), so the data can lag
+     * behind the primary by up to the replica lag limit. Loaded entities are read-only, which skips dirty checking.
+     * The session reads Hibernate's second-level and query caches but never puts into them, so rows from a
+     * lagging replica are not served to later primary reads.
+     * @param sessionFactory Hibernate SessionFactory
+     * @param operation Work to run; must not write
+     * @return The operation's result
+     */
+    public static <T> T executeInReadOnlyTransaction(SessionFactory sessionFactory, Function<Session, T> operation) {
+        boolean outer = READ_ONLY.get();
+        READ_ONLY.set(Boolean.TRUE);
+        try {
+            return executeInTransaction(sessionFactory, session -> {
+                session.setDefaultReadOnly(true);
+                session.setCacheMode(CacheMode.GET);
+                return operation.apply(session);
+            });
+        } finally {
+            READ_ONLY.set(outer);
+        }
+    }
+    
+    /**
+     * Runs a transaction that only reads, always on the primary.
+     * For reads whose results are cached: a lagging replica could return rows older than the last invalidation,
+     * which would then be served from the cache until it expires. Loaded entities are read-only.
+     * @param sessionFactory Hibernate SessionFactory
+     * @param operation Work to run; must not write
+     * @return The operation's result
+     */
+    public static <T> T executeInPrimaryReadTransaction(SessionFactory sessionFactory, Function<Session, T> operation) {
+        boolean outer = READ_ONLY.get();
+        READ_ONLY.set(Boolean.FALSE);
+        try {
+            return executeInTransaction(sessionFactory, session -> {
+                session.setDefaultReadOnly(true);
+                return operation.apply(session);
+            });
+        } finally {
+            READ_ONLY.set(outer);
+        }
+    }
+    
+    /**
+     * Tells a routing DataSource whether the connection being acquired on this thread is for a read-only
+     * transaction started by {@link #executeInReadOnlyTransaction}.
+     * @return true inside a read-only transaction
+     */
+    public static boolean isReadOnlyTransaction() {
+        return READ_ONLY.get();
+    }
+    
+    /**
+     * Returns the time spent in transactions run through this class, from begin to commit and session close.
+     * @return Shared histogram of transaction times
+     */
+    public static LatencyHistogram getTransactionTime() {
+        return TRANSACTION_TIME;
+    }
+}
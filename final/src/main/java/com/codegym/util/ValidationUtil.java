@@ -9,10 +9,11 @@ public final class ValidationUtil {
     private static final int MAX_PAGE_SIZE = 1000;
     private static final int MIN_OFFSET = 0;
     private static final int MIN_LIMIT = 1;
+    private static final int MIN_LAST_ID = 0;
 
     // Population constants
     private static final int MIN_POPULATION = 0;
-    private static final int MAX_POPULATION = 50_000_000; // Current largest city (Shanghai) ~27M
+    public static final int MAX_POPULATION = 50_000_000; // Current largest city (Shanghai) ~27M
 
     private ValidationUtil() {
         throw new AssertionError("Utility class should not be instantiated");
@@ -47,6 +48,34 @@ public final class ValidationUtil {
 
         System.out.println("Pagination parameters are valid");
     }
+
+    /**
+     * Checks pagination parameters without logging.
+     * @param offset Starting position for pagination
+     * @param limit Maximum number of results to return
+     * @return true if {@link #validatePagination(int, int)} would accept them
+     */
+    public static boolean isValidPagination(int offset, int limit) {
+        return offset >= MIN_OFFSET && limit >= MIN_LIMIT && limit <= MAX_PAGE_SIZE;
+    }
+    
+    /**
+     * Validates keyset pagination parameters.
+     * @param lastId Id of the last row already returned (must be >= 0)
+     * @param limit Maximum number of results to return (must be > 0 and <= MAX_PAGE_SIZE)
+     * @throws IllegalArgumentException if parameters are invalid
+     */
+    public static void validateKeysetPagination(int lastId, int limit) {
+        System.out.println("Validating keyset pagination parameters - lastId: " + lastId + ", limit: " + limit);
+
+        if (lastId < MIN_LAST_ID) {
+            String message = String.format("Last id cannot be negative, got: %d", lastId);
+            System.err.println(message);
+            throw new IllegalArgumentException(message);
+        }
+
+        validatePagination(MIN_OFFSET, limit);
+    }
     
     /**
      * Validates population range parameters.
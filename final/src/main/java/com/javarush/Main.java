@@ -1,13 +1,22 @@
 package com.javarush;
 
 import com.codegym.config.AppConfig;
+import com.codegym.config.ServerConfig;
+import com.codegym.dto.CategoryStatsDTO;
 import com.codegym.dto.CityDTO;
+import com.codegym.export.ExportFormat;
+import com.codegym.export.ExportResult;
+import com.codegym.ingest.BulkLoadResult;
+import com.codegym.metrics.SqlProfiler;
+import com.codegym.server.CityHttpServer;
 import com.codegym.service.ICityService;
 import com.codegym.util.Constants;
 import com.javarush.menu.MenuOption;
 
 import java.io.IOException;
 import java.net.Socket;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.InputMismatchException;
 import java.util.List;
@@ -63,6 +72,15 @@ public class Main {
                     case PERFORMANCE_COMPARISON:
                         handlePerformanceComparison(scanner);
                         break;
+                    case SQL_PROFILE:
+                        handleSqlProfile();
+                        break;
+                    case EXPORT_CITIES:
+                        handleExport(scanner);
+                        break;
+                    case IMPORT_CITIES:
+                        handleImport(scanner);
+                        break;
                     case EXIT:
                         System.out.println("Exiting...");
                         shutdown();
@@ -137,17 +155,63 @@ public class Main {
     }
 
     private void handleCityCategories() {
-        Map<String, List<CityDTO>> categorizedCities = cityService.getCitiesByCategory(Constants.DEFAULT_CATEGORY_LIMIT);
+        List<CategoryStatsDTO> categoryStats = cityService.getCategoryStats();
 
         System.out.println("\nCities by category:");
-        for (Map.Entry<String, List<CityDTO>> entry : categorizedCities.entrySet()) {
-            System.out.printf("%s Cities (%d)%n", entry.getKey(), entry.getValue().size());
-            // Show first few cities of each category as examples
-            entry.getValue().stream().limit(Constants.EXAMPLE_DISPLAY_LIMIT).forEach(city ->
+        for (CategoryStatsDTO stats : categoryStats) {
+            System.out.printf("%s Cities (%d, total population %d, average %d)%n", stats.getCategory(),
+                stats.getCityCount(), stats.getTotalPopulation(), stats.getAveragePopulation());
+            // Show the largest cities of each category as examples
+            stats.getLargestCities().stream().limit(Constants.EXAMPLE_DISPLAY_LIMIT).forEach(city ->
                 System.out.printf("City: %s%n", city.toString()));
         }
     }
 
+    private void handleSqlProfile() {
+        SqlProfiler sqlProfiler = appConfig.getSqlProfiler();
+        if (sqlProfiler == null) {
+            System.out.println("SQL profiler is disabled. Set SQL_PROFILER_ENABLED=true to enable it.");
+            return;
+        }
+        System.out.println();
+        System.out.print(sqlProfiler.report(Constants.SQL_PROFILE_TOP_N));
+        Path profileFile = appConfig.writeSqlProfile();
+        if (profileFile != null) {
+            System.out.println("\nReport written to " + profileFile.toAbsolutePath());
+        }
+    }
+
+    private void handleExport(Scanner scanner) throws IOException {
+        System.out.print("Enter format (csv or ndjson): ");
+        ExportFormat format = ExportFormat.fromName(scanner.nextLine().trim());
+        if (format == null) {
+            System.out.println("Unknown format. Please enter csv or ndjson.");
+            return;
+        }
+        System.out.print("Compress with gzip? (y/n): ");
+        boolean gzip = scanner.nextLine().trim().equalsIgnoreCase("y");
+
+        System.out.println("\nExporting cities as " + format.getExtension() + (gzip ? " (gzip)" : "") + "...");
+        ExportResult result = appConfig.exportCities(format, gzip, progress ->
+            System.out.printf("  %d rows, %.0f rows/s%n", progress.getRows(), progress.getRowsPerSecond()));
+        System.out.println(result);
+    }
+
+    private void handleImport(Scanner scanner) throws IOException {
+        System.out.print("Enter feed file (.csv or .ndjson, optionally .gz): ");
+        Path feed = Path.of(scanner.nextLine().trim());
+        if (!Files.isRegularFile(feed)) {
+            System.out.println("File not found: " + feed.toAbsolutePath());
+            return;
+        }
+
+        System.out.println("\nImporting cities from " + feed + "...");
+        BulkLoadResult result = appConfig.importCities(feed, progress ->
+            System.out.printf("  %d rows, %.0f rows/s, peak heap %d MB%n",
+                progress.getRows(), progress.getRowsPerSecond(), progress.getPeakHeapBytes() / (1024 * 1024)));
+        System.out.println(result);
+    }
+
     private void checkAndHandlePortsInUse() {
         List<Integer> portsToCheck = new ArrayList<>();
         portsToCheck.add(Constants.MYSQL_PORT);
@@ -201,9 +265,25 @@ public class Main {
         }
     }
 
-    public static void main(String[] args) {
+    private void runServer(int port) throws IOException {
+        CityHttpServer server = new CityHttpServer(port, cityService, appConfig.getMetricsRegistry());
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            System.out.println("Stopping server...");
+            server.close();
+            shutdown();
+        }, "server-shutdown"));
+        // The server's dispatcher thread keeps the JVM alive until it is stopped
+        server.start();
+    }
+
+    public static void main(String[] args) throws IOException {
+        ServerConfig serverConfig = new ServerConfig(args);
         Main main = new Main();
-        main.showMenu();
+        if (serverConfig.isServerMode()) {
+            main.runServer(serverConfig.getPort());
+        } else {
+            main.showMenu();
+        }
     }
 
 
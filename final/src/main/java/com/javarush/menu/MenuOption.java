@@ -9,7 +9,10 @@ public enum MenuOption {
     POPULATION_RANGE(2, "Find cities by population range"),
     PERFORMANCE_COMPARISON(3, "Compare Redis vs Database performance"),
     CITY_CATEGORIES(4, "Show city categories"),
-    EXIT(5, "Exit");
+    SQL_PROFILE(5, "Show slowest and most frequent SQL queries"),
+    EXPORT_CITIES(6, "Export all cities to CSV or NDJSON"),
+    IMPORT_CITIES(7, "Import cities from a CSV or NDJSON feed"),
+    EXIT(8, "Exit");
 
     private final int value;
     private final String displayText;
@@ -36,3 +36,14 @@ CREATE TABLE IF NOT EXISTS world.country_language (
     PRIMARY KEY (id),
     FOREIGN KEY (country_id) REFERENCES country(id)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+-- Block allocator for City ids (Hibernate pooled-lo table generator); holds the next id to hand out,
+-- which pooled-lo returns as the first id of the block it reserves
+CREATE TABLE IF NOT EXISTS world.id_sequence (
+    sequence_name VARCHAR(255) NOT NULL,
+    next_val BIGINT,
+    PRIMARY KEY (sequence_name)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+INSERT IGNORE INTO world.id_sequence (sequence_name, next_val)
+SELECT 'city', COALESCE(MAX(id), 0) + 1 FROM world.city;
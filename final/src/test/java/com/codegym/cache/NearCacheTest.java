@@ -0,0 +1,47 @@
+package com.codegym.cache;
+
+import com.codegym.dto.CityDTO;
+import com.codegym.dto.PageRequest;
+import com.codegym.util.CacheKeyUtil;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class NearCacheTest {
+
+    @Test
+    void countsReadsPerPageAcrossGenerations() {
+        // Reads never touch Redis, so no connection is needed
+        try (NearCache nearCache = new NearCache(null, 1_000, Duration.ofMinutes(1))) {
+            nearCache.get(CacheKeyUtil.getPaginatedCitiesKey(1, 0, 10));
+            nearCache.get(CacheKeyUtil.getPaginatedCitiesKey(1, 10, 10));
+            nearCache.get(CacheKeyUtil.getPaginatedCitiesKey(2, 10, 10));
+            nearCache.get(CacheKeyUtil.getPaginatedCitiesKey(3, 10, 10));
+            nearCache.get(CacheKeyUtil.getPaginatedCitiesKey(3, 0, 10));
+            nearCache.get(CacheKeyUtil.getPaginatedCitiesKey(3, 20, 10));
+
+            assertEquals(List.of(new PageRequest(10, 10), new PageRequest(0, 10)), nearCache.hottestPages(2));
+        }
+    }
+
+    @Test
+    void copiesFromRedisExpireWithTheRedisEntry() throws InterruptedException {
+        List<CityDTO> cities = List.of(new CityDTO.Builder()
+            .withId(1).withName("City").withDistrict("District").withPopulation(1_000).build());
+        try (NearCache nearCache = new NearCache(null, 1_000, Duration.ofMinutes(1))) {
+            nearCache.putLocal("expiring", cities, 50);
+            nearCache.putLocal("persistent", cities, -1);
+            nearCache.putLocal("gone", cities, -2);
+            Thread.sleep(200);
+
+            assertNull(nearCache.peek("expiring"));
+            assertNotNull(nearCache.peek("persistent"));
+            assertNull(nearCache.peek("gone"));
+        }
+    }
+}
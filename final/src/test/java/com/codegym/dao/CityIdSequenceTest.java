@@ -0,0 +1,152 @@
+package com.codegym.dao;
+
+import com.codegym.domain.City;
+import com.codegym.domain.Country;
+import com.codegym.util.Constants;
+import com.codegym.util.TransactionUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Checks that the id_sequence seed in the dump and in schema.sql lets new cities be inserted next to the
+ * existing ones: pooled-lo hands out the stored value first, so it must be the id after the highest city.
+ */
+class CityIdSequenceTest {
+    private static final String DUMP_FILE = "dump-hibernate-final.sql";
+    private static final Pattern DUMP_CITY_ROWS = Pattern.compile("^INSERT\\s+IGNORE INTO `city` VALUES (.*);$");
+    private static final Pattern DUMP_CITY_ROW = Pattern.compile("\\((\\d+),'([^']*)',(\\d+),'([^']*)',(\\d+)\\)");
+    private static final Pattern DUMP_SEQUENCE_SEED =
+        Pattern.compile("^INSERT\\s+IGNORE INTO `id_sequence` VALUES \\('city',(\\d+)\\);$");
+    private static final Pattern SCHEMA_SEQUENCE_SEED =
+        Pattern.compile("INSERT IGNORE INTO world\\.id_sequence[^;]*;");
+    private static final String INSERT_CITY =
+        "INSERT INTO world.city (id, name, country_id, district, population) VALUES (?, ?, ?, ?, ?)";
+    // More than one generator block, so the second round trip is covered too
+    private static final int NEW_CITIES = 1_200;
+
+    private TestDatabase database;
+    private List<String> dump;
+    private int dumpCities;
+    private long dumpMaxId;
+
+    @BeforeEach
+    void loadDumpCities() throws IOException, SQLException {
+        database = new TestDatabase();
+        dump = Files.readAllLines(Paths.get(DUMP_FILE), StandardCharsets.UTF_8);
+        String rows = dump.stream()
+            .map(DUMP_CITY_ROWS::matcher)
+            .filter(Matcher::matches)
+            .map(matcher -> matcher.group(1))
+            .findFirst()
+            .orElseThrow(() -> new AssertionError("No city rows in " + DUMP_FILE));
+        // Only the city table is loaded, so its country references cannot be checked
+        database.execute("SET REFERENTIAL_INTEGRITY FALSE");
+        database.execute(connection -> {
+            try (PreparedStatement insert = connection.prepareStatement(INSERT_CITY)) {
+                Matcher row = DUMP_CITY_ROW.matcher(rows);
+                while (row.find()) {
+                    insert.setInt(1, Integer.parseInt(row.group(1)));
+                    insert.setString(2, row.group(2));
+                    insert.setInt(3, Integer.parseInt(row.group(3)));
+                    insert.setString(4, row.group(4));
+                    insert.setInt(5, Integer.parseInt(row.group(5)));
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+            }
+        });
+        dumpCities = (int) database.queryLong("SELECT COUNT(*) FROM world.city");
+        dumpMaxId = database.queryLong("SELECT MAX(id) FROM world.city");
+        assertFalse(dumpCities == 0, "No city rows parsed from " + DUMP_FILE);
+        // Hibernate created the table with its own initial row; the seeds below replace it
+        database.execute("DELETE FROM world.id_sequence");
+    }
+
+    @AfterEach
+    void close() throws SQLException {
+        database.close();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"hibernate", "jdbc"})
+    void insertsAfterDumpSeedDoNotCollide(String repositoryType) throws SQLException {
+        long seed = dump.stream()
+            .map(DUMP_SEQUENCE_SEED::matcher)
+            .filter(Matcher::matches)
+            .mapToLong(matcher -> Long.parseLong(matcher.group(1)))
+            .findFirst()
+            .orElseThrow(() -> new AssertionError("No id_sequence seed in " + DUMP_FILE));
+        database.execute("INSERT INTO world.id_sequence (sequence_name, next_val) VALUES ('city', " + seed + ")");
+
+        insertNewCities(repositoryType);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"hibernate", "jdbc"})
+    void insertsAfterSchemaSeedDoNotCollide(String repositoryType) throws IOException, SQLException {
+        database.execute(schemaSequenceSeed());
+
+        insertNewCities(repositoryType);
+    }
+
+    @Test
+    void schemaSeedStoresTheIdAfterTheHighestCity() throws IOException, SQLException {
+        database.execute(schemaSequenceSeed());
+
+        assertEquals(dumpMaxId + 1,
+            database.queryLong("SELECT next_val FROM world.id_sequence WHERE sequence_name = 'city'"));
+    }
+
+    private void insertNewCities(String repositoryType) throws SQLException {
+        ICityRepository repository = "jdbc".equals(repositoryType)
+            ? new JdbcCityRepository(database.getSessionFactory(), Constants.DEFAULT_BATCH_SIZE)
+            : new CityDAO(database.getSessionFactory());
+
+        // A primary key collision makes the upsert throw
+        int inserted = TransactionUtil.executeInTransaction(database.getSessionFactory(), session -> {
+            Country country = session.load(Country.class, 1);
+            List<City> cities = new ArrayList<>(NEW_CITIES);
+            for (int i = 0; i < NEW_CITIES; i++) {
+                City city = new City();
+                city.setName("New City " + i);
+                city.setCountry(country);
+                city.setDistrict("New District");
+                city.setPopulation(i);
+                cities.add(city);
+            }
+            return repository.upsertAll(cities);
+        });
+
+        assertEquals(NEW_CITIES, inserted);
+        assertEquals(dumpCities + NEW_CITIES, database.queryLong("SELECT COUNT(*) FROM world.city"));
+        assertEquals(dumpMaxId + 1, database.queryLong("SELECT MIN(id) FROM world.city WHERE name LIKE 'New City %'"));
+    }
+
+    private static String schemaSequenceSeed() throws IOException {
+        try (InputStream schema = CityIdSequenceTest.class.getResourceAsStream("/schema.sql")) {
+            Matcher matcher = SCHEMA_SEQUENCE_SEED.matcher(new String(schema.readAllBytes(), StandardCharsets.UTF_8));
+            if (!matcher.find()) {
+                throw new AssertionError("No id_sequence seed in schema.sql");
+            }
+            return matcher.group().replace(";", "");
+        }
+    }
+}
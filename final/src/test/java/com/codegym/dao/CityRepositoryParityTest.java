@@ -0,0 +1,191 @@
+package com.codegym.dao;
+
+import com.codegym.domain.City;
+import com.codegym.domain.Country;
+import com.codegym.dto.CityDTO;
+import com.codegym.ingest.BulkLoadResult;
+import com.codegym.ingest.CityBulkLoader;
+import com.codegym.ingest.CityFeedRecord;
+import com.codegym.util.Constants;
+import com.codegym.util.TransactionUtil;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Checks that JdbcCityRepository returns and writes exactly what CityDAO does, on the benchmark data set.
+ */
+class CityRepositoryParityTest {
+    // H2 rejects the MySQL streaming fetch size
+    private static final int FETCH_SIZE = Constants.DEFAULT_BATCH_SIZE;
+    private static final String CITY_ROWS =
+        "SELECT id, name, country_id, district, population FROM world.city ORDER BY id";
+
+    private static TestDatabase database;
+    private static ICityRepository hibernate;
+    private static ICityRepository jdbc;
+
+    @BeforeAll
+    static void seed() throws SQLException {
+        database = new TestDatabase().seedWorld();
+        hibernate = new CityDAO(database.getSessionFactory());
+        jdbc = new JdbcCityRepository(database.getSessionFactory(), FETCH_SIZE);
+    }
+
+    @AfterAll
+    static void close() throws SQLException {
+        database.close();
+    }
+
+    @ParameterizedTest
+    @CsvSource({"0, 10", "990, 20", "0, 100", "4070, 100", "5000, 10", "-1, 10", "0, 0"})
+    void findAllPaginated(int offset, int limit) {
+        assertSame(repository -> describeCities(repository.findAllPaginated(offset, limit)));
+        assertSame(repository -> describeDTOs(repository.findAllPaginatedDTO(offset, limit)));
+    }
+
+    @ParameterizedTest
+    @CsvSource({"0, 10", "1000, 20", "4070, 100", "5000, 10", "-1, 10", "0, 0"})
+    void findPageAfter(int lastId, int limit) {
+        assertSame(repository -> describeCities(repository.findPageAfter(lastId, limit)));
+        assertSame(repository -> describeDTOs(repository.findPageAfterDTO(lastId, limit)));
+    }
+
+    @ParameterizedTest
+    @CsvSource({"0, 10000000", "100000, 1000000", "5000000, 5000000", "2000000, 1000000", "-5, 100"})
+    void findByPopulationRange(int minPopulation, int maxPopulation) {
+        assertSame(repository -> describeCities(repository.findByPopulationRange(minPopulation, maxPopulation)));
+        assertSame(repository -> describeDTOs(repository.findByPopulationRangeDTO(minPopulation, maxPopulation)));
+    }
+
+    @Test
+    void countAll() {
+        int count = read(session -> hibernate.countAll());
+        assertEquals(TestDatabase.CITY_COUNT, count);
+        assertSame(ICityRepository::countAll);
+    }
+
+    @ParameterizedTest
+    @CsvSource({"1", "5"})
+    void aggregateByPopulationCategory(int examplesPerCategory) {
+        assertSame(repository -> repository.aggregateByPopulationCategory(examplesPerCategory).stream()
+            .map(stats -> stats.getCategory() + "|" + stats.getCityCount() + "|" + stats.getTotalPopulation()
+                + "|" + describeDTOs(stats.getLargestCities()))
+            .collect(Collectors.toList()));
+    }
+
+    @Test
+    void upsertAll() throws SQLException {
+        try (TestDatabase hibernateDatabase = new TestDatabase().seedWorld();
+             TestDatabase jdbcDatabase = new TestDatabase().seedWorld()) {
+            int hibernateInserted = upsert(hibernateDatabase, new CityDAO(hibernateDatabase.getSessionFactory()));
+            int jdbcInserted = upsert(jdbcDatabase,
+                new JdbcCityRepository(jdbcDatabase.getSessionFactory(), FETCH_SIZE));
+
+            assertEquals(hibernateInserted, jdbcInserted);
+            List<String> hibernateRows = hibernateDatabase.queryRows(CITY_ROWS);
+            assertFalse(hibernateRows.equals(database.queryRows(CITY_ROWS)), "upsertAll changed nothing");
+            assertEquals(hibernateRows, jdbcDatabase.queryRows(CITY_ROWS));
+        }
+    }
+
+    @Test
+    void bulkLoadWithRepeatedIds() throws SQLException {
+        try (TestDatabase hibernateDatabase = new TestDatabase().seedWorld();
+             TestDatabase jdbcDatabase = new TestDatabase().seedWorld()) {
+            BulkLoadResult hibernateResult = bulkLoad(hibernateDatabase,
+                new CityDAO(hibernateDatabase.getSessionFactory()));
+            BulkLoadResult jdbcResult = bulkLoad(jdbcDatabase,
+                new JdbcCityRepository(jdbcDatabase.getSessionFactory(), FETCH_SIZE));
+
+            assertEquals(hibernateResult.getInserted(), jdbcResult.getInserted());
+            assertEquals(hibernateResult.getUpdated(), jdbcResult.getUpdated());
+            List<String> hibernateRows = hibernateDatabase.queryRows(CITY_ROWS);
+            assertEquals(hibernateRows, jdbcDatabase.queryRows(CITY_ROWS));
+            assertEquals(List.of("Repeated 7 (last)|2"),
+                hibernateDatabase.queryRows("SELECT name, population FROM world.city WHERE id = 7"));
+        }
+    }
+
+    /**
+     * Feeds updates of existing cities, some ids repeated within one chunk, and new cities through the bulk loader.
+     */
+    private static BulkLoadResult bulkLoad(TestDatabase target, ICityRepository repository) {
+        List<CityFeedRecord> feed = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            feed.add(new CityFeedRecord(i + 1, "Updated " + i, "C01", "District of Updated " + i, i));
+            feed.add(new CityFeedRecord(null, "Inserted " + i, "C02", "District of Inserted " + i, i));
+        }
+        feed.add(new CityFeedRecord(7, "Repeated 7", "C01", "District of Repeated 7", 1));
+        feed.add(new CityFeedRecord(7, "Repeated 7 (last)", "C01", "District of Repeated 7 (last)", 2));
+        CityBulkLoader loader = new CityBulkLoader(repository, new CountryDAO(target.getSessionFactory()),
+            target.getSessionFactory(), 1_000);
+        return loader.load(feed.iterator(), null);
+    }
+
+    /**
+     * Updates the first 600 cities and inserts 700 new ones, interleaved and crossing batch boundaries.
+     * Some new cities carry ids that do not exist, which must be replaced by generated ones.
+     */
+    private static int upsert(TestDatabase target, ICityRepository repository) {
+        return TransactionUtil.executeInTransaction(target.getSessionFactory(), session -> {
+            List<City> cities = new ArrayList<>();
+            for (int i = 0; i < 700; i++) {
+                if (i < 600) {
+                    cities.add(newCity(session, i + 1, "Updated " + i, i % 7 + 1, i * 1_000));
+                }
+                Integer unknownId = i % 100 == 0 ? TestDatabase.CITY_COUNT + 10_000 + i : null;
+                cities.add(newCity(session, unknownId, "Inserted " + i, i % 11 + 1, i));
+            }
+            return repository.upsertAll(cities);
+        });
+    }
+
+    private static City newCity(Session session, Integer id, String name, int countryId, int population) {
+        City city = new City();
+        city.setId(id);
+        city.setName(name);
+        city.setCountry(session.load(Country.class, countryId));
+        city.setDistrict("District of " + name);
+        city.setPopulation(population);
+        return city;
+    }
+
+    private static void assertSame(Function<ICityRepository, Object> call) {
+        Object expected = read(session -> call.apply(hibernate));
+        Object actual = read(session -> call.apply(jdbc));
+        assertEquals(expected, actual);
+    }
+
+    private static <T> T read(Function<Session, T> operation) {
+        return TransactionUtil.executeInReadOnlyTransaction(database.getSessionFactory(), operation);
+    }
+
+    private static List<String> describeCities(List<City> cities) {
+        SessionFactory sessionFactory = database.getSessionFactory();
+        return cities.stream()
+            .map(city -> city.getId() + "|" + city.getName() + "|"
+                + sessionFactory.getPersistenceUnitUtil().getIdentifier(city.getCountry()) + "|"
+                + city.getDistrict() + "|" + city.getPopulation())
+            .collect(Collectors.toList());
+    }
+
+    private static List<String> describeDTOs(List<CityDTO> cities) {
+        return cities.stream()
+            .map(city -> city.getId() + "|" + city.getName() + "|" + city.getDistrict() + "|" + city.getPopulation())
+            .collect(Collectors.toList());
+    }
+}
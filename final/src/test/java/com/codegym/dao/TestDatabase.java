@@ -0,0 +1,175 @@
+package com.codegym.dao;
+
+import com.codegym.domain.City;
+import com.codegym.domain.Continent;
+import com.codegym.domain.Country;
+import com.codegym.domain.CountryLanguage;
+import com.codegym.util.Constants;
+import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-memory H2 database in MySQL mode with the world schema created by Hibernate.
+ * Each instance gets its own database, so tests do not see each other's rows.
+ */
+class TestDatabase implements AutoCloseable {
+    static final int COUNTRY_COUNT = 240;
+    static final int CITY_COUNT = 4_080;
+    private static final long RANDOM_SEED = 42;
+    private static final int MAX_CITY_POPULATION = 10_000_000;
+    private static final String INSERT_COUNTRY =
+        "INSERT INTO world.country (id, code, name, continent, population) VALUES (?, ?, ?, ?, ?)";
+    private static final String INSERT_CITY =
+        "INSERT INTO world.city (id, name, country_id, district, population) VALUES (?, ?, ?, ?, ?)";
+    private static final AtomicInteger DATABASE_COUNTER = new AtomicInteger();
+
+    private final HikariDataSource dataSource;
+    private final SessionFactory sessionFactory;
+
+    TestDatabase() {
+        dataSource = new HikariDataSource();
+        dataSource.setPoolName("test-pool");
+        dataSource.setJdbcUrl("jdbc:h2:mem:world" + DATABASE_COUNTER.incrementAndGet()
+            + ";MODE=MySQL;DB_CLOSE_DELAY=-1;INIT=CREATE SCHEMA IF NOT EXISTS world");
+        dataSource.setMaximumPoolSize(Constants.DEFAULT_POOL_MAX_SIZE);
+        dataSource.setAutoCommit(false);
+
+        Properties properties = new Properties();
+        properties.put(AvailableSettings.DIALECT, "org.hibernate.dialect.H2Dialect");
+        properties.put(AvailableSettings.HBM2DDL_AUTO, "create");
+        properties.put(AvailableSettings.CURRENT_SESSION_CONTEXT_CLASS, "thread");
+        properties.put(AvailableSettings.STATEMENT_BATCH_SIZE, String.valueOf(Constants.DEFAULT_BATCH_SIZE));
+        // Same id generator settings as DatabaseConfig, so generated ids follow production
+        properties.put(AvailableSettings.PREFERRED_POOLED_OPTIMIZER, "pooled-lo");
+        properties.put(AvailableSettings.TABLE_GENERATOR_STORE_LAST_USED, "false");
+        properties.put(AvailableSettings.CONNECTION_PROVIDER_DISABLES_AUTOCOMMIT, "true");
+        // The JCache regions live in one cache manager per JVM and would be shared by every test database
+        properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, "false");
+        properties.put(AvailableSettings.USE_QUERY_CACHE, "false");
+        properties.put(AvailableSettings.DATASOURCE, dataSource);
+        sessionFactory = new Configuration()
+            .addProperties(properties)
+            .addAnnotatedClass(City.class)
+            .addAnnotatedClass(Country.class)
+            .addAnnotatedClass(CountryLanguage.class)
+            .buildSessionFactory();
+    }
+
+    SessionFactory getSessionFactory() {
+        return sessionFactory;
+    }
+
+    /**
+     * Fills the database with the same countries and cities as the benchmark environment and seeds the city id
+     * sequence after them, as the dump does.
+     */
+    TestDatabase seedWorld() throws SQLException {
+        Random random = new Random(RANDOM_SEED);
+        execute(connection -> {
+            try (PreparedStatement insertCountry = connection.prepareStatement(INSERT_COUNTRY)) {
+                for (int i = 1; i <= COUNTRY_COUNT; i++) {
+                    insertCountry.setInt(1, i);
+                    insertCountry.setString(2, String.format("C%02d", i % 100));
+                    insertCountry.setString(3, "Country " + i);
+                    insertCountry.setInt(4, i % Continent.values().length);
+                    insertCountry.setInt(5, random.nextInt(MAX_CITY_POPULATION));
+                    insertCountry.addBatch();
+                }
+                insertCountry.executeBatch();
+            }
+            try (PreparedStatement insertCity = connection.prepareStatement(INSERT_CITY)) {
+                for (int i = 0; i < CITY_COUNT; i++) {
+                    // Skewed like real data: most cities are small, a few are very large
+                    double skew = random.nextDouble();
+                    insertCity.setInt(1, i + 1);
+                    insertCity.setString(2, "City " + i);
+                    insertCity.setInt(3, i % COUNTRY_COUNT + 1);
+                    insertCity.setString(4, "District " + (i % 500));
+                    insertCity.setInt(5, (int) (skew * skew * skew * MAX_CITY_POPULATION));
+                    insertCity.addBatch();
+                }
+                insertCity.executeBatch();
+            }
+            try (PreparedStatement clearSequence = connection.prepareStatement("DELETE FROM world.id_sequence");
+                 PreparedStatement seedSequence = connection.prepareStatement(
+                     "INSERT INTO world.id_sequence (sequence_name, next_val) VALUES ('city', ?)")) {
+                clearSequence.executeUpdate();
+                seedSequence.setInt(1, CITY_COUNT + 1);
+                seedSequence.executeUpdate();
+            }
+        });
+        return this;
+    }
+
+    /**
+     * Runs statements on a connection of its own and commits them.
+     */
+    void execute(SqlWork work) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            work.run(connection);
+            connection.commit();
+        }
+    }
+
+    void execute(String sql) throws SQLException {
+        execute(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                statement.execute();
+            }
+        });
+    }
+
+    long queryLong(String sql) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(sql);
+             ResultSet resultSet = statement.executeQuery()) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    /**
+     * Reads every row of a query, one string per row with the columns separated by '|'.
+     */
+    List<String> queryRows(String sql) throws SQLException {
+        List<String> rows = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(sql);
+             ResultSet resultSet = statement.executeQuery()) {
+            int columns = resultSet.getMetaData().getColumnCount();
+            while (resultSet.next()) {
+                StringBuilder row = new StringBuilder();
+                for (int i = 1; i <= columns; i++) {
+                    row.append(i > 1 ? "|" : "").append(resultSet.getString(i));
+                }
+                rows.add(row.toString());
+            }
+        }
+        return rows;
+    }
+
+    @Override
+    public void close() throws SQLException {
+        sessionFactory.close();
+        // Frees the in-memory database, which DB_CLOSE_DELAY would otherwise keep until the JVM exits
+        execute("DROP ALL OBJECTS");
+        dataSource.close();
+    }
+
+    @FunctionalInterface
+    interface SqlWork {
+        void run(Connection connection) throws SQLException;
+    }
+}